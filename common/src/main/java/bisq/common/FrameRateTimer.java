@@ -17,9 +17,12 @@
 
 package bisq.common;
 
+import bisq.common.util.UserThreadProfiler;
+
 import java.time.Duration;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +40,8 @@ public class FrameRateTimer implements Timer, Runnable {
     private boolean isPeriodically;
     private final String uid = UUID.randomUUID().toString();
     private volatile boolean stopped;
+    // Only set if the profiler was enabled when the timer was created
+    private String callSite;
 
     public FrameRateTimer() {
     }
@@ -47,7 +52,14 @@ public class FrameRateTimer implements Timer, Runnable {
             try {
                 long currentTimeMillis = System.currentTimeMillis();
                 if ((currentTimeMillis - startTs) >= interval) {
-                    runnable.run();
+                    if (UserThreadProfiler.isEnabled()) {
+                        // The delay after the scheduled time is the equivalent of the queue latency of other tasks
+                        long delayMs = currentTimeMillis - startTs - interval;
+                        String callSite = this.callSite != null ? this.callSite : UserThreadProfiler.getCallSite(runnable);
+                        UserThreadProfiler.run(runnable, callSite, TimeUnit.MILLISECONDS.toNanos(delayMs));
+                    } else {
+                        runnable.run();
+                    }
                     if (isPeriodically)
                         startTs = currentTimeMillis;
                     else
@@ -65,6 +77,9 @@ public class FrameRateTimer implements Timer, Runnable {
     public Timer runLater(Duration delay, Runnable runnable) {
         this.interval = delay.toMillis();
         this.runnable = runnable;
+        if (UserThreadProfiler.isEnabled()) {
+            callSite = UserThreadProfiler.getCallSite(runnable);
+        }
         startTs = System.currentTimeMillis();
         MasterTimer.addListener(this);
         return this;
@@ -75,6 +90,9 @@ public class FrameRateTimer implements Timer, Runnable {
         this.interval = interval.toMillis();
         isPeriodically = true;
         this.runnable = runnable;
+        if (UserThreadProfiler.isEnabled()) {
+            callSite = UserThreadProfiler.getCallSite(runnable);
+        }
         startTs = System.currentTimeMillis();
         MasterTimer.addListener(this);
         return this;
@@ -17,6 +17,8 @@
 
 package bisq.common;
 
+import bisq.common.util.UserThreadProfiler;
+
 import com.google.common.util.concurrent.MoreExecutors;
 
 import java.time.Duration;
@@ -40,6 +42,8 @@ import lombok.extern.slf4j.Slf4j;
  * otherwise we use the default FrameRateTimer).
  * <p>
  * Provides also methods for delayed and periodic executions.
+ * <p>
+ * Tasks can be profiled at runtime with the {@link UserThreadProfiler}.
  */
 @Slf4j
 public class UserThread {
@@ -59,6 +63,14 @@ public class UserThread {
     }
 
     public static void execute(Runnable command) {
+        if (UserThreadProfiler.isEnabled()) {
+            command = UserThreadProfiler.wrap(command);
+        }
+        UserThread.executor.execute(command);
+    }
+
+    // The MasterTimer tick is not profiled as the FrameRateTimer records each of the callbacks it runs
+    static void executeWithoutProfiling(Runnable command) {
         UserThread.executor.execute(command);
     }
 
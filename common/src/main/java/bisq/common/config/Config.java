@@ -136,6 +136,8 @@ public class Config {
     public static final String BM_ORACLE_NODE_PUB_KEY = "bmOracleNodePubKey";
     public static final String BM_ORACLE_NODE_PRIV_KEY = "bmOracleNodePrivKey";
     public static final String SEED_NODE_REPORTING_SERVER_URL = "seedNodeReportingServerUrl";
+    public static final String METRICS_PORT = "metricsPort";
+    public static final String DAO_NODE_FULL_PARSE = "daoNodeFullParse";
 
     // Default values for certain options
     public static final int UNSPECIFIED_PORT = -1;
@@ -233,6 +235,8 @@ public class Config {
     public final String bmOracleNodePubKey;
     public final String bmOracleNodePrivKey;
     public final String seedNodeReportingServerUrl;
+    public final int metricsPort;
+    public final boolean daoNodeFullParse;
 
     // Properties derived from options but not exposed as options themselves
     public final File torDir;
@@ -720,6 +724,20 @@ public class Config {
                         .ofType(String.class)
                         .defaultsTo("");
 
+        ArgumentAcceptingOptionSpec<Integer> metricsPortOpt =
+                parser.accepts(METRICS_PORT, "Local port of the metrics HTTP endpoint " +
+                                "(headless apps only, disabled if not set)")
+                        .withRequiredArg()
+                        .ofType(Integer.class)
+                        .defaultsTo(-1);
+
+        ArgumentAcceptingOptionSpec<Boolean> daoNodeFullParseOpt =
+                parser.accepts(DAO_NODE_FULL_PARSE, "If set to true a DAO full node converts and parses all " +
+                                "transactions of a block and verifies the result of the BSQ transaction prefilter")
+                        .withRequiredArg()
+                        .ofType(boolean.class)
+                        .defaultsTo(false);
+
         try {
             CompositeOptionSet options = new CompositeOptionSet();
 
@@ -844,6 +862,8 @@ public class Config {
             this.bmOracleNodePubKey = options.valueOf(bmOracleNodePubKey);
             this.bmOracleNodePrivKey = options.valueOf(bmOracleNodePrivKey);
             this.seedNodeReportingServerUrl = options.valueOf(seedNodeReportingServerUrlOpt);
+            this.metricsPort = options.valueOf(metricsPortOpt);
+            this.daoNodeFullParse = options.valueOf(daoNodeFullParseOpt);
         } catch (OptionException ex) {
             throw new ConfigException("problem parsing option '%s': %s",
                     ex.options().get(0),
@@ -0,0 +1,68 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram with power-of-two millisecond buckets (<1, <2, <4, ... ms).
+ */
+public class LatencyHistogram {
+    // Last bucket collects all durations >= 2^(NUM_BUCKETS - 2) ms (about 65 sec.)
+    public static final int NUM_BUCKETS = 18;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+
+    public void record(long durationNanos) {
+        count.increment();
+        totalNanos.add(durationNanos);
+        buckets.incrementAndGet(getBucket(durationNanos));
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    // Index i contains the number of durations below 2^i ms (and at least 2^(i-1) ms for i > 0)
+    public long[] getBuckets() {
+        long[] result = new long[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+
+    public static int getBucket(long durationNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        // Number of bits needed for millis: 0 -> 0, 1 -> 1, 2..3 -> 2, 4..7 -> 3, ...
+        int bucket = 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, NUM_BUCKETS - 1);
+    }
+}
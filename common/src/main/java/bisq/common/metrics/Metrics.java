@@ -0,0 +1,158 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import bisq.common.UserThread;
+import bisq.common.taskrunner.TaskMetrics;
+import bisq.common.util.Profiler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Process wide registry of metrics which can be scraped in the Prometheus text format via the {@link MetricsServer}.
+ * <p>
+ * Metrics are opt-in. Hot paths record into a {@link LatencyHistogram} only if {@link #isEnabled()} returns true,
+ * so the cost for a node without metrics endpoint is a volatile read. Values which are already tracked elsewhere
+ * (network statistics, map sizes,...) are not duplicated but read at scrape time by a {@link Collector}.
+ */
+@Slf4j
+public class Metrics {
+    public interface Collector {
+        void collect(MetricsWriter writer);
+    }
+
+    private static class HistogramFamily {
+        private final String help;
+        private final String labelName;
+        private final Map<String, LatencyHistogram> histogramByLabelValue = new ConcurrentHashMap<>();
+
+        private HistogramFamily(String help, String labelName) {
+            this.help = help;
+            this.labelName = labelName;
+        }
+    }
+
+    private static final Map<String, HistogramFamily> HISTOGRAM_FAMILIES = new ConcurrentHashMap<>();
+    private static final Map<String, Collector> COLLECTORS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    static {
+        addCollector("jvm", Metrics::collectJvmMetrics);
+        addCollector("userThread", Metrics::collectUserThreadMetrics);
+        addCollector("tasks", Metrics::collectTaskMetrics);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * @return The histogram for the given name. It gets created at the first call.
+     */
+    public static LatencyHistogram histogram(String name, String help) {
+        return histogram(name, help, null, "");
+    }
+
+    /**
+     * @return The histogram for the given name and label value. It gets created at the first call. The label values
+     * should be from a small, bounded set (e.g. file names or method names) as each creates a new histogram.
+     */
+    public static LatencyHistogram histogram(String name, String help, String labelName, String labelValue) {
+        return HISTOGRAM_FAMILIES.computeIfAbsent(name, k -> new HistogramFamily(help, labelName))
+                .histogramByLabelValue.computeIfAbsent(labelValue, k -> new LatencyHistogram());
+    }
+
+    // Convenience methods for hot paths. Do nothing if metrics are not enabled.
+    public static void recordSince(String name, String help, long startNanos) {
+        if (enabled) {
+            histogram(name, help).recordSince(startNanos);
+        }
+    }
+
+    public static void recordSince(String name, String help, String labelName, String labelValue, long startNanos) {
+        if (enabled) {
+            histogram(name, help, labelName, labelValue).recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Adds a collector which is called at each scrape. A collector with the same id gets replaced.
+     */
+    public static void addCollector(String id, Collector collector) {
+        COLLECTORS.put(id, collector);
+    }
+
+    public static void removeCollector(String id) {
+        COLLECTORS.remove(id);
+    }
+
+    public static String scrape() {
+        MetricsWriter writer = new MetricsWriter();
+        COLLECTORS.forEach((id, collector) -> {
+            try {
+                collector.collect(writer);
+            } catch (Throwable t) {
+                log.warn("Collector {} failed", id, t);
+            }
+        });
+        HISTOGRAM_FAMILIES.forEach((name, family) ->
+                family.histogramByLabelValue.forEach((labelValue, histogram) ->
+                        writer.histogram(name, family.help, family.labelName, labelValue, histogram)));
+        return writer.toString();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Default collectors
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void collectJvmMetrics(MetricsWriter writer) {
+        Runtime runtime = Runtime.getRuntime();
+        writer.gauge("bisq_jvm_memory_used_bytes", "Used heap memory", Profiler.getUsedMemoryInBytes());
+        writer.gauge("bisq_jvm_memory_total_bytes", "Total heap memory", runtime.totalMemory());
+        writer.gauge("bisq_jvm_memory_max_bytes", "Max. heap memory", runtime.maxMemory());
+        writer.gauge("bisq_jvm_threads", "Number of active threads", Thread.activeCount());
+    }
+
+    private static void collectUserThreadMetrics(MetricsWriter writer) {
+        Executor executor = UserThread.getExecutor();
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executor;
+            writer.gauge("bisq_user_thread_queue_size", "Number of tasks waiting in the UserThread queue",
+                    threadPoolExecutor.getQueue().size());
+            writer.counter("bisq_user_thread_completed_tasks_total", "Number of tasks executed on the UserThread",
+                    threadPoolExecutor.getCompletedTaskCount());
+        }
+    }
+
+    private static void collectTaskMetrics(MetricsWriter writer) {
+        TaskMetrics.getStatsByTaskName().forEach((taskName, stats) ->
+                writer.histogram("bisq_task_duration_seconds", "Duration of protocol tasks", "task", taskName,
+                        stats.getHistogram(), stats.getTotalNanos()));
+    }
+}
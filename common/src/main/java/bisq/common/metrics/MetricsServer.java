@@ -0,0 +1,168 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import bisq.common.UserThread;
+import bisq.common.util.UserThreadProfiler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves the {@link Metrics} in the Prometheus text format at http://127.0.0.1:port/metrics.
+ * <p>
+ * We only bind to the loopback interface. If the metrics should be scraped from remote a reverse proxy is
+ * expected to take care of TLS and authentication.
+ * <p>
+ * Additionally, we post a probe task to the UserThread every second to measure the latency from enqueueing a task
+ * until it gets executed.
+ * <p>
+ * The {@link UserThreadProfiler} can be controlled at http://127.0.0.1:port/userthread with the optional query
+ * parameters enabled=true|false, stacks=true|false, thresholdMs=[ms], reset=true and format=folded. The response is
+ * the profiler summary or the folded stacks.
+ */
+@Slf4j
+public class MetricsServer {
+    private static final String PATH = "/metrics";
+    private static final String PROFILER_PATH = "/userthread";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final long PROBE_INTERVAL_MS = 1000;
+    private static final int PROFILER_MAX_CALL_SITES = 100;
+
+    private final int port;
+    private HttpServer httpServer;
+    private ScheduledExecutorService executor;
+
+    public MetricsServer(int port) {
+        this.port = port;
+    }
+
+    public void start() throws IOException {
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("MetricsServer")
+                .setDaemon(true)
+                .build());
+
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        httpServer.createContext(PATH, this::handle);
+        httpServer.createContext(PROFILER_PATH, this::handleProfiler);
+        httpServer.setExecutor(executor);
+        httpServer.start();
+
+        LatencyHistogram userThreadLatency = Metrics.histogram("bisq_user_thread_task_latency_seconds",
+                "Latency from enqueueing a probe task to the UserThread until it gets executed");
+        executor.scheduleAtFixedRate(() -> {
+            long ts = System.nanoTime();
+            UserThread.execute(() -> userThreadLatency.recordSince(ts));
+        }, PROBE_INTERVAL_MS, PROBE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        Metrics.setEnabled(true);
+        log.info("Metrics server listening on {}:{}{}", InetAddress.getLoopbackAddress().getHostAddress(), port, PATH);
+    }
+
+    public void shutDown() {
+        Metrics.setEnabled(false);
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) {
+        respond(exchange, Metrics::scrape);
+    }
+
+    private void handleProfiler(HttpExchange exchange) {
+        respond(exchange, () -> {
+            Map<String, String> params = getQueryParams(exchange.getRequestURI());
+            if (params.containsKey("enabled")) {
+                UserThreadProfiler.setEnabled(Boolean.parseBoolean(params.get("enabled")));
+            }
+            if (params.containsKey("stacks")) {
+                UserThreadProfiler.setCaptureStackTraces(Boolean.parseBoolean(params.get("stacks")));
+            }
+            if (params.containsKey("thresholdMs")) {
+                UserThreadProfiler.setSlowTaskThresholdMs(Long.parseLong(params.get("thresholdMs")));
+            }
+            if (Boolean.parseBoolean(params.get("reset"))) {
+                UserThreadProfiler.reset();
+            }
+            return "folded".equals(params.get("format")) ?
+                    UserThreadProfiler.getFoldedStacks() :
+                    UserThreadProfiler.getSummary(PROFILER_MAX_CALL_SITES);
+        });
+    }
+
+    private void respond(HttpExchange exchange, Supplier<String> responseSupplier) {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] response;
+            try {
+                response = responseSupplier.get().getBytes(StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        } catch (Throwable t) {
+            log.warn("Serving {} failed", exchange.getRequestURI().getPath(), t);
+        }
+    }
+
+    private static Map<String, String> getQueryParams(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String query = uri.getQuery();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                String[] keyValue = param.split("=", 2);
+                params.put(keyValue[0], keyValue.length > 1 ? keyValue[1] : "");
+            }
+        }
+        return params;
+    }
+}
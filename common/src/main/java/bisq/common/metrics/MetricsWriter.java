@@ -0,0 +1,145 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects metric samples and renders them in the Prometheus text exposition format (version 0.0.4). Samples of
+ * the same metric name get grouped under a single HELP and TYPE line.
+ * <p>
+ * Not thread safe. A new instance is used for each scrape.
+ */
+public class MetricsWriter {
+    private static class Family {
+        private final String type;
+        private final String help;
+        private final List<String> samples = new ArrayList<>();
+
+        private Family(String type, String help) {
+            this.type = type;
+            this.help = help;
+        }
+    }
+
+    private final Map<String, Family> families = new LinkedHashMap<>();
+
+    public void gauge(String name, String help, double value) {
+        gauge(name, help, null, null, value);
+    }
+
+    public void gauge(String name, String help, String labelName, String labelValue, double value) {
+        addSample(name, "gauge", help, name, labels(labelName, labelValue, null), value);
+    }
+
+    public void counter(String name, String help, double value) {
+        counter(name, help, null, null, value);
+    }
+
+    public void counter(String name, String help, String labelName, String labelValue, double value) {
+        addSample(name, "counter", help, name, labels(labelName, labelValue, null), value);
+    }
+
+    public void histogram(String name, String help, String labelName, String labelValue, LatencyHistogram histogram) {
+        histogram(name, help, labelName, labelValue,
+                histogram.getBuckets(), histogram.getTotalNanos());
+    }
+
+    /**
+     * @param buckets       Power-of-two millisecond buckets as used by {@link LatencyHistogram}. Values are not
+     *                      cumulative, the last bucket is the overflow bucket. The count is derived from the buckets,
+     *                      so it is consistent with the +Inf bucket even if observations get recorded concurrently.
+     * @param totalNanos    Sum of all observations in nanoseconds
+     */
+    public void histogram(String name,
+                          String help,
+                          String labelName,
+                          String labelValue,
+                          long[] buckets,
+                          long totalNanos) {
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length - 1; i++) {
+            cumulative += buckets[i];
+            String le = formatValue((1L << i) / 1000d);
+            addSample(name, "histogram", help, name + "_bucket", labels(labelName, labelValue, le), cumulative);
+        }
+        long count = cumulative + buckets[buckets.length - 1];
+        addSample(name, "histogram", help, name + "_bucket", labels(labelName, labelValue, "+Inf"), count);
+        String labels = labels(labelName, labelValue, null);
+        addSample(name, "histogram", help, name + "_sum", labels, totalNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        addSample(name, "histogram", help, name + "_count", labels, count);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        families.forEach((name, family) -> {
+            sb.append("# HELP ").append(name).append(' ').append(escapeHelp(family.help)).append('\n');
+            sb.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            family.samples.forEach(sample -> sb.append(sample).append('\n'));
+        });
+        return sb.toString();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void addSample(String familyName, String type, String help, String sampleName, String labels, double value) {
+        families.computeIfAbsent(familyName, k -> new Family(type, help))
+                .samples.add(sampleName + labels + ' ' + formatValue(value));
+    }
+
+    private static String labels(String labelName, String labelValue, String le) {
+        if (labelName == null && le == null) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder("{");
+        if (labelName != null) {
+            sb.append(labelName).append("=\"").append(escapeLabelValue(labelValue)).append('"');
+        }
+        if (le != null) {
+            if (labelName != null) {
+                sb.append(',');
+            }
+            sb.append("le=\"").append(le).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String formatValue(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
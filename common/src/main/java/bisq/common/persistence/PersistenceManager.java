@@ -24,6 +24,7 @@ import bisq.common.config.Config;
 import bisq.common.file.CorruptedStorageFileHandler;
 import bisq.common.file.FileUtil;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.metrics.Metrics;
 import bisq.common.proto.persistable.PersistableEnvelope;
 import bisq.common.proto.persistable.PersistenceProtoResolver;
 import bisq.common.util.SingleThreadExecutorUtils;
@@ -419,8 +420,21 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         persistNow(completeHandler, false);
     }
 
+    /**
+     * Same as persistNow but the resultHandler only gets called with true if the data got written to disk. It is
+     * called with false if writing failed or was not permitted yet. The resultHandler is called on the UserThread.
+     */
+    public void persistNowWithResult(Consumer<Boolean> resultHandler) {
+        doPersistNow(resultHandler, false);
+    }
+
     private void persistNow(@Nullable Runnable completeHandler, boolean force) {
+        doPersistNow(completeHandler != null ? success -> completeHandler.run() : null, force);
+    }
+
+    private void doPersistNow(@Nullable Consumer<Boolean> resultHandler, boolean force) {
         long ts = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         try {
             // The serialisation is done on the user thread to avoid threading issue with potential mutations of the
             // persistable object. Keeping it on the user thread we are in a synchronize model.
@@ -429,8 +443,10 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             // For the write to disk task we use a thread. We do not have any issues anymore if the persistable objects
             // gets mutated while the thread is running as we have serialized it already and do not operate on the
             // reference to the persistable object.
-            getWriteToDiskExecutor().execute(() -> writeToDisk(serialized, completeHandler, force));
+            getWriteToDiskExecutor().execute(() -> writeToDisk(serialized, resultHandler, force));
 
+            Metrics.recordSince("bisq_persistence_serialize_seconds",
+                    "Duration of serializing a persistable on the UserThread", "file", fileName, startNanos);
             long duration = System.currentTimeMillis() - ts;
             if (duration > 100) {
                 log.info("Serializing {} took {} msec", fileName, duration);
@@ -442,17 +458,21 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         }
     }
 
-    private void writeToDisk(protobuf.PersistableEnvelope serialized, @Nullable Runnable completeHandler, boolean force) {
+    private void writeToDisk(protobuf.PersistableEnvelope serialized,
+                             @Nullable Consumer<Boolean> resultHandler,
+                             boolean force) {
         if (!allServicesInitialized.get() && !force) {
             log.warn("Application has not completed start up yet so we do not permit writing data to disk.");
-            if (completeHandler != null)
-                UserThread.execute(completeHandler);
+            if (resultHandler != null)
+                UserThread.execute(() -> resultHandler.accept(false));
             return;
         }
 
         long ts = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         File tempFile = null;
         FileOutputStream fileOutputStream = null;
+        boolean success = false;
 
         try {
             // Before we write we backup existing file
@@ -482,6 +502,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
             FileUtil.renameFile(tempFile, storageFile);
             usedTempFilePath = tempFile.toPath();
+            success = true;
         } catch (Throwable t) {
             // If an error occurred, don't attempt to reuse this path again, in case temp file cleanup fails.
             usedTempFilePath = null;
@@ -503,13 +524,16 @@ public class PersistenceManager<T extends PersistableEnvelope> {
                 e.printStackTrace();
                 log.error("Cannot close resources." + e.getMessage());
             }
+            Metrics.recordSince("bisq_persistence_write_seconds",
+                    "Duration of writing a persistable to disk", "file", fileName, startNanos);
             long duration = System.currentTimeMillis() - ts;
             if (duration > 100) {
                 log.info("Writing the serialized {} completed in {} msec", fileName, duration);
             }
             persistenceRequested = false;
-            if (completeHandler != null) {
-                UserThread.execute(completeHandler);
+            if (resultHandler != null) {
+                boolean result = success;
+                UserThread.execute(() -> resultHandler.accept(result));
             }
         }
     }
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.taskrunner;
+
+import bisq.common.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the execution times of tasks by task class. The time is measured from the start of a task until it
+ * completes or fails, so for tasks waiting on network or wallet callbacks it includes the waiting time.
+ * <p>
+ * Durations are recorded into a {@link LatencyHistogram}, which is sufficient to see which trade steps dominate
+ * latency. Recording is lock-free.
+ */
+public class TaskMetrics {
+    private static final Map<String, Stats> STATS_BY_TASK_NAME = new ConcurrentHashMap<>();
+
+    public static class Stats {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder numFailed = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long durationNanos, boolean failed) {
+            histogram.record(durationNanos);
+            if (failed) {
+                numFailed.increment();
+            }
+            maxNanos.accumulate(durationNanos);
+        }
+
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getNumFailed() {
+            return numFailed.sum();
+        }
+
+        public long getTotalNanos() {
+            return histogram.getTotalNanos();
+        }
+
+        public double getAverageMillis() {
+            long count = getCount();
+            return count > 0 ? getTotalNanos() / (double) count / 1_000_000 : 0;
+        }
+
+        // See LatencyHistogram.getBuckets for the bucket layout
+        public long[] getHistogram() {
+            return histogram.getBuckets();
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + getCount() +
+                    ", failed=" + getNumFailed() +
+                    ", avg=" + String.format("%.2f", getAverageMillis()) + " ms" +
+                    ", max=" + TimeUnit.NANOSECONDS.toMillis(getMaxNanos()) + " ms";
+        }
+    }
+
+    static void record(Class<?> taskClass, long durationNanos, boolean failed) {
+        STATS_BY_TASK_NAME.computeIfAbsent(taskClass.getSimpleName(), k -> new Stats()).record(durationNanos, failed);
+    }
+
+    public static Map<String, Stats> getStatsByTaskName() {
+        return Collections.unmodifiableMap(STATS_BY_TASK_NAME);
+    }
+
+    public static String getSummary() {
+        StringBuilder sb = new StringBuilder("Task metrics:");
+        STATS_BY_TASK_NAME.entrySet().stream()
+                .sorted((o1, o2) -> Long.compare(o2.getValue().getTotalNanos(), o1.getValue().getTotalNanos()))
+                .forEach(e -> sb.append("\n    ").append(e.getKey()).append(": ").append(e.getValue()));
+        return sb.toString();
+    }
+
+    public static void reset() {
+        STATS_BY_TASK_NAME.clear();
+    }
+}
@@ -20,14 +20,27 @@ package bisq.common.taskrunner;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import java.lang.reflect.Constructor;
+
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TaskRunner<T extends Model> {
+    private static final MethodType FACTORY_METHOD_TYPE = MethodType.methodType(Task.class, TaskRunner.class, Model.class);
+
+    // Constructor handles resolved once per task class and model class, to avoid the reflective lookup at each run.
+    private static final Map<Class<?>, Map<Class<?>, MethodHandle>> CONSTRUCTOR_HANDLES = new ConcurrentHashMap<>();
+
     private final Queue<Class<? extends Task<T>>> tasks = new LinkedBlockingQueue<>();
     private final T sharedModel;
     private final Class<T> sharedModelClass;
@@ -37,6 +50,7 @@ public class TaskRunner<T extends Model> {
     private boolean isCanceled;
 
     private Class<? extends Task<T>> currentTask;
+    private long currentTaskStartTime;
 
 
     public TaskRunner(T sharedModel, ResultHandler resultHandler, ErrorMessageHandler errorMessageHandler) {
@@ -65,8 +79,9 @@ public class TaskRunner<T extends Model> {
             if (tasks.size() > 0) {
                 try {
                     currentTask = tasks.poll();
-                    log.info("Run task: " + currentTask.getSimpleName());
-                    currentTask.getDeclaredConstructor(TaskRunner.class, sharedModelClass).newInstance(this, sharedModel).run();
+                    log.info("Run task: {}", currentTask.getSimpleName());
+                    currentTaskStartTime = System.nanoTime();
+                    createTask(currentTask).run();
                 } catch (Throwable throwable) {
                     throwable.printStackTrace();
                     handleErrorMessage("Error at taskRunner: " + throwable.getMessage());
@@ -82,12 +97,38 @@ public class TaskRunner<T extends Model> {
     }
 
     void handleComplete() {
+        recordTaskDuration(false);
         next();
     }
 
     void handleErrorMessage(String errorMessage) {
         log.error("Task failed: " + currentTask.getSimpleName() + " / errorMessage: " + errorMessage);
+        recordTaskDuration(true);
         failed = true;
         errorMessageHandler.handleErrorMessage(errorMessage);
     }
+
+    private void recordTaskDuration(boolean failed) {
+        if (currentTask != null) {
+            TaskMetrics.record(currentTask, System.nanoTime() - currentTaskStartTime, failed);
+        }
+    }
+
+    private Task<T> createTask(Class<? extends Task<T>> taskClass) throws Throwable {
+        MethodHandle constructorHandle = CONSTRUCTOR_HANDLES
+                .computeIfAbsent(taskClass, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(sharedModelClass, modelClass -> getConstructorHandle(taskClass, modelClass));
+        //noinspection unchecked
+        return (Task<T>) constructorHandle.invokeExact(this, (Model) sharedModel);
+    }
+
+    private static MethodHandle getConstructorHandle(Class<?> taskClass, Class<?> modelClass) {
+        try {
+            Constructor<?> constructor = taskClass.getDeclaredConstructor(TaskRunner.class, modelClass);
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(FACTORY_METHOD_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("No usable constructor found for task " + taskClass.getSimpleName(), e);
+        }
+    }
 }
@@ -0,0 +1,270 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.util;
+
+import bisq.common.crypto.Hash;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Parallel variant of PermutationUtil.findMatchingPermutation for the case that the predicate compares the
+ * Sha256Ripemd160 hash of the concatenated serialized list items with a target hash.
+ * <p>
+ * We test exactly the same variations in the same order as PermutationUtil.findMatchingPermutation: First the full
+ * list, then all variations with 1 item removed, then with 2 items removed,... each level in lexicographic order of
+ * the removed indices, until maxIterations variations have been tested. A variation is identified by its rank in
+ * that order, so each level is split into rank ranges which are processed in parallel on the common ForkJoin pool.
+ * Once a match is found we stop all ranges above the match. If there are multiple matches we return the one with
+ * the lowest rank, as the sequential search would do.
+ * <p>
+ * The items are serialized only once. As the SHA-256 digest is computed incrementally we keep the digest state of
+ * the prefix before each removed index and only hash the changed tail when moving to the next variation.
+ */
+@Slf4j
+public class ParallelPermutationSearch {
+    // Min. number of variations processed by one task
+    private static final int MIN_CHUNK_SIZE = 2000;
+
+    /**
+     * @param targetHash        Sha256Ripemd160 hash of the concatenated serialized items of the list we search for
+     * @param list              Original list
+     * @param serializer        Serializes a list item
+     * @param maxIterations     Max. number of tested variations (the original list is not counted)
+     * @param <T>               Type of list items
+     * @return The matching variation of the list or an empty list if no match was found
+     */
+    public static <T> List<T> findMatchingPermutation(byte[] targetHash,
+                                                      List<T> list,
+                                                      Function<T, byte[]> serializer,
+                                                      int maxIterations) {
+        byte[][] items = list.stream().map(serializer).toArray(byte[][]::new);
+        int[] removedIndices = new ParallelPermutationSearch(targetHash, items).findRemovedIndices(maxIterations);
+        if (removedIndices == null) {
+            return new ArrayList<>();
+        }
+
+        List<T> result = new ArrayList<>(list.size() - removedIndices.length);
+        int r = 0;
+        for (int i = 0; i < list.size(); i++) {
+            if (r < removedIndices.length && removedIndices[r] == i) {
+                r++;
+            } else {
+                result.add(list.get(i));
+            }
+        }
+        return result;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Instance
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private final byte[] targetHash;
+    private final byte[][] items;
+    private final int n;
+    // prefixDigests[i] is the digest state after hashing items[0..i-1]. Only cloned, never updated after creation.
+    private final MessageDigest[] prefixDigests;
+
+    private ParallelPermutationSearch(byte[] targetHash, byte[][] items) {
+        this.targetHash = targetHash;
+        this.items = items;
+        this.n = items.length;
+        this.prefixDigests = new MessageDigest[n + 1];
+        prefixDigests[0] = newSha256Digest();
+        for (int i = 0; i < n; i++) {
+            prefixDigests[i + 1] = cloneDigest(prefixDigests[i]);
+            prefixDigests[i + 1].update(items[i]);
+        }
+    }
+
+    // Returns the sorted indices of the removed items, an empty array if the full list matches or null if no match
+    // was found.
+    private int[] findRemovedIndices(int maxIterations) {
+        if (matches(finish(cloneDigest(prefixDigests[n])))) {
+            return new int[0];
+        }
+
+        long remainingIterations = maxIterations;
+        // We never remove all items (same as PermutationUtil)
+        for (int k = 1; k < n && remainingIterations > 0; k++) {
+            long numVariations = Math.min(binomial(n, k), remainingIterations);
+            remainingIterations -= numVariations;
+
+            long matchingRank = searchLevel(k, numVariations);
+            if (matchingRank >= 0) {
+                return unrank(matchingRank, n, k);
+            }
+        }
+        return null;
+    }
+
+    // Returns the lowest rank of a matching variation with k removed items or -1
+    private long searchLevel(int k, long numVariations) {
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, (numVariations + parallelism * 4L - 1) / (parallelism * 4L));
+        int numChunks = (int) ((numVariations + chunkSize - 1) / chunkSize);
+        AtomicLong bestRank = new AtomicLong(Long.MAX_VALUE);
+
+        IntStream chunks = IntStream.range(0, numChunks);
+        if (numChunks > 1) {
+            chunks = chunks.parallel();
+        }
+        chunks.forEach(chunk -> {
+            long fromRank = chunk * chunkSize;
+            long toRank = Math.min(numVariations, fromRank + chunkSize);
+            searchRange(k, fromRank, toRank, bestRank);
+        });
+
+        long rank = bestRank.get();
+        return rank == Long.MAX_VALUE ? -1 : rank;
+    }
+
+    private void searchRange(int k, long fromRank, long toRank, AtomicLong bestRank) {
+        int[] removed = unrank(fromRank, n, k);
+        // digests[j] is the digest state after hashing all not removed items before removed[j]
+        MessageDigest[] digests = new MessageDigest[k];
+        int changedPosition = 0;
+        for (long rank = fromRank; rank < toRank; rank++) {
+            if (rank > bestRank.get()) {
+                // A variation with a lower rank matched already
+                return;
+            }
+
+            for (int j = changedPosition; j < k; j++) {
+                if (j == 0) {
+                    digests[0] = cloneDigest(prefixDigests[removed[0]]);
+                } else {
+                    digests[j] = cloneDigest(digests[j - 1]);
+                    for (int i = removed[j - 1] + 1; i < removed[j]; i++) {
+                        digests[j].update(items[i]);
+                    }
+                }
+            }
+
+            MessageDigest digest = cloneDigest(digests[k - 1]);
+            for (int i = removed[k - 1] + 1; i < n; i++) {
+                digest.update(items[i]);
+            }
+            if (matches(finish(digest))) {
+                bestRank.accumulateAndGet(rank, Math::min);
+                return;
+            }
+
+            changedPosition = next(removed, n);
+        }
+    }
+
+    private boolean matches(byte[] hash) {
+        return Arrays.equals(targetHash, hash);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Combinatorics
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Binomial coefficient, saturated at Long.MAX_VALUE
+    static long binomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        k = Math.min(k, n - k);
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            // result * (n - k + i) / i is always an integer
+            long factor = n - k + i;
+            if (result > Long.MAX_VALUE / factor) {
+                return Long.MAX_VALUE;
+            }
+            result = result * factor / i;
+        }
+        return result;
+    }
+
+    // Returns the combination of k sorted indices out of n with the given rank in lexicographic order
+    static int[] unrank(long rank, int n, int k) {
+        int[] combination = new int[k];
+        int x = 0;
+        for (int j = 0; j < k; j++) {
+            while (true) {
+                long count = binomial(n - x - 1, k - j - 1);
+                if (rank < count) {
+                    combination[j] = x++;
+                    break;
+                }
+                rank -= count;
+                x++;
+            }
+        }
+        return combination;
+    }
+
+    // Moves to the next combination in lexicographic order and returns the first changed position
+    static int next(int[] combination, int n) {
+        int k = combination.length;
+        int j = k - 1;
+        while (j >= 0 && combination[j] == n - k + j) {
+            j--;
+        }
+        if (j < 0) {
+            return k;
+        }
+        combination[j]++;
+        for (int i = j + 1; i < k; i++) {
+            combination[i] = combination[i - 1] + 1;
+        }
+        return j;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Digest
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Same as Hash.getSha256Ripemd160hash of the concatenated data
+    private static byte[] finish(MessageDigest sha256Digest) {
+        return Hash.getRipemd160hash(sha256Digest.digest());
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest does not support cloning", e);
+        }
+    }
+}
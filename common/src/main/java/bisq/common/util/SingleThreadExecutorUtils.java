@@ -23,7 +23,10 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class SingleThreadExecutorUtils {
     public static ExecutorService getSingleThreadExecutor(Class<?> aClass) {
@@ -31,6 +34,12 @@ public class SingleThreadExecutorUtils {
         return getSingleThreadExecutor(name);
     }
 
+    // Same as getSingleThreadExecutor but exposes the ThreadPoolExecutor, so the queue size can be observed
+    public static ThreadPoolExecutor getSingleThreadPoolExecutor(Class<?> aClass) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                getThreadFactory(aClass.getSimpleName(), true));
+    }
+
     public static ExecutorService getNonDaemonSingleThreadExecutor(Class<?> aClass) {
         String name = aClass.getSimpleName();
         return getSingleThreadExecutor(name, false);
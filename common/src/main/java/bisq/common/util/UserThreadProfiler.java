@@ -0,0 +1,284 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Profiles the tasks executed on the UserThread. If enabled, tasks submitted via UserThread.execute and timer
+ * callbacks of the FrameRateTimer get wrapped and we record per call site the latency from submitting to running
+ * (for timers from the scheduled time to running) and the run duration. The slowest tasks get kept in a ring buffer.
+ * <p>
+ * The call site is the class of the submitted runnable. As each lambda has its own class that is cheap and precise
+ * enough in most cases. With captureStackTraces the call site is the folded stack of the submitting thread
+ * (root first, separated by ';') which can be fed into flame graph tools via {@link #getFoldedStacks()}. That costs
+ * a stack walk at each submit, so it should be used only temporarily.
+ * <p>
+ * Can be enabled and disabled at runtime. If disabled the only cost is a volatile read at submit.
+ */
+@Slf4j
+public class UserThreadProfiler {
+    private static final int SLOW_TASK_BUFFER_SIZE = 128;
+    private static final int MAX_STACK_DEPTH = 12;
+    // Protects against unbounded growth if stack traces are captured
+    private static final int MAX_CALL_SITES = 10_000;
+    private static final String OTHER_CALL_SITES = "other";
+    private static final Set<String> SKIPPED_CLASS_NAMES = Set.of(UserThreadProfiler.class.getName(),
+            "bisq.common.UserThread",
+            "bisq.common.FrameRateTimer",
+            "bisq.common.MasterTimer");
+
+    @Value
+    public static class SlowTask {
+        String callSite;
+        long timestamp;
+        long queueNanos;
+        long runNanos;
+
+        @Override
+        public String toString() {
+            return callSite + ": run=" + TimeUnit.NANOSECONDS.toMillis(runNanos) + " ms" +
+                    ", queued=" + TimeUnit.NANOSECONDS.toMillis(queueNanos) + " ms" +
+                    ", at " + timestamp;
+        }
+    }
+
+    public static class CallSiteStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalQueueNanos = new LongAdder();
+        private final LongAdder totalRunNanos = new LongAdder();
+        @Getter
+        private volatile long maxQueueNanos;
+        @Getter
+        private volatile long maxRunNanos;
+
+        private void record(long queueNanos, long runNanos) {
+            count.increment();
+            totalQueueNanos.add(queueNanos);
+            totalRunNanos.add(runNanos);
+            if (queueNanos > maxQueueNanos) {
+                maxQueueNanos = queueNanos;
+            }
+            if (runNanos > maxRunNanos) {
+                maxRunNanos = runNanos;
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalQueueNanos() {
+            return totalQueueNanos.sum();
+        }
+
+        public long getTotalRunNanos() {
+            return totalRunNanos.sum();
+        }
+
+        @Override
+        public String toString() {
+            long count = Math.max(1, getCount());
+            return "count=" + getCount() +
+                    ", total run=" + TimeUnit.NANOSECONDS.toMillis(getTotalRunNanos()) + " ms" +
+                    ", avg run=" + String.format("%.2f", getTotalRunNanos() / (double) count / 1_000_000) + " ms" +
+                    ", max run=" + TimeUnit.NANOSECONDS.toMillis(maxRunNanos) + " ms" +
+                    ", avg queued=" + String.format("%.2f", getTotalQueueNanos() / (double) count / 1_000_000) + " ms" +
+                    ", max queued=" + TimeUnit.NANOSECONDS.toMillis(maxQueueNanos) + " ms";
+        }
+    }
+
+    private static class ProfiledRunnable implements Runnable {
+        private final Runnable runnable;
+        private final String callSite;
+        private final long submitNanos;
+
+        private ProfiledRunnable(Runnable runnable, String callSite, long submitNanos) {
+            this.runnable = runnable;
+            this.callSite = callSite;
+            this.submitNanos = submitNanos;
+        }
+
+        @Override
+        public void run() {
+            UserThreadProfiler.run(runnable, callSite, System.nanoTime() - submitNanos);
+        }
+    }
+
+    private static final Map<String, CallSiteStats> STATS_BY_CALL_SITE = new ConcurrentHashMap<>();
+    private static final AtomicReferenceArray<SlowTask> SLOW_TASKS = new AtomicReferenceArray<>(SLOW_TASK_BUFFER_SIZE);
+    private static final AtomicLong SLOW_TASK_INDEX = new AtomicLong();
+
+    private static volatile boolean enabled;
+    private static volatile boolean captureStackTraces;
+    private static volatile long slowTaskThresholdNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Settings
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        UserThreadProfiler.enabled = enabled;
+        log.info("UserThread profiler {}", enabled ? "enabled" : "disabled");
+    }
+
+    public static boolean isCaptureStackTraces() {
+        return captureStackTraces;
+    }
+
+    public static void setCaptureStackTraces(boolean captureStackTraces) {
+        UserThreadProfiler.captureStackTraces = captureStackTraces;
+    }
+
+    public static void setSlowTaskThresholdMs(long slowTaskThresholdMs) {
+        slowTaskThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowTaskThresholdMs);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Profiling
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Must be called at submit time (on the submitting thread) if stack traces are used
+    public static Runnable wrap(Runnable runnable) {
+        return new ProfiledRunnable(runnable, getCallSite(runnable), System.nanoTime());
+    }
+
+    public static String getCallSite(Runnable runnable) {
+        return captureStackTraces ? getFoldedStack() : runnable.getClass().getName();
+    }
+
+    /**
+     * Runs the runnable and records its run duration.
+     *
+     * @param queueNanos The time the task has been waiting to get executed
+     */
+    public static void run(Runnable runnable, String callSite, long queueNanos) {
+        long startNanos = System.nanoTime();
+        try {
+            runnable.run();
+        } finally {
+            record(callSite, queueNanos, System.nanoTime() - startNanos);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Results
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public static Map<String, CallSiteStats> getStatsByCallSite() {
+        return Collections.unmodifiableMap(STATS_BY_CALL_SITE);
+    }
+
+    // Most recent first
+    public static List<SlowTask> getSlowTasks() {
+        List<SlowTask> result = new ArrayList<>();
+        long index = SLOW_TASK_INDEX.get();
+        for (int i = 1; i <= SLOW_TASK_BUFFER_SIZE; i++) {
+            SlowTask slowTask = SLOW_TASKS.get((int) Math.floorMod(index - i, (long) SLOW_TASK_BUFFER_SIZE));
+            if (slowTask != null) {
+                result.add(slowTask);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The total run time in microseconds per call site in the folded stack format ("frame1;frame2 value"),
+     * usable as input for flame graph tools.
+     */
+    public static String getFoldedStacks() {
+        return STATS_BY_CALL_SITE.entrySet().stream()
+                .sorted((o1, o2) -> Long.compare(o2.getValue().getTotalRunNanos(), o1.getValue().getTotalRunNanos()))
+                .map(e -> e.getKey().replace(' ', '_') + " " +
+                        TimeUnit.NANOSECONDS.toMicros(e.getValue().getTotalRunNanos()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    public static String getSummary(int maxCallSites) {
+        StringBuilder sb = new StringBuilder("UserThread profile (enabled=").append(enabled).append("):");
+        STATS_BY_CALL_SITE.entrySet().stream()
+                .sorted((o1, o2) -> Long.compare(o2.getValue().getTotalRunNanos(), o1.getValue().getTotalRunNanos()))
+                .limit(maxCallSites)
+                .forEach(e -> sb.append("\n    ").append(e.getKey()).append(": ").append(e.getValue()));
+        sb.append("\nSlow tasks (>= ").append(TimeUnit.NANOSECONDS.toMillis(slowTaskThresholdNanos)).append(" ms):");
+        getSlowTasks().forEach(slowTask -> sb.append("\n    ").append(slowTask));
+        return sb.toString();
+    }
+
+    public static void reset() {
+        STATS_BY_CALL_SITE.clear();
+        for (int i = 0; i < SLOW_TASK_BUFFER_SIZE; i++) {
+            SLOW_TASKS.set(i, null);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void record(String callSite, long queueNanos, long runNanos) {
+        CallSiteStats stats = STATS_BY_CALL_SITE.get(callSite);
+        if (stats == null) {
+            String key = STATS_BY_CALL_SITE.size() < MAX_CALL_SITES ? callSite : OTHER_CALL_SITES;
+            stats = STATS_BY_CALL_SITE.computeIfAbsent(key, k -> new CallSiteStats());
+        }
+        stats.record(queueNanos, runNanos);
+
+        if (runNanos >= slowTaskThresholdNanos) {
+            SlowTask slowTask = new SlowTask(callSite, System.currentTimeMillis(), queueNanos, runNanos);
+            SLOW_TASKS.set((int) (SLOW_TASK_INDEX.getAndIncrement() % SLOW_TASK_BUFFER_SIZE), slowTask);
+            log.debug("Slow UserThread task: {}", slowTask);
+        }
+    }
+
+    private static String getFoldedStack() {
+        List<String> frames = StackWalker.getInstance().walk(stream -> stream
+                .filter(frame -> !SKIPPED_CLASS_NAMES.contains(frame.getClassName()))
+                .limit(MAX_STACK_DEPTH)
+                .map(frame -> getSimpleClassName(frame.getClassName()) + "." + frame.getMethodName())
+                .collect(Collectors.toList()));
+        Collections.reverse(frames);
+        return String.join(";", frames);
+    }
+
+    private static String getSimpleClassName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
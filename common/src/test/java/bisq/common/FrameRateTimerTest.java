@@ -0,0 +1,79 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import bisq.common.util.UserThreadProfiler;
+
+import java.time.Duration;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrameRateTimerTest {
+    @BeforeEach
+    public void setUp() {
+        UserThreadProfiler.reset();
+        UserThreadProfiler.setEnabled(true);
+        UserThreadProfiler.setSlowTaskThresholdMs(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        UserThreadProfiler.setEnabled(false);
+        UserThreadProfiler.setSlowTaskThresholdMs(100);
+        UserThreadProfiler.reset();
+    }
+
+    @Test
+    public void recordsOneEntryPerTimerCallback() throws Exception {
+        CountDownLatch called = new CountDownLatch(1);
+        Runnable callback = called::countDown;
+        new FrameRateTimer().runLater(Duration.ofMillis(1), callback);
+        assertTrue(called.await(10, TimeUnit.SECONDS));
+
+        String callSite = callback.getClass().getName();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!UserThreadProfiler.getStatsByCallSite().containsKey(callSite) &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // Give a few more ticks the chance to get recorded
+        Thread.sleep(3 * MasterTimer.FRAME_INTERVAL_MS);
+
+        UserThreadProfiler.CallSiteStats stats = UserThreadProfiler.getStatsByCallSite().get(callSite);
+        assertNotNull(stats);
+        assertEquals(1, stats.getCount());
+        assertFalse(UserThreadProfiler.getStatsByCallSite().keySet().stream()
+                        .anyMatch(key -> key.startsWith(MasterTimer.class.getName())),
+                UserThreadProfiler.getSummary(10));
+        assertEquals(1, UserThreadProfiler.getSlowTasks().stream()
+                .filter(slowTask -> slowTask.getCallSite().equals(callSite))
+                .count());
+        assertFalse(UserThreadProfiler.getSlowTasks().stream()
+                .anyMatch(slowTask -> slowTask.getCallSite().startsWith(MasterTimer.class.getName())));
+    }
+}
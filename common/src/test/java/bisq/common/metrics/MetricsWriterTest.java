@@ -0,0 +1,90 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsWriterTest {
+    @Test
+    public void samplesOfSameFamilyAreGrouped() {
+        MetricsWriter writer = new MetricsWriter();
+        writer.counter("messages_total", "Messages", "type", "A", 1);
+        writer.gauge("entries", "Entries", 5);
+        writer.counter("messages_total", "Messages", "type", "B\"x", 2);
+
+        assertEquals("# HELP messages_total Messages\n" +
+                        "# TYPE messages_total counter\n" +
+                        "messages_total{type=\"A\"} 1\n" +
+                        "messages_total{type=\"B\\\"x\"} 2\n" +
+                        "# HELP entries Entries\n" +
+                        "# TYPE entries gauge\n" +
+                        "entries 5\n",
+                writer.toString());
+    }
+
+    @Test
+    public void histogramBucketsAreCumulative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.MINUTES.toNanos(5));
+
+        MetricsWriter writer = new MetricsWriter();
+        writer.histogram("latency_seconds", "Latency", null, "", histogram);
+        String result = writer.toString();
+
+        assertTrue(result.contains("latency_seconds_bucket{le=\"0.001\"} 1\n"));
+        assertTrue(result.contains("latency_seconds_bucket{le=\"0.002\"} 1\n"));
+        assertTrue(result.contains("latency_seconds_bucket{le=\"0.004\"} 2\n"));
+        assertTrue(result.contains("latency_seconds_bucket{le=\"65.536\"} 2\n"));
+        assertTrue(result.contains("latency_seconds_bucket{le=\"+Inf\"} 3\n"));
+        assertTrue(result.contains("latency_seconds_sum 300.0035\n"));
+        assertTrue(result.contains("latency_seconds_count 3\n"));
+    }
+
+    @Test
+    public void histogramCountMatchesInfBucket() {
+        MetricsWriter writer = new MetricsWriter();
+        writer.histogram("latency_seconds", "Latency", null, "", new long[]{1, 2, 3}, 0);
+        String result = writer.toString();
+
+        assertTrue(result.contains("latency_seconds_bucket{le=\"0.002\"} 3\n"));
+        assertTrue(result.contains("latency_seconds_bucket{le=\"+Inf\"} 6\n"));
+        assertTrue(result.contains("latency_seconds_count 6\n"));
+    }
+
+    @Test
+    public void recordSinceIsNoOpIfNotEnabled() {
+        Metrics.setEnabled(false);
+        Metrics.recordSince("test_disabled_seconds", "Test", System.nanoTime());
+        assertEquals(0, Metrics.histogram("test_disabled_seconds", "Test").getCount());
+
+        Metrics.setEnabled(true);
+        try {
+            Metrics.recordSince("test_disabled_seconds", "Test", System.nanoTime());
+            assertEquals(1, Metrics.histogram("test_disabled_seconds", "Test").getCount());
+        } finally {
+            Metrics.setEnabled(false);
+        }
+    }
+}
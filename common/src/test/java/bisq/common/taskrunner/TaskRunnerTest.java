@@ -0,0 +1,135 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.taskrunner;
+
+import bisq.common.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskRunnerTest {
+    static class TestModel implements Model {
+        final List<String> executedTasks = new ArrayList<>();
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    public static class FirstTask extends Task<TestModel> {
+        public FirstTask(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.executedTasks.add("first");
+            complete();
+        }
+    }
+
+    public static class SecondTask extends Task<TestModel> {
+        public SecondTask(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.executedTasks.add("second");
+            complete();
+        }
+    }
+
+    public static class FailingTask extends Task<TestModel> {
+        public FailingTask(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            failed("test failure");
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        TaskMetrics.reset();
+    }
+
+    @Test
+    public void testTasksRunInOrderAndRecordMetrics() {
+        TestModel model = new TestModel();
+        List<String> errors = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+        TaskRunner<TestModel> taskRunner = new TaskRunner<>(model, () -> completed[0] = true, errors::add);
+        taskRunner.addTasks(FirstTask.class, SecondTask.class, FirstTask.class);
+        taskRunner.run();
+
+        assertTrue(completed[0]);
+        assertTrue(errors.isEmpty());
+        assertEquals(List.of("first", "second", "first"), model.executedTasks);
+        assertEquals(2, TaskMetrics.getStatsByTaskName().get("FirstTask").getCount());
+        assertEquals(1, TaskMetrics.getStatsByTaskName().get("SecondTask").getCount());
+    }
+
+    @Test
+    public void testFailedTaskStopsRunner() {
+        TestModel model = new TestModel();
+        List<String> errors = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+        TaskRunner<TestModel> taskRunner = new TaskRunner<>(model, () -> completed[0] = true, errors::add);
+        taskRunner.addTasks(FailingTask.class, FirstTask.class);
+        taskRunner.run();
+
+        assertFalse(completed[0]);
+        assertEquals(1, errors.size());
+        assertTrue(model.executedTasks.isEmpty());
+        TaskMetrics.Stats stats = TaskMetrics.getStatsByTaskName().get("FailingTask");
+        assertNotNull(stats);
+        assertEquals(1, stats.getNumFailed());
+    }
+
+    @Test
+    public void testCachedConstructorCreatesNewTaskPerRun() {
+        TestModel model = new TestModel();
+        TaskRunner<TestModel> taskRunner = new TaskRunner<>(model, () -> {
+        }, errorMessage -> {
+        });
+        taskRunner.addTasks(SecondTask.class, SecondTask.class);
+        taskRunner.run();
+
+        assertEquals(List.of("second", "second"), model.executedTasks);
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        assertEquals(0, LatencyHistogram.getBucket(500_000));
+        assertEquals(1, LatencyHistogram.getBucket(1_000_000));
+        assertEquals(2, LatencyHistogram.getBucket(3_000_000));
+        assertEquals(3, LatencyHistogram.getBucket(4_000_000));
+        assertEquals(LatencyHistogram.NUM_BUCKETS - 1, LatencyHistogram.getBucket(Long.MAX_VALUE));
+    }
+}
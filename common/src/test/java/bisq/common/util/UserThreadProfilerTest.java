@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.util;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserThreadProfilerTest {
+    @BeforeEach
+    public void setUp() {
+        UserThreadProfiler.reset();
+        UserThreadProfiler.setEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        UserThreadProfiler.setEnabled(false);
+        UserThreadProfiler.setCaptureStackTraces(false);
+        UserThreadProfiler.setSlowTaskThresholdMs(100);
+        UserThreadProfiler.reset();
+    }
+
+    @Test
+    public void recordsPerCallSite() {
+        Runnable task = () -> {
+        };
+        Runnable wrapped = UserThreadProfiler.wrap(task);
+        wrapped.run();
+        wrapped.run();
+
+        UserThreadProfiler.CallSiteStats stats = UserThreadProfiler.getStatsByCallSite().get(task.getClass().getName());
+        assertEquals(2, stats.getCount());
+        assertTrue(UserThreadProfiler.getSlowTasks().isEmpty());
+    }
+
+    @Test
+    public void slowTasksAreKeptMostRecentFirst() {
+        UserThreadProfiler.setSlowTaskThresholdMs(0);
+        for (int i = 0; i < 200; i++) {
+            UserThreadProfiler.run(() -> {
+            }, "task" + i, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        List<UserThreadProfiler.SlowTask> slowTasks = UserThreadProfiler.getSlowTasks();
+        assertEquals(128, slowTasks.size());
+        assertEquals("task199", slowTasks.get(0).getCallSite());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(199), slowTasks.get(0).getQueueNanos());
+        assertEquals("task72", slowTasks.get(127).getCallSite());
+    }
+
+    @Test
+    public void foldedStacksContainSubmitter() {
+        UserThreadProfiler.setCaptureStackTraces(true);
+        UserThreadProfiler.wrap(() -> {
+        }).run();
+
+        String foldedStacks = UserThreadProfiler.getFoldedStacks();
+        assertTrue(foldedStacks.contains("UserThreadProfilerTest.foldedStacksContainSubmitter "), foldedStacks);
+    }
+}
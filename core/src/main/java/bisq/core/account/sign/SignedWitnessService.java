@@ -62,6 +62,7 @@ import java.util.Set;
 import java.util.Stack;
 import java.util.stream.Collectors;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -94,6 +95,11 @@ public class SignedWitnessService {
     private final Map<P2PDataStorage.ByteArray, Boolean> verifySignatureWithDSAKeyResultCache = new HashMap<>();
     private final Map<P2PDataStorage.ByteArray, Boolean> verifySignatureWithECKeyResultCache = new HashMap<>();
 
+    // Gets incremented when a SignedWitness is added or removed. Allows clients to detect that cached sign states
+    // might be outdated.
+    @Getter
+    private volatile int signedWitnessMapVersion;
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -524,7 +530,9 @@ public class SignedWitnessService {
 
     @VisibleForTesting
     public void addToMap(SignedWitness signedWitness) {
-        signedWitnessMap.putIfAbsent(signedWitness.getHashAsByteArray(), signedWitness);
+        if (signedWitnessMap.putIfAbsent(signedWitness.getHashAsByteArray(), signedWitness) == null) {
+            signedWitnessMapVersion++;
+        }
 
         P2PDataStorage.ByteArray accountAgeWitnessHash = new P2PDataStorage.ByteArray(signedWitness.getAccountAgeWitnessHash());
         signedWitnessSetByAccountAgeWitnessHash.putIfAbsent(accountAgeWitnessHash, new HashSet<>());
@@ -551,7 +559,9 @@ public class SignedWitnessService {
 
     @VisibleForTesting
     public void removeSignedWitness(SignedWitness signedWitness) {
-        signedWitnessMap.remove(signedWitness.getHashAsByteArray());
+        if (signedWitnessMap.remove(signedWitness.getHashAsByteArray()) != null) {
+            signedWitnessMapVersion++;
+        }
 
         P2PDataStorage.ByteArray accountAgeWitnessHash = new P2PDataStorage.ByteArray(signedWitness.getAccountAgeWitnessHash());
         if (signedWitnessSetByAccountAgeWitnessHash.containsKey(accountAgeWitnessHash)) {
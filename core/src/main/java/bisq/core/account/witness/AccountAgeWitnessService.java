@@ -76,7 +76,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -151,10 +150,15 @@ public class AccountAgeWitnessService {
 
     private final Map<P2PDataStorage.ByteArray, AccountAgeWitness> accountAgeWitnessMap = new HashMap<>();
 
-    // The accountAgeWitnessMap is very large (70k items) and access is a bit expensive. We usually only access less
-    // than 100 items, those who have offers online. So we use a cache for a fast lookup and only if
-    // not found there we use the accountAgeWitnessMap and put then the new item into our cache.
-    private final Map<P2PDataStorage.ByteArray, AccountAgeWitness> accountAgeWitnessCache = new ConcurrentHashMap<>();
+    // Offer book rendering, trade limit checks and the sign state display resolve the witness of the same offers
+    // and peers many times. Hashing the account data and verifying the signed witnesses is rather expensive, so we
+    // cache the results for the recently used ones.
+    private final WitnessResolutionCache witnessResolutionCache = new WitnessResolutionCache();
+
+    // Gets incremented when a new AccountAgeWitness or SignedWitness arrives. Allows clients to detect that cached
+    // results based on witness data (e.g. trade limits) might be outdated.
+    @Getter
+    private volatile int witnessDataVersion;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -201,6 +205,8 @@ public class AccountAgeWitnessService {
         p2PService.getP2PDataStorage().addAppendOnlyDataStoreListener(payload -> {
             if (payload instanceof AccountAgeWitness)
                 addToMap((AccountAgeWitness) payload);
+            else if (payload instanceof SignedWitness)
+                witnessDataVersion++;
         });
 
         // At startup the P2PDataStorage initializes earlier, otherwise we get the listener called.
@@ -248,7 +254,9 @@ public class AccountAgeWitnessService {
 
     @VisibleForTesting
     public void addToMap(AccountAgeWitness accountAgeWitness) {
-        accountAgeWitnessMap.putIfAbsent(accountAgeWitness.getHashAsByteArray(), accountAgeWitness);
+        if (accountAgeWitnessMap.putIfAbsent(accountAgeWitness.getHashAsByteArray(), accountAgeWitness) == null) {
+            witnessDataVersion++;
+        }
     }
 
 
@@ -259,13 +267,6 @@ public class AccountAgeWitnessService {
     public void publishMyAccountAgeWitness(PaymentAccountPayload paymentAccountPayload) {
         AccountAgeWitness accountAgeWitness = getMyWitness(paymentAccountPayload);
         P2PDataStorage.ByteArray hash = accountAgeWitness.getHashAsByteArray();
-
-        // We use first our fast lookup cache. If its in accountAgeWitnessCache it is also in accountAgeWitnessMap
-        // and we do not publish.
-        if (accountAgeWitnessCache.containsKey(hash)) {
-            return;
-        }
-
         if (!accountAgeWitnessMap.containsKey(hash)) {
             p2PService.addPersistableNetworkPayload(accountAgeWitness, false);
         }
@@ -296,17 +297,19 @@ public class AccountAgeWitnessService {
             return Optional.empty();
         }
 
-        byte[] accountInputDataWithSalt = getAccountInputDataWithSalt(paymentAccountPayload);
-        byte[] hash = Hash.getSha256Ripemd160hash(Utilities.concatenateByteArrays(accountInputDataWithSalt,
-                pubKeyRing.getSignaturePubKeyBytes()));
-
-        return getWitnessByHash(hash);
+        return getWitnessResolutionCache().getWitness(new Tuple2<>(paymentAccountPayload, pubKeyRing), () -> {
+            byte[] accountInputDataWithSalt = getAccountInputDataWithSalt(paymentAccountPayload);
+            byte[] hash = Hash.getSha256Ripemd160hash(Utilities.concatenateByteArrays(accountInputDataWithSalt,
+                    pubKeyRing.getSignaturePubKeyBytes()));
+            return getWitnessByHash(hash);
+        });
     }
 
     public Optional<AccountAgeWitness> findWitness(Offer offer) {
         final Optional<String> accountAgeWitnessHash = offer.getAccountAgeWitnessHashAsHex();
         return accountAgeWitnessHash.isPresent() ?
-                getWitnessByHashAsHex(accountAgeWitnessHash.get()) :
+                getWitnessResolutionCache().getWitness(accountAgeWitnessHash.get(),
+                        () -> getWitnessByHashAsHex(accountAgeWitnessHash.get())) :
                 Optional.empty();
     }
 
@@ -320,23 +323,7 @@ public class AccountAgeWitnessService {
     }
 
     public Optional<AccountAgeWitness> getWitnessByHash(byte[] hash) {
-        P2PDataStorage.ByteArray hashAsByteArray = new P2PDataStorage.ByteArray(hash);
-
-        // First we look up in our fast lookup cache
-        if (accountAgeWitnessCache.containsKey(hashAsByteArray)) {
-            return Optional.of(accountAgeWitnessCache.get(hashAsByteArray));
-        }
-
-        if (accountAgeWitnessMap.containsKey(hashAsByteArray)) {
-            AccountAgeWitness accountAgeWitness = accountAgeWitnessMap.get(hashAsByteArray);
-
-            // We add it to our fast lookup cache
-            accountAgeWitnessCache.put(hashAsByteArray, accountAgeWitness);
-
-            return Optional.of(accountAgeWitness);
-        }
-
-        return Optional.empty();
+        return Optional.ofNullable(accountAgeWitnessMap.get(new P2PDataStorage.ByteArray(hash)));
     }
 
     public Optional<AccountAgeWitness> getWitnessByHashAsHex(String hashAsHex) {
@@ -377,21 +364,26 @@ public class AccountAgeWitnessService {
 
     // Return -1 if not signed
     public long getWitnessSignAge(AccountAgeWitness accountAgeWitness, Date now) {
-        List<Long> dates = signedWitnessService.getVerifiedWitnessDateList(accountAgeWitness);
-        if (dates.isEmpty()) {
+        long signDate = getWitnessSignDate(accountAgeWitness);
+        if (signDate == -1L) {
             return -1L;
         } else {
-            return now.getTime() - dates.get(0);
+            return now.getTime() - signDate;
         }
     }
 
     public long getWitnessSignDate(AccountAgeWitness accountAgeWitness) {
-        List<Long> dates = signedWitnessService.getVerifiedWitnessDateList(accountAgeWitness);
-        if (dates.isEmpty()) {
-            return -1L;
-        } else {
-            return dates.get(0);
-        }
+        return getWitnessResolutionCache().getSignDate(accountAgeWitness, System.currentTimeMillis(), witness -> {
+            List<Long> dates = signedWitnessService.getVerifiedWitnessDateList(witness);
+            return dates.isEmpty() ? -1L : dates.get(0);
+        });
+    }
+
+    private WitnessResolutionCache getWitnessResolutionCache() {
+        witnessResolutionCache.validate(new WitnessResolutionCache.InputVersions(witnessDataVersion,
+                signedWitnessService.getSignedWitnessMapVersion(),
+                filterManager != null ? filterManager.getFilter() : null));
+        return witnessResolutionCache;
     }
 
     // Return -1 if not signed
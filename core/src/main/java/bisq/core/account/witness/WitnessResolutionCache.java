@@ -0,0 +1,140 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.account.witness;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+/**
+ * Bounded cache for the resolved witness data we look up repeatedly for the same offers and trade peers. It holds
+ * the witness (or the fact that there is none) by lookup key, and the sign date by witness hash. The account age
+ * is derived from the witness date, so it does not need to be cached separately.
+ * <p>
+ * All entries are dropped once one of the inputs changed: the witness map, the signed witness map or the filter
+ * (banned signers). Sign dates depend on the current time as well, so they expire after SIGN_DATE_TTL.
+ * <p>
+ * Entries have a small fixed size, so we bound the cache by the number of entries and evict the least recently
+ * used ones.
+ */
+class WitnessResolutionCache {
+    static final int MAX_SIZE = 1000;
+    static final long SIGN_DATE_TTL = 60_000;
+
+    @Value
+    static class InputVersions {
+        int witnessDataVersion;
+        int signedWitnessMapVersion;
+        @Nullable
+        Object filter;
+    }
+
+    @Value
+    private static class SignDate {
+        long signDate;
+        long expires;
+    }
+
+    private final Map<Object, Optional<AccountAgeWitness>> witnessByKey;
+    private final Map<P2PDataStorage.ByteArray, SignDate> signDateByWitnessHash;
+    @Nullable
+    private InputVersions inputVersions;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    WitnessResolutionCache() {
+        this(MAX_SIZE);
+    }
+
+    WitnessResolutionCache(int maxSize) {
+        witnessByKey = boundedMap(maxSize);
+        signDateByWitnessHash = boundedMap(maxSize);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Drops all entries if the inputs have changed since the last call.
+     */
+    synchronized void validate(InputVersions inputVersions) {
+        if (!Objects.equals(this.inputVersions, inputVersions)) {
+            this.inputVersions = inputVersions;
+            invalidateAll();
+        }
+    }
+
+    synchronized Optional<AccountAgeWitness> getWitness(Object key, Supplier<Optional<AccountAgeWitness>> resolver) {
+        Optional<AccountAgeWitness> witness = witnessByKey.get(key);
+        if (witness == null) {
+            witness = resolver.get();
+            witnessByKey.put(key, witness);
+        }
+        return witness;
+    }
+
+    // Returns -1 if not signed
+    synchronized long getSignDate(AccountAgeWitness accountAgeWitness,
+                                  long now,
+                                  Function<AccountAgeWitness, Long> resolver) {
+        P2PDataStorage.ByteArray hash = accountAgeWitness.getHashAsByteArray();
+        SignDate signDate = signDateByWitnessHash.get(hash);
+        if (signDate == null || signDate.getExpires() <= now) {
+            signDate = new SignDate(resolver.apply(accountAgeWitness), now + SIGN_DATE_TTL);
+            signDateByWitnessHash.put(hash, signDate);
+        }
+        return signDate.getSignDate();
+    }
+
+    synchronized void invalidateAll() {
+        witnessByKey.clear();
+        signDateByWitnessHash.clear();
+    }
+
+    synchronized int size() {
+        return witnessByKey.size() + signDateByWitnessHash.size();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static <K, V> Map<K, V> boundedMap(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
@@ -348,6 +348,10 @@ public class CoreApi {
         return coreTradesService.getTradeHistory(category);
     }
 
+    public List<Tradable> getClosedTradables(int offset, int limit) {
+        return coreTradesService.getClosedTradables(offset, limit);
+    }
+
     public String getTradeRole(TradeModel tradeModel) {
         return coreTradesService.getTradeRole(tradeModel);
     }
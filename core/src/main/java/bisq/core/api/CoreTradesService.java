@@ -53,6 +53,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -347,7 +348,7 @@ class CoreTradesService {
         coreWalletsService.verifyWalletsAreAvailable();
         coreWalletsService.verifyEncryptedWalletIsUnlocked();
         if (category.equals(CLOSED)) {
-            var closedTrades = closedTradableManager.getClosedTrades().stream()
+            var closedTrades = closedTradableManager.getAllClosedTrades().stream()
                     .map(t -> (TradeModel) t)
                     .collect(Collectors.toList());
             closedTrades.addAll(bsqSwapTradeManager.getBsqSwapTrades());
@@ -358,6 +359,39 @@ class CoreTradesService {
         }
     }
 
+    /**
+     * Returns a page of closed trades, BSQ swap trades and canceled offers, newest first. Offset and limit are
+     * applied to the full history, a limit of 0 returns all items. The archived closed tradables are only loaded if
+     * the page reaches beyond the in-memory tier.
+     */
+    List<Tradable> getClosedTradables(int offset, int limit) {
+        coreWalletsService.verifyWalletsAreAvailable();
+        coreWalletsService.verifyEncryptedWalletIsUnlocked();
+        if (offset < 0 || limit < 0)
+            throw new IllegalArgumentException("offset and limit must not be negative");
+
+        List<Tradable> tradables = new ArrayList<>(closedTradableManager.getInMemoryClosedTrades());
+        tradables.addAll(closedTradableManager.getInMemoryCanceledOpenOffers());
+        tradables.addAll(bsqSwapTradeManager.getBsqSwapTrades());
+
+        long newestArchivedDate = closedTradableManager.getNewestArchivedDate();
+        long numNewerThanArchive = tradables.stream()
+                .filter(tradable -> tradable.getDate().getTime() > newestArchivedDate)
+                .count();
+        boolean pageIsInMemory = limit > 0 && (long) offset + limit <= numNewerThanArchive;
+        if (!pageIsInMemory) {
+            closedTradableManager.getArchivedTradables().stream()
+                    .filter(tradable -> tradable instanceof Trade || ClosedTradableManager.isCanceledOpenOffer(tradable))
+                    .forEach(tradables::add);
+        }
+
+        return tradables.stream()
+                .sorted(Comparator.comparing(Tradable::getDate).reversed())
+                .skip(offset)
+                .limit(limit > 0 ? limit : Long.MAX_VALUE)
+                .collect(Collectors.toList());
+    }
+
     void failTrade(String tradeId) {
         // TODO Recommend API users call this method with extra care because
         //  the API lacks methods for diagnosing trade problems, and does not support
@@ -386,7 +420,7 @@ class CoreTradesService {
     }
 
     List<OpenOffer> getCanceledOpenOffers() {
-        return closedTradableManager.getCanceledOpenOffers();
+        return closedTradableManager.getAllCanceledOpenOffers();
     }
 
     String getClosedTradeStateAsString(Tradable tradable) {
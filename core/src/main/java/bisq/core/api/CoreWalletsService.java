@@ -632,10 +632,7 @@ class CoreWalletsService {
     }
 
     private AddressEntry getAddressEntry(String addressString) {
-        Optional<AddressEntry> addressEntry =
-                btcWalletService.getAddressEntryListAsImmutableList().stream()
-                        .filter(e -> addressString.equals(e.getAddressString()))
-                        .findFirst();
+        Optional<AddressEntry> addressEntry = btcWalletService.findAddressEntry(addressString);
 
         if (addressEntry.isEmpty())
             throw new NotFoundException(format("address %s not found in wallet", addressString));
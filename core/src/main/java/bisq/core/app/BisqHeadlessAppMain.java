@@ -60,7 +60,7 @@ public class BisqHeadlessAppMain extends BisqExecutable {
 
     @Override
     protected void configUserThread() {
-        ExecutorService executorService = SingleThreadExecutorUtils.getSingleThreadExecutor(this.getClass());
+        ExecutorService executorService = SingleThreadExecutorUtils.getSingleThreadPoolExecutor(this.getClass());
         UserThread.setExecutor(executorService);
     }
 
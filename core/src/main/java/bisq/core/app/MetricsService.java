@@ -0,0 +1,121 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.app;
+
+import bisq.network.p2p.network.Statistic;
+import bisq.network.p2p.network.statistics.ConnectionStatsAccumulator;
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreService;
+
+import bisq.common.config.Config;
+import bisq.common.metrics.Metrics;
+import bisq.common.metrics.MetricsServer;
+import bisq.common.metrics.MetricsWriter;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the local metrics endpoint if the metricsPort option is set and registers the collectors for the network
+ * and storage metrics. Used by the headless apps (seednode, statsnode, daemon).
+ *
+ * @see bisq.common.metrics.Metrics
+ */
+@Slf4j
+@Singleton
+public class MetricsService {
+    private final P2PDataStorage p2PDataStorage;
+    private final AppendOnlyDataStoreService appendOnlyDataStoreService;
+    private final int metricsPort;
+    private MetricsServer metricsServer;
+
+    @Inject
+    public MetricsService(P2PDataStorage p2PDataStorage,
+                          AppendOnlyDataStoreService appendOnlyDataStoreService,
+                          Config config) {
+        this.p2PDataStorage = p2PDataStorage;
+        this.appendOnlyDataStoreService = appendOnlyDataStoreService;
+        this.metricsPort = config.metricsPort;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public void start() {
+        if (metricsPort <= 0 || metricsServer != null) {
+            return;
+        }
+
+        Metrics.addCollector("network", this::collectNetworkMetrics);
+        Metrics.addCollector("storage", this::collectStorageMetrics);
+
+        metricsServer = new MetricsServer(metricsPort);
+        try {
+            metricsServer.start();
+        } catch (IOException e) {
+            log.error("Could not start metrics server at port {}", metricsPort, e);
+            metricsServer.shutDown();
+            metricsServer = null;
+        }
+    }
+
+    public void shutDown() {
+        if (metricsServer != null) {
+            metricsServer.shutDown();
+            metricsServer = null;
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Rates are derived at the scraping side, so we only expose the totals
+    private void collectNetworkMetrics(MetricsWriter writer) {
+        ConnectionStatsAccumulator accumulator = Statistic.getNetworkStatisticsService().getConnectionStatsAccumulator();
+        writer.counter("bisq_p2p_sent_bytes_total", "Total sent bytes", accumulator.getTotalSentBytes());
+        writer.counter("bisq_p2p_received_bytes_total", "Total received bytes", accumulator.getTotalReceivedBytes());
+        accumulator.getTotalSentMessageStatisticsByType().forEach((type, statistics) -> {
+            writer.counter("bisq_p2p_sent_messages_total", "Sent messages by type", "type", type,
+                    statistics.getCount());
+            writer.counter("bisq_p2p_sent_message_bytes_total", "Sent bytes by message type", "type", type,
+                    statistics.getBytes());
+        });
+        accumulator.getTotalReceivedMessageStatisticsByType().forEach((type, statistics) -> {
+            writer.counter("bisq_p2p_received_messages_total", "Received messages by type", "type", type,
+                    statistics.getCount());
+            writer.counter("bisq_p2p_received_message_bytes_total", "Received bytes by message type", "type", type,
+                    statistics.getBytes());
+        });
+    }
+
+    private void collectStorageMetrics(MetricsWriter writer) {
+        writer.gauge("bisq_p2p_protected_storage_entries", "Number of protected storage entries",
+                p2PDataStorage.getMap().size());
+        appendOnlyDataStoreService.getServices().forEach(service ->
+                writer.gauge("bisq_p2p_append_only_entries", "Number of append-only data store entries",
+                        "store", service.getFileName(), service.getNumItems()));
+    }
+}
@@ -18,6 +18,7 @@
 package bisq.core.app.misc;
 
 import bisq.core.app.BisqExecutable;
+import bisq.core.app.MetricsService;
 import bisq.core.btc.setup.WalletsSetup;
 import bisq.core.btc.wallet.BsqWalletService;
 import bisq.core.btc.wallet.BtcWalletService;
@@ -69,7 +70,7 @@ public abstract class ExecutableForAppWithP2p extends BisqExecutable {
 
     @Override
     protected void configUserThread() {
-        ExecutorService executorService = SingleThreadExecutorUtils.getSingleThreadExecutor(this.getClass());
+        ExecutorService executorService = SingleThreadExecutorUtils.getSingleThreadPoolExecutor(this.getClass());
         UserThread.setExecutor(executorService);
     }
 
@@ -77,6 +78,8 @@ public abstract class ExecutableForAppWithP2p extends BisqExecutable {
     protected void startApplication() {
         // Pin that as it is used in PaymentMethods and verification in TradeStatistics
         tradeLimits = injector.getInstance(TradeLimits.class);
+
+        injector.getInstance(MetricsService.class).start();
     }
 
     @Override
@@ -91,6 +94,7 @@ public abstract class ExecutableForAppWithP2p extends BisqExecutable {
         try {
             if (injector != null) {
                 JsonFileManager.shutDownAllInstances();
+                injector.getInstance(MetricsService.class).shutDown();
                 injector.getInstance(OpenBsqSwapOfferService.class).shutDown();
                 injector.getInstance(RpcService.class).shutDown();
                 injector.getInstance(DaoSetup.class).shutDown();
@@ -33,13 +33,17 @@ import org.bitcoinj.wallet.Wallet;
 
 import com.google.inject.Inject;
 
-import com.google.common.collect.ImmutableList;
-
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
@@ -48,12 +52,20 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * The AddressEntries was previously stored as list, now as hashSet. We still keep the old name to reflect the
  * associated protobuf message.
+ * <p>
+ * Beside the entrySet we maintain secondary indexes by offerId, by context and by address string, so that lookups
+ * do not require to iterate (or copy) all entries. The indexes are only changed together with the entrySet in
+ * doAdd and doRemove.
  */
 @Slf4j
 public final class AddressEntryList implements PersistableEnvelope, PersistedDataHost {
     transient private PersistenceManager<AddressEntryList> persistenceManager;
     transient private Wallet wallet;
     private final Set<AddressEntry> entrySet = new CopyOnWriteArraySet<>();
+    transient private final Map<String, Set<AddressEntry>> entriesByOfferId = new ConcurrentHashMap<>();
+    transient private final Map<AddressEntry.Context, Set<AddressEntry>> entriesByContext =
+            Collections.synchronizedMap(new EnumMap<>(AddressEntry.Context.class));
+    transient private final Map<String, Set<AddressEntry>> entriesByAddress = new ConcurrentHashMap<>();
 
     @Inject
     public AddressEntryList(PersistenceManager<AddressEntryList> persistenceManager) {
@@ -67,6 +79,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         persistenceManager.readPersisted(persisted -> {
                     entrySet.clear();
                     entrySet.addAll(persisted.entrySet);
+                    rebuildIndexes();
                     completeHandler.run();
                 },
                 completeHandler);
@@ -79,6 +92,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
 
     private AddressEntryList(Set<AddressEntry> entrySet) {
         this.entrySet.addAll(entrySet);
+        rebuildIndexes();
     }
 
     public static AddressEntryList fromProto(protobuf.AddressEntryList proto) {
@@ -136,10 +150,12 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
             });
 
             toBeRemoved.forEach(entrySet::remove);
+            // Now as the keys are set we can index by address as well
+            rebuildIndexes();
         } else {
             // As long the old arbitration domain is not removed from the code base we still support it here.
             DeterministicKey key = (DeterministicKey) wallet.findKeyFromAddress(wallet.freshReceiveAddress(Script.ScriptType.P2PKH));
-            entrySet.add(new AddressEntry(key, AddressEntry.Context.ARBITRATOR, false));
+            doAdd(new AddressEntry(key, AddressEntry.Context.ARBITRATOR, false));
         }
 
         // In case we restore from seed words and have balance we need to add the relevant addresses to our list.
@@ -153,7 +169,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
                         if (key != null) {
                             // Address will be derived from key in getAddress method
                             log.info("Create AddressEntry for IssuedReceiveAddress. address={}", address.toString());
-                            entrySet.add(new AddressEntry(key, AddressEntry.Context.AVAILABLE, address instanceof SegwitAddress));
+                            doAdd(new AddressEntry(key, AddressEntry.Context.AVAILABLE, address instanceof SegwitAddress));
                         } else {
                             log.warn("DeterministicKey for address {} is null", address);
                         }
@@ -175,17 +191,33 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         requestPersistence();
     }
 
-    public ImmutableList<AddressEntry> getAddressEntriesAsListImmutable() {
-        return ImmutableList.copyOf(entrySet);
+    // Unmodifiable view. As the entrySet is a CopyOnWriteArraySet iteration works on a snapshot and does not
+    // require a copy.
+    public Collection<AddressEntry> getAddressEntries() {
+        return Collections.unmodifiableSet(entrySet);
+    }
+
+    public Optional<AddressEntry> findAddressEntry(String offerId, AddressEntry.Context context) {
+        return getAddressEntriesByOfferId(offerId).stream()
+                .filter(e -> context == e.getContext())
+                .findAny();
+    }
+
+    public Set<AddressEntry> getAddressEntriesByOfferId(String offerId) {
+        return unmodifiableIndexValue(entriesByOfferId.get(offerId));
+    }
+
+    public Set<AddressEntry> getAddressEntriesByContext(AddressEntry.Context context) {
+        return unmodifiableIndexValue(entriesByContext.get(context));
+    }
+
+    public Set<AddressEntry> getAddressEntriesByAddress(String addressString) {
+        return unmodifiableIndexValue(entriesByAddress.get(addressString));
     }
 
     public void addAddressEntry(AddressEntry addressEntry) {
-        boolean entryWithSameOfferIdAndContextAlreadyExist = entrySet.stream().anyMatch(e -> {
-            if (addressEntry.getOfferId() != null) {
-                return addressEntry.getOfferId().equals(e.getOfferId()) && addressEntry.getContext() == e.getContext();
-            }
-            return false;
-        });
+        boolean entryWithSameOfferIdAndContextAlreadyExist = addressEntry.getOfferId() != null &&
+                findAddressEntry(addressEntry.getOfferId(), addressEntry.getContext()).isPresent();
         if (entryWithSameOfferIdAndContextAlreadyExist) {
             log.error("We have an address entry with the same offer ID and context. We do not add the new one. " +
                     "addressEntry={}, entrySet={}", addressEntry, entrySet);
@@ -193,7 +225,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("addAddressEntry: add new AddressEntry {}", addressEntry);
-        boolean setChangedByAdd = entrySet.add(addressEntry);
+        boolean setChangedByAdd = doAdd(addressEntry);
         if (setChangedByAdd)
             requestPersistence();
     }
@@ -209,23 +241,19 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("swapToAvailable addressEntry to swap={}", addressEntry);
-        if (entrySet.remove(addressEntry)) {
+        if (doRemove(addressEntry)) {
             requestPersistence();
         }
         // If we have an address entry which shared the address with another one (shared maker fee offers use case)
         // then we do not swap to available as we need to protect the address of the remaining entry.
-        boolean entryWithSameContextStillExists = entrySet.stream().anyMatch(entry -> {
-            if (addressEntry.getAddressString() != null) {
-                return addressEntry.getAddressString().equals(entry.getAddressString()) &&
-                        addressEntry.getContext() == entry.getContext();
-            }
-            return false;
-        });
+        boolean entryWithSameContextStillExists = addressEntry.getAddressString() != null &&
+                getAddressEntriesByAddress(addressEntry.getAddressString()).stream()
+                        .anyMatch(entry -> addressEntry.getContext() == entry.getContext());
         if (entryWithSameContextStillExists) {
             return;
         }
         // no other uses of the address context remain, so make it available
-        if (entrySet.add(
+        if (doAdd(
                 new AddressEntry(addressEntry.getKeyPair(),
                         AddressEntry.Context.AVAILABLE,
                         addressEntry.isSegwit()))) {
@@ -236,10 +264,10 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     public AddressEntry swapAvailableToAddressEntryWithOfferId(AddressEntry addressEntry,
                                                                AddressEntry.Context context,
                                                                String offerId) {
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
+        boolean setChangedByRemove = doRemove(addressEntry);
         AddressEntry newAddressEntry = new AddressEntry(addressEntry.getKeyPair(), context, offerId, addressEntry.isSegwit());
         log.info("swapAvailableToAddressEntryWithOfferId newAddressEntry={}", newAddressEntry);
-        boolean setChangedByAdd = entrySet.add(newAddressEntry);
+        boolean setChangedByAdd = doAdd(newAddressEntry);
         if (setChangedByRemove || setChangedByAdd)
             requestPersistence();
 
@@ -253,13 +281,13 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("setCoinLockedInMultiSigAddressEntry addressEntry={}, value={}", addressEntry, value);
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
+        boolean setChangedByRemove = doRemove(addressEntry);
         AddressEntry entry = new AddressEntry(addressEntry.getKeyPair(),
                 addressEntry.getContext(),
                 addressEntry.getOfferId(),
                 value,
                 addressEntry.isSegwit());
-        boolean setChangedByAdd = entrySet.add(entry);
+        boolean setChangedByAdd = doAdd(entry);
         if (setChangedByRemove || setChangedByAdd) {
             requestPersistence();
         }
@@ -288,7 +316,64 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     }
 
     private boolean isAddressNotInEntries(Address address) {
-        return entrySet.stream().noneMatch(e -> address.equals(e.getAddress()));
+        return !entriesByAddress.containsKey(address.toString());
+    }
+
+    private synchronized boolean doAdd(AddressEntry addressEntry) {
+        boolean setChanged = entrySet.add(addressEntry);
+        if (setChanged) {
+            addToIndexes(addressEntry);
+        }
+        return setChanged;
+    }
+
+    private synchronized boolean doRemove(AddressEntry addressEntry) {
+        boolean setChanged = entrySet.remove(addressEntry);
+        if (setChanged) {
+            removeFromIndexes(addressEntry);
+        }
+        return setChanged;
+    }
+
+    private synchronized void rebuildIndexes() {
+        entriesByOfferId.clear();
+        entriesByContext.clear();
+        entriesByAddress.clear();
+        entrySet.forEach(this::addToIndexes);
+    }
+
+    private void addToIndexes(AddressEntry addressEntry) {
+        if (addressEntry.getOfferId() != null) {
+            entriesByOfferId.computeIfAbsent(addressEntry.getOfferId(), k -> ConcurrentHashMap.newKeySet()).add(addressEntry);
+        }
+        entriesByContext.computeIfAbsent(addressEntry.getContext(), k -> ConcurrentHashMap.newKeySet()).add(addressEntry);
+        // Entries from disk have no address before the key is set in onWalletReady. We rebuild the indexes then.
+        String addressString = addressEntry.getAddressString();
+        if (addressString != null) {
+            entriesByAddress.computeIfAbsent(addressString, k -> ConcurrentHashMap.newKeySet()).add(addressEntry);
+        }
+    }
+
+    private void removeFromIndexes(AddressEntry addressEntry) {
+        if (addressEntry.getOfferId() != null) {
+            removeFromIndex(entriesByOfferId, addressEntry.getOfferId(), addressEntry);
+        }
+        removeFromIndex(entriesByContext, addressEntry.getContext(), addressEntry);
+        String addressString = addressEntry.getAddressString();
+        if (addressString != null) {
+            removeFromIndex(entriesByAddress, addressString, addressEntry);
+        }
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<AddressEntry>> index, K key, AddressEntry addressEntry) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(addressEntry);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static Set<AddressEntry> unmodifiableIndexValue(Set<AddressEntry> set) {
+        return set != null ? Collections.unmodifiableSet(set) : Collections.emptySet();
     }
 
     @Override
@@ -0,0 +1,265 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxInput;
+import bisq.core.dao.state.model.blockchain.TxOutput;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the DAO related balances of the BSQ wallet (locked for voting, lockup bonds and unlocking bonds)
+ * incrementally. Instead of streaming all blind vote stake, lockup and unlock outputs of the DAO state at each
+ * update we keep the contribution of each confirmed wallet transaction and only recalculate the ones which got
+ * affected by a wallet change or a newly parsed block.
+ * <p>
+ * A transaction gets marked dirty if it got newly confirmed or un-confirmed in the wallet, if it is part of a
+ * parsed block, if one of its outputs got spent in a parsed block or if it has an unlocking output (lock time
+ * depends on the chain height). A change of the confiscated bonds or a non-continuous block height (reorg,
+ * snapshot) triggers a full recalculation.
+ * <p>
+ * With verifyWithFullRecompute enabled the result is checked against the full recomputation after each update.
+ * That is intended for tests and for debugging only as it removes any performance benefit.
+ * <p>
+ * Not thread safe. Must be used from the UserThread only.
+ */
+@Slf4j
+class BsqBalanceLedger {
+    @Value
+    static class Balances {
+        long lockedForVotingBalance;
+        long lockupBondsBalance;
+        long unlockingBondsBalance;
+    }
+
+    private final DaoStateService daoStateService;
+
+    // Contributions of confirmed wallet txs, keyed by txId
+    private final Map<String, Balances> balancesByTxId = new HashMap<>();
+    private final Set<String> dirtyTxIds = new HashSet<>();
+    // Txs with unlocking outputs need to be re-evaluated at each block as the lock time might be over
+    private final Set<String> unlockingTxIds = new HashSet<>();
+    private Set<String> confirmedTxIds = new HashSet<>();
+    private boolean fullRecalculationRequired = true;
+    private int lastBlockHeight;
+    private int numConfiscatedLockupTxs;
+
+    @Getter
+    private long lockedForVotingBalance;
+    @Getter
+    private long lockupBondsBalance;
+    @Getter
+    private long unlockingBondsBalance;
+
+    @Setter
+    private boolean verifyWithFullRecompute;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    BsqBalanceLedger(DaoStateService daoStateService) {
+        this.daoStateService = daoStateService;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Applies the current set of confirmed wallet txIds. New txIds get marked dirty, txIds which are not confirmed
+     * anymore (e.g. at a reorg) get removed together with their contribution.
+     */
+    void onConfirmedTxIdsChanged(Set<String> confirmedTxIds) {
+        this.confirmedTxIds = confirmedTxIds;
+        balancesByTxId.keySet().stream()
+                .filter(txId -> !confirmedTxIds.contains(txId))
+                .forEach(dirtyTxIds::add);
+        confirmedTxIds.stream()
+                .filter(txId -> !balancesByTxId.containsKey(txId))
+                .forEach(dirtyTxIds::add);
+    }
+
+    void onParseBlockComplete(Block block) {
+        int height = block.getHeight();
+        if (lastBlockHeight != 0 && height != lastBlockHeight + 1) {
+            // Reorg or snapshot was applied. We cannot derive the deltas in that case.
+            fullRecalculationRequired = true;
+        }
+        lastBlockHeight = height;
+
+        block.getTxs().forEach(tx -> {
+            markDirtyIfKnown(tx.getId());
+            tx.getTxInputs().stream()
+                    .map(TxInput::getConnectedTxOutputTxId)
+                    .forEach(this::markDirtyIfKnown);
+        });
+        dirtyTxIds.addAll(unlockingTxIds);
+
+        int numConfiscated = daoStateService.getNumConfiscatedLockupTxs();
+        if (numConfiscated != numConfiscatedLockupTxs) {
+            numConfiscatedLockupTxs = numConfiscated;
+            fullRecalculationRequired = true;
+        }
+    }
+
+    void requestFullRecalculation() {
+        fullRecalculationRequired = true;
+    }
+
+    /**
+     * Recalculates the contributions of all dirty txs and applies the deltas to the balances.
+     */
+    void applyChanges() {
+        if (fullRecalculationRequired) {
+            fullRecalculationRequired = false;
+            dirtyTxIds.addAll(balancesByTxId.keySet());
+            dirtyTxIds.addAll(confirmedTxIds);
+            numConfiscatedLockupTxs = daoStateService.getNumConfiscatedLockupTxs();
+        }
+
+        applyDirtyTxs();
+
+        if (verifyWithFullRecompute) {
+            Balances expected = computeFullRecompute(confirmedTxIds);
+            Balances actual = new Balances(lockedForVotingBalance, lockupBondsBalance, unlockingBondsBalance);
+            if (!expected.equals(actual)) {
+                log.error("Incrementally updated BSQ balances do not match full recomputation. expected={}, actual={}",
+                        expected, actual);
+                // We rebuild the ledger from scratch
+                balancesByTxId.clear();
+                unlockingTxIds.clear();
+                lockedForVotingBalance = 0;
+                lockupBondsBalance = 0;
+                unlockingBondsBalance = 0;
+                dirtyTxIds.addAll(confirmedTxIds);
+                applyDirtyTxs();
+            }
+        }
+    }
+
+    /**
+     * Calculates the balances by iterating over all relevant outputs in the DAO state. That was the original
+     * implementation in BsqWalletService and is used as reference for verification.
+     */
+    Balances computeFullRecompute(Set<String> confirmedTxIds) {
+        long lockedForVoting = daoStateService.getUnspentBlindVoteStakeTxOutputs().stream()
+                .filter(txOutput -> confirmedTxIds.contains(txOutput.getTxId()))
+                .mapToLong(TxOutput::getValue)
+                .sum();
+
+        long lockupBonds = daoStateService.getLockupTxOutputs().stream()
+                .filter(txOutput -> daoStateService.isUnspent(txOutput.getKey()))
+                .filter(txOutput -> !daoStateService.isConfiscatedLockupTxOutput(txOutput.getTxId()))
+                .filter(txOutput -> confirmedTxIds.contains(txOutput.getTxId()))
+                .mapToLong(TxOutput::getValue)
+                .sum();
+
+        long unlockingBonds = daoStateService.getUnspentUnlockingTxOutputsStream()
+                .filter(txOutput -> confirmedTxIds.contains(txOutput.getTxId()))
+                .filter(txOutput -> !daoStateService.isConfiscatedUnlockTxOutput(txOutput.getTxId()))
+                .mapToLong(TxOutput::getValue)
+                .sum();
+        return new Balances(lockedForVoting, lockupBonds, unlockingBonds);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void applyDirtyTxs() {
+        dirtyTxIds.forEach(txId -> {
+            Balances previous = balancesByTxId.remove(txId);
+            if (previous != null) {
+                applyDelta(previous, -1);
+            }
+            unlockingTxIds.remove(txId);
+            if (confirmedTxIds.contains(txId)) {
+                Balances balances = calculateBalances(txId);
+                balancesByTxId.put(txId, balances);
+                applyDelta(balances, 1);
+                if (balances.getUnlockingBondsBalance() > 0) {
+                    unlockingTxIds.add(txId);
+                }
+            }
+        });
+        dirtyTxIds.clear();
+    }
+
+    private void markDirtyIfKnown(String txId) {
+        if (balancesByTxId.containsKey(txId) || confirmedTxIds.contains(txId)) {
+            dirtyTxIds.add(txId);
+        }
+    }
+
+    private Balances calculateBalances(String txId) {
+        Optional<Tx> optionalTx = daoStateService.getTx(txId);
+        if (optionalTx.isEmpty()) {
+            return new Balances(0, 0, 0);
+        }
+
+        long lockedForVoting = 0;
+        long lockupBonds = 0;
+        long unlockingBonds = 0;
+        for (TxOutput txOutput : optionalTx.get().getTxOutputs()) {
+            if (!daoStateService.isUnspent(txOutput.getKey())) {
+                continue;
+            }
+            switch (txOutput.getTxOutputType()) {
+                case BLIND_VOTE_LOCK_STAKE_OUTPUT:
+                    lockedForVoting += txOutput.getValue();
+                    break;
+                case LOCKUP_OUTPUT:
+                    if (!daoStateService.isConfiscatedLockupTxOutput(txId)) {
+                        lockupBonds += txOutput.getValue();
+                    }
+                    break;
+                case UNLOCK_OUTPUT:
+                    if (!daoStateService.isLockTimeOverForUnlockTxOutput(txOutput) &&
+                            !daoStateService.isConfiscatedUnlockTxOutput(txId)) {
+                        unlockingBonds += txOutput.getValue();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new Balances(lockedForVoting, lockupBonds, unlockingBonds);
+    }
+
+    private void applyDelta(Balances balances, int sign) {
+        lockedForVotingBalance += sign * balances.getLockedForVotingBalance();
+        lockupBondsBalance += sign * balances.getLockupBondsBalance();
+        unlockingBondsBalance += sign * balances.getUnlockingBondsBalance();
+    }
+}
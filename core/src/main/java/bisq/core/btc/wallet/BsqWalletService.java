@@ -97,6 +97,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
     private final List<Transaction> walletTransactions = new ArrayList<>();
     private final CopyOnWriteArraySet<BsqBalanceListener> bsqBalanceListeners = new CopyOnWriteArraySet<>();
     private final List<WalletTransactionsChangeListener> walletTransactionsChangeListeners = new ArrayList<>();
+    private final BsqBalanceLedger bsqBalanceLedger;
     private boolean updateBsqWalletTransactionsPending;
     @Getter
     private final BsqFormatter bsqFormatter;
@@ -145,6 +146,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
         this.unconfirmedBsqChangeOutputListService = unconfirmedBsqChangeOutputListService;
         this.daoKillSwitch = daoKillSwitch;
         this.bsqFormatter = bsqFormatter;
+        bsqBalanceLedger = new BsqBalanceLedger(daoStateService);
 
         nonBsqCoinSelector.setPreferences(preferences);
 
@@ -177,6 +179,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
         );
         wallet.addReorganizeEventListener(wallet -> {
             log.warn("onReorganize ");
+            bsqBalanceLedger.requestFullRecalculation();
             updateBsqWalletTransactions();
             unconfirmedBsqChangeOutputListService.onReorganize();
         });
@@ -205,6 +208,11 @@ public class BsqWalletService extends WalletService implements DaoStateListener
     // DaoStateListener
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    @Override
+    public void onParseBlockComplete(Block block) {
+        bsqBalanceLedger.onParseBlockComplete(block);
+    }
+
     @Override
     public void onParseBlockCompleteAfterBatchProcessing(Block block) {
         if (isWalletReady()) {
@@ -232,8 +240,9 @@ public class BsqWalletService extends WalletService implements DaoStateListener
 
     private void updateBsqBalance() {
         long ts = System.currentTimeMillis();
+        Set<Transaction> transactions = getTransactions(false);
         unverifiedBalance = Coin.valueOf(
-                getTransactions(false).stream()
+                transactions.stream()
                         .filter(tx -> tx.getConfidence().getConfidenceType() == PENDING)
                         .mapToLong(tx -> {
                             // Sum up outputs into BSQ wallet and subtract the inputs using lockup or unlocking
@@ -270,40 +279,28 @@ public class BsqWalletService extends WalletService implements DaoStateListener
                         .sum()
         );
 
-        Set<String> confirmedTxIdSet = getTransactions(false).stream()
+        Set<String> confirmedTxIdSet = transactions.stream()
                 .filter(tx -> tx.getConfidence().getConfidenceType() == BUILDING)
                 .map(Transaction::getTxId)
                 .map(Sha256Hash::toString)
                 .collect(Collectors.toSet());
 
-        lockedForVotingBalance = Coin.valueOf(daoStateService.getUnspentBlindVoteStakeTxOutputs().stream()
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
-
-        lockupBondsBalance = Coin.valueOf(daoStateService.getLockupTxOutputs().stream()
-                .filter(txOutput -> daoStateService.isUnspent(txOutput.getKey()))
-                .filter(txOutput -> !daoStateService.isConfiscatedLockupTxOutput(txOutput.getTxId()))
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
+        bsqBalanceLedger.onConfirmedTxIdsChanged(confirmedTxIdSet);
+        bsqBalanceLedger.applyChanges();
+        lockedForVotingBalance = Coin.valueOf(bsqBalanceLedger.getLockedForVotingBalance());
+        lockupBondsBalance = Coin.valueOf(bsqBalanceLedger.getLockupBondsBalance());
+        unlockingBondsBalance = Coin.valueOf(bsqBalanceLedger.getUnlockingBondsBalance());
 
-        unlockingBondsBalance = Coin.valueOf(daoStateService.getUnspentUnlockingTxOutputsStream()
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .filter(txOutput -> !daoStateService.isConfiscatedUnlockTxOutput(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
-
-        availableBalance = bsqCoinSelector.select(NetworkParameters.MAX_MONEY,
-                wallet.calculateAllSpendCandidates()).valueGathered;
+        // calculateAllSpendCandidates is expensive for large wallets, so we use the result for both selectors
+        List<TransactionOutput> spendCandidates = wallet.calculateAllSpendCandidates();
+        availableBalance = bsqCoinSelector.select(NetworkParameters.MAX_MONEY, spendCandidates).valueGathered;
 
         if (availableBalance.isNegative())
             availableBalance = Coin.ZERO;
 
         unconfirmedChangeBalance = unconfirmedBsqChangeOutputListService.getBalance();
 
-        availableNonBsqBalance = nonBsqCoinSelector.select(NetworkParameters.MAX_MONEY,
-                wallet.calculateAllSpendCandidates()).valueGathered;
+        availableNonBsqBalance = nonBsqCoinSelector.select(NetworkParameters.MAX_MONEY, spendCandidates).valueGathered;
 
         verifiedBalance = availableBalance.subtract(unconfirmedChangeBalance);
 
@@ -320,6 +317,11 @@ public class BsqWalletService extends WalletService implements DaoStateListener
         bsqBalanceListeners.remove(listener);
     }
 
+    // Only intended for tests and debugging as it costs a full recomputation at each balance update.
+    public void setVerifyBsqBalanceWithFullRecompute(boolean value) {
+        bsqBalanceLedger.setVerifyWithFullRecompute(value);
+    }
+
     public void addWalletTransactionsChangeListener(WalletTransactionsChangeListener listener) {
         walletTransactionsChangeListeners.add(listener);
     }
@@ -61,7 +61,9 @@ import com.google.common.util.concurrent.MoreExecutors;
 
 import org.bouncycastle.crypto.params.KeyParameter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -118,7 +120,7 @@ public class BtcWalletService extends WalletService {
     void decryptWallet(@NotNull KeyParameter key) {
         super.decryptWallet(key);
 
-        addressEntryList.getAddressEntriesAsListImmutable().forEach(e -> {
+        addressEntryList.getAddressEntries().forEach(e -> {
             DeterministicKey keyPair = e.getKeyPair();
             if (keyPair.isEncrypted())
                 e.setDeterministicKey(keyPair.decrypt(key));
@@ -129,7 +131,7 @@ public class BtcWalletService extends WalletService {
     @Override
     void encryptWallet(KeyCrypterScrypt keyCrypterScrypt, KeyParameter key) {
         super.encryptWallet(keyCrypterScrypt, key);
-        addressEntryList.getAddressEntriesAsListImmutable().forEach(e -> {
+        addressEntryList.getAddressEntries().forEach(e -> {
             DeterministicKey keyPair = e.getKeyPair();
             if (keyPair.isEncrypted())
                 e.setDeterministicKey(keyPair.encrypt(keyCrypterScrypt, key));
@@ -140,7 +142,7 @@ public class BtcWalletService extends WalletService {
     @Override
     String getWalletAsString(boolean includePrivKeys) {
         StringBuilder sb = new StringBuilder();
-        getAddressEntryListAsImmutableList().forEach(e -> sb.append(e.toString()).append("\n"));
+        addressEntryList.getAddressEntries().forEach(e -> sb.append(e.toString()).append("\n"));
         //boolean reallyIncludePrivKeys = includePrivKeys && !wallet.isEncrypted();
         return "Address entry list:\n" +
                 sb.toString() +
@@ -624,19 +626,13 @@ public class BtcWalletService extends WalletService {
 
     public Optional<AddressEntry> getAddressEntry(String offerId,
                                                   @SuppressWarnings("SameParameterValue") AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
-                .filter(e -> context == e.getContext())
-                .findAny();
+        return addressEntryList.findAddressEntry(offerId, context);
     }
 
     // For cloned offers with shared maker fee we create a new address entry based on the source entry
     // and set the new offerId.
     public AddressEntry getOrCloneAddressEntryWithOfferId(AddressEntry sourceAddressEntry, String offerId) {
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(entry -> offerId.equals(entry.getOfferId()))
-                .filter(entry -> sourceAddressEntry.getContext() == entry.getContext())
-                .findAny();
+        Optional<AddressEntry> addressEntry = addressEntryList.findAddressEntry(offerId, sourceAddressEntry.getContext());
         if (addressEntry.isPresent()) {
             return addressEntry.get();
         } else {
@@ -650,16 +646,12 @@ public class BtcWalletService extends WalletService {
     }
 
     public AddressEntry getOrCreateAddressEntry(String offerId, AddressEntry.Context context) {
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
-                .filter(e -> context == e.getContext())
-                .findAny();
+        Optional<AddressEntry> addressEntry = addressEntryList.findAddressEntry(offerId, context);
         if (addressEntry.isPresent()) {
             return addressEntry.get();
         } else {
             // We try to use available and not yet used entries
-            Optional<AddressEntry> emptyAvailableAddressEntry = getAddressEntryListAsImmutableList().stream()
-                    .filter(e -> AddressEntry.Context.AVAILABLE == e.getContext())
+            Optional<AddressEntry> emptyAvailableAddressEntry = addressEntryList.getAddressEntriesByContext(AddressEntry.Context.AVAILABLE).stream()
                     .filter(e -> isAddressUnused(e.getAddress()))
                     .filter(e -> Script.ScriptType.P2WPKH.equals(e.getAddress().getOutputScriptType()))
                     .findAny();
@@ -678,8 +670,7 @@ public class BtcWalletService extends WalletService {
 
     public AddressEntry getArbitratorAddressEntry() {
         AddressEntry.Context context = AddressEntry.Context.ARBITRATOR;
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> context == e.getContext())
+        Optional<AddressEntry> addressEntry = addressEntryList.getAddressEntriesByContext(context).stream()
                 .findAny();
         return getOrCreateAddressEntry(context, addressEntry, false);
     }
@@ -690,8 +681,7 @@ public class BtcWalletService extends WalletService {
 
     public AddressEntry getFreshAddressEntry(boolean segwit) {
         AddressEntry.Context context = AddressEntry.Context.AVAILABLE;
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> context == e.getContext())
+        Optional<AddressEntry> addressEntry = addressEntryList.getAddressEntriesByContext(context).stream()
                 .filter(e -> isAddressUnused(e.getAddress()))
                 .filter(e -> {
                     boolean isSegwitOutputScriptType = Script.ScriptType.P2WPKH.equals(e.getAddress().getOutputScriptType());
@@ -727,46 +717,44 @@ public class BtcWalletService extends WalletService {
     }
 
     private Optional<AddressEntry> findAddressEntry(String address, AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(e -> address.equals(e.getAddressString()))
+        return addressEntryList.getAddressEntriesByAddress(address).stream()
                 .filter(e -> context == e.getContext())
                 .findAny();
     }
 
     public List<AddressEntry> getAvailableAddressEntries() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.AVAILABLE == addressEntry.getContext())
-                .collect(Collectors.toList());
+        return getAddressEntries(AddressEntry.Context.AVAILABLE);
     }
 
     public List<AddressEntry> getAddressEntriesForOpenOffer() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.OFFER_FUNDING == addressEntry.getContext() ||
-                        AddressEntry.Context.RESERVED_FOR_TRADE == addressEntry.getContext())
-                .collect(Collectors.toList());
+        List<AddressEntry> list = getAddressEntries(AddressEntry.Context.OFFER_FUNDING);
+        list.addAll(addressEntryList.getAddressEntriesByContext(AddressEntry.Context.RESERVED_FOR_TRADE));
+        return list;
     }
 
     public List<AddressEntry> getAddressEntriesForTrade() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.MULTI_SIG == addressEntry.getContext() ||
-                        AddressEntry.Context.TRADE_PAYOUT == addressEntry.getContext())
-                .collect(Collectors.toList());
+        List<AddressEntry> list = getAddressEntries(AddressEntry.Context.MULTI_SIG);
+        list.addAll(addressEntryList.getAddressEntriesByContext(AddressEntry.Context.TRADE_PAYOUT));
+        return list;
     }
 
     public List<AddressEntry> getAddressEntries(AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> context == addressEntry.getContext())
-                .collect(Collectors.toList());
+        return new ArrayList<>(addressEntryList.getAddressEntriesByContext(context));
     }
 
     public List<AddressEntry> getFundedAvailableAddressEntries() {
-        return getAvailableAddressEntries().stream()
+        return addressEntryList.getAddressEntriesByContext(AddressEntry.Context.AVAILABLE).stream()
                 .filter(addressEntry -> getBalanceForAddress(addressEntry.getAddress()).isPositive())
                 .collect(Collectors.toList());
     }
 
-    public List<AddressEntry> getAddressEntryListAsImmutableList() {
-        return addressEntryList.getAddressEntriesAsListImmutable();
+    public Optional<AddressEntry> findAddressEntry(String address) {
+        return addressEntryList.getAddressEntriesByAddress(address).stream().findAny();
+    }
+
+    // Unmodifiable view without copying the entries
+    public Collection<AddressEntry> getAddressEntries() {
+        return addressEntryList.getAddressEntries();
     }
 
     public void swapTradeEntryToAvailableEntry(String offerId, AddressEntry.Context context) {
@@ -778,8 +766,8 @@ public class BtcWalletService extends WalletService {
             return;
         }
 
-        getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
+        // We copy as swapToAvailable changes the index
+        new ArrayList<>(addressEntryList.getAddressEntriesByOfferId(offerId)).stream()
                 .filter(e -> context == e.getContext())
                 .forEach(e -> {
                     log.info("swap addressEntry with address {} and offerId {} from context {} to available",
@@ -794,9 +782,8 @@ public class BtcWalletService extends WalletService {
     }
 
     public void setCoinLockedInMultiSigAddressEntry(String offerId, long value) {
-        getAddressEntryListAsImmutableList().stream()
+        new ArrayList<>(addressEntryList.getAddressEntriesByOfferId(offerId)).stream()
                 .filter(e -> AddressEntry.Context.MULTI_SIG == e.getContext())
-                .filter(e -> offerId.equals(e.getOfferId()))
                 .forEach(addressEntry -> setCoinLockedInMultiSigAddressEntry(addressEntry, value));
     }
 
@@ -27,6 +27,7 @@ import bisq.core.btc.wallet.http.MemPoolSpaceTxBroadcaster;
 import bisq.core.provider.fee.FeeService;
 import bisq.core.user.Preferences;
 
+import bisq.common.UserThread;
 import bisq.common.config.Config;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
@@ -87,10 +88,13 @@ import javafx.beans.property.SimpleIntegerProperty;
 import org.bouncycastle.crypto.params.KeyParameter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -118,9 +122,16 @@ public abstract class WalletService {
     protected final FeeService feeService;
     protected final NetworkParameters params;
     private final BisqWalletListener walletEventListener = new BisqWalletListener();
-    private final CopyOnWriteArraySet<AddressConfidenceListener> addressConfidenceListeners = new CopyOnWriteArraySet<>();
-    private final CopyOnWriteArraySet<TxConfidenceListener> txConfidenceListeners = new CopyOnWriteArraySet<>();
-    private final CopyOnWriteArraySet<BalanceListener> balanceListeners = new CopyOnWriteArraySet<>();
+    // Listeners are indexed by address or txId, so that we only need to look up the listeners affected by a tx
+    // instead of iterating all of them.
+    private final Map<Address, Set<AddressConfidenceListener>> addressConfidenceListenersByAddress = new ConcurrentHashMap<>();
+    private final Map<String, Set<TxConfidenceListener>> txConfidenceListenersByTxId = new ConcurrentHashMap<>();
+    private final Map<Address, Set<BalanceListener>> balanceListenersByAddress = new ConcurrentHashMap<>();
+    // Listeners without address get notified with the available balance
+    private final CopyOnWriteArraySet<BalanceListener> availableBalanceListeners = new CopyOnWriteArraySet<>();
+    // Txs with changed confidence which have not been dispatched yet. At a new block we get a confidence change
+    // event for each wallet tx (and often several for the same tx), which we coalesce into one batch.
+    private final Map<Sha256Hash, Transaction> pendingConfidenceChangedTxs = new LinkedHashMap<>();
     private final WalletChangeEventListener cacheInvalidationListener;
     private final AtomicReference<Multiset<Address>> txOutputAddressCache = new AtomicReference<>();
     private final AtomicReference<SetMultimap<Address, Transaction>> addressToMatchingTxSetCache = new AtomicReference<>();
@@ -210,27 +221,51 @@ public abstract class WalletService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public void addAddressConfidenceListener(AddressConfidenceListener listener) {
-        addressConfidenceListeners.add(listener);
+        addToListenerIndex(addressConfidenceListenersByAddress, listener.getAddress(), listener);
     }
 
     public void removeAddressConfidenceListener(AddressConfidenceListener listener) {
-        addressConfidenceListeners.remove(listener);
+        removeFromListenerIndex(addressConfidenceListenersByAddress, listener.getAddress(), listener);
     }
 
     public void addTxConfidenceListener(TxConfidenceListener listener) {
-        txConfidenceListeners.add(listener);
+        addToListenerIndex(txConfidenceListenersByTxId, listener.getTxId(), listener);
     }
 
     public void removeTxConfidenceListener(TxConfidenceListener listener) {
-        txConfidenceListeners.remove(listener);
+        removeFromListenerIndex(txConfidenceListenersByTxId, listener.getTxId(), listener);
     }
 
     public void addBalanceListener(BalanceListener listener) {
-        balanceListeners.add(listener);
+        if (listener.getAddress() != null)
+            addToListenerIndex(balanceListenersByAddress, listener.getAddress(), listener);
+        else
+            availableBalanceListeners.add(listener);
     }
 
     public void removeBalanceListener(BalanceListener listener) {
-        balanceListeners.remove(listener);
+        if (listener.getAddress() != null)
+            removeFromListenerIndex(balanceListenersByAddress, listener.getAddress(), listener);
+        else
+            availableBalanceListeners.remove(listener);
+    }
+
+    private static <K, L> void addToListenerIndex(Map<K, Set<L>> index, @Nullable K key, L listener) {
+        if (key == null) {
+            log.warn("Listener without key cannot be added. listener={}", listener);
+            return;
+        }
+        index.computeIfAbsent(key, k -> new CopyOnWriteArraySet<>()).add(listener);
+    }
+
+    private static <K, L> void removeFromListenerIndex(Map<K, Set<L>> index, @Nullable K key, L listener) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
     }
 
 
@@ -514,6 +549,13 @@ public abstract class WalletService {
     }
 
 
+    private Set<Address> getAddressesOfTx(Transaction tx) {
+        return getOutputsWithConnectedOutputs(tx).stream()
+                .map(WalletService::getAddressFromOutput)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
     private List<TransactionOutput> getOutputsWithConnectedOutputs(Transaction tx) {
         List<TransactionOutput> transactionOutputs = tx.getOutputs();
         List<TransactionOutput> connectedOutputs = new ArrayList<>();
@@ -921,28 +963,73 @@ public abstract class WalletService {
 
         @Override
         public void onTransactionConfidenceChanged(Wallet wallet, Transaction tx) {
-            for (AddressConfidenceListener addressConfidenceListener : addressConfidenceListeners) {
-                TransactionConfidence confidence = getTransactionConfidence(tx, addressConfidenceListener.getAddress());
-                addressConfidenceListener.onTransactionConfidenceChanged(confidence);
+            if (tx == null) {
+                return;
+            }
+
+            boolean flushScheduled;
+            synchronized (pendingConfidenceChangedTxs) {
+                flushScheduled = !pendingConfidenceChangedTxs.isEmpty();
+                // We keep the position of the first event but use the latest tx instance
+                pendingConfidenceChangedTxs.put(tx.getTxId(), tx);
+            }
+            if (!flushScheduled) {
+                // All confidence events of a block are already queued at the UserThread, so the flush is executed
+                // after them.
+                UserThread.execute(this::dispatchConfidenceChanges);
             }
-            txConfidenceListeners.stream()
-                    .filter(txConfidenceListener -> tx != null &&
-                            tx.getTxId().toString() != null &&
-                            txConfidenceListener != null &&
-                            tx.getTxId().toString().equals(txConfidenceListener.getTxId()))
-                    .forEach(txConfidenceListener ->
-                            txConfidenceListener.onTransactionConfidenceChanged(tx.getConfidence()));
+        }
+
+        private void dispatchConfidenceChanges() {
+            List<Transaction> txs;
+            synchronized (pendingConfidenceChangedTxs) {
+                txs = new ArrayList<>(pendingConfidenceChangedTxs.values());
+                pendingConfidenceChangedTxs.clear();
+            }
+
+            txs.forEach(tx -> {
+                if (!addressConfidenceListenersByAddress.isEmpty()) {
+                    // Listeners of addresses not used by the tx would get a null confidence, which they ignore anyway
+                    getAddressesOfTx(tx).forEach(address -> {
+                        Set<AddressConfidenceListener> listeners = addressConfidenceListenersByAddress.get(address);
+                        if (listeners != null) {
+                            TransactionConfidence confidence = getTransactionConfidence(tx, address);
+                            listeners.forEach(listener -> listener.onTransactionConfidenceChanged(confidence));
+                        }
+                    });
+                }
+
+                Set<TxConfidenceListener> txConfidenceListeners = txConfidenceListenersByTxId.get(tx.getTxId().toString());
+                if (txConfidenceListeners != null) {
+                    txConfidenceListeners.forEach(listener -> listener.onTransactionConfidenceChanged(tx.getConfidence()));
+                }
+            });
         }
 
         void notifyBalanceListeners(Transaction tx) {
-            for (BalanceListener balanceListener : balanceListeners) {
-                Coin balance;
-                if (balanceListener.getAddress() != null)
-                    balance = getBalanceForAddress(balanceListener.getAddress());
-                else
-                    balance = getAvailableBalance();
-
-                balanceListener.onBalanceChanged(balance, tx);
+            // The balance of an address can only change if the tx has an output to it or spends an output of it.
+            Map<Address, Set<BalanceListener>> affectedListenersByAddress = new HashMap<>();
+            if (!balanceListenersByAddress.isEmpty()) {
+                getAddressesOfTx(tx).forEach(address -> {
+                    Set<BalanceListener> listeners = balanceListenersByAddress.get(address);
+                    if (listeners != null) {
+                        affectedListenersByAddress.put(address, listeners);
+                    }
+                });
+            }
+
+            if (!affectedListenersByAddress.isEmpty()) {
+                // We calculate the spend candidates only once and the balance once per address
+                List<TransactionOutput> spendCandidates = wallet.calculateAllSpendCandidates();
+                affectedListenersByAddress.forEach((address, listeners) -> {
+                    Coin balance = getBalance(spendCandidates, address);
+                    listeners.forEach(listener -> listener.onBalanceChanged(balance, tx));
+                });
+            }
+
+            if (!availableBalanceListeners.isEmpty()) {
+                Coin availableBalance = getAvailableBalance();
+                availableBalanceListeners.forEach(listener -> listener.onBalanceChanged(availableBalance, tx));
             }
         }
     }
@@ -54,6 +54,8 @@ import bisq.core.dao.governance.proposal.reimbursement.ReimbursementProposalFact
 import bisq.core.dao.governance.proposal.removeAsset.RemoveAssetProposalFactory;
 import bisq.core.dao.governance.proposal.role.RoleProposalFactory;
 import bisq.core.dao.monitoring.DaoStateMonitoringService;
+import bisq.core.dao.node.BlockSyncProgress;
+import bisq.core.dao.node.BsqNodeProvider;
 import bisq.core.dao.state.DaoStateListener;
 import bisq.core.dao.state.DaoStateService;
 import bisq.core.dao.state.model.blockchain.BaseTx;
@@ -144,6 +146,7 @@ public class DaoFacade implements DaoSetupService {
     private final LockupTxService lockupTxService;
     private final UnlockTxService unlockTxService;
     private final DaoStateStorageService daoStateStorageService;
+    private final BsqNodeProvider bsqNodeProvider;
 
     private final ObjectProperty<DaoPhase.Phase> phaseProperty = new SimpleObjectProperty<>(DaoPhase.Phase.UNDEFINED);
 
@@ -171,7 +174,8 @@ public class DaoFacade implements DaoSetupService {
                      MyBondedReputationRepository myBondedReputationRepository,
                      LockupTxService lockupTxService,
                      UnlockTxService unlockTxService,
-                     DaoStateStorageService daoStateStorageService) {
+                     DaoStateStorageService daoStateStorageService,
+                     BsqNodeProvider bsqNodeProvider) {
         this.proposalListPresentation = proposalListPresentation;
         this.proposalService = proposalService;
         this.ballotListService = ballotListService;
@@ -196,6 +200,7 @@ public class DaoFacade implements DaoSetupService {
         this.lockupTxService = lockupTxService;
         this.unlockTxService = unlockTxService;
         this.daoStateStorageService = daoStateStorageService;
+        this.bsqNodeProvider = bsqNodeProvider;
     }
 
 
@@ -522,6 +527,11 @@ public class DaoFacade implements DaoSetupService {
         return daoStateService.getChainHeight();
     }
 
+    // Progress of the batch processing of requested blocks. Value is null if no batch processing is running.
+    public ReadOnlyObjectProperty<BlockSyncProgress> blockSyncProgressProperty() {
+        return bsqNodeProvider.getBsqNode().blockSyncProgressProperty();
+    }
+
     public Optional<Block> getBlockAtChainHeight() {
         return getBlockAtHeight(getChainHeight());
     }
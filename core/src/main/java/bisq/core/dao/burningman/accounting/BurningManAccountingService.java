@@ -63,6 +63,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -96,6 +97,8 @@ public class BurningManAccountingService implements DaoSetupService, DaoStateLis
     private final Map<String, BalanceModel> balanceModelByBurningManName = new HashMap<>();
     @Getter
     private final BooleanProperty isProcessing = new SimpleBooleanProperty();
+    // Height of the last accounting block which got added to balanceModelByBurningManName
+    private int balanceModelBlockHeight = EARLIEST_BLOCK_HEIGHT - 1;
 
     // cache
     private final List<ReceivedBtcBalanceEntry> receivedBtcBalanceEntryListExcludingLegacyBM = new ArrayList<>();
@@ -132,9 +135,19 @@ public class BurningManAccountingService implements DaoSetupService, DaoStateLis
         updateBalanceModelByAddress();
         CompletableFuture.runAsync(() -> {
             Map<String, BalanceModel> map = new HashMap<>();
+            AtomicInteger height = new AtomicInteger(EARLIEST_BLOCK_HEIGHT - 1);
             // addAccountingBlockToBalanceModel takes about 500ms for 100k items, so we run it in a non UI thread.
-            burningManAccountingStoreService.forEachBlock(block -> addAccountingBlockToBalanceModel(map, block));
-            UserThread.execute(() -> balanceModelByBurningManName.putAll(map));
+            burningManAccountingStoreService.forEachBlock(block -> {
+                addAccountingBlockToBalanceModel(map, block);
+                height.set(block.getHeight());
+            });
+            UserThread.execute(() -> {
+                // If the blocks have been applied already in the meantime we keep our models
+                if (height.get() > balanceModelBlockHeight) {
+                    balanceModelByBurningManName.putAll(map);
+                    balanceModelBlockHeight = height.get();
+                }
+            });
         });
     }
 
@@ -159,13 +172,20 @@ public class BurningManAccountingService implements DaoSetupService, DaoStateLis
 
     public void onInitialBlockRequestsComplete() {
         updateBalanceModelByAddress();
-        burningManAccountingStoreService.forEachBlock(this::addAccountingBlockToBalanceModel);
+        // We only add the blocks which are not already applied to the balance models
+        burningManAccountingStoreService.forEachBlockAtLeastWithHeight(balanceModelBlockHeight + 1, block -> {
+            addAccountingBlockToBalanceModel(block);
+            balanceModelBlockHeight = block.getHeight();
+        });
         UserThread.execute(() -> isProcessing.set(false));
     }
 
     public void onNewBlockReceived(AccountingBlock accountingBlock) {
         updateBalanceModelByAddress();
         addAccountingBlockToBalanceModel(accountingBlock);
+        if (accountingBlock.getHeight() == balanceModelBlockHeight + 1) {
+            balanceModelBlockHeight = accountingBlock.getHeight();
+        }
     }
 
     public void addBlock(AccountingBlock block) throws BlockHashNotConnectingException, BlockHeightNotConnectingException {
@@ -272,6 +292,7 @@ public class BurningManAccountingService implements DaoSetupService, DaoStateLis
 
 
     public void resyncAccountingDataFromScratch(Runnable resultHandler) {
+        balanceModelBlockHeight = EARLIEST_BLOCK_HEIGHT - 1;
         burningManAccountingStoreService.removeAllBlocks(resultHandler);
     }
 
@@ -288,6 +309,10 @@ public class BurningManAccountingService implements DaoSetupService, DaoStateLis
         return burningManAccountingStoreService.getBlocksAtLeastWithHeight(minHeight);
     }
 
+    public List<protobuf.AccountingBlock> getEncodedBlocksAtLeastWithHeight(int minHeight) {
+        return burningManAccountingStoreService.getEncodedBlocksAtLeastWithHeight(minHeight);
+    }
+
     public Map<String, String> getBurningManNameByAddress() {
         return burningManPresentationService.getBurningManNameByAddress();
     }
@@ -298,6 +323,8 @@ public class BurningManAccountingService implements DaoSetupService, DaoStateLis
 
     public void purgeLastTenBlocks() {
         burningManAccountingStoreService.purgeLastTenBlocks();
+        // Blocks at the purged heights need to be applied again once they got replaced
+        balanceModelBlockHeight = Math.min(balanceModelBlockHeight, getBlockHeightOfLastBlock());
     }
 
 
@@ -34,8 +34,7 @@ import bisq.common.app.DevEnv;
 import org.bitcoinj.core.ECKey;
 import org.bitcoinj.core.Sha256Hash;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.security.MessageDigest;
 
 import java.util.Collection;
 import java.util.Set;
@@ -63,20 +62,29 @@ public abstract class AccountingNode implements DaoSetupService, DaoStateListene
         return Sha256Hash.of(block.toProtoMessage().toByteArray());
     }
 
-    @Nullable
     public static Sha256Hash getSha256Hash(Collection<AccountingBlock> blocks) {
         long ts = System.currentTimeMillis();
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            for (AccountingBlock accountingBlock : blocks) {
-                outputStream.write(accountingBlock.toProtoMessage().toByteArray());
-            }
-            Sha256Hash hash = Sha256Hash.of(outputStream.toByteArray());
-            // 2833 blocks takes about 23 ms
-            log.info("getSha256Hash for {} blocks took {} ms", blocks.size(), System.currentTimeMillis() - ts);
-            return hash;
-        } catch (IOException e) {
-            return null;
+        // Same as hashing the concatenated serialized blocks, but without copying them into one array.
+        MessageDigest digest = Sha256Hash.newDigest();
+        for (AccountingBlock accountingBlock : blocks) {
+            digest.update(accountingBlock.toProtoMessage().toByteArray());
+        }
+        Sha256Hash hash = Sha256Hash.wrap(digest.digest());
+        // 2833 blocks takes about 23 ms
+        log.info("getSha256Hash for {} blocks took {} ms", blocks.size(), System.currentTimeMillis() - ts);
+        return hash;
+    }
+
+    // Same hash as getSha256Hash(Collection<AccountingBlock>) for the same blocks, without encoding them again
+    public static Sha256Hash getSha256HashOfEncodedBlocks(Collection<protobuf.AccountingBlock> encodedBlocks) {
+        long ts = System.currentTimeMillis();
+        MessageDigest digest = Sha256Hash.newDigest();
+        for (protobuf.AccountingBlock encodedBlock : encodedBlocks) {
+            digest.update(encodedBlock.toByteArray());
         }
+        Sha256Hash hash = Sha256Hash.wrap(digest.digest());
+        log.info("getSha256HashOfEncodedBlocks for {} blocks took {} ms", encodedBlocks.size(), System.currentTimeMillis() - ts);
+        return hash;
     }
 
     public static byte[] getSignature(Sha256Hash sha256Hash, ECKey privKey) {
@@ -54,9 +54,16 @@ public class AccountingBlockParser {
     }
 
     public AccountingBlock parse(RawDtoBlock rawDtoBlock) {
-        Map<String, String> burningManNameByAddress = burningManAccountingService.getBurningManNameByAddress();
-        String genesisTxId = burningManAccountingService.getGenesisTxId();
+        return parse(rawDtoBlock,
+                burningManAccountingService.getBurningManNameByAddress(),
+                burningManAccountingService.getGenesisTxId());
+    }
 
+    // Does not access the BurningManAccountingService, so it can be called from a worker thread if the caller
+    // passes a copy of the burningManNameByAddress map taken at the UserThread.
+    public AccountingBlock parse(RawDtoBlock rawDtoBlock,
+                                 Map<String, String> burningManNameByAddress,
+                                 String genesisTxId) {
         // We filter early for first output address match. DPT txs have multiple outputs which need to match and will be checked later.
         Set<String> receiverAddresses = burningManNameByAddress.keySet();
         List<AccountingTx> txs = rawDtoBlock.getTx().stream()
@@ -0,0 +1,260 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.burningman.accounting.node.full;
+
+import bisq.core.dao.burningman.accounting.blockchain.AccountingBlock;
+
+import bisq.common.UserThread;
+import bisq.common.handlers.ResultHandler;
+import bisq.common.metrics.Metrics;
+import bisq.common.metrics.MetricsWriter;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Requests and parses accounting blocks in parallel and commits them strictly in height order.
+ * <p>
+ * At most maxParallelRequests blocks are requested at the same time. A request is only started for heights below
+ * nextCommitHeight + maxPendingBlocks, so a slow block cannot cause the blocks after it to pile up in memory.
+ * Parsed accounting blocks are small, the memory is mainly used by the RawDtoBlocks of the running requests, which
+ * is bounded by maxParallelRequests.
+ * <p>
+ * Must be used from the UserThread. The results of the requests get mapped to the UserThread.
+ */
+@Slf4j
+class AccountingBlockPipeline {
+    interface BlockRequester {
+        // Called at the UserThread. The returned future can complete at any thread.
+        ListenableFuture<AccountingBlock> request(int blockHeight);
+    }
+
+    interface BlockCommitter {
+        // Returns false if the block could not be committed. In that case the pipeline stops without calling the
+        // complete or error handler, and the committer is responsible for the recovery (e.g. a reorg).
+        boolean commit(AccountingBlock accountingBlock);
+    }
+
+    private static final long LOG_PROGRESS_INTERVAL_MS = 10_000;
+
+    private final BlockRequester blockRequester;
+    private final BlockCommitter blockCommitter;
+    private final int maxParallelRequests;
+    private final int maxPendingBlocks;
+
+    private final Map<Integer, AccountingBlock> parsedBlocksByHeight = new HashMap<>();
+    // Gets incremented at each start and stop, so results of requests from a previous run get ignored
+    private int runId;
+    @Getter
+    private boolean running;
+    private int nextRequestHeight;
+    private int nextCommitHeight;
+    private int toHeight;
+    private int numRunningRequests;
+    private int maxNumBufferedBlocks;
+    private ResultHandler completeHandler;
+    private Consumer<Throwable> errorHandler;
+    private long startTime;
+    private int startHeight;
+    private long lastProgressLogTime;
+    private volatile int numBufferedBlocks;
+    private volatile double blocksPerSec;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    AccountingBlockPipeline(BlockRequester blockRequester,
+                            BlockCommitter blockCommitter,
+                            int maxParallelRequests,
+                            int maxPendingBlocks) {
+        this.blockRequester = blockRequester;
+        this.blockCommitter = blockCommitter;
+        this.maxParallelRequests = Math.max(1, maxParallelRequests);
+        this.maxPendingBlocks = Math.max(this.maxParallelRequests, maxPendingBlocks);
+
+        Metrics.addCollector("accountingBlockPipeline", this::collectMetrics);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Requests all blocks from fromHeight to toHeight (inclusive). A running request from a previous call gets
+     * stopped.
+     */
+    void start(int fromHeight, int toHeight, ResultHandler completeHandler, Consumer<Throwable> errorHandler) {
+        stop();
+        running = true;
+        this.nextRequestHeight = fromHeight;
+        this.nextCommitHeight = fromHeight;
+        this.startHeight = fromHeight;
+        this.toHeight = toHeight;
+        this.completeHandler = completeHandler;
+        this.errorHandler = errorHandler;
+        maxNumBufferedBlocks = 0;
+        startTime = System.currentTimeMillis();
+        lastProgressLogTime = startTime;
+        log.info("Start requesting blocks from {} to {} with max. {} parallel requests and max. {} pending blocks",
+                fromHeight, toHeight, maxParallelRequests, maxPendingBlocks);
+
+        if (fromHeight > toHeight) {
+            complete();
+        } else {
+            requestBlocks();
+        }
+    }
+
+    void stop() {
+        runId++;
+        running = false;
+        numRunningRequests = 0;
+        parsedBlocksByHeight.clear();
+        numBufferedBlocks = 0;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void requestBlocks() {
+        int currentRunId = runId;
+        while (currentRunId == runId &&
+                numRunningRequests < maxParallelRequests &&
+                nextRequestHeight <= toHeight &&
+                nextRequestHeight < nextCommitHeight + maxPendingBlocks) {
+            int blockHeight = nextRequestHeight++;
+            numRunningRequests++;
+            long startNanos = System.nanoTime();
+            ListenableFuture<AccountingBlock> future;
+            try {
+                future = blockRequester.request(blockHeight);
+            } catch (RuntimeException e) {
+                handleFault(e);
+                return;
+            }
+            Futures.addCallback(future, new FutureCallback<>() {
+                @Override
+                public void onSuccess(AccountingBlock accountingBlock) {
+                    Metrics.recordSince("bisq_accounting_block_request_seconds",
+                            "Duration of requesting and parsing an accounting block", startNanos);
+                    UserThread.execute(() -> {
+                        if (currentRunId == runId) {
+                            onBlockParsed(blockHeight, accountingBlock);
+                        }
+                    });
+                }
+
+                @Override
+                public void onFailure(@NotNull Throwable throwable) {
+                    log.error("Error at requesting accounting block at blockHeight={}", blockHeight);
+                    UserThread.execute(() -> {
+                        if (currentRunId == runId) {
+                            handleFault(throwable);
+                        }
+                    });
+                }
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    private void onBlockParsed(int blockHeight, AccountingBlock accountingBlock) {
+        numRunningRequests--;
+        parsedBlocksByHeight.put(blockHeight, accountingBlock);
+        maxNumBufferedBlocks = Math.max(maxNumBufferedBlocks, parsedBlocksByHeight.size());
+
+        int currentRunId = runId;
+        AccountingBlock nextBlock;
+        while (currentRunId == runId && (nextBlock = parsedBlocksByHeight.remove(nextCommitHeight)) != null) {
+            if (!blockCommitter.commit(nextBlock)) {
+                // The committer might have started a new run already
+                if (currentRunId == runId) {
+                    stop();
+                }
+                return;
+            }
+            nextCommitHeight++;
+        }
+        if (currentRunId != runId) {
+            return;
+        }
+
+        numBufferedBlocks = parsedBlocksByHeight.size();
+        maybeLogProgress();
+
+        if (nextCommitHeight > toHeight) {
+            complete();
+        } else {
+            requestBlocks();
+        }
+    }
+
+    private void complete() {
+        long duration = System.currentTimeMillis() - startTime;
+        int numBlocks = nextCommitHeight - startHeight;
+        blocksPerSec = getBlocksPerSec(numBlocks, duration);
+        log.info("Committed {} accounting blocks in {} sec. {} blocks/sec, max. {} buffered blocks",
+                numBlocks, duration / 1000d, blocksPerSec, maxNumBufferedBlocks);
+        ResultHandler resultHandler = completeHandler;
+        stop();
+        resultHandler.handleResult();
+    }
+
+    private void handleFault(Throwable throwable) {
+        Consumer<Throwable> consumer = errorHandler;
+        stop();
+        consumer.accept(throwable);
+    }
+
+    private void maybeLogProgress() {
+        long now = System.currentTimeMillis();
+        if (now - lastProgressLogTime < LOG_PROGRESS_INTERVAL_MS) {
+            return;
+        }
+        lastProgressLogTime = now;
+        blocksPerSec = getBlocksPerSec(nextCommitHeight - startHeight, now - startTime);
+        log.info("Committed accounting blocks up to height {} of {}. {} blocks/sec, {} buffered blocks, {} running requests",
+                nextCommitHeight - 1, toHeight, blocksPerSec, numBufferedBlocks, numRunningRequests);
+    }
+
+    private static double getBlocksPerSec(int numBlocks, long durationMs) {
+        return durationMs > 0 ? Math.round(numBlocks * 10_000d / durationMs) / 10d : numBlocks;
+    }
+
+    private void collectMetrics(MetricsWriter writer) {
+        writer.gauge("bisq_accounting_pipeline_buffered_blocks",
+                "Number of parsed accounting blocks waiting for a block with a lower height", numBufferedBlocks);
+        writer.gauge("bisq_accounting_pipeline_blocks_per_second",
+                "Throughput of the last accounting block request batch", blocksPerSec);
+    }
+}
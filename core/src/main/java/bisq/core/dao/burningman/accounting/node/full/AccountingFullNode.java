@@ -33,26 +33,38 @@ import bisq.core.user.Preferences;
 import bisq.network.p2p.P2PService;
 
 import bisq.common.UserThread;
-import bisq.common.handlers.ResultHandler;
+import bisq.common.util.Hex;
+import bisq.common.util.Utilities;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
 import java.net.ConnectException;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Singleton
 public class AccountingFullNode extends AccountingNode {
+    // Requesting a block from bitcoind is mostly IO bound, parsing is cheap. A few parallel requests are enough to
+    // keep bitcoind busy without competing too much with the DAO full node.
+    private static final int MAX_PARALLEL_BLOCK_REQUESTS = 4;
+    // Limits the number of parsed blocks waiting for a slower block with a lower height
+    private static final int MAX_PENDING_BLOCKS = 100;
+
     private final RpcService rpcService;
     private final AccountingFullNodeNetworkService accountingFullNodeNetworkService;
+    private final ListeningExecutorService blockRequestExecutor;
+    private final AccountingBlockPipeline accountingBlockPipeline;
 
     private boolean addBlockHandlerAdded;
     private int batchedBlocks;
@@ -73,6 +85,13 @@ public class AccountingFullNode extends AccountingNode {
 
         this.rpcService = rpcService;
         this.accountingFullNodeNetworkService = accountingFullNodeNetworkService;
+
+        blockRequestExecutor = Utilities.getListeningExecutorService("AccountingBlockRequests",
+                MAX_PARALLEL_BLOCK_REQUESTS, MAX_PARALLEL_BLOCK_REQUESTS, 60);
+        accountingBlockPipeline = new AccountingBlockPipeline(this::requestAccountingBlock,
+                this::commitAccountingBlock,
+                MAX_PARALLEL_BLOCK_REQUESTS,
+                MAX_PENDING_BLOCKS);
     }
 
 
@@ -82,6 +101,8 @@ public class AccountingFullNode extends AccountingNode {
 
     @Override
     public void shutDown() {
+        accountingBlockPipeline.stop();
+        blockRequestExecutor.shutdownNow();
         accountingFullNodeNetworkService.shutDown();
     }
 
@@ -189,7 +210,7 @@ public class AccountingFullNode extends AccountingNode {
             batchedBlocks = headHeight - heightOfLastBlock;
             batchStartTime = System.currentTimeMillis();
             log.info("Request {} blocks from {} to {}", batchedBlocks, heightOfLastBlock, headHeight);
-            requestBlockRecursively(heightOfLastBlock,
+            accountingBlockPipeline.start(heightOfLastBlock + 1,
                     headHeight,
                     () -> {
                         // We are done, but it might be that new blocks have arrived in the meantime,
@@ -213,25 +234,44 @@ public class AccountingFullNode extends AccountingNode {
         }
     }
 
-    private void requestBlockRecursively(int heightOfLastBlock,
-                                         int headHeight,
-                                         ResultHandler completeHandler,
-                                         Consumer<Throwable> errorHandler) {
-        int requestHeight = heightOfLastBlock + 1;
-        rpcService.requestRawDtoBlock(requestHeight,
-                rawDtoBlock -> {
-                    parseBlock(rawDtoBlock).ifPresent(this::maybePublishAccountingBlock);
-
-                    // Increment heightOfLastBlock and recursively call requestBlockRecursively until we reach headHeight
-                    int newHeightOfLastBlock = burningManAccountingService.getBlockHeightOfLastBlock();
-                    if (requestHeight < headHeight) {
-                        requestBlockRecursively(newHeightOfLastBlock, headHeight, completeHandler, errorHandler);
-                    } else {
-                        // We are done
-                        completeHandler.handleResult();
-                    }
-                },
-                errorHandler);
+    private ListenableFuture<AccountingBlock> requestAccountingBlock(int blockHeight) {
+        // The parser runs at the executor thread, so we pass a copy of the data it would read from the
+        // burningManAccountingService at the UserThread.
+        Map<String, String> burningManNameByAddress = Map.copyOf(burningManAccountingService.getBurningManNameByAddress());
+        String genesisTxId = burningManAccountingService.getGenesisTxId();
+        return rpcService.requestRawDtoBlock(blockHeight,
+                rawDtoBlock -> accountingBlockParser.parse(rawDtoBlock, burningManNameByAddress, genesisTxId),
+                blockRequestExecutor);
+    }
+
+    // Called by the accountingBlockPipeline in the order of the block heights
+    private boolean commitAccountingBlock(AccountingBlock accountingBlock) {
+        try {
+            burningManAccountingService.addBlock(accountingBlock);
+            maybePublishAccountingBlock(accountingBlock);
+            maybeParseNextPendingBlock();
+            return true;
+        } catch (BlockHeightNotConnectingException e) {
+            // Can happen if a block from the block notification handler has been added in the meantime.
+            // We request again from our latest block.
+            int heightOfLastBlock = burningManAccountingService.getBlockHeightOfLastBlock();
+            log.info("Requested block at height {} is not connecting to our latest block at height {}. We request again.",
+                    accountingBlock.getHeight(), heightOfLastBlock);
+            requestBlocksIfNewBlockAvailable(heightOfLastBlock);
+        } catch (BlockHashNotConnectingException e) {
+            Optional<AccountingBlock> lastBlock = burningManAccountingService.getLastBlock();
+            log.warn("Block not connecting:\n" +
+                            "New block height={}; hash={}, previousBlockHash={}, latest block height={}; hash={}",
+                    accountingBlock.getHeight(),
+                    Hex.encode(accountingBlock.getTruncatedHash()),
+                    Hex.encode(accountingBlock.getTruncatedPreviousBlockHash()),
+                    lastBlock.isPresent() ? lastBlock.get().getHeight() : "lastBlock not present",
+                    lastBlock.isPresent() ? lastBlock.get().getTruncatedHash() : "lastBlock not present");
+
+            pendingRawDtoBlocks.clear();
+            applyReOrg();
+        }
+        return false;
     }
 
     private Optional<AccountingBlock> parseBlock(RawDtoBlock rawDtoBlock) {
@@ -248,18 +288,7 @@ public class AccountingFullNode extends AccountingNode {
         try {
             AccountingBlock accountingBlock = accountingBlockParser.parse(rawDtoBlock);
             burningManAccountingService.addBlock(accountingBlock);
-
-            // After parsing we check if we have pending future blocks.
-            // As we successfully added a new block a pending block might fit as next block.
-            if (!pendingRawDtoBlocks.isEmpty()) {
-                // We take only first element after sorting (so it is the accountingBlock with the next height) to avoid that
-                // we would repeat calls in recursions in case we would iterate the list.
-                pendingRawDtoBlocks.sort(Comparator.comparing(RawDtoBlock::getHeight));
-                RawDtoBlock nextPending = pendingRawDtoBlocks.get(0);
-                if (nextPending.getHeight() == burningManAccountingService.getBlockHeightOfLastBlock() + 1) {
-                    parseBlock(nextPending);
-                }
-            }
+            maybeParseNextPendingBlock();
             return Optional.of(accountingBlock);
         } catch (BlockHeightNotConnectingException e) {
             // If height of rawDtoBlock is not at expected heightForNextBlock but further in the future we add it to pendingRawDtoBlocks
@@ -285,6 +314,20 @@ public class AccountingFullNode extends AccountingNode {
         return Optional.empty();
     }
 
+    private void maybeParseNextPendingBlock() {
+        // After parsing we check if we have pending future blocks.
+        // As we successfully added a new block a pending block might fit as next block.
+        if (!pendingRawDtoBlocks.isEmpty()) {
+            // We take only first element after sorting (so it is the accountingBlock with the next height) to avoid that
+            // we would repeat calls in recursions in case we would iterate the list.
+            pendingRawDtoBlocks.sort(Comparator.comparing(RawDtoBlock::getHeight));
+            RawDtoBlock nextPending = pendingRawDtoBlocks.get(0);
+            if (nextPending.getHeight() == burningManAccountingService.getBlockHeightOfLastBlock() + 1) {
+                parseBlock(nextPending);
+            }
+        }
+    }
+
     private void handleError(Throwable throwable) {
         if (throwable instanceof BlockHashNotConnectingException || throwable instanceof BlockHeightNotConnectingException) {
             // We do not escalate that exception as it is handled with the snapshot manager to recover its state.
@@ -18,7 +18,6 @@
 package bisq.core.dao.burningman.accounting.node.full.network;
 
 import bisq.core.dao.burningman.accounting.BurningManAccountingService;
-import bisq.core.dao.burningman.accounting.blockchain.AccountingBlock;
 import bisq.core.dao.burningman.accounting.node.AccountingNode;
 import bisq.core.dao.burningman.accounting.node.messages.GetAccountingBlocksRequest;
 import bisq.core.dao.burningman.accounting.node.messages.GetAccountingBlocksResponse;
@@ -91,9 +90,9 @@ class GetAccountingBlocksRequestHandler {
 
     public void onGetBlocksRequest(GetAccountingBlocksRequest request, Connection connection) {
         long ts = System.currentTimeMillis();
-        List<AccountingBlock> blocks = burningManAccountingService.getBlocksAtLeastWithHeight(request.getFromBlockHeight());
-        byte[] signature = AccountingNode.getSignature(AccountingNode.getSha256Hash(blocks), bmOracleNodePrivKey);
-        GetAccountingBlocksResponse getBlocksResponse = new GetAccountingBlocksResponse(blocks, request.getNonce(), bmOracleNodePubKey, signature);
+        List<protobuf.AccountingBlock> blocks = burningManAccountingService.getEncodedBlocksAtLeastWithHeight(request.getFromBlockHeight());
+        byte[] signature = AccountingNode.getSignature(AccountingNode.getSha256HashOfEncodedBlocks(blocks), bmOracleNodePrivKey);
+        GetAccountingBlocksResponse getBlocksResponse = GetAccountingBlocksResponse.fromEncodedBlocks(blocks, request.getNonce(), bmOracleNodePubKey, signature);
         log.info("Received GetAccountingBlocksRequest from {} for blocks from height {}. " +
                         "Building GetAccountingBlocksResponse with {} blocks took {} ms.",
                 connection.getPeersNodeAddressOptional(), request.getFromBlockHeight(),
@@ -116,8 +115,8 @@ class GetAccountingBlocksRequestHandler {
             @Override
             public void onSuccess(Connection connection) {
                 if (!stopped) {
-                    log.info("Send DataResponse to {} succeeded. getBlocksResponse.getBlocks().size()={}",
-                            connection.getPeersNodeAddressOptional(), getBlocksResponse.getBlocks().size());
+                    log.info("Send DataResponse to {} succeeded. getBlocksResponse.getNumBlocks()={}",
+                            connection.getPeersNodeAddressOptional(), getBlocksResponse.getNumBlocks());
                     cleanup();
                     listener.onComplete();
                 } else {
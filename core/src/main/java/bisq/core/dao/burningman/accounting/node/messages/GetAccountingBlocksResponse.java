@@ -38,6 +38,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 // Taken from GetBlocksResponse
 @EqualsAndHashCode(callSuper = true)
 @Getter
@@ -48,12 +50,23 @@ public final class GetAccountingBlocksResponse extends NetworkEnvelope implement
     private final int requestNonce;
     private final String pubKey;
     private final byte[] signature;
+    // Set at the sender if the blocks got passed already encoded, so they do not get encoded again for sending
+    @Nullable
+    private final List<protobuf.AccountingBlock> encodedBlocks;
 
     public GetAccountingBlocksResponse(List<AccountingBlock> blocks,
                                        int requestNonce,
                                        String pubKey,
                                        byte[] signature) {
-        this(blocks, requestNonce, pubKey, signature, Version.getP2PMessageVersion());
+        this(blocks, null, requestNonce, pubKey, signature, Version.getP2PMessageVersion());
+    }
+
+    public static GetAccountingBlocksResponse fromEncodedBlocks(List<protobuf.AccountingBlock> encodedBlocks,
+                                                                int requestNonce,
+                                                                String pubKey,
+                                                                byte[] signature) {
+        return new GetAccountingBlocksResponse(new ArrayList<>(), encodedBlocks, requestNonce, pubKey, signature,
+                Version.getP2PMessageVersion());
     }
 
 
@@ -62,6 +75,7 @@ public final class GetAccountingBlocksResponse extends NetworkEnvelope implement
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private GetAccountingBlocksResponse(List<AccountingBlock> blocks,
+                                        @Nullable List<protobuf.AccountingBlock> encodedBlocks,
                                         int requestNonce,
                                         String pubKey,
                                         byte[] signature,
@@ -69,6 +83,7 @@ public final class GetAccountingBlocksResponse extends NetworkEnvelope implement
         super(messageVersion);
 
         this.blocks = blocks;
+        this.encodedBlocks = encodedBlocks;
         this.requestNonce = requestNonce;
         this.pubKey = pubKey;
         this.signature = signature;
@@ -78,9 +93,11 @@ public final class GetAccountingBlocksResponse extends NetworkEnvelope implement
     public protobuf.NetworkEnvelope toProtoNetworkEnvelope() {
         protobuf.NetworkEnvelope proto = getNetworkEnvelopeBuilder()
                 .setGetAccountingBlocksResponse(protobuf.GetAccountingBlocksResponse.newBuilder()
-                        .addAllBlocks(blocks.stream()
-                                .map(AccountingBlock::toProtoMessage)
-                                .collect(Collectors.toList()))
+                        .addAllBlocks(encodedBlocks != null ?
+                                encodedBlocks :
+                                blocks.stream()
+                                        .map(AccountingBlock::toProtoMessage)
+                                        .collect(Collectors.toList()))
                         .setRequestNonce(requestNonce)
                         .setPubKey(pubKey)
                         .setSignature(ByteString.copyFrom(signature)))
@@ -97,12 +114,17 @@ public final class GetAccountingBlocksResponse extends NetworkEnvelope implement
         return new GetAccountingBlocksResponse(proto.getBlocksList().isEmpty() ?
                 new ArrayList<>() :
                 list,
+                null,
                 proto.getRequestNonce(),
                 proto.getPubKey(),
                 proto.getSignature().toByteArray(),
                 messageVersion);
     }
 
+    public int getNumBlocks() {
+        return encodedBlocks != null ? encodedBlocks.size() : blocks.size();
+    }
+
     @Override
     public Class<? extends InitialDataRequest> associatedRequest() {
         return GetAccountingBlocksRequest.class;
@@ -27,10 +27,10 @@ import com.google.protobuf.Message;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -41,13 +41,44 @@ import lombok.extern.slf4j.Slf4j;
 
 import static bisq.core.dao.burningman.accounting.BurningManAccountingService.EARLIEST_BLOCK_HEIGHT;
 
+/**
+ * Blocks are stored contiguously by height, so the block at a given height is found by its offset to the height of
+ * the first block. New blocks need to connect to the last block, so there are no gaps.
+ * <p>
+ * The proto messages of the blocks are needed for persistence, for the hash signed by the oracle node and for each
+ * response to a lite node. Caching them at each block would about double the heap used by the ~170k blocks. Instead,
+ * we cache the encoded blocks per chunk of {@link #CHUNK_SIZE} blocks, only for complete chunks and only for the
+ * {@link #MAX_CACHED_CHUNKS} most recently used ones. Lite nodes request the blocks from their last height, so those
+ * are mostly the chunks at the tail. That costs about 1% of the memory of the blocks. A request for all blocks
+ * encodes the blocks outside the cached chunks again.
+ */
 @Slf4j
 public class BurningManAccountingStore implements PersistableEnvelope {
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_CACHED_CHUNKS = 2;
+
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    private final LinkedList<AccountingBlock> blocks = new LinkedList<>();
+    private final List<AccountingBlock> blocks = new ArrayList<>();
+    // Key is the index of the chunk, the chunk starts at block index chunkIndex * CHUNK_SIZE. Access ordered for LRU.
+    private final Map<Integer, List<protobuf.AccountingBlock>> encodedChunkByIndex =
+            new LinkedHashMap<>(MAX_CACHED_CHUNKS + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<protobuf.AccountingBlock>> eldest) {
+                    return size() > MAX_CACHED_CHUNKS;
+                }
+            };
 
     public BurningManAccountingStore(List<AccountingBlock> blocks) {
-        this.blocks.addAll(blocks);
+        for (AccountingBlock block : blocks) {
+            if (!this.blocks.isEmpty() && block.getHeight() != getLastBlockHeight() + 1) {
+                // Blocks have been added only if connecting, so that is not expected. We drop the non-connecting
+                // blocks and request them again.
+                log.warn("Persisted accountingBlock at height {} is not connecting to previous block at height {}. " +
+                        "We ignore the remaining blocks.", block.getHeight(), getLastBlockHeight());
+                break;
+            }
+            this.blocks.add(block);
+        }
     }
 
     public void addIfNewBlock(AccountingBlock newBlock) throws BlockHeightNotConnectingException, BlockHashNotConnectingException {
@@ -61,10 +92,16 @@ public class BurningManAccountingStore implements PersistableEnvelope {
     }
 
     public void forEachBlock(Consumer<AccountingBlock> consumer) {
+        forEachBlockAtLeastWithHeight(0, consumer);
+    }
+
+    public void forEachBlockAtLeastWithHeight(int minHeight, Consumer<AccountingBlock> consumer) {
         Lock readLock = readWriteLock.readLock();
         readLock.lock();
         try {
-            blocks.forEach(consumer);
+            for (int i = getIndex(minHeight); i < blocks.size(); i++) {
+                consumer.accept(blocks.get(i));
+            }
         } finally {
             readLock.unlock();
         }
@@ -75,7 +112,11 @@ public class BurningManAccountingStore implements PersistableEnvelope {
         writeLock.lock();
         try {
             for (int i = 0; i < 10 && !blocks.isEmpty(); i++) {
-                blocks.removeLast();
+                blocks.remove(blocks.size() - 1);
+            }
+            // The chunk containing the removed blocks is not complete anymore
+            synchronized (encodedChunkByIndex) {
+                encodedChunkByIndex.keySet().removeIf(chunkIndex -> (chunkIndex + 1) * CHUNK_SIZE > blocks.size());
             }
         } finally {
             writeLock.unlock();
@@ -87,6 +128,9 @@ public class BurningManAccountingStore implements PersistableEnvelope {
         writeLock.lock();
         try {
             blocks.clear();
+            synchronized (encodedChunkByIndex) {
+                encodedChunkByIndex.clear();
+            }
         } finally {
             writeLock.unlock();
         }
@@ -96,8 +140,7 @@ public class BurningManAccountingStore implements PersistableEnvelope {
         Lock readLock = readWriteLock.readLock();
         readLock.lock();
         try {
-            return blocks.stream()
-                    .max(Comparator.comparing(AccountingBlock::getHeight));
+            return blocks.isEmpty() ? Optional.empty() : Optional.of(blocks.get(blocks.size() - 1));
         } finally {
             readLock.unlock();
         }
@@ -107,9 +150,7 @@ public class BurningManAccountingStore implements PersistableEnvelope {
         Lock readLock = readWriteLock.readLock();
         readLock.lock();
         try {
-            return blocks.stream()
-                    .filter(block -> block.getHeight() == height)
-                    .findAny();
+            return getBlockAtHeightUnlocked(height);
         } finally {
             readLock.unlock();
         }
@@ -119,19 +160,51 @@ public class BurningManAccountingStore implements PersistableEnvelope {
         Lock readLock = readWriteLock.readLock();
         readLock.lock();
         try {
-            return blocks.stream()
-                    .filter(block -> block.getHeight() >= minHeight)
-                    .collect(Collectors.toList());
+            return new ArrayList<>(blocks.subList(getIndex(minHeight), blocks.size()));
         } finally {
             readLock.unlock();
         }
     }
 
+    public List<protobuf.AccountingBlock> getEncodedBlocksAtLeastWithHeight(int minHeight) {
+        Lock readLock = readWriteLock.readLock();
+        readLock.lock();
+        try {
+            int index = getIndex(minHeight);
+            List<protobuf.AccountingBlock> encodedBlocks = new ArrayList<>(blocks.size() - index);
+            while (index < blocks.size()) {
+                int chunkIndex = index / CHUNK_SIZE;
+                int chunkStart = chunkIndex * CHUNK_SIZE;
+                if (chunkStart + CHUNK_SIZE <= blocks.size()) {
+                    encodedBlocks.addAll(getEncodedChunk(chunkIndex).subList(index - chunkStart, CHUNK_SIZE));
+                    index = chunkStart + CHUNK_SIZE;
+                } else {
+                    // The last chunk is not complete yet, so we do not cache it
+                    encodedBlocks.add(blocks.get(index).toProtoMessage());
+                    index++;
+                }
+            }
+            return encodedBlocks;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    // Caller must hold the lock. Multiple readers can hold it, so access to the cache is synchronized.
+    private List<protobuf.AccountingBlock> getEncodedChunk(int chunkIndex) {
+        synchronized (encodedChunkByIndex) {
+            return encodedChunkByIndex.computeIfAbsent(chunkIndex,
+                    i -> blocks.subList(i * CHUNK_SIZE, (i + 1) * CHUNK_SIZE).stream()
+                            .map(AccountingBlock::toProtoMessage)
+                            .collect(Collectors.toUnmodifiableList()));
+        }
+    }
+
     private void tryToAddNewBlock(AccountingBlock newBlock) throws BlockHeightNotConnectingException, BlockHashNotConnectingException {
-        if (!blocks.contains(newBlock)) {
-            Optional<AccountingBlock> optionalLastBlock = getLastBlock();
-            if (optionalLastBlock.isPresent()) {
-                AccountingBlock lastBlock = optionalLastBlock.get();
+        Optional<AccountingBlock> existingBlock = getBlockAtHeightUnlocked(newBlock.getHeight());
+        if (existingBlock.isEmpty() || !existingBlock.get().equals(newBlock)) {
+            if (!blocks.isEmpty()) {
+                AccountingBlock lastBlock = blocks.get(blocks.size() - 1);
                 if (newBlock.getHeight() != lastBlock.getHeight() + 1) {
                     throw new BlockHeightNotConnectingException();
                 }
@@ -149,20 +222,32 @@ public class BurningManAccountingStore implements PersistableEnvelope {
         }
     }
 
-    public Message toProtoMessage() {
-        List<AccountingBlock> blocksCopy;
-        Lock readLock = readWriteLock.readLock();
-        readLock.lock();
-        try {
-            blocksCopy = new ArrayList<>(blocks);
-        } finally {
-            readLock.unlock();
+    // Caller must hold the lock
+    private Optional<AccountingBlock> getBlockAtHeightUnlocked(int height) {
+        if (blocks.isEmpty()) {
+            return Optional.empty();
         }
+        int index = height - blocks.get(0).getHeight();
+        return index >= 0 && index < blocks.size() ? Optional.of(blocks.get(index)) : Optional.empty();
+    }
+
+    // Caller must hold the lock. Returns the index of the first block with at least minHeight.
+    private int getIndex(int minHeight) {
+        if (blocks.isEmpty()) {
+            return 0;
+        }
+        int index = minHeight - blocks.get(0).getHeight();
+        return Math.min(Math.max(index, 0), blocks.size());
+    }
+
+    private int getLastBlockHeight() {
+        return blocks.get(blocks.size() - 1).getHeight();
+    }
+
+    public Message toProtoMessage() {
         return protobuf.PersistableEnvelope.newBuilder()
                 .setBurningManAccountingStore(protobuf.BurningManAccountingStore.newBuilder()
-                        .addAllBlocks(blocksCopy.stream()
-                                .map(AccountingBlock::toProtoMessage)
-                                .collect(Collectors.toList())))
+                        .addAllBlocks(getEncodedBlocksAtLeastWithHeight(0)))
                 .build();
     }
 
@@ -95,6 +95,10 @@ public class BurningManAccountingStoreService extends StoreService<BurningManAcc
         store.forEachBlock(consumer);
     }
 
+    public void forEachBlockAtLeastWithHeight(int minHeight, Consumer<AccountingBlock> consumer) {
+        store.forEachBlockAtLeastWithHeight(minHeight, consumer);
+    }
+
     public void purgeLastTenBlocks() {
         if (removeAllBlocksCalled) {
             return;
@@ -129,6 +133,10 @@ public class BurningManAccountingStoreService extends StoreService<BurningManAcc
         return store.getBlocksAtLeastWithHeight(minHeight);
     }
 
+    public List<protobuf.AccountingBlock> getEncodedBlocksAtLeastWithHeight(int minHeight) {
+        return store.getEncodedBlocksAtLeastWithHeight(minHeight);
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Protected
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node;
+
+import lombok.Value;
+
+/**
+ * Progress of the batch processing of requested blocks. Gets updated after each processed chunk of blocks.
+ */
+@Value
+public class BlockSyncProgress {
+    int startHeight;
+    // Height of the last parsed block
+    int currentHeight;
+    int targetHeight;
+    long startTime;
+    long updateTime;
+
+    public int getNumProcessedBlocks() {
+        return Math.max(0, currentHeight - startHeight + 1);
+    }
+
+    public int getNumTotalBlocks() {
+        return Math.max(0, targetHeight - startHeight + 1);
+    }
+
+    // Value between 0 and 1
+    public double getProgress() {
+        int numTotalBlocks = getNumTotalBlocks();
+        return numTotalBlocks == 0 ? 1 : Math.min(1, (double) getNumProcessedBlocks() / numTotalBlocks);
+    }
+
+    public double getBlocksPerSecond() {
+        long duration = updateTime - startTime;
+        return duration <= 0 ? 0 : getNumProcessedBlocks() * 1000d / duration;
+    }
+
+    public boolean isComplete() {
+        return currentHeight >= targetHeight;
+    }
+}
@@ -33,6 +33,10 @@ import bisq.network.p2p.P2PServiceListener;
 
 import com.google.inject.Inject;
 
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -73,6 +77,8 @@ public abstract class BsqNode implements DaoSetupService {
     @Getter
     protected int chainTipHeight;
     protected volatile boolean shutdownInProgress;
+    // Only set while we process a batch of requested blocks
+    protected final ObjectProperty<BlockSyncProgress> blockSyncProgress = new SimpleObjectProperty<>();
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -156,6 +162,10 @@ public abstract class BsqNode implements DaoSetupService {
         this.warnMessageHandler = warnMessageHandler;
     }
 
+    public ReadOnlyObjectProperty<BlockSyncProgress> blockSyncProgressProperty() {
+        return blockSyncProgress;
+    }
+
     public void shutDown() {
         shutdownInProgress = true;
         exportJsonFilesService.shutDown();
@@ -23,9 +23,11 @@ import bisq.core.dao.node.full.rpc.dto.DtoPubKeyScript;
 import bisq.core.dao.node.full.rpc.dto.RawDtoBlock;
 import bisq.core.dao.node.full.rpc.dto.RawDtoInput;
 import bisq.core.dao.node.full.rpc.dto.RawDtoTransaction;
+import bisq.core.dao.state.BsqTxPrefilter;
 import bisq.core.dao.state.model.blockchain.PubKeyScript;
 import bisq.core.dao.state.model.blockchain.ScriptType;
 import bisq.core.dao.state.model.blockchain.TxInput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
 import bisq.core.user.Preferences;
 
 import bisq.common.UserThread;
@@ -61,7 +63,9 @@ import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -85,6 +89,7 @@ public class RpcService {
     private final int rpcPort;
     private final int rpcBlockPort;
     private final String rpcBlockHost;
+    private final BsqTxPrefilter bsqTxPrefilter;
 
     private BitcoindClient client;
     private BitcoindDaemon daemon;
@@ -109,12 +114,14 @@ public class RpcService {
 
     @Inject
     private RpcService(Preferences preferences,
+                       BsqTxPrefilter bsqTxPrefilter,
                        @Named(Config.RPC_HOST) String rpcHost,
                        @Named(Config.RPC_PORT) int rpcPort,
                        @Named(Config.RPC_BLOCK_NOTIFICATION_PORT) int rpcBlockPort,
                        @Named(Config.RPC_BLOCK_NOTIFICATION_HOST) String rpcBlockHost) {
         this.rpcUser = preferences.getRpcUser();
         this.rpcPassword = preferences.getRpcPw();
+        this.bsqTxPrefilter = bsqTxPrefilter;
 
         // mainnet is 8332, testnet 18332, regtest 18443
         boolean isHostSet = !rpcHost.isEmpty();
@@ -336,8 +343,9 @@ public class RpcService {
                 String blockHash = client.getBlockHash(blockHeight);
                 var rawDtoBlock = client.getBlock(blockHash, 2);
                 var block = getRawBlockFromRawDtoBlock(rawDtoBlock);
-                log.info("requestDtoBlock from bitcoind at blockHeight {} with {} txs took {} ms",
-                        blockHeight, block.getRawTxs().size(), System.currentTimeMillis() - startTs);
+                log.info("requestDtoBlock from bitcoind at blockHeight {} with {} txs ({} BSQ candidates) took {} ms",
+                        blockHeight, rawDtoBlock.getTx().size(), block.getRawTxs().size(),
+                        System.currentTimeMillis() - startTs);
                 return block;
             });
 
@@ -403,12 +411,38 @@ public class RpcService {
     }
 
 
+    /**
+     * Requests the block at blockHeight and applies the converter at a thread of the given executor. Other than the
+     * requests above it does not use the RpcService thread, so multiple blocks can be requested in parallel. The
+     * result is not mapped to the UserThread and the caller is responsible for the ordering of the results.
+     */
+    public <T> ListenableFuture<T> requestRawDtoBlock(int blockHeight,
+                                                      Function<RawDtoBlock, T> converter,
+                                                      ListeningExecutorService executor) {
+        return executor.submit(() -> {
+            long startTs = System.currentTimeMillis();
+            String blockHash = client.getBlockHash(blockHeight);
+            var rawDtoBlock = client.getBlock(blockHash, 2);
+            T result = converter.apply(rawDtoBlock);
+            log.debug("requestRawDtoBlock from bitcoind at blockHeight {} with {} txs took {} ms",
+                    blockHeight, rawDtoBlock.getTx().size(), System.currentTimeMillis() - startTs);
+            return result;
+        });
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private static RawBlock getRawBlockFromRawDtoBlock(RawDtoBlock rawDtoBlock) {
-        List<RawTx> txList = rawDtoBlock.getTx().stream()
+    private RawBlock getRawBlockFromRawDtoBlock(RawDtoBlock rawDtoBlock) {
+        // We discard txs which cannot be BSQ txs before we convert them. If the prefilter cannot be applied
+        // (e.g. DAO state not at previous block or full parse mode) we convert all txs.
+        List<RawDtoTransaction> rawDtoTxs = bsqTxPrefilter.filter(rawDtoBlock.getHeight(),
+                        rawDtoBlock.getTx(),
+                        RawDtoTransaction::getTxId,
+                        RpcService::getConnectedTxOutputKeys)
+                .orElse(rawDtoBlock.getTx());
+        List<RawTx> txList = rawDtoTxs.stream()
                 .map(e -> getTxFromRawTransaction(e, rawDtoBlock))
                 .collect(Collectors.toList());
         return new RawBlock(rawDtoBlock.getHeight(),
@@ -489,6 +523,12 @@ public class RpcService {
                 ImmutableList.copyOf(txOutputs));
     }
 
+    private static Stream<TxOutputKey> getConnectedTxOutputKeys(RawDtoTransaction rawDtoTx) {
+        return rawDtoTx.getVIn().stream()
+                .filter(rawInput -> rawInput != null && rawInput.getVOut() != null && rawInput.getTxId() != null)
+                .map(rawInput -> new TxOutputKey(rawInput.getTxId(), rawInput.getVOut()));
+    }
+
     private static int getActivateHardFork2Height() {
         return Config.baseCurrencyNetwork().isMainnet() ? ACTIVATE_HARD_FORK_2_HEIGHT_MAINNET :
                 Config.baseCurrencyNetwork().isTestnet() ? ACTIVATE_HARD_FORK_2_HEIGHT_TESTNET :
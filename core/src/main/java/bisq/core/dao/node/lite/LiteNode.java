@@ -19,6 +19,7 @@ package bisq.core.dao.node.lite;
 
 import bisq.core.btc.setup.WalletsSetup;
 import bisq.core.btc.wallet.BsqWalletService;
+import bisq.core.dao.node.BlockSyncProgress;
 import bisq.core.dao.node.BsqNode;
 import bisq.core.dao.node.explorer.ExportJsonFilesService;
 import bisq.core.dao.node.full.RawBlock;
@@ -56,6 +57,9 @@ import org.jetbrains.annotations.Nullable;
 @Slf4j
 public class LiteNode extends BsqNode {
     private static final int CHECK_FOR_BLOCK_RECEIVED_DELAY_SEC = 10;
+    // Max. time we spend in one UserThread task for batch processing before we give other tasks (e.g. UI rendering)
+    // a chance to run. About one frame at 60 fps.
+    private static final long BATCH_PROCESSING_FRAME_BUDGET_MS = 16;
 
     private final LiteNodeNetworkService liteNodeNetworkService;
     private final BsqWalletService bsqWalletService;
@@ -221,9 +225,10 @@ public class LiteNode extends BsqNode {
             log.info("We received blocks from height {} to {}", blockList.get(0).getHeight(), chainTipHeight);
         }
 
-        // We delay the parsing to next render frame to avoid that the UI get blocked in case we parse a lot of blocks.
-        // Parsing itself is very fast (3 sec. for 7000 blocks) but creating the hash chain slows down batch processing a lot
-        // (30 sec for 7000 blocks).
+        // We parse the blocks in chunks limited by BATCH_PROCESSING_FRAME_BUDGET_MS to avoid that the UI get blocked in
+        // case we parse a lot of blocks. Parsing itself is very fast (3 sec. for 7000 blocks) but creating the hash
+        // chain slows down batch processing a lot (30 sec for 7000 blocks). Parsing only one block per UserThread task
+        // made the batch processing mainly bound by the task scheduling.
         // The updates at block height change are not much optimized yet, so that can be for sure improved
         // 144 blocks a day would result in about 4000 in a month, so if a user downloads the app after 1 months latest
         // release it will be a bit of a performance hit. It is a one time event as the snapshots gets created and be
@@ -241,7 +246,10 @@ public class LiteNode extends BsqNode {
             // INITIAL_DATA_EXCHANGE to PEER and therefore lower priority for getting closed
             ConnectionState.incrementExpectedInitialDataResponses();
         }
+        int startHeight = blockList.get(0).getHeight();
+        blockSyncProgress.set(new BlockSyncProgress(startHeight, startHeight - 1, chainTipHeight, ts, ts));
         runDelayedBatchProcessing(new ArrayList<>(blockList),
+                0,
                 () -> {
                     double duration = System.currentTimeMillis() - ts;
                     log.info("Parsing {} blocks took {} seconds ({} min.) / {} ms in average / block", blockList.size(),
@@ -263,26 +271,48 @@ public class LiteNode extends BsqNode {
                 });
     }
 
-    private void runDelayedBatchProcessing(List<RawBlock> blocks, Runnable resultHandler) {
+    private void runDelayedBatchProcessing(List<RawBlock> blocks, int fromIndex, Runnable resultHandler) {
         if (shutdownInProgress) {
             return;
         }
         UserThread.execute(() -> {
-            if (blocks.isEmpty()) {
-                resultHandler.run();
-                return;
-            }
-
-            RawBlock block = blocks.remove(0);
+            long frameStartTs = System.currentTimeMillis();
+            int index = fromIndex;
             try {
-                doParseBlock(block);
-                runDelayedBatchProcessing(blocks, resultHandler);
+                // We parse at least one block per task
+                do {
+                    if (index >= blocks.size() || shutdownInProgress) {
+                        break;
+                    }
+                    doParseBlock(blocks.get(index++));
+                } while (System.currentTimeMillis() - frameStartTs < BATCH_PROCESSING_FRAME_BUDGET_MS);
             } catch (RequiredReorgFromSnapshotException e) {
                 log.warn("Interrupt batch processing because if a blockchain reorg. {}", e.toString());
+                blockSyncProgress.set(null);
+                return;
+            }
+
+            updateBlockSyncProgress();
+            if (index < blocks.size()) {
+                runDelayedBatchProcessing(blocks, index, resultHandler);
+            } else {
+                blockSyncProgress.set(null);
+                resultHandler.run();
             }
         });
     }
 
+    private void updateBlockSyncProgress() {
+        BlockSyncProgress progress = blockSyncProgress.get();
+        if (progress != null) {
+            blockSyncProgress.set(new BlockSyncProgress(progress.getStartHeight(),
+                    daoStateService.getChainHeight(),
+                    Math.max(progress.getTargetHeight(), chainTipHeight),
+                    progress.getStartTime(),
+                    System.currentTimeMillis()));
+        }
+    }
+
     // We received a new block
     private void onNewBlockReceived(RawBlock block) {
         int blockHeight = block.getHeight();
@@ -18,18 +18,24 @@
 package bisq.core.dao.node.parser;
 
 import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.node.full.RawTx;
 import bisq.core.dao.node.parser.exceptions.BlockHashNotConnectingException;
 import bisq.core.dao.node.parser.exceptions.BlockHeightNotConnectingException;
+import bisq.core.dao.state.BsqTxPrefilter;
 import bisq.core.dao.state.DaoStateService;
 import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.TxInput;
 
 import bisq.common.app.DevEnv;
+import bisq.common.metrics.Metrics;
 
 import org.bitcoinj.core.Coin;
 
 import javax.inject.Inject;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -44,6 +50,7 @@ import javax.annotation.concurrent.Immutable;
 public class BlockParser {
     private final TxParser txParser;
     private final DaoStateService daoStateService;
+    private final BsqTxPrefilter bsqTxPrefilter;
     private final String genesisTxId;
     private final int genesisBlockHeight;
     private final Coin genesisTotalSupply;
@@ -55,9 +62,11 @@ public class BlockParser {
 
     @Inject
     public BlockParser(TxParser txParser,
-                       DaoStateService daoStateService) {
+                       DaoStateService daoStateService,
+                       BsqTxPrefilter bsqTxPrefilter) {
         this.txParser = txParser;
         this.daoStateService = daoStateService;
+        this.bsqTxPrefilter = bsqTxPrefilter;
         this.genesisTxId = daoStateService.getGenesisTxId();
         this.genesisBlockHeight = daoStateService.getGenesisBlockHeight();
         this.genesisTotalSupply = daoStateService.getGenesisTotalSupply();
@@ -77,6 +86,7 @@ public class BlockParser {
      */
     public Block parseBlock(RawBlock rawBlock) throws BlockHashNotConnectingException, BlockHeightNotConnectingException {
         long startTs = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         int blockHeight = rawBlock.getHeight();
         log.trace("Parse block at height={} ", blockHeight);
 
@@ -104,6 +114,17 @@ public class BlockParser {
         // one get resolved.
         // Lately there is a patter with 24 iterations observed
 
+        // In full parse mode we get all txs of the block and verify that the prefilter used by the RpcService would
+        // not have discarded any BSQ tx. The candidates need to be selected before parsing changes the state.
+        Set<String> prefilterCandidateTxIds = bsqTxPrefilter.isFullParse() ?
+                bsqTxPrefilter.selectCandidates(rawBlock.getRawTxs(),
+                                RawTx::getId,
+                                rawTx -> rawTx.getTxInputs().stream().map(TxInput::getConnectedTxOutputKey))
+                        .stream()
+                        .map(RawTx::getId)
+                        .collect(Collectors.toSet()) :
+                null;
+
         rawBlock.getRawTxs().forEach(rawTx ->
                 txParser.findTx(rawTx,
                         genesisTxId,
@@ -111,7 +132,12 @@ public class BlockParser {
                         genesisTotalSupply)
                         .ifPresent(tx -> daoStateService.onNewTxForLastBlock(block, tx)));
 
+        if (prefilterCandidateTxIds != null) {
+            verifyPrefilter(block, prefilterCandidateTxIds);
+        }
+
         daoStateService.onParseBlockComplete(block);
+        Metrics.recordSince("bisq_dao_block_parse_seconds", "Duration of parsing a DAO block", startNanos);
         long duration = System.currentTimeMillis() - startTs;
         if (duration > 10) {
             log.info("Parsing {} transactions at block height {} took {} ms", rawBlock.getRawTxs().size(),
@@ -121,6 +147,13 @@ public class BlockParser {
         return block;
     }
 
+    private void verifyPrefilter(Block block, Set<String> prefilterCandidateTxIds) {
+        block.getTxs().stream()
+                .filter(tx -> !prefilterCandidateTxIds.contains(tx.getId()))
+                .forEach(tx -> DevEnv.logErrorAndThrowIfDevMode("BSQ tx " + tx.getId() + " at block height " +
+                        block.getHeight() + " would have been discarded by the BsqTxPrefilter"));
+    }
+
     private void validateIfBlockIsConnecting(RawBlock rawBlock) throws BlockHashNotConnectingException, BlockHeightNotConnectingException {
         List<Block> blocks = daoStateService.getBlocks();
 
@@ -0,0 +1,188 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state;
+
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+
+import bisq.common.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a thread safe copy of the keys of all unspent BSQ outputs, so the RpcService can discard transactions which
+ * cannot be BSQ transactions before it converts the bitcoind DTOs to RawTx objects.
+ * <p>
+ * A transaction can only be a BSQ transaction if it is the genesis tx or if it spends an unspent BSQ output
+ * (see TxParser). As a tx can spend an output of a previous tx in the same block we also accept any tx spending an
+ * output of an already accepted tx of the block. The result is a superset of the BSQ txs of the block; the
+ * BlockParser does the actual parsing.
+ * <p>
+ * The outpoint set is updated by the DaoStateService on the UserThread while the RpcService reads it from its own
+ * thread. Filtering is only applied if the set reflects the state after the previous block (chain height equals
+ * block height - 1) and if the state did not change while filtering. Otherwise, the caller has to fall back to the
+ * full conversion.
+ * <p>
+ * With the DAO_NODE_FULL_PARSE option the prefilter is not applied and the BlockParser verifies that all parsed BSQ
+ * txs would have passed the prefilter.
+ */
+@Slf4j
+@Singleton
+public class BsqTxPrefilter {
+    private final String genesisTxId;
+    @Getter
+    private final boolean fullParse;
+
+    private final Set<TxOutputKey> unspentTxOutputKeys = ConcurrentHashMap.newKeySet();
+    // Height of the last block which got completely applied to unspentTxOutputKeys, -1 while a block is parsed or
+    // if unknown.
+    private volatile int validForHeight = -1;
+    // Gets incremented at each change of validForHeight, so readers can detect if the state changed while they
+    // were filtering.
+    private final AtomicInteger epoch = new AtomicInteger();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public BsqTxPrefilter(GenesisTxInfo genesisTxInfo,
+                          @Named(Config.DAO_NODE_FULL_PARSE) boolean fullParse) {
+        this.genesisTxId = genesisTxInfo.getGenesisTxId();
+        this.fullParse = fullParse;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Updates from DaoStateService (UserThread)
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void reset(Collection<TxOutputKey> keys, int chainHeight) {
+        invalidate();
+        unspentTxOutputKeys.clear();
+        unspentTxOutputKeys.addAll(keys);
+        setValidForHeight(chainHeight);
+    }
+
+    void onNewBlockHeight() {
+        invalidate();
+    }
+
+    void onParseBlockComplete(int blockHeight) {
+        setValidForHeight(blockHeight);
+    }
+
+    void addUnspentTxOutput(TxOutput txOutput) {
+        unspentTxOutputKeys.add(txOutput.getKey());
+    }
+
+    void removeUnspentTxOutput(TxOutput txOutput) {
+        unspentTxOutputKeys.remove(txOutput.getKey());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Can be called from any thread.
+     *
+     * @param blockHeight               Height of the block the txs belong to
+     * @param txs                       All txs of the block in block order
+     * @param getTxId                   Returns the txId of a tx
+     * @param getConnectedTxOutputKeys  Returns the keys of the outputs spent by a tx
+     * @return The txs which might be BSQ txs or empty if the prefilter cannot be applied for that block
+     */
+    public <T> Optional<List<T>> filter(int blockHeight,
+                                        List<T> txs,
+                                        Function<T, String> getTxId,
+                                        Function<T, Stream<TxOutputKey>> getConnectedTxOutputKeys) {
+        if (fullParse) {
+            return Optional.empty();
+        }
+
+        int epochAtStart = epoch.get();
+        if (validForHeight == -1 || validForHeight != blockHeight - 1) {
+            return Optional.empty();
+        }
+
+        List<T> candidates = selectCandidates(txs, getTxId, getConnectedTxOutputKeys);
+
+        if (epoch.get() != epochAtStart) {
+            log.info("DAO state changed while we applied the prefilter for block {}. " +
+                    "We use all txs of the block.", blockHeight);
+            return Optional.empty();
+        }
+        return Optional.of(candidates);
+    }
+
+    /**
+     * Applies the prefilter without checking if the outpoint set matches the block. Used for verification on the
+     * UserThread where the set matches the state of the DaoStateService.
+     */
+    public <T> List<T> selectCandidates(List<T> txs,
+                                        Function<T, String> getTxId,
+                                        Function<T, Stream<TxOutputKey>> getConnectedTxOutputKeys) {
+        Set<String> candidateTxIds = new HashSet<>();
+        List<T> candidates = new ArrayList<>();
+        for (T tx : txs) {
+            String txId = getTxId.apply(tx);
+            boolean isCandidate = txId.equals(genesisTxId) ||
+                    getConnectedTxOutputKeys.apply(tx).anyMatch(key -> unspentTxOutputKeys.contains(key) ||
+                            candidateTxIds.contains(key.getTxId()));
+            if (isCandidate) {
+                candidateTxIds.add(txId);
+                candidates.add(tx);
+            }
+        }
+        return candidates;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void invalidate() {
+        validForHeight = -1;
+        epoch.incrementAndGet();
+    }
+
+    private void setValidForHeight(int height) {
+        validForHeight = height;
+        epoch.incrementAndGet();
+    }
+}
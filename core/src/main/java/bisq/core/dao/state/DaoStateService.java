@@ -71,6 +71,7 @@ public class DaoStateService implements DaoSetupService {
     private final DaoState daoState;
     private final GenesisTxInfo genesisTxInfo;
     private final BsqFormatter bsqFormatter;
+    private final BsqTxPrefilter bsqTxPrefilter;
     private final List<DaoStateListener> daoStateListeners = new CopyOnWriteArrayList<>();
     @Getter
     private boolean parseBlockChainComplete;
@@ -82,10 +83,14 @@ public class DaoStateService implements DaoSetupService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public DaoStateService(DaoState daoState, GenesisTxInfo genesisTxInfo, BsqFormatter bsqFormatter) {
+    public DaoStateService(DaoState daoState,
+                           GenesisTxInfo genesisTxInfo,
+                           BsqFormatter bsqFormatter,
+                           BsqTxPrefilter bsqTxPrefilter) {
         this.daoState = daoState;
         this.genesisTxInfo = genesisTxInfo;
         this.bsqFormatter = bsqFormatter;
+        this.bsqTxPrefilter = bsqTxPrefilter;
     }
 
 
@@ -126,6 +131,7 @@ public class DaoStateService implements DaoSetupService {
 
         daoState.getUnspentTxOutputMap().clear();
         daoState.getUnspentTxOutputMap().putAll(snapshot.getUnspentTxOutputMap());
+        bsqTxPrefilter.reset(daoState.getUnspentTxOutputMap().keySet(), snapshot.getChainHeight());
 
         daoState.getSpentInfoMap().clear();
         daoState.getSpentInfoMap().putAll(snapshot.getSpentInfoMap());
@@ -240,6 +246,7 @@ public class DaoStateService implements DaoSetupService {
     // First we get the blockHeight set
     public void onNewBlockHeight(int blockHeight) {
         allowDaoStateChange = true;
+        bsqTxPrefilter.onNewBlockHeight();
         daoState.setChainHeight(blockHeight);
         daoStateListeners.forEach(listener -> listener.onNewBlockHeight(blockHeight));
     }
@@ -287,6 +294,7 @@ public class DaoStateService implements DaoSetupService {
         // so we need to make sure that vote result calculation is completed before (e.g. for comp. request to
         // update balance).
         daoStateListeners.forEach(l -> l.onParseBlockComplete(block));
+        bsqTxPrefilter.onParseBlockComplete(block.getHeight());
 
         // We use 2 different handlers as we don't want to update domain listeners during batch processing of all
         // blocks as that causes performance issues. In earlier versions when we updated at each block it took
@@ -496,11 +504,13 @@ public class DaoStateService implements DaoSetupService {
     public void addUnspentTxOutput(TxOutput txOutput) {
         assertDaoStateChange();
         getUnspentTxOutputMap().put(txOutput.getKey(), txOutput);
+        bsqTxPrefilter.addUnspentTxOutput(txOutput);
     }
 
     public void removeUnspentTxOutput(TxOutput txOutput) {
         assertDaoStateChange();
         getUnspentTxOutputMap().remove(txOutput.getKey());
+        bsqTxPrefilter.removeUnspentTxOutput(txOutput);
     }
 
     public boolean isUnspent(TxOutputKey key) {
@@ -938,6 +948,11 @@ public class DaoStateService implements DaoSetupService {
         return daoState.getConfiscatedLockupTxList().contains(lockupTxId);
     }
 
+    // The list is append only (beside snapshot resets), so a change of the size indicates a new confiscation.
+    public int getNumConfiscatedLockupTxs() {
+        return daoState.getConfiscatedLockupTxList().size();
+    }
+
     public boolean isConfiscatedUnlockTxOutput(String unlockTxId) {
         return getLockupTxFromUnlockTxId(unlockTxId).
                 map(lockupTx -> isConfiscatedLockupTxOutput(lockupTx.getId())).
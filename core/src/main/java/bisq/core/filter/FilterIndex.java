@@ -0,0 +1,200 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.filter;
+
+import bisq.core.payment.payload.PaymentAccountPayload;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Lookup structures compiled once from a {@link Filter}, so the ban checks of the {@link FilterManager} do not
+ * iterate over the lists of the filter at each call.
+ * <p>
+ * Immutable and thread safe. A new instance gets created at each filter change and replaces the old one.
+ */
+@Slf4j
+final class FilterIndex {
+    static final FilterIndex EMPTY = new FilterIndex(null);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, PaymentAccountPayload.class);
+    // Getters of the PaymentAccountPayload classes used by the payment account filters, by class and method name.
+    // The number of payload classes and getter names is small, so we keep them for the lifetime of the app.
+    private static final Map<Class<?>, Map<String, Optional<MethodHandle>>> GETTERS_BY_CLASS = new ConcurrentHashMap<>();
+
+    private final Set<String> bannedCurrencies;
+    private final Set<String> bannedPaymentMethodIds;
+    private final Set<String> bannedOfferIds;
+    private final Set<String> nodeAddressesBannedFromTrading;
+    private final Set<String> nodeAddressesBannedFromNetwork;
+    private final Set<String> bannedAutoConfExplorers;
+    private final Set<String> bannedAccountWitnessSignerPubKeys;
+    // paymentMethodId -> getMethodName -> values (case-insensitive)
+    private final Map<String, Map<String, Set<String>>> bannedPaymentAccounts;
+    private final Map<String, Map<String, Set<String>>> delayedPayoutPaymentAccounts;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    FilterIndex(@Nullable Filter filter) {
+        if (filter == null) {
+            bannedCurrencies = Set.of();
+            bannedPaymentMethodIds = Set.of();
+            bannedOfferIds = Set.of();
+            nodeAddressesBannedFromTrading = Set.of();
+            nodeAddressesBannedFromNetwork = Set.of();
+            bannedAutoConfExplorers = Set.of();
+            bannedAccountWitnessSignerPubKeys = Set.of();
+            bannedPaymentAccounts = Map.of();
+            delayedPayoutPaymentAccounts = Map.of();
+        } else {
+            bannedCurrencies = toSet(filter.getBannedCurrencies());
+            bannedPaymentMethodIds = toSet(filter.getBannedPaymentMethods());
+            bannedOfferIds = toSet(filter.getBannedOfferIds());
+            nodeAddressesBannedFromTrading = toSet(filter.getNodeAddressesBannedFromTrading());
+            nodeAddressesBannedFromNetwork = toSet(filter.getNodeAddressesBannedFromNetwork());
+            bannedAutoConfExplorers = toSet(filter.getBannedAutoConfExplorers());
+            bannedAccountWitnessSignerPubKeys = toSet(filter.getBannedAccountWitnessSignerPubKeys());
+            bannedPaymentAccounts = toPaymentAccountFilterMap(filter.getBannedPaymentAccounts());
+            delayedPayoutPaymentAccounts = toPaymentAccountFilterMap(filter.getDelayedPayoutPaymentAccounts());
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    boolean isCurrencyBanned(String currencyCode) {
+        return bannedCurrencies.contains(currencyCode);
+    }
+
+    boolean isPaymentMethodIdBanned(String paymentMethodId) {
+        return bannedPaymentMethodIds.contains(paymentMethodId);
+    }
+
+    boolean isOfferIdBanned(String offerId) {
+        return bannedOfferIds.contains(offerId);
+    }
+
+    boolean isNodeAddressBannedFromTrading(String fullAddress) {
+        return nodeAddressesBannedFromTrading.contains(fullAddress);
+    }
+
+    boolean isNodeAddressBannedFromNetwork(String fullAddress) {
+        return nodeAddressesBannedFromNetwork.contains(fullAddress);
+    }
+
+    boolean isAutoConfExplorerBanned(String address) {
+        return bannedAutoConfExplorers.contains(address);
+    }
+
+    boolean isWitnessSignerPubKeyBanned(String witnessSignerPubKeyAsHex) {
+        return bannedAccountWitnessSignerPubKeys.contains(witnessSignerPubKeyAsHex);
+    }
+
+    boolean isPaymentAccountBanned(PaymentAccountPayload paymentAccountPayload) {
+        return matches(bannedPaymentAccounts, paymentAccountPayload);
+    }
+
+    boolean isDelayedPayoutPaymentAccount(PaymentAccountPayload paymentAccountPayload) {
+        return matches(delayedPayoutPaymentAccounts, paymentAccountPayload);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static boolean matches(Map<String, Map<String, Set<String>>> valuesByGetMethodNameByPaymentMethodId,
+                                   PaymentAccountPayload paymentAccountPayload) {
+        Map<String, Set<String>> valuesByGetMethodName =
+                valuesByGetMethodNameByPaymentMethodId.get(paymentAccountPayload.getPaymentMethodId());
+        if (valuesByGetMethodName == null) {
+            return false;
+        }
+        return valuesByGetMethodName.entrySet().stream()
+                .anyMatch(entry -> {
+                    String value = invokeGetter(paymentAccountPayload, entry.getKey());
+                    return value != null && entry.getValue().contains(value);
+                });
+    }
+
+    @Nullable
+    private static String invokeGetter(PaymentAccountPayload paymentAccountPayload, String getMethodName) {
+        Optional<MethodHandle> getter = GETTERS_BY_CLASS
+                .computeIfAbsent(paymentAccountPayload.getClass(), clazz -> new ConcurrentHashMap<>())
+                .computeIfAbsent(getMethodName, methodName -> findGetter(paymentAccountPayload.getClass(), methodName));
+        if (getter.isEmpty()) {
+            return null;
+        }
+        try {
+            // We invoke getter methods (no args), e.g. getHolderName
+            Object value = getter.get().invokeExact(paymentAccountPayload);
+            return value instanceof String ? (String) value : null;
+        } catch (Throwable e) {
+            log.error(e.getMessage());
+            return null;
+        }
+    }
+
+    private static Optional<MethodHandle> findGetter(Class<?> clazz, String getMethodName) {
+        try {
+            MethodHandle methodHandle = MethodHandles.publicLookup().unreflect(clazz.getMethod(getMethodName));
+            return Optional.of(methodHandle.asType(GETTER_TYPE));
+        } catch (Throwable e) {
+            // Logged only once per class and method name
+            log.error("Getter {} not found at {}: {}", getMethodName, clazz.getSimpleName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Set<String> toSet(@Nullable Collection<String> collection) {
+        return collection == null || collection.isEmpty() ? Set.of() : new HashSet<>(collection);
+    }
+
+    private static Map<String, Map<String, Set<String>>> toPaymentAccountFilterMap(@Nullable List<PaymentAccountFilter> paymentAccountFilters) {
+        if (paymentAccountFilters == null || paymentAccountFilters.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Map<String, Set<String>>> map = new HashMap<>();
+        paymentAccountFilters.forEach(paymentAccountFilter -> map
+                .computeIfAbsent(paymentAccountFilter.getPaymentMethodId(), k -> new HashMap<>())
+                // Same semantic as the equalsIgnoreCase comparison we used before
+                .computeIfAbsent(paymentAccountFilter.getGetMethodName(), k -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER))
+                .add(paymentAccountFilter.getValue()));
+        return map;
+    }
+}
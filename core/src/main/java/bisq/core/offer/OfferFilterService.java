@@ -18,6 +18,7 @@
 package bisq.core.offer;
 
 import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.core.dao.state.DaoStateService;
 import bisq.core.filter.FilterManager;
 import bisq.core.payment.PaymentAccount;
 import bisq.core.payment.PaymentAccountUtil;
@@ -25,6 +26,8 @@ import bisq.core.user.Preferences;
 import bisq.core.user.User;
 
 import bisq.common.app.Version;
+import bisq.common.metrics.Metrics;
+import bisq.common.metrics.MetricsWriter;
 
 import org.bitcoinj.core.Coin;
 
@@ -33,38 +36,112 @@ import javax.inject.Singleton;
 
 import javafx.collections.SetChangeListener;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 
 import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Singleton
 public class OfferFilterService {
+    // Inputs of the expensive checks. Used as bit flags for declaring the dependencies of a check.
+    private static final int FILTER = 1;
+    private static final int PAYMENT_ACCOUNTS = 1 << 1;
+    private static final int WITNESS_DATA = 1 << 2;
+    private static final int DAO_CHAIN_HEIGHT = 1 << 3;
+
+    // The offer book has usually less than 1000 offers. Entries of removed offers get evicted once the limit is
+    // reached.
+    private static final int MAX_CACHE_SIZE = 5000;
+
+    @Value
+    private static class InputVersions {
+        int filterVersion;
+        int paymentAccountsVersion;
+        int witnessDataVersion;
+        int daoChainHeight;
+
+        boolean isSameFor(InputVersions other, int inputs) {
+            return ((inputs & FILTER) == 0 || filterVersion == other.filterVersion) &&
+                    ((inputs & PAYMENT_ACCOUNTS) == 0 || paymentAccountsVersion == other.paymentAccountsVersion) &&
+                    ((inputs & WITNESS_DATA) == 0 || witnessDataVersion == other.witnessDataVersion) &&
+                    ((inputs & DAO_CHAIN_HEIGHT) == 0 || daoChainHeight == other.daoChainHeight);
+        }
+    }
+
+    // Result of one check with the versions of the inputs it was computed with
+    private static class CachedCheck {
+        private InputVersions inputVersions;
+        private boolean result;
+    }
+
+    private static class CacheEntry {
+        // An edited offer keeps its ID but gets a new payload
+        private final OfferPayloadBase offerPayloadBase;
+        private final CachedCheck anyPaymentAccountValidForOffer = new CachedCheck();
+        private final CachedCheck insufficientCounterpartyTradeLimit = new CachedCheck();
+        private final CachedCheck myInsufficientTradeLimit = new CachedCheck();
+
+        CacheEntry(OfferPayloadBase offerPayloadBase) {
+            this.offerPayloadBase = offerPayloadBase;
+        }
+    }
+
+    @Value
+    public static class CacheStats {
+        int size;
+        long hits;
+        long misses;
+    }
+
     private final User user;
     private final Preferences preferences;
     private final FilterManager filterManager;
     private final AccountAgeWitnessService accountAgeWitnessService;
-    private final Map<String, Boolean> insufficientCounterpartyTradeLimitCache = new HashMap<>();
-    private final Map<String, Boolean> myInsufficientTradeLimitCache = new HashMap<>();
+    private final DaoStateService daoStateService;
+
+    // Results of the expensive checks by offer ID. Each check keeps the versions of the inputs it depends on, so if
+    // one input changes only the affected checks get recomputed, and only for offers which get requested again.
+    private final Map<String, CacheEntry> cacheEntryByOfferId = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+    private volatile int filterVersion;
+    private volatile int paymentAccountsVersion;
+    private long numCacheHits;
+    private long numCacheMisses;
 
     @Inject
     public OfferFilterService(User user,
                               Preferences preferences,
                               FilterManager filterManager,
-                              AccountAgeWitnessService accountAgeWitnessService) {
+                              AccountAgeWitnessService accountAgeWitnessService,
+                              DaoStateService daoStateService) {
         this.user = user;
         this.preferences = preferences;
         this.filterManager = filterManager;
         this.accountAgeWitnessService = accountAgeWitnessService;
+        this.daoStateService = daoStateService;
 
         if (user != null) {
-            // If our accounts have changed we reset our myInsufficientTradeLimitCache as it depends on account data
+            // If our accounts have changed the checks depending on account data need to be recomputed
             user.getPaymentAccountsAsObservable().addListener((SetChangeListener<PaymentAccount>) c ->
-                    myInsufficientTradeLimitCache.clear());
+                    paymentAccountsVersion++);
+            user.numPaymentAccountEditsProperty().addListener((observable, oldValue, newValue) ->
+                    paymentAccountsVersion++);
+        }
+        if (filterManager != null) {
+            filterManager.filterProperty().addListener((observable, oldValue, newValue) -> filterVersion++);
         }
+
+        Metrics.addCollector("offerFilterService", this::collectMetrics);
     }
 
     public enum Result {
@@ -98,7 +175,8 @@ public class OfferFilterService {
         if (isTakerApiUser && filterManager.getFilter() != null && filterManager.getFilter().isDisableApi()) {
             return Result.API_DISABLED;
         }
-        if (!isAnyPaymentAccountValidForOffer(offer)) {
+        InputVersions inputVersions = getInputVersions();
+        if (!isAnyPaymentAccountValidForOffer(offer, inputVersions)) {
             return Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER;
         }
         if (!hasSameProtocolVersion(offer)) {
@@ -122,10 +200,10 @@ public class OfferFilterService {
         if (requireUpdateToNewVersion()) {
             return Result.REQUIRE_UPDATE_TO_NEW_VERSION;
         }
-        if (isInsufficientCounterpartyTradeLimit(offer)) {
+        if (isInsufficientCounterpartyTradeLimit(offer, inputVersions)) {
             return Result.IS_INSUFFICIENT_COUNTERPARTY_TRADE_LIMIT;
         }
-        if (isMyInsufficientTradeLimit(offer)) {
+        if (isMyInsufficientTradeLimit(offer, inputVersions)) {
             return Result.IS_MY_INSUFFICIENT_TRADE_LIMIT;
         }
 
@@ -133,8 +211,7 @@ public class OfferFilterService {
     }
 
     public boolean isAnyPaymentAccountValidForOffer(Offer offer) {
-        return user.getPaymentAccounts() != null &&
-                PaymentAccountUtil.isAnyPaymentAccountValidForOffer(offer, user.getPaymentAccounts());
+        return isAnyPaymentAccountValidForOffer(offer, getInputVersions());
     }
 
     public boolean hasSameProtocolVersion(Offer offer) {
@@ -168,26 +245,59 @@ public class OfferFilterService {
 
     // This call is a bit expensive so we cache results
     public boolean isInsufficientCounterpartyTradeLimit(Offer offer) {
-        String offerId = offer.getId();
-        if (insufficientCounterpartyTradeLimitCache.containsKey(offerId)) {
-            return insufficientCounterpartyTradeLimitCache.get(offerId);
-        }
-
-        boolean result = offer.isFiatOffer() &&
-                !accountAgeWitnessService.verifyPeersTradeAmount(offer, offer.getAmount(),
-                        errorMessage -> {
-                        });
-        insufficientCounterpartyTradeLimitCache.put(offerId, result);
-        return result;
+        return isInsufficientCounterpartyTradeLimit(offer, getInputVersions());
     }
 
     // This call is a bit expensive so we cache results
     public boolean isMyInsufficientTradeLimit(Offer offer) {
-        String offerId = offer.getId();
-        if (myInsufficientTradeLimitCache.containsKey(offerId)) {
-            return myInsufficientTradeLimitCache.get(offerId);
-        }
+        return isMyInsufficientTradeLimit(offer, getInputVersions());
+    }
 
+    // Our trade limit depends on the user defined trade limit from the preferences as well
+    public void resetTradeLimitCache() {
+        paymentAccountsVersion++;
+    }
+
+    public synchronized CacheStats getCacheStats() {
+        return new CacheStats(cacheEntryByOfferId.size(), numCacheHits, numCacheMisses);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private InputVersions getInputVersions() {
+        return new InputVersions(filterVersion,
+                paymentAccountsVersion,
+                accountAgeWitnessService.getWitnessDataVersion(),
+                daoStateService.getChainHeight());
+    }
+
+    private boolean isAnyPaymentAccountValidForOffer(Offer offer, InputVersions inputVersions) {
+        return getCachedResult(offer, entry -> entry.anyPaymentAccountValidForOffer, PAYMENT_ACCOUNTS, inputVersions,
+                () -> user.getPaymentAccounts() != null &&
+                        PaymentAccountUtil.isAnyPaymentAccountValidForOffer(offer, user.getPaymentAccounts()));
+    }
+
+    // The peers trade limit depends on the DAO param for the max. trade limit, the peers witness data and on banned
+    // witness signers from the filter. The account age changes over time, which is covered by the chain height.
+    private boolean isInsufficientCounterpartyTradeLimit(Offer offer, InputVersions inputVersions) {
+        return getCachedResult(offer, entry -> entry.insufficientCounterpartyTradeLimit,
+                FILTER | WITNESS_DATA | DAO_CHAIN_HEIGHT, inputVersions,
+                () -> offer.isFiatOffer() &&
+                        !accountAgeWitnessService.verifyPeersTradeAmount(offer, offer.getAmount(),
+                                errorMessage -> {
+                                }));
+    }
+
+    private boolean isMyInsufficientTradeLimit(Offer offer, InputVersions inputVersions) {
+        return getCachedResult(offer, entry -> entry.myInsufficientTradeLimit,
+                FILTER | PAYMENT_ACCOUNTS | WITNESS_DATA | DAO_CHAIN_HEIGHT, inputVersions,
+                () -> computeMyInsufficientTradeLimit(offer));
+    }
+
+    private boolean computeMyInsufficientTradeLimit(Offer offer) {
         Optional<PaymentAccount> accountOptional = PaymentAccountUtil.getMostMaturePaymentAccountForOffer(offer,
                 user.getPaymentAccounts(),
                 accountAgeWitnessService);
@@ -200,12 +310,50 @@ public class OfferFilterService {
                 accountOptional.isPresent() ? accountOptional.get().getAccountName() : "null",
                 Coin.valueOf(myTradeLimit).toFriendlyString(),
                 Coin.valueOf(offerMinAmount).toFriendlyString());
-        boolean result = accountOptional.isPresent() && myTradeLimit < offerMinAmount;
-        myInsufficientTradeLimitCache.put(offerId, result);
+        return accountOptional.isPresent() && myTradeLimit < offerMinAmount;
+    }
+
+    // The check gets computed outside the lock, as it can take a while. If another thread computes the same check
+    // in the meantime we just store the result twice.
+    private boolean getCachedResult(Offer offer,
+                                    Function<CacheEntry, CachedCheck> checkGetter,
+                                    int inputs,
+                                    InputVersions inputVersions,
+                                    BooleanSupplier check) {
+        synchronized (this) {
+            CacheEntry entry = cacheEntryByOfferId.get(offer.getId());
+            if (entry != null && entry.offerPayloadBase == offer.getOfferPayloadBase()) {
+                CachedCheck cachedCheck = checkGetter.apply(entry);
+                if (cachedCheck.inputVersions != null && cachedCheck.inputVersions.isSameFor(inputVersions, inputs)) {
+                    numCacheHits++;
+                    return cachedCheck.result;
+                }
+            }
+            numCacheMisses++;
+        }
+
+        boolean result = check.getAsBoolean();
+
+        synchronized (this) {
+            CacheEntry entry = cacheEntryByOfferId.get(offer.getId());
+            if (entry == null || entry.offerPayloadBase != offer.getOfferPayloadBase()) {
+                entry = new CacheEntry(offer.getOfferPayloadBase());
+                cacheEntryByOfferId.put(offer.getId(), entry);
+            }
+            CachedCheck cachedCheck = checkGetter.apply(entry);
+            cachedCheck.inputVersions = inputVersions;
+            cachedCheck.result = result;
+        }
         return result;
     }
 
-    public void resetTradeLimitCache() {
-        myInsufficientTradeLimitCache.clear();
+    private void collectMetrics(MetricsWriter writer) {
+        CacheStats cacheStats = getCacheStats();
+        writer.gauge("bisq_offer_filter_cache_entries", "Number of offers in the OfferFilterService cache",
+                cacheStats.getSize());
+        writer.counter("bisq_offer_filter_cache_hits_total", "Number of cached offer checks which were up to date",
+                cacheStats.getHits());
+        writer.counter("bisq_offer_filter_cache_misses_total", "Number of offer checks which had to be computed",
+                cacheStats.getMisses());
     }
 }
@@ -70,6 +70,8 @@ import bisq.common.crypto.KeyRing;
 import bisq.common.crypto.PubKeyRing;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.metrics.Metrics;
+import bisq.common.metrics.MetricsWriter;
 import bisq.common.persistence.PersistenceManager;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.proto.persistable.PersistedDataHost;
@@ -83,12 +85,15 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -108,6 +113,10 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     private static final long REPUBLISH_AGAIN_AT_STARTUP_DELAY_SEC = 30;
     private static final long REPUBLISH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(40);
     private static final long REFRESH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(6);
+    // We publish and refresh offers in batches. Each batch gets flushed by the broadcaster as one BundleOfEnvelopes.
+    // The delay between batches keeps us below the throttle limits of our peers.
+    private static final int PUBLISH_BATCH_SIZE = 20;
+    private static final long PUBLISH_BATCH_DELAY_MS = 1000;
 
     private final CoreContext coreContext;
     private final CreateOfferService createOfferService;
@@ -135,6 +144,13 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     private final TradableList<OpenOffer> openOffers = new TradableList<>();
     private boolean stopped;
     private Timer periodicRepublishOffersTimer, periodicRefreshOffersTimer, retryRepublishOffersTimer;
+    // Last started runs, read by the metrics collector
+    @Nullable
+    private volatile PublishRun republishRun, refreshRun;
+    // Only written on the UserThread
+    private volatile long numRepublishedOffers, numRefreshedOffers;
+    // Time of last successful publish or refresh by offerId. Used to prioritize the offers closest to TTL expiry.
+    private final Map<String, Long> lastPublishTimeByOfferId = new HashMap<>();
     @Setter
     private Consumer<String> chainNotSyncedHandler;
     @Getter
@@ -192,6 +208,8 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         this.persistenceManager = persistenceManager;
 
         this.persistenceManager.initialize(openOffers, "OpenOffers", PersistenceManager.Source.PRIVATE);
+
+        Metrics.addCollector("openOfferManager", this::collectMetrics);
     }
 
     @Override
@@ -249,6 +267,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         stopPeriodicRefreshOffersTimer();
         stopPeriodicRepublishOffersTimer();
         stopRetryRepublishOffersTimer();
+        stopPublishRuns();
 
         // we remove own offers from offerbook when we go offline
         // Normally we use a delay for broadcasting to the peers, but at shut down we want to get it fast out
@@ -357,6 +376,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         stopPeriodicRefreshOffersTimer();
         stopPeriodicRepublishOffersTimer();
         stopRetryRepublishOffersTimer();
+        stopPublishRuns();
 
         restart();
     }
@@ -1048,25 +1068,67 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         }
         stopPeriodicRefreshOffersTimer();
 
-        List<OpenOffer> openOffersList = new ArrayList<>(openOffers.getList());
-        processListForRepublishOffers(openOffersList);
+        // A new run replaces a still ongoing one. A republish also refreshes the TTL, so we stop an ongoing refresh
+        // run as well, to not interleave the batches of both.
+        stopPublishRuns();
+        republishRun = new PublishRun(getOpenOffersByPublishPriority());
+        processNextBatch(republishRun, "republish", (openOffer, resultHandler) ->
+                maybeRepublishOffer(openOffer, () -> {
+                    resultHandler.run();
+                    numRepublishedOffers++;
+                }));
+    }
+
+    private void refreshOffers() {
+        if (refreshRun != null) {
+            refreshRun.stop();
+        }
+        refreshRun = new PublishRun(getOpenOffersByPublishPriority());
+        processNextBatch(refreshRun, "refresh", (openOffer, resultHandler) ->
+                maybeRefreshOffer(openOffer, () -> {
+                    resultHandler.run();
+                    numRefreshedOffers++;
+                }));
     }
 
-    private void processListForRepublishOffers(List<OpenOffer> list) {
-        if (list.isEmpty()) {
+    private void processNextBatch(PublishRun run, String runName, BiConsumer<OpenOffer, Runnable> publisher) {
+        run.batchTimer = null;
+        if (stopped) {
             return;
         }
 
-        OpenOffer openOffer = list.remove(0);
-        if (openOffers.contains(openOffer)) {
-            maybeRepublishOffer(openOffer, () -> processListForRepublishOffers(list));
+        run.nextBatch().forEach(openOffer -> {
+            // If the offer was removed in the meantime we skip it
+            if (openOffers.contains(openOffer)) {
+                publisher.accept(openOffer, run::onHandled);
+            }
+        });
+        broadcaster.flush();
+
+        if (run.hasNext()) {
+            run.batchTimer = UserThread.runAfter(() -> processNextBatch(run, runName, publisher),
+                    PUBLISH_BATCH_DELAY_MS, TimeUnit.MILLISECONDS);
         } else {
-            // If the offer was removed in the meantime or if its deactivated we skip and call
-            // processListForRepublishOffers again with the list where we removed the offer already.
-            processListForRepublishOffers(list);
+            Metrics.recordSince("bisq_open_offers_publish_run_duration_seconds",
+                    "Duration of a republish or refresh run of our open offers", "run", runName, run.startNanos);
+            log.info("Completed {} run. Handled {} of {} offers in {} ms",
+                    runName, run.numHandled, run.size(), run.getDuration());
         }
     }
 
+    private List<OpenOffer> getOpenOffersByPublishPriority() {
+        return sortByPublishPriority(openOffers.getList(), lastPublishTimeByOfferId);
+    }
+
+    // Offers which have not been published or refreshed for the longest time are closest to TTL expiry at the
+    // peers, so we handle them first.
+    static List<OpenOffer> sortByPublishPriority(Collection<OpenOffer> openOffers,
+                                                 Map<String, Long> lastPublishTimeByOfferId) {
+        List<OpenOffer> list = new ArrayList<>(openOffers);
+        list.sort(Comparator.comparingLong(openOffer -> lastPublishTimeByOfferId.getOrDefault(openOffer.getId(), 0L)));
+        return list;
+    }
+
     public void maybeRepublishOffer(OpenOffer openOffer) {
         maybeRepublishOffer(openOffer, null);
     }
@@ -1081,6 +1143,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
 
         offerBookService.addOffer(openOffer.getOffer(),
                 () -> {
+                    lastPublishTimeByOfferId.put(openOffer.getId(), System.currentTimeMillis());
                     if (!stopped) {
                         // Refresh means we send only the data needed to refresh the TTL (hash, signature and sequence no.)
                         if (periodicRefreshOffersTimer == null) {
@@ -1124,23 +1187,11 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         if (periodicRefreshOffersTimer == null)
             periodicRefreshOffersTimer = UserThread.runPeriodically(() -> {
                         if (!stopped) {
-                            int size = openOffers.size();
-                            //we clone our list as openOffers might change during our delayed call
-                            final ArrayList<OpenOffer> openOffersList = new ArrayList<>(openOffers.getList());
-                            for (int i = 0; i < size; i++) {
-                                // we delay to avoid reaching throttle limits
-                                // roughly 4 offers per second
-
-                                long delay = 300;
-                                final long minDelay = (i + 1) * delay;
-                                final long maxDelay = (i + 2) * delay;
-                                final OpenOffer openOffer = openOffersList.get(i);
-                                UserThread.runAfterRandomDelay(() -> {
-                                    // we need to check if in the meantime the offer has been removed
-                                    if (openOffers.contains(openOffer))
-                                        maybeRefreshOffer(openOffer);
-                                }, minDelay, maxDelay, TimeUnit.MILLISECONDS);
+                            if (republishRun != null && republishRun.hasNext()) {
+                                log.info("Republish is still ongoing. We skip the refresh as the republish refreshes the TTL as well.");
+                                return;
                             }
+                            refreshOffers();
                         } else {
                             log.debug("We have stopped already. We ignore that periodicRefreshOffersTimer.run call.");
                         }
@@ -1151,12 +1202,16 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
             log.trace("periodicRefreshOffersTimer already stated");
     }
 
-    private void maybeRefreshOffer(OpenOffer openOffer) {
+    private void maybeRefreshOffer(OpenOffer openOffer, Runnable resultHandler) {
         if (preventedFromPublishing(openOffer)) {
             return;
         }
         offerBookService.refreshTTL(openOffer.getOffer().getOfferPayloadBase(),
-                () -> log.debug("Successful refreshed TTL for offer"),
+                () -> {
+                    log.debug("Successful refreshed TTL for offer");
+                    lastPublishTimeByOfferId.put(openOffer.getId(), System.currentTimeMillis());
+                    resultHandler.run();
+                },
                 log::warn);
     }
 
@@ -1202,6 +1257,30 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         }
     }
 
+    private void stopPublishRuns() {
+        if (republishRun != null) {
+            republishRun.stop();
+        }
+        if (refreshRun != null) {
+            refreshRun.stop();
+        }
+        republishRun = null;
+        refreshRun = null;
+    }
+
+    private void collectMetrics(MetricsWriter writer) {
+        PublishRun republishRun = this.republishRun;
+        PublishRun refreshRun = this.refreshRun;
+        writer.gauge("bisq_open_offers_publish_pending", "Number of offers not handled yet by the ongoing run",
+                "run", "republish", republishRun != null ? republishRun.getNumPending() : 0);
+        writer.gauge("bisq_open_offers_publish_pending", "Number of offers not handled yet by the ongoing run",
+                "run", "refresh", refreshRun != null ? refreshRun.getNumPending() : 0);
+        writer.counter("bisq_open_offers_published_total", "Number of offers republished or refreshed",
+                "run", "republish", numRepublishedOffers);
+        writer.counter("bisq_open_offers_published_total", "Number of offers republished or refreshed",
+                "run", "refresh", numRefreshedOffers);
+    }
+
     private void addOpenOfferToList(OpenOffer openOffer) {
         openOffers.add(openOffer);
         requestPersistence();
@@ -1209,6 +1288,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
 
     private void removeOpenOfferFromList(OpenOffer openOffer) {
         openOffers.remove(openOffer);
+        lastPublishTimeByOfferId.remove(openOffer.getId());
         requestPersistence();
     }
 
@@ -1230,4 +1310,59 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
                         makerFeeTxId.equals(openOffer.getOffer().getOfferFeePaymentTxId()))
                 .collect(Collectors.toSet());
     }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PublishRun class
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // A republish or refresh run over the open offers, which gets processed in batches of PUBLISH_BATCH_SIZE
+    static class PublishRun {
+        private final List<OpenOffer> list;
+        private final long startTime = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private int index;
+        private int numHandled;
+        @Nullable
+        private Timer batchTimer;
+
+        PublishRun(List<OpenOffer> list) {
+            this.list = list;
+        }
+
+        List<OpenOffer> nextBatch() {
+            int end = Math.min(index + PUBLISH_BATCH_SIZE, list.size());
+            List<OpenOffer> batch = list.subList(index, end);
+            index = end;
+            return batch;
+        }
+
+        boolean hasNext() {
+            return index < list.size();
+        }
+
+        void onHandled() {
+            numHandled++;
+        }
+
+        int size() {
+            return list.size();
+        }
+
+        // Offers which are not in a processed batch yet
+        int getNumPending() {
+            return list.size() - index;
+        }
+
+        long getDuration() {
+            return System.currentTimeMillis() - startTime;
+        }
+
+        void stop() {
+            if (batchTimer != null) {
+                batchTimer.stop();
+                batchTimer = null;
+            }
+        }
+    }
 }
@@ -39,6 +39,7 @@ import bisq.core.proto.CoreProtoResolver;
 import bisq.core.support.dispute.arbitration.ArbitrationDisputeList;
 import bisq.core.support.dispute.mediation.MediationDisputeList;
 import bisq.core.support.dispute.refund.RefundDisputeList;
+import bisq.core.trade.ClosedTradableArchiveIndex;
 import bisq.core.trade.model.TradableList;
 import bisq.core.trade.statistics.TradeStatistics2Store;
 import bisq.core.trade.statistics.TradeStatistics3Store;
@@ -144,6 +145,8 @@ public class CorePersistenceProtoResolver extends CoreProtoResolver implements P
                     return BsqBlockStore.fromProto(proto.getBsqBlockStore());
                 case BURNING_MAN_ACCOUNTING_STORE:
                     return BurningManAccountingStore.fromProto(proto.getBurningManAccountingStore());
+                case CLOSED_TRADABLE_ARCHIVE_INDEX:
+                    return ClosedTradableArchiveIndex.fromProto(proto.getClosedTradableArchiveIndex());
                 default:
                     throw new ProtobufferRuntimeException("Unknown proto message case(PB.PersistableEnvelope). " +
                             "messageCase=" + proto.getMessageCase() + "; proto raw data=" + proto.toString());
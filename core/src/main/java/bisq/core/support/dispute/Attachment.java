@@ -21,27 +21,97 @@ import bisq.common.proto.network.NetworkPayload;
 
 import com.google.protobuf.ByteString;
 
+import java.util.function.Function;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
 
+/**
+ * If the content got offloaded to the {@link DisputeAttachmentStore} we only hold the content hash and load the
+ * bytes on demand. Only the persisted dispute lists store offloaded attachments as a reference to the blob file, over
+ * the network attachments always carry their bytes and a content hash sent by a peer is ignored.
+ */
+@Slf4j
 @Value
 public final class Attachment implements NetworkPayload {
     private final String fileName;
+    @Nullable
+    @Getter(AccessLevel.NONE)
     private final byte[] bytes;
+    @Nullable
+    private final String contentHash;
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final transient Function<String, byte[]> blobLoader;
 
     public Attachment(String fileName, byte[] bytes) {
+        this(fileName, bytes, null, null);
+    }
+
+    private Attachment(String fileName,
+                       @Nullable byte[] bytes,
+                       @Nullable String contentHash,
+                       @Nullable Function<String, byte[]> blobLoader) {
         this.fileName = fileName;
         this.bytes = bytes;
+        this.contentHash = contentHash;
+        this.blobLoader = blobLoader;
+    }
+
+    static Attachment offloaded(String fileName, String contentHash, Function<String, byte[]> blobLoader) {
+        return new Attachment(fileName, null, contentHash, blobLoader);
     }
 
     @Override
     public protobuf.Attachment toProtoMessage() {
         return protobuf.Attachment.newBuilder()
                 .setFileName(fileName)
-                .setBytes(ByteString.copyFrom(bytes))
+                .setBytes(ByteString.copyFrom(getBytes()))
+                .build();
+    }
+
+    public protobuf.Attachment toPersistableProtoMessage() {
+        if (bytes != null || contentHash == null) {
+            return toProtoMessage();
+        }
+        return protobuf.Attachment.newBuilder()
+                .setFileName(fileName)
+                .setContentHash(contentHash)
                 .build();
     }
 
     public static Attachment fromProto(protobuf.Attachment proto) {
         return new Attachment(proto.getFileName(), proto.getBytes().toByteArray());
     }
+
+    public static Attachment fromPersistedProto(protobuf.Attachment proto) {
+        if (proto.getBytes().isEmpty() && !proto.getContentHash().isEmpty()) {
+            return new Attachment(proto.getFileName(), null, proto.getContentHash(), null);
+        }
+        return fromProto(proto);
+    }
+
+    public byte[] getBytes() {
+        if (bytes != null) {
+            return bytes;
+        }
+        if (blobLoader != null) {
+            byte[] loaded = blobLoader.apply(contentHash);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        log.warn("Content of attachment {} with contentHash {} is not available", fileName, contentHash);
+        return new byte[0];
+    }
+
+    public boolean isOffloaded() {
+        return bytes == null;
+    }
 }
@@ -63,6 +63,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import lombok.EqualsAndHashCode;
@@ -250,6 +251,15 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
 
     @Override
     public protobuf.Dispute toProtoMessage() {
+        return toProtoMessage(msg -> msg.toProtoNetworkEnvelope().getChatMessage());
+    }
+
+    // Used by the dispute lists. Offloaded attachments are only persisted as a reference to their blob file.
+    public protobuf.Dispute toPersistableProtoMessage() {
+        return toProtoMessage(ChatMessage::toPersistableProtoChatMessage);
+    }
+
+    private protobuf.Dispute toProtoMessage(Function<ChatMessage, protobuf.ChatMessage> chatMessageToProto) {
         // Needed to avoid ConcurrentModificationException
         List<ChatMessage> clonedChatMessages = new ArrayList<>(chatMessages);
         protobuf.Dispute.Builder builder = protobuf.Dispute.newBuilder()
@@ -265,7 +275,7 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
                 .setAgentPubKeyRing(agentPubKeyRing.toProtoMessage())
                 .setIsSupportTicket(isSupportTicket)
                 .addAllChatMessage(clonedChatMessages.stream()
-                        .map(msg -> msg.toProtoNetworkEnvelope().getChatMessage())
+                        .map(chatMessageToProto)
                         .collect(Collectors.toList()))
                 .setIsClosed(this.isClosed())
                 .setOpeningDate(openingDate)
@@ -292,6 +302,16 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
     }
 
     public static Dispute fromProto(protobuf.Dispute proto, CoreProtoResolver coreProtoResolver) {
+        return fromProto(proto, coreProtoResolver, ChatMessage::fromPayloadProto);
+    }
+
+    public static Dispute fromPersistedProto(protobuf.Dispute proto, CoreProtoResolver coreProtoResolver) {
+        return fromProto(proto, coreProtoResolver, ChatMessage::fromPersistedProto);
+    }
+
+    private static Dispute fromProto(protobuf.Dispute proto,
+                                     CoreProtoResolver coreProtoResolver,
+                                     Function<protobuf.ChatMessage, ChatMessage> chatMessageFromProto) {
         Dispute dispute = new Dispute(proto.getOpeningDate(),
                 proto.getTradeId(),
                 proto.getTraderId(),
@@ -317,7 +337,7 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
                 null : ExtraDataMapValidator.getValidatedExtraDataMap(proto.getExtraDataMap()));
 
         dispute.chatMessages.addAll(proto.getChatMessageList().stream()
-                .map(ChatMessage::fromPayloadProto)
+                .map(chatMessageFromProto)
                 .collect(Collectors.toList()));
 
         if (proto.hasDisputeResult())
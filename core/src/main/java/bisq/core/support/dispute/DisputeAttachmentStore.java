@@ -0,0 +1,193 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import bisq.core.support.messages.ChatMessage;
+
+import bisq.common.UserThread;
+import bisq.common.config.Config;
+import bisq.common.crypto.Hash;
+import bisq.common.file.FileUtil;
+import bisq.common.util.SingleThreadExecutorUtils;
+import bisq.common.util.Utilities;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.nio.file.Files;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Content addressed store for the bytes of dispute chat attachments. Each attachment is written once to a blob file
+ * named by the SHA-256 hash of its content when the chat message got added, and the in-memory attachment is replaced
+ * by a reference to the blob. So persisting a dispute list only writes the content hashes and neither hashes nor
+ * writes attachment content on the UserThread.
+ * <p>
+ * Blob files are shared by all dispute lists and are never deleted, as the same content can be referenced from
+ * several disputes.
+ */
+@Slf4j
+@Singleton
+public class DisputeAttachmentStore {
+    private static final String DIR_NAME = "dispute_attachments";
+
+    private final File blobDir;
+    private final Set<String> storedHashes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = SingleThreadExecutorUtils.getSingleThreadExecutor(DisputeAttachmentStore.class);
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public DisputeAttachmentStore(@Named(Config.STORAGE_DIR) File storageDir) {
+        blobDir = new File(storageDir, DIR_NAME);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Writes the inline attachments of the chat message to the blob store on our executor and then replaces them on
+     * the UserThread with a reference to the blob, so the bytes are not held in memory and get persisted as content
+     * hash only. The result handler is called on the UserThread after attachments got replaced. If a blob cannot be
+     * written we keep the attachment inline, so no data gets lost.
+     * <p>
+     * Only the dispute lists persist the reference. If the dispute or chat message gets sent again (e.g. at reopening
+     * a dispute) the bytes are loaded from the blob file and sent inline.
+     */
+    public void offloadAttachments(ChatMessage chatMessage, Runnable resultHandler) {
+        List<Attachment> inlineAttachments = chatMessage.getAttachments().stream()
+                .filter(attachment -> !attachment.isOffloaded())
+                .collect(Collectors.toList());
+        if (inlineAttachments.isEmpty()) {
+            return;
+        }
+
+        executor.execute(() -> {
+            // We map by identity, as equal attachments in the same message are separate list entries
+            Map<Attachment, String> contentHashByAttachment = new IdentityHashMap<>();
+            inlineAttachments.forEach(attachment -> {
+                try {
+                    contentHashByAttachment.put(attachment, put(attachment.getBytes()));
+                } catch (IOException e) {
+                    log.error("Could not write attachment blob. We keep the attachment inline. fileName={}",
+                            attachment.getFileName(), e);
+                }
+            });
+            if (contentHashByAttachment.isEmpty()) {
+                return;
+            }
+
+            UserThread.execute(() -> {
+                chatMessage.getAttachments().replaceAll(attachment -> {
+                    String contentHash = contentHashByAttachment.get(attachment);
+                    return contentHash != null ?
+                            Attachment.offloaded(attachment.getFileName(), contentHash, this::get) :
+                            attachment;
+                });
+                resultHandler.run();
+            });
+        });
+    }
+
+    /**
+     * Binds the attachments of persisted disputes which only hold a content hash to the blob store, so their bytes
+     * get loaded on demand.
+     */
+    public void bindAttachments(Collection<Dispute> disputes) {
+        disputes.forEach(dispute -> dispute.getChatMessages().stream()
+                .map(ChatMessage::getAttachments)
+                .forEach(attachments -> attachments.replaceAll(attachment -> {
+                    if (attachment.isOffloaded() && attachment.getContentHash() != null) {
+                        return Attachment.offloaded(attachment.getFileName(), attachment.getContentHash(), this::get);
+                    }
+                    return attachment;
+                })));
+    }
+
+    @Nullable
+    public byte[] get(String contentHash) {
+        File file = new File(blobDir, contentHash);
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            if (!contentHash.equals(getContentHash(bytes))) {
+                log.error("Attachment blob {} is corrupted", file);
+                return null;
+            }
+            storedHashes.add(contentHash);
+            return bytes;
+        } catch (IOException e) {
+            log.error("Could not read attachment blob {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the bytes to the blob store if not already present.
+     *
+     * @return the content hash of the bytes
+     */
+    public String put(byte[] bytes) throws IOException {
+        String contentHash = getContentHash(bytes);
+        if (storedHashes.contains(contentHash)) {
+            return contentHash;
+        }
+
+        File file = new File(blobDir, contentHash);
+        if (!file.exists()) {
+            if (!blobDir.exists() && !blobDir.mkdirs()) {
+                throw new IOException("Could not create directory " + blobDir);
+            }
+            // We write to a temp file first, so we never end up with a partially written blob
+            File tempFile = new File(blobDir, contentHash + ".tmp");
+            Files.write(tempFile.toPath(), bytes);
+            FileUtil.renameFile(tempFile, file);
+        }
+        storedHashes.add(contentHash);
+        return contentHash;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static String getContentHash(byte[] bytes) {
+        return Utilities.bytesAsHexString(Hash.getSha256Hash(bytes));
+    }
+}
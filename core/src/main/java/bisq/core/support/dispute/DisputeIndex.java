@@ -0,0 +1,142 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+/**
+ * In-memory index of a dispute list by trade ID, by dispute uid and by the keys used for the replay check (delayed
+ * payout tx ID and deposit tx ID). Lets lookups and the validation of a new dispute scale with the number of disputes of a trade
+ * instead of the total history.
+ * <p>
+ * Gets maintained by the DisputeListService from the list change events. Not thread safe. Must be used from the
+ * UserThread only.
+ */
+final class DisputeIndex {
+    // Disputes per key in the order they got added to the dispute list
+    private final Map<String, List<Dispute>> disputesByTradeId = new HashMap<>();
+    private final Map<String, List<Dispute>> disputesByUid = new HashMap<>();
+    private final Map<String, List<Dispute>> disputesByDelayedPayoutTxId = new HashMap<>();
+    private final Map<String, List<Dispute>> disputesByDepositTxId = new HashMap<>();
+
+    void add(Dispute dispute) {
+        add(disputesByTradeId, dispute.getTradeId(), dispute);
+        add(disputesByUid, dispute.getUid(), dispute);
+        add(disputesByDelayedPayoutTxId, dispute.getDelayedPayoutTxId(), dispute);
+        add(disputesByDepositTxId, dispute.getDepositTxId(), dispute);
+    }
+
+    void remove(Dispute dispute) {
+        remove(disputesByTradeId, dispute.getTradeId(), dispute);
+        remove(disputesByUid, dispute.getUid(), dispute);
+        remove(disputesByDelayedPayoutTxId, dispute.getDelayedPayoutTxId(), dispute);
+        remove(disputesByDepositTxId, dispute.getDepositTxId(), dispute);
+    }
+
+    List<Dispute> getDisputes(String tradeId) {
+        return disputesByTradeId.getOrDefault(tradeId, List.of());
+    }
+
+    Optional<Dispute> findDispute(String tradeId) {
+        return getDisputes(tradeId).stream().findFirst();
+    }
+
+    Optional<Dispute> findDispute(String tradeId, int traderId) {
+        return getDisputes(tradeId).stream()
+                .filter(e -> e.getTraderId() == traderId)
+                .findFirst();
+    }
+
+    // Same result as DisputeList.contains, as equal disputes have the same uid. We only compare the disputes with that
+    // uid instead of calling the costly equals method on the whole list.
+    boolean contains(Dispute dispute) {
+        return disputesByUid.getOrDefault(dispute.getUid(), List.of()).contains(dispute);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Replay check
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Nullable
+    Set<String> getUidsByTradeId(String tradeId) {
+        return getUids(disputesByTradeId, tradeId);
+    }
+
+    @Nullable
+    Set<String> getUidsByDelayedPayoutTxId(@Nullable String delayedPayoutTxId) {
+        return getUids(disputesByDelayedPayoutTxId, delayedPayoutTxId);
+    }
+
+    @Nullable
+    Set<String> getUidsByDepositTxId(@Nullable String depositTxId) {
+        return getUids(disputesByDepositTxId, depositTxId);
+    }
+
+    boolean hasDelayedPayoutTxIds() {
+        return !disputesByDelayedPayoutTxId.isEmpty();
+    }
+
+    boolean hasDepositTxIds() {
+        return !disputesByDepositTxId.isEmpty();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void add(Map<String, List<Dispute>> map, @Nullable String key, Dispute dispute) {
+        if (key != null) {
+            map.computeIfAbsent(key, k -> new ArrayList<>(2)).add(dispute);
+        }
+    }
+
+    private static void remove(Map<String, List<Dispute>> map, @Nullable String key, Dispute dispute) {
+        if (key == null) {
+            return;
+        }
+        List<Dispute> disputes = map.get(key);
+        if (disputes == null) {
+            return;
+        }
+        // We remove by identity as the list change events refer to the instances
+        for (int i = 0; i < disputes.size(); i++) {
+            if (disputes.get(i) == dispute) {
+                disputes.remove(i);
+                break;
+            }
+        }
+        if (disputes.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    @Nullable
+    private static Set<String> getUids(Map<String, List<Dispute>> map, @Nullable String key) {
+        List<Dispute> disputes = key != null ? map.get(key) : null;
+        return disputes != null ? disputes.stream().map(Dispute::getUid).collect(Collectors.toSet()) : null;
+    }
+}
@@ -17,6 +17,7 @@
 
 package bisq.core.support.dispute;
 
+import bisq.core.support.messages.ChatMessage;
 import bisq.core.trade.model.bisq_v1.Contract;
 
 import bisq.network.p2p.NodeAddress;
@@ -30,6 +31,7 @@ import org.fxmisc.easybind.EasyBind;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.util.HashSet;
@@ -38,6 +40,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,15 +56,23 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
     private final IntegerProperty numOpenDisputes = new SimpleIntegerProperty();
     @Getter
     private final Set<String> disputedTradeIds = new HashSet<>();
+    private final DisputeAttachmentStore attachmentStore;
+    @Getter(AccessLevel.PACKAGE)
+    private final DisputeIndex disputeIndex = new DisputeIndex();
+    private final ListChangeListener<ChatMessage> chatMessagesListener = this::onChatMessagesChanged;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    public DisputeListService(PersistenceManager<T> persistenceManager) {
+    public DisputeListService(PersistenceManager<T> persistenceManager,
+                              DisputeAttachmentStore attachmentStore) {
         this.persistenceManager = persistenceManager;
+        this.attachmentStore = attachmentStore;
         disputeList = getConcreteDisputeList();
+        // We maintain the index from the start, so it covers the persisted disputes as well
+        disputeList.addListener(this::onDisputeListChanged);
 
         this.persistenceManager.initialize(disputeList, getFileName(), PersistenceManager.Source.PRIVATE);
     }
@@ -81,6 +92,7 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
     @Override
     public void readPersisted(Runnable completeHandler) {
         persistenceManager.readPersisted(getFileName(), persisted -> {
+                    attachmentStore.bindAttachments(persisted.getList());
                     disputeList.setAll(persisted.getList());
                     completeHandler.run();
                 },
@@ -168,6 +180,31 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
         });
     }
 
+    private void onDisputeListChanged(ListChangeListener.Change<? extends Dispute> change) {
+        while (change.next()) {
+            change.getRemoved().forEach(dispute -> {
+                disputeIndex.remove(dispute);
+                dispute.getChatMessages().removeListener(chatMessagesListener);
+            });
+            change.getAddedSubList().forEach(dispute -> {
+                disputeIndex.add(dispute);
+                dispute.getChatMessages().addListener(chatMessagesListener);
+                // Disputes from older dispute list files or received from the network have their attachments inline
+                dispute.getChatMessages().forEach(this::offloadAttachments);
+            });
+        }
+    }
+
+    private void onChatMessagesChanged(ListChangeListener.Change<? extends ChatMessage> change) {
+        while (change.next()) {
+            change.getAddedSubList().forEach(this::offloadAttachments);
+        }
+    }
+
+    private void offloadAttachments(ChatMessage chatMessage) {
+        attachmentStore.offloadAttachments(chatMessage, this::requestPersistence);
+    }
+
     public void requestPersistence() {
         persistenceManager.requestPersistence();
     }
@@ -177,8 +177,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
 
     @Override
     public List<ChatMessage> getAllChatMessages(String tradeId) {
-        return getDisputeList().stream()
-                .filter(dispute -> dispute.getTradeId().equals(tradeId))
+        return disputeListService.getDisputeIndex().getDisputes(tradeId).stream()
                 .flatMap(dispute -> dispute.getChatMessages().stream())
                 .collect(Collectors.toList());
     }
@@ -290,7 +289,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             }
         });
 
-        DisputeValidation.testIfAnyDisputeTriedReplay(disputes,
+        DisputeValidation.testIfAnyDisputeTriedReplay(disputes, disputeListService.getDisputeIndex(),
                 disputeReplayException -> {
                     log.error(disputeReplayException.toString());
                     validationExceptions.add(disputeReplayException);
@@ -344,13 +343,17 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
     }
 
 
+    public void testIfDisputeTriesReplay(Dispute dispute) throws DisputeValidation.DisputeReplayException {
+        DisputeValidation.testIfDisputeTriesReplay(dispute, disputeListService.getDisputeIndex());
+    }
+
     public Optional<Dispute> findOwnDispute(String tradeId) {
         T disputeList = getDisputeList();
         if (disputeList == null) {
             log.warn("disputes is null");
             return Optional.empty();
         }
-        return disputeList.stream().filter(e -> e.getTradeId().equals(tradeId)).findAny();
+        return disputeListService.getDisputeIndex().findDispute(tradeId);
     }
 
     public void maybeClearSensitiveData() {
@@ -405,7 +408,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
 
         PubKeyRing peersPubKeyRing = dispute.isDisputeOpenerIsBuyer() ? contract.getSellerPubKeyRing() : contract.getBuyerPubKeyRing();
         if (isAgent(dispute)) {
-            if (!disputeList.contains(dispute)) {
+            if (!disputeListService.getDisputeIndex().contains(dispute)) {
                 Optional<Dispute> storedDisputeOptional = findDispute(dispute);
                 if (storedDisputeOptional.isEmpty()) {
                     disputeList.add(dispute);
@@ -438,7 +441,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             DisputeValidation.validateDisputeData(dispute, btcWalletService);
             DisputeValidation.validateNodeAddresses(dispute, config);
             DisputeValidation.validateSenderNodeAddress(dispute, openNewDisputeMessage.getSenderNodeAddress());
-            DisputeValidation.testIfDisputeTriesReplay(dispute, disputeList.getList());
+            DisputeValidation.testIfDisputeTriesReplay(dispute, disputeListService.getDisputeIndex());
             if (dispute.isUsingLegacyBurningMan()) {
                 DisputeValidation.validateDonationAddressMatchesAnyPastParamValues(dispute, dispute.getDonationAddressOfDelayedPayoutTx(), daoFacade);
             }
@@ -503,7 +506,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
         }
 
         if (!isAgent(dispute)) {
-            if (!disputeList.contains(dispute)) {
+            if (!disputeListService.getDisputeIndex().contains(dispute)) {
                 Optional<Dispute> storedDisputeOptional = findDispute(dispute);
                 if (storedDisputeOptional.isEmpty()) {
                     disputeList.add(dispute);
@@ -549,7 +552,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             return;
         }
 
-        if (disputeList.contains(dispute)) {
+        if (disputeListService.getDisputeIndex().contains(dispute)) {
             String msg = "We got a dispute msg what we have already stored. TradeId = " + dispute.getTradeId();
             log.warn(msg);
             faultHandler.handleFault(msg, new DisputeAlreadyOpenException());
@@ -940,9 +943,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             log.warn("disputes is null");
             return Optional.empty();
         }
-        return disputeList.stream()
-                .filter(e -> e.getTradeId().equals(tradeId) && e.getTraderId() == traderId)
-                .findAny();
+        return disputeListService.getDisputeIndex().findDispute(tradeId, traderId);
     }
 
     public Optional<Dispute> findDispute(String tradeId) {
@@ -951,15 +952,15 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             log.warn("disputes is null");
             return Optional.empty();
         }
-        return disputeList.stream()
-                .filter(e -> e.getTradeId().equals(tradeId))
-                .findAny();
+        return disputeListService.getDisputeIndex().findDispute(tradeId);
     }
 
     public Optional<Trade> findTrade(Dispute dispute) {
         Optional<Trade> retVal = tradeManager.getTradeById(dispute.getTradeId());
         if (retVal.isEmpty()) {
-            retVal = closedTradableManager.getClosedTrades().stream().filter(e -> e.getId().equals(dispute.getTradeId())).findFirst();
+            retVal = closedTradableManager.getTradableById(dispute.getTradeId())
+                    .filter(e -> e instanceof Trade)
+                    .map(e -> (Trade) e);
         }
         return retVal;
     }
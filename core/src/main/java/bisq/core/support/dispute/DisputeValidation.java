@@ -47,10 +47,13 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -209,6 +212,27 @@ public class DisputeValidation {
                 disputesPerDepositTxId);
     }
 
+    // Uses the index of the dispute list, so we only look at the disputes with the same keys instead of building the
+    // maps over the whole history.
+    static void testIfAnyDisputeTriedReplay(List<Dispute> disputeList,
+                                            DisputeIndex disputeIndex,
+                                            Consumer<DisputeReplayException> exceptionHandler) {
+        disputeList.forEach(disputeToTest -> {
+            try {
+                testIfDisputeTriesReplay(disputeToTest, disputeIndex);
+            } catch (DisputeReplayException e) {
+                exceptionHandler.accept(e);
+            }
+        });
+    }
+
+    static void testIfDisputeTriesReplay(Dispute dispute, DisputeIndex disputeIndex) throws DisputeReplayException {
+        testIfDisputeTriesReplay(dispute,
+                disputeIndex::getUidsByTradeId,
+                disputeIndex.hasDelayedPayoutTxIds() ? disputeIndex::getUidsByDelayedPayoutTxId : null,
+                disputeIndex.hasDepositTxIds() ? disputeIndex::getUidsByDepositTxId : null);
+    }
+
     private static Tuple3<Map<String, Set<String>>, Map<String, Set<String>>, Map<String, Set<String>>> getTestReplayHashMaps(
             List<Dispute> disputeList) {
         Map<String, Set<String>> disputesPerTradeId = new HashMap<>();
@@ -245,6 +269,18 @@ public class DisputeValidation {
                                                  Map<String, Set<String>> disputesPerDelayedPayoutTxId,
                                                  Map<String, Set<String>> disputesPerDepositTxId)
             throws DisputeReplayException {
+        testIfDisputeTriesReplay(disputeToTest,
+                disputesPerTradeId::get,
+                disputesPerDelayedPayoutTxId.isEmpty() ? null : disputesPerDelayedPayoutTxId::get,
+                disputesPerDepositTxId.isEmpty() ? null : disputesPerDepositTxId::get);
+    }
+
+    // The lookups for the delayed payout tx ID and deposit tx ID are null if no dispute has such an ID
+    private static void testIfDisputeTriesReplay(Dispute disputeToTest,
+                                                 Function<String, Set<String>> disputesPerTradeId,
+                                                 @Nullable Function<String, Set<String>> disputesPerDelayedPayoutTxId,
+                                                 @Nullable Function<String, Set<String>> disputesPerDepositTxId)
+            throws DisputeReplayException {
         try {
             String disputeToTestTradeId = disputeToTest.getTradeId();
             String disputeToTestDelayedPayoutTxId = disputeToTest.getDelayedPayoutTxId();
@@ -264,18 +300,18 @@ public class DisputeValidation {
             checkNotNull(disputeToTestUid,
                     "agentsUid must not be null. Trade ID: " + disputeToTestTradeId);
 
-            Set<String> disputesPerTradeIdItems = disputesPerTradeId.get(disputeToTestTradeId);
+            Set<String> disputesPerTradeIdItems = disputesPerTradeId.apply(disputeToTestTradeId);
             checkArgument(disputesPerTradeIdItems != null && disputesPerTradeIdItems.size() <= 2,
                     "We found more then 2 disputes with the same trade ID. " +
                             "Trade ID: " + disputeToTestTradeId);
-            if (!disputesPerDelayedPayoutTxId.isEmpty()) {
-                Set<String> disputesPerDelayedPayoutTxIdItems = disputesPerDelayedPayoutTxId.get(disputeToTestDelayedPayoutTxId);
+            if (disputesPerDelayedPayoutTxId != null) {
+                Set<String> disputesPerDelayedPayoutTxIdItems = disputesPerDelayedPayoutTxId.apply(disputeToTestDelayedPayoutTxId);
                 checkArgument(disputesPerDelayedPayoutTxIdItems != null && disputesPerDelayedPayoutTxIdItems.size() <= 2,
                         "We found more then 2 disputes with the same delayedPayoutTxId. " +
                                 "Trade ID: " + disputeToTestTradeId);
             }
-            if (!disputesPerDepositTxId.isEmpty()) {
-                Set<String> disputesPerDepositTxIdItems = disputesPerDepositTxId.get(disputeToTestDepositTxId);
+            if (disputesPerDepositTxId != null) {
+                Set<String> disputesPerDepositTxIdItems = disputesPerDepositTxId.apply(disputeToTestDepositTxId);
                 checkArgument(disputesPerDepositTxIdItems != null && disputesPerDepositTxIdItems.size() <= 2,
                         "We found more then 2 disputes with the same depositTxId. " +
                                 "Trade ID: " + disputeToTestTradeId);
@@ -283,10 +319,7 @@ public class DisputeValidation {
         } catch (IllegalArgumentException e) {
             throw new DisputeReplayException(disputeToTest, e.getMessage());
         } catch (NullPointerException e) {
-            log.error("NullPointerException at testIfDisputeTriesReplay: " +
-                            "disputeToTest={}, disputesPerTradeId={}, disputesPerDelayedPayoutTxId={}, " +
-                            "disputesPerDepositTxId={}",
-                    disputeToTest, disputesPerTradeId, disputesPerDelayedPayoutTxId, disputesPerDepositTxId);
+            log.error("NullPointerException at testIfDisputeTriesReplay: disputeToTest={}", disputeToTest);
             throw new DisputeReplayException(disputeToTest, e.toString() + " at dispute " + disputeToTest.toString());
         }
     }
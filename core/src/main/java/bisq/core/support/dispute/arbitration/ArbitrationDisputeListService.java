@@ -17,6 +17,7 @@
 
 package bisq.core.support.dispute.arbitration;
 
+import bisq.core.support.dispute.DisputeAttachmentStore;
 import bisq.core.support.dispute.DisputeListService;
 
 import bisq.common.persistence.PersistenceManager;
@@ -32,8 +33,9 @@ public final class ArbitrationDisputeListService extends DisputeListService<Arbi
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public ArbitrationDisputeListService(PersistenceManager<ArbitrationDisputeList> persistenceManager) {
-        super(persistenceManager);
+    public ArbitrationDisputeListService(PersistenceManager<ArbitrationDisputeList> persistenceManager,
+                                         DisputeAttachmentStore attachmentStore) {
+        super(persistenceManager, attachmentStore);
     }
 
 
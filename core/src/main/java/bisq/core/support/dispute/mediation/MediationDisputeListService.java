@@ -17,6 +17,7 @@
 
 package bisq.core.support.dispute.mediation;
 
+import bisq.core.support.dispute.DisputeAttachmentStore;
 import bisq.core.support.dispute.DisputeListService;
 
 import bisq.common.persistence.PersistenceManager;
@@ -32,8 +33,9 @@ public final class MediationDisputeListService extends DisputeListService<Mediat
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public MediationDisputeListService(PersistenceManager<MediationDisputeList> persistenceManager) {
-        super(persistenceManager);
+    public MediationDisputeListService(PersistenceManager<MediationDisputeList> persistenceManager,
+                                       DisputeAttachmentStore attachmentStore) {
+        super(persistenceManager, attachmentStore);
     }
 
 
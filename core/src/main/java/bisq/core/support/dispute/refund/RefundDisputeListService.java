@@ -17,6 +17,7 @@
 
 package bisq.core.support.dispute.refund;
 
+import bisq.core.support.dispute.DisputeAttachmentStore;
 import bisq.core.support.dispute.DisputeListService;
 
 import bisq.common.persistence.PersistenceManager;
@@ -32,8 +33,9 @@ public final class RefundDisputeListService extends DisputeListService<RefundDis
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public RefundDisputeListService(PersistenceManager<RefundDisputeList> persistenceManager) {
-        super(persistenceManager);
+    public RefundDisputeListService(PersistenceManager<RefundDisputeList> persistenceManager,
+                                    DisputeAttachmentStore attachmentStore) {
+        super(persistenceManager, attachmentStore);
     }
 
 
@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import java.lang.ref.WeakReference;
@@ -210,13 +211,24 @@ public final class ChatMessage extends SupportMessage {
     // We cannot rename protobuf definition because it would break backward compatibility
     @Override
     public protobuf.NetworkEnvelope toProtoNetworkEnvelope() {
+        return getNetworkEnvelopeBuilder()
+                .setChatMessage(toProtoChatMessage(Attachment::toProtoMessage))
+                .build();
+    }
+
+    // Offloaded attachments are only persisted as a reference to their blob file
+    public protobuf.ChatMessage toPersistableProtoChatMessage() {
+        return toProtoChatMessage(Attachment::toPersistableProtoMessage);
+    }
+
+    private protobuf.ChatMessage toProtoChatMessage(Function<Attachment, protobuf.Attachment> attachmentToProto) {
         protobuf.ChatMessage.Builder builder = protobuf.ChatMessage.newBuilder()
                 .setType(SupportType.toProtoMessage(supportType))
                 .setTradeId(tradeId)
                 .setTraderId(traderId)
                 .setSenderIsTrader(senderIsTrader)
                 .setMessage(message)
-                .addAllAttachments(attachments.stream().map(Attachment::toProtoMessage).collect(Collectors.toList()))
+                .addAllAttachments(attachments.stream().map(attachmentToProto).collect(Collectors.toList()))
                 .setSenderNodeAddress(senderNodeAddress.toProtoMessage())
                 .setDate(date)
                 .setArrived(arrivedProperty.get())
@@ -227,14 +239,18 @@ public final class ChatMessage extends SupportMessage {
                 .setWasDisplayed(wasDisplayed);
         Optional.ofNullable(sendMessageErrorProperty.get()).ifPresent(builder::setSendMessageError);
         Optional.ofNullable(ackErrorProperty.get()).ifPresent(builder::setAckError);
-        return getNetworkEnvelopeBuilder()
-                .setChatMessage(builder)
-                .build();
+        return builder.build();
     }
 
     // The protobuf definition ChatMessage cannot be changed as it would break backward compatibility.
     public static ChatMessage fromProto(protobuf.ChatMessage proto,
                                         int messageVersion) {
+        return fromProto(proto, messageVersion, Attachment::fromProto);
+    }
+
+    private static ChatMessage fromProto(protobuf.ChatMessage proto,
+                                         int messageVersion,
+                                         Function<protobuf.Attachment, Attachment> attachmentFromProto) {
         // If we get a msg from an old client type will be ordinal 0 which is the dispute entry and as we only added
         // the trade case it is the desired behaviour.
         final ChatMessage chatMessage = new ChatMessage(
@@ -243,7 +259,7 @@ public final class ChatMessage extends SupportMessage {
                 proto.getTraderId(),
                 proto.getSenderIsTrader(),
                 proto.getMessage(),
-                new ArrayList<>(proto.getAttachmentsList().stream().map(Attachment::fromProto).collect(Collectors.toList())),
+                new ArrayList<>(proto.getAttachmentsList().stream().map(attachmentFromProto).collect(Collectors.toList())),
                 NodeAddress.fromProto(proto.getSenderNodeAddress()),
                 proto.getDate(),
                 proto.getArrived(),
@@ -266,6 +282,10 @@ public final class ChatMessage extends SupportMessage {
         return fromProto(proto, -1);
     }
 
+    public static ChatMessage fromPersistedProto(protobuf.ChatMessage proto) {
+        return fromProto(proto, -1, Attachment::fromPersistedProto);
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // API
@@ -184,9 +184,9 @@ public class TraderChatManager extends SupportManager {
         // search for a matching tradeId in open trades, else closed trades, else failed trades
         Optional<Trade> trade = tradeManager.getTradeById(tradeId);
         if (!trade.isPresent()) {
-            trade = closedTradableManager.getClosedTrades().stream()
-                    .filter(e -> e.getId().equals(tradeId))
-                    .findFirst();
+            trade = closedTradableManager.getTradableById(tradeId)
+                    .filter(e -> e instanceof Trade)
+                    .map(e -> (Trade) e);
             if (!trade.isPresent()) {
                 trade = failedTradesManager.getTradeById(tradeId);
             }
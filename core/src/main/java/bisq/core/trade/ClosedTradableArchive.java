@@ -0,0 +1,353 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade;
+
+import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.ClosedTradableArchiveIndex.Segment;
+import bisq.core.trade.ClosedTradableArchiveIndex.TradableSummary;
+import bisq.core.trade.model.Tradable;
+import bisq.core.trade.model.TradableList;
+
+import bisq.network.p2p.NodeAddress;
+
+import bisq.common.persistence.PersistenceManager;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+
+import java.lang.ref.SoftReference;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * On-disk tier for old closed tradables. Archived tradables are written in segment files which are never rewritten.
+ * We only read the small {@link ClosedTradableArchiveIndex} at startup. It holds a summary of each archived tradable
+ * which is enough for the aggregates and the XMR tx proof reuse check. A segment gets loaded when one of its
+ * tradables is requested. Loaded segments are only softly referenced, so the GC can drop them again.
+ * <p>
+ * A new segment is only added to the index once the segment file is written, and the caller removes the tradables
+ * from the in-memory tier only once the index is written. If one of the writes fails we keep the tradables in the
+ * in-memory tier. So we never lose a tradable if we get interrupted.
+ * <p>
+ * Not thread safe. Must be used from the UserThread only.
+ */
+@Slf4j
+@Singleton
+public class ClosedTradableArchive {
+    private static final String INDEX_FILE_NAME = "ClosedTradesArchiveIndex";
+    private static final String SEGMENT_FILE_NAME_PREFIX = "ClosedTradesArchive_";
+
+    @Value
+    public static class Totals {
+        long amount;
+        long txFee;
+        long btcTradeFee;
+        long bsqTradeFee;
+        Map<String, Long> volumeByCurrency;
+    }
+
+    private final PriceFeedService priceFeedService;
+    private final PersistenceManager<ClosedTradableArchiveIndex> indexPersistenceManager;
+    private final Provider<PersistenceManager<TradableList<Tradable>>> segmentPersistenceManagerProvider;
+
+    private final ClosedTradableArchiveIndex index = new ClosedTradableArchiveIndex();
+    private final Map<String, Segment> segmentByTradableId = new HashMap<>();
+    // Loaded segments by file name
+    private final Map<String, SoftReference<Map<String, Tradable>>> loadedSegments = new HashMap<>();
+    // Aggregates, maintained when segments get added or tradables removed
+    private final Multiset<String> numTradesByPeerAddress = HashMultiset.create();
+    private final Map<String, Long> volumeByCurrency = new HashMap<>();
+    private long totalAmount;
+    private long totalTxFee;
+    private long totalBtcTradeFee;
+    private long totalBsqTradeFee;
+    // Gets recalculated if the tradable with the max amount got removed
+    @Nullable
+    private Long maxTradeAmount;
+    private boolean archiveInProgress;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public ClosedTradableArchive(PriceFeedService priceFeedService,
+                                 PersistenceManager<ClosedTradableArchiveIndex> indexPersistenceManager,
+                                 Provider<PersistenceManager<TradableList<Tradable>>> segmentPersistenceManagerProvider) {
+        this.priceFeedService = priceFeedService;
+        this.indexPersistenceManager = indexPersistenceManager;
+        this.segmentPersistenceManagerProvider = segmentPersistenceManagerProvider;
+
+        this.indexPersistenceManager.initialize(index, INDEX_FILE_NAME, PersistenceManager.Source.PRIVATE);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public void readPersisted(Runnable completeHandler) {
+        indexPersistenceManager.readPersisted(persisted -> {
+                    persisted.getSegments().forEach(this::addSegment);
+                    completeHandler.run();
+                },
+                completeHandler);
+    }
+
+    public boolean contains(String tradableId) {
+        return segmentByTradableId.containsKey(tradableId);
+    }
+
+    public int size() {
+        return segmentByTradableId.size();
+    }
+
+    public int getNumTrades(@Nullable NodeAddress peerNodeAddress) {
+        if (peerNodeAddress == null) {
+            return 0;
+        }
+        return numTradesByPeerAddress.count(peerNodeAddress.getFullAddress());
+    }
+
+    public long getMaxTradeAmount() {
+        if (maxTradeAmount == null) {
+            maxTradeAmount = getSummaries()
+                    .filter(TradableSummary::isTrade)
+                    .mapToLong(TradableSummary::getAmount)
+                    .max()
+                    .orElse(0);
+        }
+        return maxTradeAmount;
+    }
+
+    public Totals getTotals() {
+        return new Totals(totalAmount, totalTxFee, totalBtcTradeFee, totalBsqTradeFee, new HashMap<>(volumeByCurrency));
+    }
+
+    // Date of the most recent archived tradable, or 0 if the archive is empty
+    public long getNewestDate() {
+        return getSummaries()
+                .mapToLong(TradableSummary::getDate)
+                .max()
+                .orElse(0);
+    }
+
+    public Stream<TradableSummary> getSummaries() {
+        return index.getSegments().stream()
+                .flatMap(segment -> segment.getSummaries().stream());
+    }
+
+    public Optional<Tradable> find(String tradableId) {
+        Segment segment = segmentByTradableId.get(tradableId);
+        if (segment == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(loadSegment(segment).get(tradableId));
+    }
+
+    /**
+     * Loads all segments which are not in memory. The result should not be kept longer than needed, otherwise the
+     * archived tradables cannot be garbage collected again.
+     */
+    public List<Tradable> getTradables() {
+        return index.getSegments().stream()
+                .flatMap(segment -> loadSegment(segment).values().stream())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the tradables to a new segment file and adds it to the index. The completeHandler is only called once
+     * both the segment and the index have been written to disk. If a write fails the tradables stay in the caller's
+     * tier.
+     */
+    public void archive(Collection<Tradable> tradables,
+                        Function<Tradable, TradableSummary> toSummary,
+                        Runnable completeHandler) {
+        if (tradables.isEmpty()) {
+            completeHandler.run();
+            return;
+        }
+        if (archiveInProgress) {
+            log.warn("We are archiving tradables already. We ignore that call.");
+            return;
+        }
+        archiveInProgress = true;
+
+        String fileName = getNextSegmentFileName();
+        TradableList<Tradable> segmentList = new TradableList<>();
+        segmentList.setAll(tradables);
+        PersistenceManager<TradableList<Tradable>> segmentPersistenceManager = segmentPersistenceManagerProvider.get();
+        segmentPersistenceManager.initialize(segmentList, fileName, PersistenceManager.Source.PRIVATE);
+        segmentPersistenceManager.persistNowWithResult(segmentWritten -> {
+            // The segment file is never written again
+            segmentPersistenceManager.shutdown();
+            if (!segmentWritten) {
+                log.error("Writing archive segment {} failed. We keep the tradables in the closed trades.", fileName);
+                archiveInProgress = false;
+                return;
+            }
+
+            Segment segment = new Segment(fileName, tradables.stream()
+                    .map(toSummary)
+                    .collect(Collectors.toList()));
+            addSegment(segment);
+            indexPersistenceManager.persistNowWithResult(indexWritten -> {
+                archiveInProgress = false;
+                if (!indexWritten) {
+                    log.error("Writing the archive index failed. We keep the tradables of {} in the closed trades.",
+                            fileName);
+                    index.getSegments().remove(segment);
+                    removeSegment(segment);
+                    return;
+                }
+
+                log.info("Archived {} closed tradables in {}", tradables.size(), fileName);
+                completeHandler.run();
+            });
+        });
+    }
+
+    /**
+     * Removes the tradable from the index. The segment file is not changed.
+     */
+    public boolean remove(Tradable tradable) {
+        Segment segment = segmentByTradableId.remove(tradable.getId());
+        if (segment == null) {
+            return false;
+        }
+        segment.remove(tradable.getId()).ifPresent(summary -> applySummary(summary, -1));
+        Map<String, Tradable> loaded = getLoadedSegment(segment.getFileName());
+        if (loaded != null) {
+            loaded.remove(tradable.getId());
+        }
+        indexPersistenceManager.requestPersistence();
+        return true;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private String getNextSegmentFileName() {
+        Set<String> usedFileNames = index.getSegments().stream()
+                .map(Segment::getFileName)
+                .collect(Collectors.toSet());
+        int segmentIndex = index.getSegments().size();
+        while (usedFileNames.contains(SEGMENT_FILE_NAME_PREFIX + segmentIndex)) {
+            segmentIndex++;
+        }
+        return SEGMENT_FILE_NAME_PREFIX + segmentIndex;
+    }
+
+    private void addSegment(Segment segment) {
+        if (!index.getSegments().contains(segment)) {
+            index.getSegments().add(segment);
+        }
+        segment.getSummaries().forEach(summary -> {
+            segmentByTradableId.put(summary.getId(), segment);
+            applySummary(summary, 1);
+        });
+    }
+
+    private void removeSegment(Segment segment) {
+        segment.getSummaries().forEach(summary -> {
+            segmentByTradableId.remove(summary.getId());
+            applySummary(summary, -1);
+        });
+        loadedSegments.remove(segment.getFileName());
+    }
+
+    private void applySummary(TradableSummary summary, int sign) {
+        if (summary.isTrade() && summary.getPeerAddress() != null) {
+            if (sign > 0) {
+                numTradesByPeerAddress.add(summary.getPeerAddress());
+            } else {
+                numTradesByPeerAddress.remove(summary.getPeerAddress());
+            }
+        }
+        if (summary.getVolumeCurrencyCode() != null) {
+            volumeByCurrency.merge(summary.getVolumeCurrencyCode(), sign * summary.getVolume(), Long::sum);
+            if (volumeByCurrency.get(summary.getVolumeCurrencyCode()) == 0) {
+                volumeByCurrency.remove(summary.getVolumeCurrencyCode());
+            }
+        }
+        totalAmount += sign * summary.getAmount();
+        totalTxFee += sign * summary.getTxFee();
+        totalBtcTradeFee += sign * summary.getBtcTradeFee();
+        totalBsqTradeFee += sign * summary.getBsqTradeFee();
+        if (sign > 0) {
+            if (maxTradeAmount != null && summary.isTrade()) {
+                maxTradeAmount = Math.max(maxTradeAmount, summary.getAmount());
+            }
+        } else if (maxTradeAmount != null && summary.getAmount() >= maxTradeAmount) {
+            maxTradeAmount = null;
+        }
+    }
+
+    @Nullable
+    private Map<String, Tradable> getLoadedSegment(String fileName) {
+        SoftReference<Map<String, Tradable>> reference = loadedSegments.get(fileName);
+        return reference != null ? reference.get() : null;
+    }
+
+    private Map<String, Tradable> loadSegment(Segment segment) {
+        Map<String, Tradable> loaded = getLoadedSegment(segment.getFileName());
+        if (loaded != null) {
+            return loaded;
+        }
+
+        Map<String, Tradable> tradableById = new LinkedHashMap<>();
+        TradableList<Tradable> persisted = segmentPersistenceManagerProvider.get().getPersisted(segment.getFileName());
+        if (persisted == null) {
+            log.error("Could not read archive segment {}", segment.getFileName());
+            return tradableById;
+        }
+        persisted.stream()
+                // Tradables which got removed from the archive are still in the segment file
+                .filter(tradable -> segment.contains(tradable.getId()))
+                .forEach(tradable -> {
+                    if (tradable.getOffer() != null) {
+                        tradable.getOffer().setPriceFeedService(priceFeedService);
+                    }
+                    tradableById.put(tradable.getId(), tradable);
+                });
+        loadedSegments.put(segment.getFileName(), new SoftReference<>(tradableById));
+        log.info("Loaded {} archived closed tradables from {}", tradableById.size(), segment.getFileName());
+        return tradableById;
+    }
+}
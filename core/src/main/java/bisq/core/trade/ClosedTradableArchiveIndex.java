@@ -0,0 +1,196 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade;
+
+import bisq.common.proto.ProtoUtil;
+import bisq.common.proto.persistable.PersistableEnvelope;
+import bisq.common.proto.persistable.PersistablePayload;
+
+import com.google.protobuf.Message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Index of the archived closed tradables. Holds a summary of each archived tradable per segment, so we can provide
+ * the aggregates (trades per peer, max trade amount, volume and fee totals) and the data for the XMR tx proof reuse
+ * check without loading the segments.
+ */
+@Slf4j
+@Getter
+public final class ClosedTradableArchiveIndex implements PersistableEnvelope {
+    private final List<Segment> segments;
+
+    public ClosedTradableArchiveIndex() {
+        this(new ArrayList<>());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private ClosedTradableArchiveIndex(List<Segment> segments) {
+        this.segments = segments;
+    }
+
+    @Override
+    public Message toProtoMessage() {
+        return protobuf.PersistableEnvelope.newBuilder()
+                .setClosedTradableArchiveIndex(protobuf.ClosedTradableArchiveIndex.newBuilder()
+                        .addAllSegment(segments.stream()
+                                .map(Segment::toProtoMessage)
+                                .collect(Collectors.toList())))
+                .build();
+    }
+
+    public static ClosedTradableArchiveIndex fromProto(protobuf.ClosedTradableArchiveIndex proto) {
+        return new ClosedTradableArchiveIndex(proto.getSegmentList().stream()
+                .map(Segment::fromProto)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public String toString() {
+        return "ClosedTradableArchiveIndex{" +
+                "\n     segments=" + segments.size() +
+                "\n}";
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Segment
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * A segment file is written once and never changed. If an archived tradable gets removed we only remove its
+     * summary from the segment index.
+     */
+    public static final class Segment implements PersistablePayload {
+        @Getter
+        private final String fileName;
+        private final Map<String, TradableSummary> summaryById;
+
+        Segment(String fileName, Collection<TradableSummary> summaries) {
+            this.fileName = fileName;
+            this.summaryById = new LinkedHashMap<>();
+            summaries.forEach(summary -> summaryById.put(summary.getId(), summary));
+        }
+
+        public Collection<TradableSummary> getSummaries() {
+            return summaryById.values();
+        }
+
+        public boolean contains(String tradableId) {
+            return summaryById.containsKey(tradableId);
+        }
+
+        Optional<TradableSummary> remove(String tradableId) {
+            return Optional.ofNullable(summaryById.remove(tradableId));
+        }
+
+        @Override
+        public protobuf.ClosedTradableArchiveSegment toProtoMessage() {
+            return protobuf.ClosedTradableArchiveSegment.newBuilder()
+                    .setFileName(fileName)
+                    .addAllTradableSummary(summaryById.values().stream()
+                            .map(TradableSummary::toProtoMessage)
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+
+        static Segment fromProto(protobuf.ClosedTradableArchiveSegment proto) {
+            return new Segment(proto.getFileName(), proto.getTradableSummaryList().stream()
+                    .map(TradableSummary::fromProto)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // TradableSummary
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * The values are taken from the tradable at the time it got archived, the fees in the way ClosedTradableManager
+     * calculates them for the closed trades summary.
+     */
+    @Value
+    public static class TradableSummary implements PersistablePayload {
+        String id;
+        long date;
+        boolean isTrade;
+        @Nullable
+        String peerAddress;
+        long amount;
+        @Nullable
+        String volumeCurrencyCode;
+        long volume;
+        long txFee;
+        long btcTradeFee;
+        long bsqTradeFee;
+        @Nullable
+        String counterCurrencyTxId;
+        @Nullable
+        String counterCurrencyExtraData;
+
+        @Override
+        public protobuf.ArchivedTradableSummary toProtoMessage() {
+            protobuf.ArchivedTradableSummary.Builder builder = protobuf.ArchivedTradableSummary.newBuilder()
+                    .setId(id)
+                    .setDate(date)
+                    .setIsTrade(isTrade)
+                    .setAmount(amount)
+                    .setVolume(volume)
+                    .setTxFee(txFee)
+                    .setBtcTradeFee(btcTradeFee)
+                    .setBsqTradeFee(bsqTradeFee);
+            Optional.ofNullable(peerAddress).ifPresent(builder::setPeerAddress);
+            Optional.ofNullable(volumeCurrencyCode).ifPresent(builder::setVolumeCurrencyCode);
+            Optional.ofNullable(counterCurrencyTxId).ifPresent(builder::setCounterCurrencyTxId);
+            Optional.ofNullable(counterCurrencyExtraData).ifPresent(builder::setCounterCurrencyExtraData);
+            return builder.build();
+        }
+
+        static TradableSummary fromProto(protobuf.ArchivedTradableSummary proto) {
+            return new TradableSummary(proto.getId(),
+                    proto.getDate(),
+                    proto.getIsTrade(),
+                    ProtoUtil.stringOrNullFromProto(proto.getPeerAddress()),
+                    proto.getAmount(),
+                    ProtoUtil.stringOrNullFromProto(proto.getVolumeCurrencyCode()),
+                    proto.getVolume(),
+                    proto.getTxFee(),
+                    proto.getBtcTradeFee(),
+                    proto.getBsqTradeFee(),
+                    ProtoUtil.stringOrNullFromProto(proto.getCounterCurrencyTxId()),
+                    ProtoUtil.stringOrNullFromProto(proto.getCounterCurrencyExtraData()));
+        }
+    }
+}
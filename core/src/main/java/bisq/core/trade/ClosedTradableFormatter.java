@@ -160,7 +160,11 @@ public class ClosedTradableFormatter {
     }
 
     public Map<String, String> getTotalVolumeByCurrencyAsString(List<Tradable> tradableList) {
-        return getTotalVolumeByCurrency(tradableList).entrySet().stream()
+        return getTotalVolumeByCurrencyAsString(getTotalVolumeByCurrency(tradableList));
+    }
+
+    public Map<String, String> getTotalVolumeByCurrencyAsString(Map<String, Long> totalVolumeByCurrency) {
+        return totalVolumeByCurrency.entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey,
                         entry -> {
                             String currencyCode = entry.getKey();
@@ -23,6 +23,7 @@ import bisq.core.monetary.Volume;
 import bisq.core.offer.Offer;
 import bisq.core.offer.OpenOffer;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.ClosedTradableArchiveIndex.TradableSummary;
 import bisq.core.trade.bisq_v1.CleanupMailboxMessagesService;
 import bisq.core.trade.bisq_v1.DumpDelayedPayoutTx;
 import bisq.core.trade.bsq_swap.BsqSwapTradeManager;
@@ -45,18 +46,19 @@ import org.bitcoinj.utils.Fiat;
 
 import com.google.inject.Inject;
 
+import com.google.common.collect.HashMultiset;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.Multiset;
 
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.time.Instant;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -77,9 +79,15 @@ import static bisq.core.util.AveragePriceUtil.getAveragePriceTuple;
  * Manages closed trades or offers.
  * BsqSwap trades are once confirmed moved in the closed trades domain as well.
  * We do not manage the persistence of BsqSwap trades here but in BsqSwapTradeManager.
+ * <p>
+ * Closed tradables older than the date for clearing sensitive data get moved to the {@link ClosedTradableArchive}
+ * once we have at least MIN_NUM_TRADABLES_TO_ARCHIVE of them. The observable list only contains the in-memory tier.
+ * Lookups by ID and the trade counts per peer include the archived tradables.
  */
 @Slf4j
 public class ClosedTradableManager implements PersistedDataHost {
+    private static final int MIN_NUM_TRADABLES_TO_ARCHIVE = 100;
+
     private final KeyRing keyRing;
     private final PriceFeedService priceFeedService;
     private final BsqSwapTradeManager bsqSwapTradeManager;
@@ -89,10 +97,16 @@ public class ClosedTradableManager implements PersistedDataHost {
     private final PersistenceManager<TradableList<Tradable>> persistenceManager;
     private final CleanupMailboxMessagesService cleanupMailboxMessagesService;
     private final DumpDelayedPayoutTx dumpDelayedPayoutTx;
+    private final ClosedTradableArchive archive;
 
     private final TradableList<Tradable> closedTradables = new TradableList<>();
+    // Indexes of the in-memory tier, maintained by the list change listener
+    private final Map<String, Tradable> tradableById = new HashMap<>();
+    private final Multiset<NodeAddress> closedTradeNodeAddresses = HashMultiset.create();
+    @Nullable
+    private List<Trade> closedTradesCache;
     @Nullable
-    private Multiset<NodeAddress> closedTradeNodeAddressCache;
+    private List<OpenOffer> canceledOpenOffersCache;
 
     @Inject
     public ClosedTradableManager(KeyRing keyRing,
@@ -103,7 +117,8 @@ public class ClosedTradableManager implements PersistedDataHost {
                                  TradeStatisticsManager tradeStatisticsManager,
                                  PersistenceManager<TradableList<Tradable>> persistenceManager,
                                  CleanupMailboxMessagesService cleanupMailboxMessagesService,
-                                 DumpDelayedPayoutTx dumpDelayedPayoutTx) {
+                                 DumpDelayedPayoutTx dumpDelayedPayoutTx,
+                                 ClosedTradableArchive archive) {
         this.keyRing = keyRing;
         this.priceFeedService = priceFeedService;
         this.bsqSwapTradeManager = bsqSwapTradeManager;
@@ -113,16 +128,28 @@ public class ClosedTradableManager implements PersistedDataHost {
         this.cleanupMailboxMessagesService = cleanupMailboxMessagesService;
         this.dumpDelayedPayoutTx = dumpDelayedPayoutTx;
         this.persistenceManager = persistenceManager;
+        this.archive = archive;
 
-        closedTradables.addListener(c -> closedTradeNodeAddressCache = null);
+        closedTradables.addListener(this::onClosedTradablesChanged);
 
         this.persistenceManager.initialize(closedTradables, "ClosedTrades", PersistenceManager.Source.PRIVATE);
     }
 
     @Override
     public void readPersisted(Runnable completeHandler) {
+        archive.readPersisted(() -> readPersistedClosedTradables(completeHandler));
+    }
+
+    private void readPersistedClosedTradables(Runnable completeHandler) {
         persistenceManager.readPersisted(persisted -> {
-                    closedTradables.setAll(persisted.getList());
+                    // If we got interrupted after the archive index was written the tradables are in both tiers
+                    List<Tradable> tradables = persisted.getList().stream()
+                            .filter(tradable -> !archive.contains(tradable.getId()))
+                            .collect(Collectors.toList());
+                    if (tradables.size() < persisted.getList().size()) {
+                        requestPersistence();
+                    }
+                    closedTradables.setAll(tradables);
                     closedTradables.stream()
                             .filter(tradable -> tradable.getOffer() != null)
                             .forEach(tradable -> tradable.getOffer().setPriceFeedService(priceFeedService));
@@ -133,9 +160,12 @@ public class ClosedTradableManager implements PersistedDataHost {
     }
 
     public void onAllServicesInitialized() {
-        cleanupMailboxMessagesService.handleTrades(getClosedTrades());
+        // Archived trades are skipped. Their mailbox messages got cleaned up at the startup which archived them, as
+        // we call maybeArchive only after the cleanup.
+        cleanupMailboxMessagesService.handleTrades(getInMemoryClosedTrades());
         maybeClearSensitiveData();
         maybeIncreaseTradeLimit();
+        maybeArchive();
     }
 
     public void add(Tradable tradable) {
@@ -148,6 +178,8 @@ public class ClosedTradableManager implements PersistedDataHost {
     public void remove(Tradable tradable) {
         if (closedTradables.remove(tradable)) {
             requestPersistence();
+        } else {
+            archive.remove(tradable);
         }
     }
 
@@ -163,39 +195,91 @@ public class ClosedTradableManager implements PersistedDataHost {
         return ImmutableList.copyOf(new ArrayList<>(getObservableList()));
     }
 
-    public List<Trade> getClosedTrades() {
-        return ImmutableList.copyOf(getObservableList().stream()
-                .filter(e -> e instanceof Trade)
-                .map(e -> (Trade) e)
-                .collect(Collectors.toList()));
+    // Archived tradables get loaded from disk if they are not in memory
+    public List<Tradable> getArchivedTradables() {
+        return archive.getTradables();
+    }
+
+    public Stream<TradableSummary> getArchivedTradableSummaries() {
+        return archive.getSummaries();
+    }
+
+    public ClosedTradableArchive.Totals getArchivedTotals() {
+        return archive.getTotals();
     }
 
-    public List<OpenOffer> getCanceledOpenOffers() {
-        return ImmutableList.copyOf(getObservableList().stream()
-                .filter(e -> (e instanceof OpenOffer) && ((OpenOffer) e).getState().equals(CANCELED))
-                .map(e -> (OpenOffer) e)
-                .collect(Collectors.toList()));
+    public boolean isArchived(String id) {
+        return archive.contains(id);
+    }
+
+    public long getNewestArchivedDate() {
+        return archive.getNewestDate();
+    }
+
+    // Closed trades of the in-memory tier, does not include the archived trades. Use getAllClosedTrades for the full
+    // history.
+    public List<Trade> getInMemoryClosedTrades() {
+        var closedTrades = closedTradesCache;
+        if (closedTrades == null) {
+            closedTradesCache = closedTrades = ImmutableList.copyOf(getObservableList().stream()
+                    .filter(e -> e instanceof Trade)
+                    .map(e -> (Trade) e)
+                    .collect(Collectors.toList()));
+        }
+        return closedTrades;
+    }
+
+    // Canceled offers of the in-memory tier
+    public List<OpenOffer> getInMemoryCanceledOpenOffers() {
+        var canceledOpenOffers = canceledOpenOffersCache;
+        if (canceledOpenOffers == null) {
+            canceledOpenOffersCache = canceledOpenOffers = ImmutableList.copyOf(getObservableList().stream()
+                    .filter(ClosedTradableManager::isCanceledOpenOffer)
+                    .map(e -> (OpenOffer) e)
+                    .collect(Collectors.toList()));
+        }
+        return canceledOpenOffers;
+    }
+
+    // Closed trades of both tiers. Loads the archived tradables.
+    public List<Trade> getAllClosedTrades() {
+        return Stream.concat(getInMemoryClosedTrades().stream(), getArchivedTradables().stream()
+                        .filter(e -> e instanceof Trade)
+                        .map(e -> (Trade) e))
+                .collect(Collectors.toList());
+    }
+
+    // Canceled offers of both tiers. Loads the archived tradables.
+    public List<OpenOffer> getAllCanceledOpenOffers() {
+        return Stream.concat(getInMemoryCanceledOpenOffers().stream(), getArchivedTradables().stream()
+                        .filter(ClosedTradableManager::isCanceledOpenOffer)
+                        .map(e -> (OpenOffer) e))
+                .collect(Collectors.toList());
+    }
+
+    public static boolean isCanceledOpenOffer(Tradable tradable) {
+        return (tradable instanceof OpenOffer) && ((OpenOffer) tradable).getState().equals(CANCELED);
     }
 
     public Optional<Tradable> getTradableById(String id) {
-        return closedTradables.stream().filter(e -> e.getId().equals(id)).findFirst();
+        Tradable tradable = tradableById.get(id);
+        return tradable != null ? Optional.of(tradable) : archive.find(id);
     }
 
     // if user has closed trades of greater size to the default trade limit and has never customized their
     // trade limit, then set the limit to the largest amount traded previously.
     public void maybeIncreaseTradeLimit() {
         if (!preferences.isUserHasRaisedTradeLimit()) {
-            Optional<Trade> maxTradeSize = closedTradables.stream()
+            long maxTradeAmount = Math.max(archive.getMaxTradeAmount(), closedTradables.stream()
                     .filter(e -> e instanceof Trade)
-                    .map(e -> (Trade) e)
-                    .max(Comparator.comparing(Trade::getAmountAsLong));
-            maxTradeSize.ifPresent(trade -> {
-                if (trade.getAmountAsLong() > preferences.getUserDefinedTradeLimit()) {
-                    log.info("Increasing user trade limit to size of max completed trade: {}", trade.getAmount());
-                    preferences.setUserDefinedTradeLimit(trade.getAmountAsLong());
-                    preferences.setUserHasRaisedTradeLimit(true);
-                }
-            });
+                    .mapToLong(e -> ((Trade) e).getAmountAsLong())
+                    .max()
+                    .orElse(0));
+            if (maxTradeAmount > preferences.getUserDefinedTradeLimit()) {
+                log.info("Increasing user trade limit to size of max completed trade: {}", Coin.valueOf(maxTradeAmount));
+                preferences.setUserDefinedTradeLimit(maxTradeAmount);
+                preferences.setUserHasRaisedTradeLimit(true);
+            }
         }
     }
 
@@ -210,10 +294,12 @@ public class ClosedTradableManager implements PersistedDataHost {
     }
 
     public boolean canTradeHaveSensitiveDataCleared(String tradeId) {
-        Instant safeDate = getSafeDateForSensitiveDataClearing();
-        return closedTradables.stream()
-                .filter(e -> e.getId().equals(tradeId))
-                .anyMatch(e -> e.getDate().toInstant().isBefore(safeDate));
+        if (archive.contains(tradeId)) {
+            // We only archive tradables which have been older than the safe date and got cleared already
+            return true;
+        }
+        Tradable tradable = tradableById.get(tradeId);
+        return tradable != null && tradable.getDate().toInstant().isBefore(getSafeDateForSensitiveDataClearing());
     }
 
     public Instant getSafeDateForSensitiveDataClearing() {
@@ -221,30 +307,27 @@ public class ClosedTradableManager implements PersistedDataHost {
                 - TimeUnit.DAYS.toSeconds(preferences.getClearDataAfterDays()));
     }
 
+    // Trades with locked funds never get archived, so the in-memory tier is complete here
     public Stream<Trade> getTradesStreamWithFundsLockedIn() {
-        return getClosedTrades().stream()
+        return getInMemoryClosedTrades().stream()
                 .filter(Trade::isFundsLockedIn);
     }
 
-    private Multiset<NodeAddress> getClosedTradeNodeAddresses() {
-        var addresses = closedTradeNodeAddressCache;
-        if (addresses == null) {
-            closedTradeNodeAddressCache = addresses = closedTradables.stream()
-                    .filter(t -> t instanceof Trade)
-                    .map(t -> ((Trade) t).getTradingPeerNodeAddress())
-                    .filter(Objects::nonNull)
-                    .collect(ImmutableMultiset.toImmutableMultiset());
-        }
-        return addresses;
-    }
-
     public int getNumPastTrades(Tradable tradable) {
         if (isOpenOffer(tradable)) {
             return 0;
         }
         NodeAddress addressInTrade = castToTradeModel(tradable).getTradingPeerNodeAddress();
         return bsqSwapTradeManager.getConfirmedBsqSwapNodeAddresses().count(addressInTrade) +
-                getClosedTradeNodeAddresses().count(addressInTrade);
+                getNumClosedTrades(addressInTrade);
+    }
+
+    // Number of closed bisq v1 trades with that peer, including the archived ones
+    public int getNumClosedTrades(@Nullable NodeAddress peerNodeAddress) {
+        if (peerNodeAddress == null) {
+            return 0;
+        }
+        return closedTradeNodeAddresses.count(peerNodeAddress) + archive.getNumTrades(peerNodeAddress);
     }
 
     public boolean isCurrencyForTradeFeeBtc(Tradable tradable) {
@@ -308,6 +391,61 @@ public class ClosedTradableManager implements PersistedDataHost {
         return new Volume(Fiat.valueOf("USD", value));
     }
 
+    private void maybeArchive() {
+        Instant safeDate = getSafeDateForSensitiveDataClearing();
+        List<Tradable> toArchive = closedTradables.stream()
+                .filter(tradable -> tradable.getDate().toInstant().isBefore(safeDate))
+                .filter(tradable -> !(tradable instanceof Trade) || !((Trade) tradable).isFundsLockedIn())
+                .collect(Collectors.toList());
+        if (toArchive.size() < MIN_NUM_TRADABLES_TO_ARCHIVE) {
+            return;
+        }
+
+        archive.archive(toArchive, this::toArchivedTradableSummary, () -> {
+            // Tradables might have been removed in the meantime, so we only remove the ones we still have
+            if (closedTradables.getObservableList().removeAll(toArchive)) {
+                requestPersistence();
+            }
+        });
+    }
+
+    private TradableSummary toArchivedTradableSummary(Tradable tradable) {
+        Trade trade = tradable instanceof Trade ? (Trade) tradable : null;
+        NodeAddress peerNodeAddress = trade != null ? trade.getTradingPeerNodeAddress() : null;
+        Optional<Volume> volume = tradable.getOptionalVolume();
+        return new TradableSummary(tradable.getId(),
+                tradable.getDate().getTime(),
+                trade != null,
+                peerNodeAddress != null ? peerNodeAddress.getFullAddress() : null,
+                tradable.getOptionalAmountAsLong().orElse(0L),
+                volume.map(Volume::getCurrencyCode).orElse(null),
+                volume.map(Volume::getValue).orElse(0L),
+                ClosedTradableUtil.getTxFee(tradable).value,
+                getBtcTradeFee(tradable),
+                getBsqTradeFee(tradable),
+                trade != null ? trade.getCounterCurrencyTxId() : null,
+                trade != null ? trade.getCounterCurrencyExtraData() : null);
+    }
+
+    private void onClosedTradablesChanged(ListChangeListener.Change<? extends Tradable> change) {
+        while (change.next()) {
+            change.getRemoved().forEach(tradable -> {
+                tradableById.remove(tradable.getId());
+                if (tradable instanceof Trade && ((Trade) tradable).getTradingPeerNodeAddress() != null) {
+                    closedTradeNodeAddresses.remove(((Trade) tradable).getTradingPeerNodeAddress());
+                }
+            });
+            change.getAddedSubList().forEach(tradable -> {
+                tradableById.put(tradable.getId(), tradable);
+                if (tradable instanceof Trade && ((Trade) tradable).getTradingPeerNodeAddress() != null) {
+                    closedTradeNodeAddresses.add(((Trade) tradable).getTradingPeerNodeAddress());
+                }
+            });
+        }
+        closedTradesCache = null;
+        canceledOpenOffersCache = null;
+    }
+
     private void requestPersistence() {
         persistenceManager.requestPersistence();
     }
@@ -458,8 +458,10 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
 
         persistedTradesInitialized.set(true);
 
-        // We do not include failed trades as they should not be counted anyway in the trade statistics
-        Set<TradeModel> allTrades = new HashSet<>(closedTradableManager.getClosedTrades());
+        // We do not include failed trades as they should not be counted anyway in the trade statistics.
+        // Archived trades are skipped as well, loading the archive at each startup would defeat it. They are older
+        // than the data clearing period and got republished at each startup before they got archived.
+        Set<TradeModel> allTrades = new HashSet<>(closedTradableManager.getInMemoryClosedTrades());
         allTrades.addAll(bsqSwapTradeManager.getBsqSwapTrades());
         allTrades.addAll(tradableList.getList());
         String referralId = referralIdService.getOptionalReferralId().orElse(null);
@@ -888,7 +890,8 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
         combinedStream = Stream.concat(combinedStream,
                 closedTradableManager.getObservableList().stream());
 
-        return combinedStream.anyMatch(t -> t.getOffer().getId().equals(offerId));
+        return combinedStream.anyMatch(t -> t.getOffer().getId().equals(offerId)) ||
+                closedTradableManager.isArchived(offerId);
     }
 
     public boolean isBuyer(Offer offer) {
@@ -182,7 +182,7 @@ public class FailedTradesManager implements PersistedDataHost {
         };
 
         List<String> blockingTradeIds = new ArrayList<>();
-        for (var addressEntry : btcWalletService.getAddressEntryListAsImmutableList()) {
+        for (var addressEntry : btcWalletService.getAddressEntries()) {
             if (isBeingUsedForOtherTrade.test(addressEntry)) {
                 var offerId = addressEntry.getOfferId();
                 // TODO Be certain 'List<String> blockingTrades' should NOT be populated
@@ -111,7 +111,7 @@ public class TradeUtil {
             return null;
 
         var multiSigPubKeyString = Utilities.bytesAsHexString(multiSigPubKey);
-        var multiSigAddress = btcWalletService.getAddressEntryListAsImmutableList().stream()
+        var multiSigAddress = btcWalletService.getAddressEntries().stream()
                 .filter(e -> e.getKeyPair().getPublicKeyAsHex().equals(multiSigPubKeyString))
                 .findAny()
                 .orElse(null);
@@ -122,10 +122,9 @@ public class TradeUtil {
         var payoutAddress = isMyRoleBuyer
                 ? contract.getBuyerPayoutAddressString()
                 : contract.getSellerPayoutAddressString();
-        var payoutAddressEntry = btcWalletService.getAddressEntryListAsImmutableList().stream()
-                .filter(e -> Objects.equals(e.getAddressString(), payoutAddress))
-                .findAny()
-                .orElse(null);
+        var payoutAddressEntry = payoutAddress != null ?
+                btcWalletService.findAddressEntry(payoutAddress).orElse(null) :
+                null;
         if (payoutAddressEntry == null)
             return null;
 
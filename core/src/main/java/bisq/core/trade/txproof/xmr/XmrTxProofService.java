@@ -61,6 +61,8 @@ import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -393,27 +395,41 @@ public class XmrTxProofService implements AssetTxProofService {
         Stream<Trade> allTrades = Stream.concat(failedAndOpenTrades, closedTrades);
         String tradeTxKey = trade.getCounterCurrencyExtraData();
         String tradeTxHash = trade.getCounterCurrencyTxId();
-        return allTrades
+        boolean usedInTrades = allTrades
                 .filter(t -> !t.getId().equals(trade.getId())) // ignore same trade
-                .anyMatch(t -> {
-                    String txKey = t.getCounterCurrencyExtraData();
-                    String txHash = t.getCounterCurrencyTxId();
-                    if (txKey == null || txHash == null) {
-                        return false;
-                    }
+                .anyMatch(t -> wasTxKeyReUsed(t.getId(), t.getCounterCurrencyExtraData(), t.getCounterCurrencyTxId(),
+                        tradeTxKey, tradeTxHash));
+        if (usedInTrades) {
+            return true;
+        }
 
-                    boolean alreadyUsed = txKey.equalsIgnoreCase(tradeTxKey);
-                    if (alreadyUsed) {
-                        log.warn("Peer used the XMR tx key already at another trade with trade ID {}. " +
-                                "This might be a scam attempt.", t.getId());
-                        return alreadyUsed;
-                    }
-                    alreadyUsed = txHash.equalsIgnoreCase(tradeTxHash);
-                    if (alreadyUsed) {
-                        log.warn("Peer used the XMR tx ID already at another trade with trade ID {}. " +
-                                "This might be a scam attempt.", t.getId());
-                    }
-                    return alreadyUsed;
-                });
+        // Archived trades are not in memory, but the archive index keeps their tx key and tx hash
+        return closedTradableManager.getArchivedTradableSummaries()
+                .filter(summary -> summary.isTrade() && !summary.getId().equals(trade.getId()))
+                .anyMatch(summary -> wasTxKeyReUsed(summary.getId(), summary.getCounterCurrencyExtraData(),
+                        summary.getCounterCurrencyTxId(), tradeTxKey, tradeTxHash));
+    }
+
+    private static boolean wasTxKeyReUsed(String tradeId,
+                                          @Nullable String txKey,
+                                          @Nullable String txHash,
+                                          String tradeTxKey,
+                                          String tradeTxHash) {
+        if (txKey == null || txHash == null) {
+            return false;
+        }
+
+        boolean alreadyUsed = txKey.equalsIgnoreCase(tradeTxKey);
+        if (alreadyUsed) {
+            log.warn("Peer used the XMR tx key already at another trade with trade ID {}. " +
+                    "This might be a scam attempt.", tradeId);
+            return alreadyUsed;
+        }
+        alreadyUsed = txHash.equalsIgnoreCase(tradeTxHash);
+        if (alreadyUsed) {
+            log.warn("Peer used the XMR tx ID already at another trade with trade ID {}. " +
+                    "This might be a scam attempt.", tradeId);
+        }
+        return alreadyUsed;
     }
 }
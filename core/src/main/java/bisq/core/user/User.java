@@ -40,8 +40,11 @@ import bisq.common.proto.persistable.PersistedDataHost;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
 import javafx.collections.FXCollections;
@@ -76,6 +79,8 @@ public class User implements PersistedDataHost {
 
     private ObservableSet<PaymentAccount> paymentAccountsAsObservable;
     private ObjectProperty<PaymentAccount> currentPaymentAccountProperty;
+    // Editing a payment account in place does not change the accounts set, so we count the edits
+    private final IntegerProperty numPaymentAccountEdits = new SimpleIntegerProperty();
 
     private UserPayload userPayload = new UserPayload();
     private boolean isPaymentAccountImport = false;
@@ -251,6 +256,11 @@ public class User implements PersistedDataHost {
         isPaymentAccountImport = false;
     }
 
+    public void onPaymentAccountEdited(PaymentAccount paymentAccount) {
+        numPaymentAccountEdits.set(numPaymentAccountEdits.get() + 1);
+        requestPersistence();
+    }
+
     public void removePaymentAccount(PaymentAccount paymentAccount) {
         boolean changed = paymentAccountsAsObservable.remove(paymentAccount);
         if (changed)
@@ -411,6 +421,10 @@ public class User implements PersistedDataHost {
         return userPayload.getAccountId();
     }
 
+    public ReadOnlyIntegerProperty numPaymentAccountEditsProperty() {
+        return numPaymentAccountEdits;
+    }
+
     public ReadOnlyObjectProperty<PaymentAccount> currentPaymentAccountProperty() {
         return currentPaymentAccountProperty;
     }
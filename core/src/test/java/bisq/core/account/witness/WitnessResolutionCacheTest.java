@@ -0,0 +1,102 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.account.witness;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class WitnessResolutionCacheTest {
+    private WitnessResolutionCache cache;
+    private AtomicInteger numResolved;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new WitnessResolutionCache(2);
+        numResolved = new AtomicInteger();
+        cache.validate(new WitnessResolutionCache.InputVersions(0, 0, null));
+    }
+
+    @Test
+    public void testWitnessIsResolvedOnce() {
+        AccountAgeWitness witness = newWitness(1);
+        assertSame(witness, cache.getWitness("key", () -> resolve(witness)).orElseThrow());
+        assertSame(witness, cache.getWitness("key", () -> resolve(witness)).orElseThrow());
+        assertEquals(1, numResolved.get());
+
+        // Missing witnesses are cached as well
+        assertFalse(cache.getWitness("missing", () -> resolve(null)).isPresent());
+        assertFalse(cache.getWitness("missing", () -> resolve(null)).isPresent());
+        assertEquals(2, numResolved.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        cache.getWitness("a", () -> resolve(newWitness(1)));
+        cache.getWitness("b", () -> resolve(newWitness(2)));
+        cache.getWitness("a", () -> resolve(newWitness(1)));
+        cache.getWitness("c", () -> resolve(newWitness(3)));
+        assertEquals(3, numResolved.get());
+        assertEquals(2, cache.size());
+
+        cache.getWitness("a", () -> resolve(newWitness(1)));
+        assertEquals(3, numResolved.get());
+        cache.getWitness("b", () -> resolve(newWitness(2)));
+        assertEquals(4, numResolved.get());
+    }
+
+    @Test
+    public void testChangedInputsInvalidateEntries() {
+        AccountAgeWitness witness = newWitness(1);
+        cache.getWitness("key", () -> resolve(witness));
+        cache.getSignDate(witness, 0, w -> 100L);
+
+        cache.validate(new WitnessResolutionCache.InputVersions(0, 0, null));
+        assertEquals(2, cache.size());
+
+        cache.validate(new WitnessResolutionCache.InputVersions(0, 1, null));
+        assertEquals(0, cache.size());
+        cache.getWitness("key", () -> resolve(witness));
+        assertEquals(2, numResolved.get());
+    }
+
+    @Test
+    public void testSignDateExpires() {
+        AccountAgeWitness witness = newWitness(1);
+        assertEquals(100L, cache.getSignDate(witness, 0, w -> 100L));
+        assertEquals(100L, cache.getSignDate(witness, WitnessResolutionCache.SIGN_DATE_TTL - 1, w -> 200L));
+        assertEquals(200L, cache.getSignDate(witness, WitnessResolutionCache.SIGN_DATE_TTL, w -> 200L));
+    }
+
+    private Optional<AccountAgeWitness> resolve(AccountAgeWitness witness) {
+        numResolved.incrementAndGet();
+        return Optional.ofNullable(witness);
+    }
+
+    private static AccountAgeWitness newWitness(int seed) {
+        byte[] hash = new byte[20];
+        hash[0] = (byte) seed;
+        return new AccountAgeWitness(hash, 0);
+    }
+}
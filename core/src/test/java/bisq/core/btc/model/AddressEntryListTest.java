@@ -0,0 +1,139 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.model;
+
+import bisq.common.persistence.PersistenceManager;
+
+import org.bitcoinj.crypto.DeterministicKey;
+import org.bitcoinj.crypto.HDKeyDerivation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the indexed lookups of AddressEntryList with a linear scan over all entries, as it was done before the
+ * indexes got added.
+ */
+public class AddressEntryListTest {
+    private static final List<String> OFFER_IDS = List.of("offer1", "offer2", "offer3");
+
+    private final Random random = new Random(42);
+    private AddressEntryList addressEntryList;
+    private List<DeterministicKey> keys;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        addressEntryList = new AddressEntryList(mock(PersistenceManager.class));
+        DeterministicKey masterKey = HDKeyDerivation.createMasterPrivateKey(new byte[32]);
+        keys = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            keys.add(HDKeyDerivation.deriveChildKey(masterKey, i));
+        }
+    }
+
+    @Test
+    public void testAddAndRemoveMatchesLinearScan() {
+        for (int i = 0; i < 500; i++) {
+            List<AddressEntry> entries = new ArrayList<>(addressEntryList.getAddressEntries());
+            AddressEntry entry = entries.isEmpty() ? null : entries.get(random.nextInt(entries.size()));
+            int operation = entry == null ? 0 : random.nextInt(4);
+            switch (operation) {
+                case 0:
+                    addressEntryList.addAddressEntry(new AddressEntry(randomKey(), randomContext(),
+                            randomOfferId(), random.nextBoolean()));
+                    break;
+                case 1:
+                    addressEntryList.swapToAvailable(entry);
+                    break;
+                case 2:
+                    addressEntryList.swapAvailableToAddressEntryWithOfferId(entry, randomContext(),
+                            OFFER_IDS.get(random.nextInt(OFFER_IDS.size())));
+                    break;
+                default:
+                    addressEntryList.setCoinLockedInMultiSigAddressEntry(entry, random.nextInt(1000));
+                    break;
+            }
+            assertIndexesMatchLinearScan(addressEntryList);
+        }
+    }
+
+    @Test
+    public void testIndexesAfterProtoRoundTrip() {
+        for (int i = 0; i < 50; i++) {
+            addressEntryList.addAddressEntry(new AddressEntry(randomKey(), randomContext(),
+                    randomOfferId(), random.nextBoolean()));
+        }
+        AddressEntryList fromProto = AddressEntryList.fromProto(
+                ((protobuf.PersistableEnvelope) addressEntryList.toProtoMessage()).getAddressEntryList());
+        assertEquals(addressEntryList.getAddressEntries().size(), fromProto.getAddressEntries().size());
+        assertIndexesMatchLinearScan(fromProto);
+    }
+
+    private void assertIndexesMatchLinearScan(AddressEntryList list) {
+        for (String offerId : OFFER_IDS) {
+            assertEquals(scan(list, e -> offerId.equals(e.getOfferId())),
+                    new HashSet<>(list.getAddressEntriesByOfferId(offerId)));
+            for (AddressEntry.Context context : AddressEntry.Context.values()) {
+                assertEquals(scan(list, e -> offerId.equals(e.getOfferId()) && context == e.getContext()).isEmpty(),
+                        list.findAddressEntry(offerId, context).isEmpty());
+            }
+        }
+        for (AddressEntry.Context context : AddressEntry.Context.values()) {
+            assertEquals(scan(list, e -> context == e.getContext()),
+                    new HashSet<>(list.getAddressEntriesByContext(context)));
+        }
+        for (DeterministicKey key : keys) {
+            for (boolean segwit : new boolean[]{true, false}) {
+                String addressString = new AddressEntry(key, AddressEntry.Context.AVAILABLE, segwit).getAddressString();
+                assertEquals(scan(list, e -> addressString.equals(e.getAddressString())),
+                        new HashSet<>(list.getAddressEntriesByAddress(addressString)));
+            }
+        }
+    }
+
+    private static Set<AddressEntry> scan(AddressEntryList list, Predicate<AddressEntry> predicate) {
+        return list.getAddressEntries().stream()
+                .filter(predicate)
+                .collect(Collectors.toSet());
+    }
+
+    private DeterministicKey randomKey() {
+        return keys.get(random.nextInt(keys.size()));
+    }
+
+    private AddressEntry.Context randomContext() {
+        AddressEntry.Context[] contexts = AddressEntry.Context.values();
+        return contexts[random.nextInt(contexts.length)];
+    }
+
+    private String randomOfferId() {
+        return random.nextBoolean() ? OFFER_IDS.get(random.nextInt(OFFER_IDS.size())) : null;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxInput;
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+import bisq.core.dao.state.model.blockchain.TxOutputType;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BsqBalanceLedgerTest {
+    private DaoStateService daoStateService;
+    private BsqBalanceLedger ledger;
+    private final Set<TxOutputKey> unspentKeys = new HashSet<>();
+    private final Set<TxOutput> txOutputs = new HashSet<>();
+    private boolean lockTimeOver;
+
+    @BeforeEach
+    public void setUp() {
+        daoStateService = mock(DaoStateService.class);
+        when(daoStateService.getTx(anyString())).thenReturn(Optional.empty());
+        when(daoStateService.isUnspent(any())).thenAnswer(invocation -> unspentKeys.contains(invocation.getArgument(0)));
+        when(daoStateService.isLockTimeOverForUnlockTxOutput(any())).thenAnswer(invocation -> lockTimeOver);
+        when(daoStateService.getUnspentBlindVoteStakeTxOutputs()).thenAnswer(invocation ->
+                filterUnspent(TxOutputType.BLIND_VOTE_LOCK_STAKE_OUTPUT));
+        when(daoStateService.getLockupTxOutputs()).thenAnswer(invocation ->
+                txOutputs.stream()
+                        .filter(txOutput -> txOutput.getTxOutputType() == TxOutputType.LOCKUP_OUTPUT)
+                        .collect(Collectors.toSet()));
+        when(daoStateService.getUnspentUnlockingTxOutputsStream()).thenAnswer(invocation ->
+                lockTimeOver ? Stream.empty() : filterUnspent(TxOutputType.UNLOCK_OUTPUT).stream());
+        ledger = new BsqBalanceLedger(daoStateService);
+        ledger.setVerifyWithFullRecompute(false);
+    }
+
+    @Test
+    public void testLockupAndUnlock() {
+        TxOutput lockupOutput = addTx("lockupTx", TxOutputType.LOCKUP_OUTPUT, 1000, List.of());
+        ledger.onConfirmedTxIdsChanged(Set.of("lockupTx"));
+        ledger.applyChanges();
+        assertBalances(0, 1000, 0);
+
+        // Unlock tx spends the lockup output
+        unspentKeys.remove(lockupOutput.getKey());
+        addTx("unlockTx", TxOutputType.UNLOCK_OUTPUT, 1000, List.of("lockupTx"));
+        ledger.onParseBlockComplete(mockBlock(101, "unlockTx", List.of("lockupTx")));
+        ledger.onConfirmedTxIdsChanged(Set.of("lockupTx", "unlockTx"));
+        ledger.applyChanges();
+        assertBalances(0, 0, 1000);
+
+        // Lock time is over at next block
+        lockTimeOver = true;
+        ledger.onParseBlockComplete(mockBlock(102, null, List.of()));
+        ledger.applyChanges();
+        assertBalances(0, 0, 0);
+    }
+
+    @Test
+    public void testBlindVoteStakeAndReorg() {
+        addTx("blindVoteTx", TxOutputType.BLIND_VOTE_LOCK_STAKE_OUTPUT, 500, List.of());
+        ledger.onConfirmedTxIdsChanged(Set.of("blindVoteTx"));
+        ledger.applyChanges();
+        assertBalances(500, 0, 0);
+
+        // Tx got removed from the confirmed set (e.g. wallet reorg)
+        ledger.onConfirmedTxIdsChanged(Set.of());
+        ledger.applyChanges();
+        assertBalances(0, 0, 0);
+    }
+
+    @Test
+    public void testVerifyWithFullRecomputeRepairsMissedChange() {
+        TxOutput stakeOutput = addTx("blindVoteTx", TxOutputType.BLIND_VOTE_LOCK_STAKE_OUTPUT, 500, List.of());
+        ledger.onConfirmedTxIdsChanged(Set.of("blindVoteTx"));
+        ledger.applyChanges();
+        assertBalances(500, 0, 0);
+
+        // Spend without notifying the ledger about the block
+        unspentKeys.remove(stakeOutput.getKey());
+        ledger.applyChanges();
+        assertBalances(500, 0, 0);
+
+        ledger.setVerifyWithFullRecompute(true);
+        ledger.applyChanges();
+        assertBalances(0, 0, 0);
+    }
+
+    private TxOutput addTx(String txId, TxOutputType txOutputType, long value, List<String> connectedTxIds) {
+        TxOutputKey key = new TxOutputKey(txId, 0);
+        TxOutput txOutput = mock(TxOutput.class);
+        when(txOutput.getTxOutputType()).thenReturn(txOutputType);
+        when(txOutput.getValue()).thenReturn(value);
+        when(txOutput.getKey()).thenReturn(key);
+        when(txOutput.getTxId()).thenReturn(txId);
+
+        Tx tx = mock(Tx.class);
+        when(tx.getId()).thenReturn(txId);
+        when(tx.getTxOutputs()).thenReturn(ImmutableList.of(txOutput));
+        when(tx.getTxInputs()).thenReturn(toTxInputs(connectedTxIds));
+        when(daoStateService.getTx(txId)).thenReturn(Optional.of(tx));
+
+        unspentKeys.add(key);
+        txOutputs.add(txOutput);
+        return txOutput;
+    }
+
+    private Block mockBlock(int height, String txId, List<String> connectedTxIds) {
+        Block block = mock(Block.class);
+        when(block.getHeight()).thenReturn(height);
+        if (txId == null) {
+            when(block.getTxs()).thenReturn(ImmutableList.of());
+        } else {
+            Tx tx = daoStateService.getTx(txId).orElseThrow();
+            when(tx.getTxInputs()).thenReturn(toTxInputs(connectedTxIds));
+            when(block.getTxs()).thenReturn(ImmutableList.of(tx));
+        }
+        return block;
+    }
+
+    private ImmutableList<TxInput> toTxInputs(List<String> connectedTxIds) {
+        return connectedTxIds.stream()
+                .map(connectedTxId -> new TxInput(connectedTxId, 0, null))
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    private Set<TxOutput> filterUnspent(TxOutputType txOutputType) {
+        return txOutputs.stream()
+                .filter(txOutput -> txOutput.getTxOutputType() == txOutputType)
+                .filter(txOutput -> unspentKeys.contains(txOutput.getKey()))
+                .collect(Collectors.toSet());
+    }
+
+    private void assertBalances(long lockedForVoting, long lockupBonds, long unlockingBonds) {
+        assertEquals(lockedForVoting, ledger.getLockedForVotingBalance());
+        assertEquals(lockupBonds, ledger.getLockupBondsBalance());
+        assertEquals(unlockingBonds, ledger.getUnlockingBondsBalance());
+    }
+}
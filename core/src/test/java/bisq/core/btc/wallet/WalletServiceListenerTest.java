@@ -0,0 +1,219 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import bisq.core.btc.listeners.AddressConfidenceListener;
+import bisq.core.btc.listeners.BalanceListener;
+import bisq.core.btc.listeners.TxConfidenceListener;
+import bisq.core.btc.setup.WalletsSetup;
+import bisq.core.provider.fee.FeeService;
+import bisq.core.user.Preferences;
+
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.Context;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutput;
+import org.bitcoinj.core.listeners.TransactionConfidenceEventListener;
+import org.bitcoinj.params.MainNetParams;
+import org.bitcoinj.script.Script;
+import org.bitcoinj.wallet.Wallet;
+import org.bitcoinj.wallet.listeners.WalletCoinsReceivedEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the listeners notified via the listener indexes of WalletService with a linear scan over all registered
+ * listeners, as it was done before the indexes got added.
+ */
+public class WalletServiceListenerTest {
+    private final NetworkParameters params = MainNetParams.get();
+    private final List<Address> addresses = new ArrayList<>();
+    private final Map<Object, Integer> numCallsByListener = new HashMap<>();
+    private WalletService walletService;
+    private Wallet wallet;
+    private TransactionConfidenceEventListener confidenceEventListener;
+    private WalletCoinsReceivedEventListener coinsReceivedEventListener;
+    private Transaction fundingTx;
+    private Transaction spendingTx;
+    private Transaction unrelatedTx;
+
+    @BeforeEach
+    public void setUp() {
+        Context.propagate(new Context(params));
+        WalletsSetup walletsSetup = mock(WalletsSetup.class);
+        when(walletsSetup.getParams()).thenReturn(params);
+        walletService = new WalletService(walletsSetup, mock(Preferences.class), mock(FeeService.class)) {
+            @Override
+            String getWalletAsString(boolean includePrivKeys) {
+                return "";
+            }
+
+            @Override
+            protected boolean isDustAttackUtxo(TransactionOutput output) {
+                return false;
+            }
+        };
+        wallet = mock(Wallet.class);
+        walletService.wallet = wallet;
+        walletService.addListenersToWallet();
+
+        ArgumentCaptor<TransactionConfidenceEventListener> confidenceCaptor =
+                ArgumentCaptor.forClass(TransactionConfidenceEventListener.class);
+        verify(wallet).addTransactionConfidenceEventListener(confidenceCaptor.capture());
+        confidenceEventListener = confidenceCaptor.getValue();
+        ArgumentCaptor<WalletCoinsReceivedEventListener> coinsReceivedCaptor =
+                ArgumentCaptor.forClass(WalletCoinsReceivedEventListener.class);
+        verify(wallet).addCoinsReceivedEventListener(coinsReceivedCaptor.capture());
+        coinsReceivedEventListener = coinsReceivedCaptor.getValue();
+
+        for (int i = 0; i < 5; i++) {
+            addresses.add(Address.fromKey(params, new ECKey(), Script.ScriptType.P2WPKH));
+        }
+        fundingTx = new Transaction(params);
+        fundingTx.addOutput(Coin.COIN, addresses.get(0));
+        fundingTx.addOutput(Coin.COIN, addresses.get(1));
+        spendingTx = new Transaction(params);
+        spendingTx.addInput(fundingTx.getOutput(0));
+        spendingTx.addOutput(Coin.CENT, addresses.get(2));
+        unrelatedTx = new Transaction(params);
+        unrelatedTx.addOutput(Coin.COIN, Address.fromKey(params, new ECKey(), Script.ScriptType.P2WPKH));
+    }
+
+    @Test
+    public void testAddressConfidenceListenersMatchLinearScan() {
+        List<AddressConfidenceListener> listeners = new ArrayList<>();
+        for (Address address : addresses) {
+            for (int i = 0; i < 2; i++) {
+                AddressConfidenceListener listener = new AddressConfidenceListener(address) {
+                    @Override
+                    public void onTransactionConfidenceChanged(TransactionConfidence confidence) {
+                        assertNotNull(confidence);
+                        onCalled(this);
+                    }
+                };
+                walletService.addAddressConfidenceListener(listener);
+                listeners.add(listener);
+            }
+        }
+        // Removing a listener keeps the other listener of the same address
+        walletService.removeAddressConfidenceListener(listeners.remove(0));
+        // Removing both listeners of an address removes it from the index
+        walletService.removeAddressConfidenceListener(listeners.remove(2));
+        walletService.removeAddressConfidenceListener(listeners.remove(1));
+
+        for (Transaction tx : List.of(fundingTx, spendingTx, unrelatedTx)) {
+            numCallsByListener.clear();
+            confidenceEventListener.onTransactionConfidenceChanged(wallet, tx);
+            // Before, each listener got called, but with a null confidence if the tx does not use its address
+            Set<Object> expected = listeners.stream()
+                    .filter(listener -> getAddressesOfTx(tx).contains(listener.getAddress()))
+                    .collect(Collectors.toSet());
+            assertEquals(expected, numCallsByListener.keySet());
+            numCallsByListener.values().forEach(numCalls -> assertEquals(1, numCalls));
+        }
+    }
+
+    @Test
+    public void testTxConfidenceListenersMatchLinearScan() {
+        List<TxConfidenceListener> listeners = new ArrayList<>();
+        for (Transaction tx : List.of(fundingTx, spendingTx, fundingTx)) {
+            TxConfidenceListener listener = new TxConfidenceListener(tx.getTxId().toString()) {
+                @Override
+                public void onTransactionConfidenceChanged(TransactionConfidence confidence) {
+                    onCalled(this);
+                }
+            };
+            walletService.addTxConfidenceListener(listener);
+            listeners.add(listener);
+        }
+        walletService.removeTxConfidenceListener(listeners.remove(1));
+
+        for (Transaction tx : List.of(fundingTx, spendingTx, unrelatedTx)) {
+            numCallsByListener.clear();
+            confidenceEventListener.onTransactionConfidenceChanged(wallet, tx);
+            Set<Object> expected = listeners.stream()
+                    .filter(listener -> tx.getTxId().toString().equals(listener.getTxId()))
+                    .collect(Collectors.toSet());
+            assertEquals(expected, numCallsByListener.keySet());
+        }
+    }
+
+    @Test
+    public void testBalanceListenersMatchLinearScan() {
+        List<BalanceListener> listeners = new ArrayList<>();
+        for (Address address : addresses) {
+            BalanceListener listener = new BalanceListener(address) {
+                @Override
+                public void onBalanceChanged(Coin balance, Transaction tx) {
+                    onCalled(this);
+                }
+            };
+            walletService.addBalanceListener(listener);
+            listeners.add(listener);
+        }
+        walletService.removeBalanceListener(listeners.remove(1));
+
+        for (Transaction tx : List.of(fundingTx, spendingTx, unrelatedTx)) {
+            numCallsByListener.clear();
+            coinsReceivedEventListener.onCoinsReceived(wallet, tx, Coin.ZERO, Coin.ZERO);
+            // Before, each listener got called. The balance of the other addresses cannot have changed by that tx.
+            Set<Object> expected = listeners.stream()
+                    .filter(listener -> getAddressesOfTx(tx).contains(listener.getAddress()))
+                    .collect(Collectors.toSet());
+            assertEquals(expected, numCallsByListener.keySet());
+        }
+    }
+
+    private void onCalled(Object listener) {
+        numCallsByListener.merge(listener, 1, Integer::sum);
+    }
+
+    // The addresses of the outputs and of the connected outputs of the inputs
+    private static Set<Address> getAddressesOfTx(Transaction tx) {
+        List<TransactionOutput> outputs = new ArrayList<>(tx.getOutputs());
+        tx.getInputs().stream()
+                .map(TransactionInput::getConnectedOutput)
+                .filter(Objects::nonNull)
+                .forEach(outputs::add);
+        return outputs.stream()
+                .map(WalletService::getAddressFromOutput)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
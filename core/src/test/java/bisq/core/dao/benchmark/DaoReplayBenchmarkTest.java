@@ -0,0 +1,118 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.benchmark;
+
+import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.state.GenesisTxInfo;
+
+import java.nio.file.Path;
+
+import java.io.File;
+
+import java.util.List;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The small replay runs with each build. The benchmark runs with a realistic number of blocks with
+ * `./gradlew :core:daoReplayBenchmark`. Recorded blocks can be replayed by adding
+ * `-DdaoReplayFixture=<path to fixture>`, see SyntheticBlockGenerator.writeFixture for the format.
+ * The benchmark fails if a cost exceeds the limit set by the daoReplayMin* and daoReplayMax* system properties,
+ * see the daoReplayBenchmark task in core/build.gradle for the defaults.
+ */
+@Slf4j
+public class DaoReplayBenchmarkTest {
+    private static final String GENESIS_TX_ID = "4b5417ec5ab6112bedf539c3b4f5a806ed539542d8b717e1c4470aa3180edce5";
+    private static final int GENESIS_BLOCK_HEIGHT = 571747;
+    private static final long GENESIS_TOTAL_SUPPLY = 365_748_000;
+
+    private final GenesisTxInfo genesisTxInfo = new GenesisTxInfo(GENESIS_TX_ID, GENESIS_BLOCK_HEIGHT,
+            GENESIS_TOTAL_SUPPLY);
+
+    @Test
+    public void testReplayIsDeterministic() throws Exception {
+        List<RawBlock> blocks = generate(100, 20, 20);
+        DaoReplayHarness.Result result = new DaoReplayHarness(genesisTxInfo, true, true).replay(blocks);
+        log.info("Replay: {}", result);
+
+        // All generated BSQ txs are detected as BSQ txs
+        assertEquals(1 + 99 * 20, result.getNumBsqTxs());
+        assertEquals(100, result.getNumBlocks());
+
+        DaoReplayHarness.Result secondResult = new DaoReplayHarness(genesisTxInfo, false, false)
+                .replay(generate(100, 20, 20));
+        assertEquals(result.getStateHash(), secondResult.getStateHash());
+        assertEquals(0, secondResult.getNumSnapshots());
+    }
+
+    @Test
+    public void testFixtureRoundTrip(@TempDir Path tempDir) throws Exception {
+        List<RawBlock> blocks = generate(20, 5, 5);
+        File fixture = tempDir.resolve("blocks.bin").toFile();
+        SyntheticBlockGenerator.writeFixture(blocks, fixture);
+        assertEquals(blocks, SyntheticBlockGenerator.readFixture(fixture));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "daoReplayBenchmark", matches = "true")
+    public void benchmarkReplay() throws Exception {
+        String fixturePath = System.getProperty("daoReplayFixture", "");
+        List<RawBlock> blocks = fixturePath.isEmpty() ?
+                generate(3000, 30, 100) :
+                SyntheticBlockGenerator.readFixture(new File(fixturePath));
+
+        // Warm up with a separate run, as each replay starts with a new DAO state
+        new DaoReplayHarness(genesisTxInfo, true, true).replay(blocks.subList(0, Math.min(500, blocks.size())));
+
+        DaoReplayHarness.Result parsingOnly = new DaoReplayHarness(genesisTxInfo, false, false).replay(blocks);
+        log.info("Parsing only: {}", parsingOnly);
+        DaoReplayHarness.Result fullReplay = new DaoReplayHarness(genesisTxInfo, true, true).replay(blocks);
+        log.info("Parsing with hash chain and snapshots: {}", fullReplay);
+
+        getLimit("daoReplayMinBlocksPerSecond").ifPresent(limit ->
+                assertTrue(parsingOnly.getBlocksPerSecond() >= limit,
+                        "Parsed blocks/sec " + parsingOnly.getBlocksPerSecond() + " is below " + limit));
+        getLimit("daoReplayMaxAllocatedBytesPerBlock").ifPresent(limit ->
+                assertTrue(parsingOnly.getAllocatedBytesPerBlock() <= limit,
+                        "Allocated bytes/block " + parsingOnly.getAllocatedBytesPerBlock() + " exceeds " + limit));
+        getLimit("daoReplayMaxHashChainMillisPerBlock").ifPresent(limit ->
+                assertTrue(fullReplay.getHashChainMillisPerBlock() <= limit,
+                        "Hash chain ms/block " + fullReplay.getHashChainMillisPerBlock() + " exceeds " + limit));
+        getLimit("daoReplayMaxMillisPerSnapshot").ifPresent(limit ->
+                assertTrue(fullReplay.getMillisPerSnapshot() <= limit,
+                        "ms/snapshot " + fullReplay.getMillisPerSnapshot() + " exceeds " + limit));
+    }
+
+    private static Optional<Double> getLimit(String propertyName) {
+        String value = System.getProperty(propertyName, "");
+        return value.isEmpty() ? Optional.empty() : Optional.of(Double.parseDouble(value));
+    }
+
+    private List<RawBlock> generate(int numBlocks, int numBsqTxsPerBlock, int numNonBsqTxsPerBlock) {
+        return new SyntheticBlockGenerator(1, GENESIS_TX_ID, GENESIS_BLOCK_HEIGHT, GENESIS_TOTAL_SUPPLY)
+                .generate(numBlocks, numBsqTxsPerBlock, numNonBsqTxsPerBlock);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.benchmark;
+
+import bisq.core.dao.governance.period.PeriodService;
+import bisq.core.dao.monitoring.DaoStateMonitoringService;
+import bisq.core.dao.monitoring.network.DaoStateNetworkService;
+import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.node.parser.BlockParser;
+import bisq.core.dao.node.parser.TxParser;
+import bisq.core.dao.node.parser.exceptions.BlockHashNotConnectingException;
+import bisq.core.dao.node.parser.exceptions.BlockHeightNotConnectingException;
+import bisq.core.dao.state.BsqTxPrefilter;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.DaoStateSnapshotService;
+import bisq.core.dao.state.GenesisTxInfo;
+import bisq.core.dao.state.model.DaoState;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.storage.DaoStateStorageService;
+import bisq.core.user.Preferences;
+import bisq.core.util.coin.BsqFormatter;
+
+import bisq.network.p2p.seed.SeedNodeRepository;
+
+import bisq.common.crypto.Hash;
+import bisq.common.util.Hex;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import java.io.File;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replays RawBlocks through the real DAO pipeline (BlockParser, TxParser, DaoStateService, DaoStateMonitoringService
+ * and DaoStateSnapshotService) and measures the cost of each stage. Network, wallet and disk access are mocked.
+ * <p>
+ * The snapshot cost includes the serialization of the snapshot which is done by the persistence thread in the
+ * application, but not the disk write. Allocation is measured for the parsing thread only and is 0 if the JVM does
+ * not support thread allocation counters.
+ */
+@Slf4j
+public class DaoReplayHarness {
+    @Value
+    public static class Result {
+        int numBlocks;
+        int numBsqTxs;
+        long parseNanos;
+        long allocatedBytes;
+        long hashChainNanos;
+        long snapshotNanos;
+        int numSnapshots;
+        String stateHash;
+
+        public double getBlocksPerSecond() {
+            return parseNanos > 0 ? numBlocks * 1_000_000_000d / parseNanos : 0;
+        }
+
+        public long getAllocatedBytesPerBlock() {
+            return numBlocks > 0 ? allocatedBytes / numBlocks : 0;
+        }
+
+        public double getHashChainMillisPerBlock() {
+            return numBlocks > 0 ? hashChainNanos / 1_000_000d / numBlocks : 0;
+        }
+
+        public double getMillisPerSnapshot() {
+            return numSnapshots > 0 ? snapshotNanos / 1_000_000d / numSnapshots : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d blocks with %d BSQ txs: %.0f blocks/sec, %d bytes allocated/block, " +
+                            "hash chain %.3f ms/block, %d snapshots with %.1f ms/snapshot",
+                    numBlocks, numBsqTxs, getBlocksPerSecond(), getAllocatedBytesPerBlock(),
+                    getHashChainMillisPerBlock(), numSnapshots, getMillisPerSnapshot());
+        }
+    }
+
+    private final GenesisTxInfo genesisTxInfo;
+    private final boolean withHashChain;
+    private final boolean withSnapshots;
+
+    public DaoReplayHarness(GenesisTxInfo genesisTxInfo, boolean withHashChain, boolean withSnapshots) {
+        this.genesisTxInfo = genesisTxInfo;
+        this.withHashChain = withHashChain;
+        this.withSnapshots = withSnapshots;
+    }
+
+    public Result replay(List<RawBlock> rawBlocks)
+            throws BlockHashNotConnectingException, BlockHeightNotConnectingException {
+        BsqTxPrefilter bsqTxPrefilter = new BsqTxPrefilter(genesisTxInfo, false);
+        DaoStateService daoStateService = new DaoStateService(new DaoState(), genesisTxInfo, new BsqFormatter(),
+                bsqTxPrefilter);
+        daoStateService.start();
+        BlockParser blockParser = new BlockParser(new TxParser(new PeriodService(daoStateService), daoStateService),
+                daoStateService,
+                bsqTxPrefilter);
+
+        File storageDir = new File(System.getProperty("java.io.tmpdir"));
+        DaoStateMonitoringService daoStateMonitoringService = new DaoStateMonitoringService(daoStateService,
+                mock(DaoStateNetworkService.class),
+                genesisTxInfo,
+                mock(SeedNodeRepository.class),
+                mock(Preferences.class),
+                storageDir,
+                true);
+
+        AtomicInteger numSnapshots = new AtomicInteger();
+        AtomicInteger chainHeightOfPersistedBlocks = new AtomicInteger();
+        DaoStateStorageService daoStateStorageService = mock(DaoStateStorageService.class);
+        when(daoStateStorageService.getChainHeightOfPersistedBlocks()).thenAnswer(invocation ->
+                chainHeightOfPersistedBlocks.get());
+        doAnswer(invocation -> {
+            protobuf.DaoState daoStateAsProto = invocation.getArgument(0);
+            List<Block> blocks = invocation.getArgument(1);
+            // Done at the persistence thread in the app
+            daoStateAsProto.toByteArray();
+            blocks.forEach(block -> block.toProtoMessage().toByteArray());
+            if (!blocks.isEmpty()) {
+                chainHeightOfPersistedBlocks.set(blocks.get(blocks.size() - 1).getHeight());
+            }
+            numSnapshots.incrementAndGet();
+            ((Runnable) invocation.getArgument(3)).run();
+            return null;
+        }).when(daoStateStorageService).requestPersistence(any(), any(), any(), any());
+        DaoStateSnapshotService daoStateSnapshotService = new DaoStateSnapshotService(daoStateService,
+                genesisTxInfo,
+                daoStateStorageService,
+                daoStateMonitoringService,
+                null,
+                null,
+                mock(Preferences.class),
+                null,
+                storageDir);
+
+        long parseNanos = 0;
+        long hashChainNanos = 0;
+        long snapshotNanos = 0;
+        long allocatedBytes = 0;
+        int numBsqTxs = 0;
+        for (RawBlock rawBlock : rawBlocks) {
+            long allocatedBefore = getAllocatedBytes();
+            long ts = System.nanoTime();
+            Block block = blockParser.parseBlock(rawBlock);
+            parseNanos += System.nanoTime() - ts;
+            allocatedBytes += getAllocatedBytes() - allocatedBefore;
+            numBsqTxs += block.getTxs().size();
+
+            if (withHashChain) {
+                ts = System.nanoTime();
+                daoStateMonitoringService.createHashFromBlock(block);
+                hashChainNanos += System.nanoTime() - ts;
+            }
+
+            if (withSnapshots) {
+                ts = System.nanoTime();
+                daoStateSnapshotService.maybeCreateSnapshot(block);
+                snapshotNanos += System.nanoTime() - ts;
+            }
+        }
+
+        String stateHash = Hex.encode(Hash.getSha256Ripemd160hash(daoStateService.getSerializedStateForHashChain()));
+        return new Result(rawBlocks.size(),
+                numBsqTxs,
+                parseNanos,
+                allocatedBytes,
+                hashChainNanos,
+                snapshotNanos,
+                numSnapshots.get(),
+                stateHash);
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled()) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
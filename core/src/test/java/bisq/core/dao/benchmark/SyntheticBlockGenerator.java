@@ -0,0 +1,261 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.benchmark;
+
+import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.node.full.RawTx;
+import bisq.core.dao.state.model.blockchain.RawTxOutput;
+import bisq.core.dao.state.model.blockchain.TxInput;
+
+import bisq.common.crypto.Hash;
+import bisq.common.util.Hex;
+
+import com.google.common.collect.ImmutableList;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import lombok.Value;
+
+/**
+ * Creates a deterministic chain of RawBlocks starting with a genesis block. Each block contains a configurable number
+ * of BSQ transactions and of non-BSQ transactions.
+ * <p>
+ * BSQ txs are roughly distributed like on mainnet: half of them are BSQ transfers with a BSQ change output, about a
+ * third are BSQ trade fee txs which burn a part of the BSQ input and the rest are consolidation txs spending several
+ * BSQ outputs. Only outputs of previous blocks get spent. Non-BSQ txs only spend outputs unknown to the DAO state.
+ * <p>
+ * Blocks can be written to and read from a fixture file as length delimited protobuf messages, so recorded blocks
+ * can be replayed the same way.
+ */
+public class SyntheticBlockGenerator {
+    private static final long TRADE_FEE = 1_000;
+    private static final long BTC_OUTPUT_VALUE = 10_000_000;
+    private static final int NUM_GENESIS_OUTPUTS = 500;
+
+    @Value
+    private static class BsqOutput {
+        String txId;
+        int index;
+        long value;
+    }
+
+    private final Random random;
+    private final String genesisTxId;
+    private final int genesisBlockHeight;
+    private final long genesisTotalSupply;
+    private final List<BsqOutput> spendableBsqOutputs = new ArrayList<>();
+    private int txCounter;
+
+    public SyntheticBlockGenerator(long seed, String genesisTxId, int genesisBlockHeight, long genesisTotalSupply) {
+        this.random = new Random(seed);
+        this.genesisTxId = genesisTxId;
+        this.genesisBlockHeight = genesisBlockHeight;
+        this.genesisTotalSupply = genesisTotalSupply;
+    }
+
+    public List<RawBlock> generate(int numBlocks, int numBsqTxsPerBlock, int numNonBsqTxsPerBlock) {
+        List<RawBlock> blocks = new ArrayList<>();
+        String previousBlockHash = "";
+        for (int i = 0; i < numBlocks; i++) {
+            int height = genesisBlockHeight + i;
+            String hash = createHash("block" + height);
+            List<RawTx> rawTxs = new ArrayList<>();
+            List<BsqOutput> newBsqOutputs = new ArrayList<>();
+            if (i == 0) {
+                rawTxs.add(createGenesisTx(height, hash, newBsqOutputs));
+            } else {
+                for (int j = 0; j < numBsqTxsPerBlock && !spendableBsqOutputs.isEmpty(); j++) {
+                    rawTxs.add(createBsqTx(height, hash, newBsqOutputs));
+                }
+            }
+            for (int j = 0; j < numNonBsqTxsPerBlock; j++) {
+                rawTxs.add(createNonBsqTx(height, hash));
+            }
+            // We shuffle the txs as in real blocks the BSQ txs are not grouped together
+            Collections.shuffle(rawTxs, random);
+            spendableBsqOutputs.addAll(newBsqOutputs);
+
+            blocks.add(toRawBlock(height, hash, previousBlockHash, rawTxs));
+            previousBlockHash = hash;
+        }
+        return blocks;
+    }
+
+    public static void writeFixture(List<RawBlock> blocks, File file) throws IOException {
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            for (RawBlock block : blocks) {
+                block.toProtoMessage().writeDelimitedTo(outputStream);
+            }
+        }
+    }
+
+    public static List<RawBlock> readFixture(File file) throws IOException {
+        List<RawBlock> blocks = new ArrayList<>();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            protobuf.BaseBlock proto;
+            while ((proto = protobuf.BaseBlock.parseDelimitedFrom(inputStream)) != null) {
+                blocks.add(RawBlock.fromProto(proto));
+            }
+        }
+        return blocks;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private RawTx createGenesisTx(int height, String blockHash, List<BsqOutput> newBsqOutputs) {
+        List<RawTxOutput> outputs = new ArrayList<>();
+        long value = genesisTotalSupply / NUM_GENESIS_OUTPUTS;
+        for (int i = 0; i < NUM_GENESIS_OUTPUTS; i++) {
+            long outputValue = i == NUM_GENESIS_OUTPUTS - 1 ?
+                    genesisTotalSupply - value * (NUM_GENESIS_OUTPUTS - 1) :
+                    value;
+            outputs.add(createOutput(i, outputValue, genesisTxId, height));
+            newBsqOutputs.add(new BsqOutput(genesisTxId, i, outputValue));
+        }
+        return createTx(genesisTxId, height, blockHash, List.of(createBtcInput()), outputs);
+    }
+
+    private RawTx createBsqTx(int height, String blockHash, List<BsqOutput> newBsqOutputs) {
+        String txId = createHash("tx" + txCounter++);
+        int type = random.nextInt(6);
+        List<TxInput> inputs = new ArrayList<>();
+        List<RawTxOutput> outputs = new ArrayList<>();
+        if (type < 3) {
+            // BSQ transfer: receiver and BSQ change, BTC input and change for the miner fee
+            BsqOutput spent = takeRandomBsqOutput();
+            inputs.add(new TxInput(spent.getTxId(), spent.getIndex(), null));
+            inputs.add(createBtcInput());
+            long amount = spent.getValue() > 1 ? 1 + (long) (random.nextDouble() * (spent.getValue() - 1)) : 1;
+            addBsqOutput(txId, height, amount, outputs, newBsqOutputs);
+            if (spent.getValue() > amount) {
+                addBsqOutput(txId, height, spent.getValue() - amount, outputs, newBsqOutputs);
+            }
+            outputs.add(createOutput(outputs.size(), BTC_OUTPUT_VALUE, txId, height));
+        } else if (type < 5) {
+            // BSQ trade fee: BSQ change and BTC outputs, the remaining BSQ gets burned
+            BsqOutput spent = takeRandomBsqOutput();
+            inputs.add(new TxInput(spent.getTxId(), spent.getIndex(), null));
+            inputs.add(createBtcInput());
+            inputs.add(createBtcInput());
+            long fee = Math.min(TRADE_FEE, spent.getValue());
+            if (spent.getValue() > fee) {
+                addBsqOutput(txId, height, spent.getValue() - fee, outputs, newBsqOutputs);
+            }
+            outputs.add(createOutput(outputs.size(), BTC_OUTPUT_VALUE, txId, height));
+            outputs.add(createOutput(outputs.size(), BTC_OUTPUT_VALUE, txId, height));
+        } else {
+            // Consolidation of several BSQ outputs into one
+            long sum = 0;
+            int numInputs = 2 + random.nextInt(4);
+            for (int i = 0; i < numInputs && !spendableBsqOutputs.isEmpty(); i++) {
+                BsqOutput spent = takeRandomBsqOutput();
+                inputs.add(new TxInput(spent.getTxId(), spent.getIndex(), null));
+                sum += spent.getValue();
+            }
+            inputs.add(createBtcInput());
+            addBsqOutput(txId, height, sum, outputs, newBsqOutputs);
+            outputs.add(createOutput(outputs.size(), BTC_OUTPUT_VALUE, txId, height));
+        }
+        return createTx(txId, height, blockHash, inputs, outputs);
+    }
+
+    private RawTx createNonBsqTx(int height, String blockHash) {
+        String txId = createHash("tx" + txCounter++);
+        List<TxInput> inputs = List.of(createBtcInput(), createBtcInput());
+        List<RawTxOutput> outputs = List.of(createOutput(0, BTC_OUTPUT_VALUE, txId, height),
+                createOutput(1, BTC_OUTPUT_VALUE, txId, height));
+        return createTx(txId, height, blockHash, inputs, outputs);
+    }
+
+    private void addBsqOutput(String txId,
+                              int height,
+                              long value,
+                              List<RawTxOutput> outputs,
+                              List<BsqOutput> newBsqOutputs) {
+        int index = outputs.size();
+        outputs.add(createOutput(index, value, txId, height));
+        newBsqOutputs.add(new BsqOutput(txId, index, value));
+    }
+
+    private BsqOutput takeRandomBsqOutput() {
+        int index = random.nextInt(spendableBsqOutputs.size());
+        // Swap with last for O(1) removal
+        BsqOutput last = spendableBsqOutputs.remove(spendableBsqOutputs.size() - 1);
+        if (index == spendableBsqOutputs.size()) {
+            return last;
+        }
+        return spendableBsqOutputs.set(index, last);
+    }
+
+    private TxInput createBtcInput() {
+        // Outputs of txs which are not known to the DAO
+        return new TxInput(createHash("btc" + random.nextLong()), random.nextInt(3), null);
+    }
+
+    private RawTxOutput createOutput(int index, long value, String txId, int height) {
+        String address = "bc1q" + createHash("address" + random.nextInt(10_000)).substring(0, 38);
+        return new RawTxOutput(index, value, txId, null, address, null, height);
+    }
+
+    private static RawTx createTx(String txId,
+                                  int height,
+                                  String blockHash,
+                                  List<TxInput> inputs,
+                                  List<RawTxOutput> outputs) {
+        return new RawTx(txId,
+                height,
+                blockHash,
+                1600000000000L + height * 600_000L,
+                ImmutableList.copyOf(inputs),
+                ImmutableList.copyOf(outputs));
+    }
+
+    private static RawBlock toRawBlock(int height, String hash, String previousBlockHash, List<RawTx> rawTxs) {
+        // RawBlock has no public constructor, so we create it from its proto message
+        return RawBlock.fromProto(protobuf.BaseBlock.newBuilder()
+                .setHeight(height)
+                .setTime(1600000000000L + height * 600_000L)
+                .setHash(hash)
+                .setPreviousBlockHash(previousBlockHash)
+                .setRawBlock(protobuf.RawBlock.newBuilder()
+                        .addAllRawTxs(rawTxs.stream()
+                                .map(RawTx::toProtoMessage)
+                                .collect(Collectors.toList())))
+                .build());
+    }
+
+    private static String createHash(String seed) {
+        return Hex.encode(Hash.getSha256Hash(seed.getBytes(StandardCharsets.UTF_8)));
+    }
+}
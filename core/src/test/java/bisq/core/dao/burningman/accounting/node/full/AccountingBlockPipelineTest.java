@@ -0,0 +1,180 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.burningman.accounting.node.full;
+
+import bisq.core.dao.burningman.accounting.blockchain.AccountingBlock;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// UserThread uses a direct executor in tests, so the callbacks of the futures are executed synchronously.
+public class AccountingBlockPipelineTest {
+    private final Map<Integer, SettableFuture<AccountingBlock>> futureByHeight = new HashMap<>();
+    private final List<Integer> requestedHeights = new ArrayList<>();
+    private final List<Integer> committedHeights = new ArrayList<>();
+    private final AtomicInteger numCompleted = new AtomicInteger();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private int rejectAtHeight = -1;
+
+    @BeforeEach
+    public void setUp() {
+        futureByHeight.clear();
+        requestedHeights.clear();
+        committedHeights.clear();
+        numCompleted.set(0);
+        error.set(null);
+        rejectAtHeight = -1;
+    }
+
+    @Test
+    public void testCommitsInHeightOrder() {
+        AccountingBlockPipeline pipeline = createPipeline(3, 10);
+        pipeline.start(100, 105, numCompleted::incrementAndGet, error::set);
+        assertEquals(List.of(100, 101, 102), requestedHeights);
+
+        complete(102);
+        complete(101);
+        assertTrue(committedHeights.isEmpty());
+
+        complete(100);
+        assertEquals(List.of(100, 101, 102), committedHeights);
+        assertEquals(List.of(100, 101, 102, 103, 104, 105), requestedHeights);
+
+        complete(105);
+        complete(104);
+        complete(103);
+        assertEquals(List.of(100, 101, 102, 103, 104, 105), committedHeights);
+        assertEquals(1, numCompleted.get());
+        assertFalse(pipeline.isRunning());
+    }
+
+    @Test
+    public void testMaxPendingBlocks() {
+        AccountingBlockPipeline pipeline = createPipeline(2, 4);
+        pipeline.start(0, 20, numCompleted::incrementAndGet, error::set);
+        assertEquals(List.of(0, 1), requestedHeights);
+
+        // Block 0 is slow. We must not request more than 4 blocks beyond the next block to commit.
+        complete(1);
+        complete(2);
+        complete(3);
+        assertEquals(List.of(0, 1, 2, 3), requestedHeights);
+        assertTrue(committedHeights.isEmpty());
+
+        complete(0);
+        assertEquals(List.of(0, 1, 2, 3), committedHeights);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), requestedHeights);
+    }
+
+    @Test
+    public void testErrorStopsPipeline() {
+        AccountingBlockPipeline pipeline = createPipeline(2, 10);
+        pipeline.start(0, 5, numCompleted::incrementAndGet, error::set);
+
+        RuntimeException exception = new RuntimeException("test");
+        futureByHeight.get(1).setException(exception);
+        assertSame(exception, error.get());
+        assertFalse(pipeline.isRunning());
+
+        // Late results of the stopped run are ignored
+        complete(0);
+        assertTrue(committedHeights.isEmpty());
+        assertEquals(0, numCompleted.get());
+    }
+
+    @Test
+    public void testRejectedCommitStopsPipeline() {
+        rejectAtHeight = 2;
+        AccountingBlockPipeline pipeline = createPipeline(4, 10);
+        pipeline.start(0, 5, numCompleted::incrementAndGet, error::set);
+        complete(3);
+        complete(2);
+        complete(1);
+        complete(0);
+
+        assertEquals(List.of(0, 1), committedHeights);
+        assertFalse(pipeline.isRunning());
+        assertEquals(0, numCompleted.get());
+        assertEquals(null, error.get());
+    }
+
+    @Test
+    public void testRestartIgnoresPreviousRun() {
+        AccountingBlockPipeline pipeline = createPipeline(2, 10);
+        pipeline.start(0, 1, numCompleted::incrementAndGet, error::set);
+        SettableFuture<AccountingBlock> staleFuture = futureByHeight.get(0);
+
+        pipeline.start(0, 0, numCompleted::incrementAndGet, error::set);
+        staleFuture.set(newBlock(0));
+        assertTrue(committedHeights.isEmpty());
+
+        complete(0);
+        assertEquals(List.of(0), committedHeights);
+        assertEquals(1, numCompleted.get());
+    }
+
+    @Test
+    public void testEmptyRangeCompletes() {
+        AccountingBlockPipeline pipeline = createPipeline(2, 10);
+        pipeline.start(10, 9, numCompleted::incrementAndGet, error::set);
+        assertTrue(requestedHeights.isEmpty());
+        assertEquals(1, numCompleted.get());
+    }
+
+    private AccountingBlockPipeline createPipeline(int maxParallelRequests, int maxPendingBlocks) {
+        return new AccountingBlockPipeline(this::request, this::commit, maxParallelRequests, maxPendingBlocks);
+    }
+
+    private ListenableFuture<AccountingBlock> request(int blockHeight) {
+        requestedHeights.add(blockHeight);
+        SettableFuture<AccountingBlock> future = SettableFuture.create();
+        futureByHeight.put(blockHeight, future);
+        return future;
+    }
+
+    private boolean commit(AccountingBlock accountingBlock) {
+        if (accountingBlock.getHeight() == rejectAtHeight) {
+            return false;
+        }
+        committedHeights.add(accountingBlock.getHeight());
+        return true;
+    }
+
+    private void complete(int blockHeight) {
+        futureByHeight.get(blockHeight).set(newBlock(blockHeight));
+    }
+
+    private static AccountingBlock newBlock(int height) {
+        return new AccountingBlock(height, 0, new byte[4], new byte[4], List.of());
+    }
+}
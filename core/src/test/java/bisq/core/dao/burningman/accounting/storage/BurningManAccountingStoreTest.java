@@ -0,0 +1,158 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.burningman.accounting.storage;
+
+import bisq.core.dao.burningman.accounting.blockchain.AccountingBlock;
+import bisq.core.dao.burningman.accounting.exceptions.BlockHashNotConnectingException;
+import bisq.core.dao.burningman.accounting.exceptions.BlockHeightNotConnectingException;
+import bisq.core.dao.burningman.accounting.node.AccountingNode;
+
+import org.bitcoinj.core.Sha256Hash;
+
+import java.io.ByteArrayOutputStream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static bisq.core.dao.burningman.accounting.BurningManAccountingService.EARLIEST_BLOCK_HEIGHT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BurningManAccountingStoreTest {
+    @Test
+    public void testLookupByHeight() throws Exception {
+        BurningManAccountingStore store = new BurningManAccountingStore(new ArrayList<>());
+        assertTrue(store.getLastBlock().isEmpty());
+        assertTrue(store.getBlockAtHeight(EARLIEST_BLOCK_HEIGHT).isEmpty());
+        assertTrue(store.getBlocksAtLeastWithHeight(0).isEmpty());
+
+        List<AccountingBlock> blocks = createBlocks(EARLIEST_BLOCK_HEIGHT, 20);
+        for (AccountingBlock block : blocks) {
+            store.addIfNewBlock(block);
+        }
+        // Adding the same block again is ignored
+        store.addIfNewBlock(blocks.get(5));
+
+        assertEquals(blocks.get(19), store.getLastBlock().orElseThrow());
+        assertEquals(blocks.get(7), store.getBlockAtHeight(EARLIEST_BLOCK_HEIGHT + 7).orElseThrow());
+        assertTrue(store.getBlockAtHeight(EARLIEST_BLOCK_HEIGHT - 1).isEmpty());
+        assertTrue(store.getBlockAtHeight(EARLIEST_BLOCK_HEIGHT + 20).isEmpty());
+
+        assertEquals(blocks, store.getBlocksAtLeastWithHeight(0));
+        assertEquals(blocks.subList(15, 20), store.getBlocksAtLeastWithHeight(EARLIEST_BLOCK_HEIGHT + 15));
+        assertTrue(store.getBlocksAtLeastWithHeight(EARLIEST_BLOCK_HEIGHT + 20).isEmpty());
+
+        List<AccountingBlock> visited = new ArrayList<>();
+        store.forEachBlockAtLeastWithHeight(EARLIEST_BLOCK_HEIGHT + 18, visited::add);
+        assertEquals(blocks.subList(18, 20), visited);
+
+        store.purgeLastTenBlocks();
+        assertEquals(blocks.get(9), store.getLastBlock().orElseThrow());
+        assertTrue(store.getBlockAtHeight(EARLIEST_BLOCK_HEIGHT + 10).isEmpty());
+        store.addIfNewBlock(blocks.get(10));
+        assertEquals(blocks.get(10), store.getLastBlock().orElseThrow());
+    }
+
+    @Test
+    public void testNotConnectingBlocks() throws Exception {
+        BurningManAccountingStore store = new BurningManAccountingStore(new ArrayList<>());
+        List<AccountingBlock> blocks = createBlocks(EARLIEST_BLOCK_HEIGHT, 3);
+        assertThrows(BlockHeightNotConnectingException.class, () -> store.addIfNewBlock(blocks.get(1)));
+
+        store.addIfNewBlock(blocks.get(0));
+        assertThrows(BlockHeightNotConnectingException.class, () -> store.addIfNewBlock(blocks.get(2)));
+
+        AccountingBlock otherBlock = new AccountingBlock(EARLIEST_BLOCK_HEIGHT + 1, 0,
+                new byte[]{1, 1, 1, 1}, new byte[]{9, 9, 9, 9}, new ArrayList<>());
+        assertThrows(BlockHashNotConnectingException.class, () -> store.addIfNewBlock(otherBlock));
+    }
+
+    @Test
+    public void testPersistedBlocksWithGap() {
+        List<AccountingBlock> blocks = createBlocks(EARLIEST_BLOCK_HEIGHT, 10);
+        List<AccountingBlock> persisted = new ArrayList<>(blocks);
+        persisted.remove(6);
+        BurningManAccountingStore store = new BurningManAccountingStore(persisted);
+        assertEquals(blocks.subList(0, 6), store.getBlocksAtLeastWithHeight(0));
+    }
+
+    @Test
+    public void testProtoRoundTripAndHash() throws Exception {
+        List<AccountingBlock> blocks = createBlocks(EARLIEST_BLOCK_HEIGHT, 5);
+        BurningManAccountingStore store = new BurningManAccountingStore(blocks);
+        BurningManAccountingStore fromProto = BurningManAccountingStore.fromProto(
+                ((protobuf.PersistableEnvelope) store.toProtoMessage()).getBurningManAccountingStore());
+        assertEquals(blocks, fromProto.getBlocksAtLeastWithHeight(0));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (AccountingBlock block : blocks) {
+            outputStream.write(block.toProtoMessage().toByteArray());
+        }
+        assertEquals(Sha256Hash.of(outputStream.toByteArray()), AccountingNode.getSha256Hash(blocks));
+        assertEquals(AccountingNode.getSha256Hash(blocks),
+                AccountingNode.getSha256Hash(fromProto.getBlocksAtLeastWithHeight(0)));
+    }
+
+    @Test
+    public void testEncodedBlocksByChunk() throws Exception {
+        int numBlocks = 3 * BurningManAccountingStore.CHUNK_SIZE + 5;
+        List<AccountingBlock> blocks = createBlocks(EARLIEST_BLOCK_HEIGHT, numBlocks);
+        BurningManAccountingStore store = new BurningManAccountingStore(blocks);
+        for (int fromIndex : new int[]{0, 1, 999, 1000, 2500, numBlocks - 1, numBlocks}) {
+            assertEquals(toEncodedBlocks(blocks.subList(fromIndex, numBlocks)),
+                    store.getEncodedBlocksAtLeastWithHeight(EARLIEST_BLOCK_HEIGHT + fromIndex));
+        }
+        assertEquals(AccountingNode.getSha256Hash(blocks),
+                AccountingNode.getSha256HashOfEncodedBlocks(store.getEncodedBlocksAtLeastWithHeight(0)));
+
+        // The purge removes blocks of the last complete chunk, so its cached blocks must not be used anymore
+        store.purgeLastTenBlocks();
+        AccountingBlock lastBlock = blocks.get(numBlocks - 11);
+        AccountingBlock otherBlock = new AccountingBlock(lastBlock.getHeight() + 1, 0,
+                new byte[]{1, 1, 1, 1}, lastBlock.getTruncatedHash(), new ArrayList<>());
+        store.addIfNewBlock(otherBlock);
+        List<AccountingBlock> expected = new ArrayList<>(blocks.subList(0, numBlocks - 10));
+        expected.add(otherBlock);
+        assertEquals(toEncodedBlocks(expected), store.getEncodedBlocksAtLeastWithHeight(0));
+
+        store.removeAllBlocks();
+        assertTrue(store.getEncodedBlocksAtLeastWithHeight(0).isEmpty());
+    }
+
+    private static List<protobuf.AccountingBlock> toEncodedBlocks(List<AccountingBlock> blocks) {
+        List<protobuf.AccountingBlock> encodedBlocks = new ArrayList<>();
+        for (AccountingBlock block : blocks) {
+            encodedBlocks.add(block.toProtoMessage());
+        }
+        return encodedBlocks;
+    }
+
+    private static List<AccountingBlock> createBlocks(int fromHeight, int numBlocks) {
+        List<AccountingBlock> blocks = new ArrayList<>();
+        byte[] previousHash = new byte[4];
+        for (int i = 0; i < numBlocks; i++) {
+            byte[] hash = new byte[]{(byte) i, 2, 3, 4};
+            blocks.add(new AccountingBlock(fromHeight + i, 1600000000 + i * 600, hash, previousHash, new ArrayList<>()));
+            previousHash = hash;
+        }
+        return blocks;
+    }
+}
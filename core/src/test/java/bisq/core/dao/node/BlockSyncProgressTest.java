@@ -0,0 +1,49 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockSyncProgressTest {
+    @Test
+    public void testNotStarted() {
+        BlockSyncProgress progress = new BlockSyncProgress(101, 100, 200, 1000, 1000);
+        assertEquals(0, progress.getNumProcessedBlocks());
+        assertEquals(100, progress.getNumTotalBlocks());
+        assertEquals(0, progress.getProgress());
+        assertEquals(0, progress.getBlocksPerSecond());
+        assertFalse(progress.isComplete());
+    }
+
+    @Test
+    public void testProgressAndSpeed() {
+        BlockSyncProgress progress = new BlockSyncProgress(101, 150, 200, 1000, 3000);
+        assertEquals(50, progress.getNumProcessedBlocks());
+        assertEquals(0.5, progress.getProgress());
+        assertEquals(25, progress.getBlocksPerSecond());
+        assertFalse(progress.isComplete());
+
+        progress = new BlockSyncProgress(101, 200, 200, 1000, 5000);
+        assertEquals(1, progress.getProgress());
+        assertTrue(progress.isComplete());
+    }
+}
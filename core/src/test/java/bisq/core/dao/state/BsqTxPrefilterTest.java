@@ -0,0 +1,121 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state;
+
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BsqTxPrefilterTest {
+    private static final String GENESIS_TX_ID = "genesisTx";
+
+    private BsqTxPrefilter prefilter;
+
+    @BeforeEach
+    public void setUp() {
+        GenesisTxInfo genesisTxInfo = mock(GenesisTxInfo.class);
+        when(genesisTxInfo.getGenesisTxId()).thenReturn(GENESIS_TX_ID);
+        prefilter = new BsqTxPrefilter(genesisTxInfo, false);
+    }
+
+    @Test
+    public void testSelectCandidates() {
+        prefilter.reset(List.of(new TxOutputKey("bsqTx", 0)), 100);
+
+        List<Map.Entry<String, List<TxOutputKey>>> txs = List.of(
+                tx(GENESIS_TX_ID),
+                tx("btcTx", new TxOutputKey("otherTx", 0)),
+                tx("spendsBsq", new TxOutputKey("otherTx", 1), new TxOutputKey("bsqTx", 0)),
+                // Spends an output of a candidate tx in the same block
+                tx("spendsCandidate", new TxOutputKey("spendsBsq", 1)),
+                // Spends a non-BSQ output of a BSQ tx from a previous block
+                tx("spendsBtcOutputOfBsqTx", new TxOutputKey("bsqTx", 1)));
+
+        assertEquals(List.of(GENESIS_TX_ID, "spendsBsq", "spendsCandidate"), getTxIds(prefilter.filter(101, txs,
+                Map.Entry::getKey, tx -> tx.getValue().stream()).orElseThrow()));
+    }
+
+    @Test
+    public void testFilterOnlyIfStateMatchesPreviousBlock() {
+        List<Map.Entry<String, List<TxOutputKey>>> txs = List.of(tx("btcTx"));
+
+        // Unknown state
+        assertFalse(filter(101, txs).isPresent());
+
+        prefilter.reset(List.of(), 100);
+        assertTrue(filter(101, txs).isPresent());
+        assertFalse(filter(102, txs).isPresent());
+
+        // Parsing of block 101 is in progress
+        prefilter.onNewBlockHeight();
+        assertFalse(filter(101, txs).isPresent());
+        assertFalse(filter(102, txs).isPresent());
+
+        prefilter.onParseBlockComplete(101);
+        assertTrue(filter(102, txs).isPresent());
+    }
+
+    @Test
+    public void testUnspentTxOutputUpdates() {
+        prefilter.reset(List.of(), 100);
+        TxOutput txOutput = mock(TxOutput.class);
+        when(txOutput.getKey()).thenReturn(new TxOutputKey("bsqTx", 0));
+        List<Map.Entry<String, List<TxOutputKey>>> txs = List.of(tx("spendsBsq", new TxOutputKey("bsqTx", 0)));
+
+        prefilter.addUnspentTxOutput(txOutput);
+        assertEquals(1, filter(101, txs).orElseThrow().size());
+
+        prefilter.removeUnspentTxOutput(txOutput);
+        assertEquals(0, filter(101, txs).orElseThrow().size());
+    }
+
+    @Test
+    public void testFullParseDisablesFilter() {
+        GenesisTxInfo genesisTxInfo = mock(GenesisTxInfo.class);
+        when(genesisTxInfo.getGenesisTxId()).thenReturn(GENESIS_TX_ID);
+        prefilter = new BsqTxPrefilter(genesisTxInfo, true);
+        prefilter.reset(List.of(), 100);
+        assertFalse(filter(101, List.of(tx("btcTx"))).isPresent());
+    }
+
+    private Optional<List<Map.Entry<String, List<TxOutputKey>>>> filter(int blockHeight,
+                                                                        List<Map.Entry<String, List<TxOutputKey>>> txs) {
+        return prefilter.filter(blockHeight, txs, Map.Entry::getKey, tx -> tx.getValue().stream());
+    }
+
+    private static Map.Entry<String, List<TxOutputKey>> tx(String txId, TxOutputKey... connectedTxOutputKeys) {
+        return Map.entry(txId, List.of(connectedTxOutputKeys));
+    }
+
+    private static List<String> getTxIds(List<Map.Entry<String, List<TxOutputKey>>> txs) {
+        return txs.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+}
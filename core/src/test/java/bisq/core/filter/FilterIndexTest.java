@@ -0,0 +1,87 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.filter;
+
+import bisq.core.payment.payload.AliPayAccountPayload;
+import bisq.core.payment.payload.PaymentMethod;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FilterIndexTest {
+    @Test
+    public void testEmptyIndex() {
+        assertFalse(FilterIndex.EMPTY.isCurrencyBanned("EUR"));
+        assertFalse(FilterIndex.EMPTY.isNodeAddressBannedFromNetwork("abc.onion:9999"));
+        assertFalse(FilterIndex.EMPTY.isPaymentAccountBanned(newAliPayAccountPayload("123")));
+    }
+
+    @Test
+    public void testStringLists() {
+        Filter filter = mock(Filter.class);
+        when(filter.getBannedCurrencies()).thenReturn(List.of("EUR"));
+        when(filter.getBannedPaymentMethods()).thenReturn(null);
+        when(filter.getBannedOfferIds()).thenReturn(List.of("offer1"));
+        when(filter.getNodeAddressesBannedFromTrading()).thenReturn(List.of("abc.onion:9999"));
+        when(filter.getNodeAddressesBannedFromNetwork()).thenReturn(List.of("def.onion:9999"));
+        when(filter.getBannedAccountWitnessSignerPubKeys()).thenReturn(List.of("pubKey"));
+        FilterIndex filterIndex = new FilterIndex(filter);
+
+        assertTrue(filterIndex.isCurrencyBanned("EUR"));
+        assertFalse(filterIndex.isCurrencyBanned("USD"));
+        assertFalse(filterIndex.isPaymentMethodIdBanned(PaymentMethod.ALI_PAY_ID));
+        assertTrue(filterIndex.isOfferIdBanned("offer1"));
+        assertTrue(filterIndex.isNodeAddressBannedFromTrading("abc.onion:9999"));
+        assertFalse(filterIndex.isNodeAddressBannedFromNetwork("abc.onion:9999"));
+        assertTrue(filterIndex.isNodeAddressBannedFromNetwork("def.onion:9999"));
+        assertTrue(filterIndex.isWitnessSignerPubKeyBanned("pubKey"));
+    }
+
+    @Test
+    public void testPaymentAccountFilters() {
+        Filter filter = mock(Filter.class);
+        when(filter.getBannedPaymentAccounts()).thenReturn(List.of(
+                new PaymentAccountFilter(PaymentMethod.ALI_PAY_ID, "getAccountNr", "AbC"),
+                new PaymentAccountFilter(PaymentMethod.ALI_PAY_ID, "getNotExisting", "123"),
+                new PaymentAccountFilter(PaymentMethod.CLEAR_X_CHANGE_ID, "getAccountNr", "456")));
+        when(filter.getDelayedPayoutPaymentAccounts()).thenReturn(List.of(
+                new PaymentAccountFilter(PaymentMethod.ALI_PAY_ID, "getAccountNr", "789")));
+        FilterIndex filterIndex = new FilterIndex(filter);
+
+        // Values are compared case-insensitive
+        assertTrue(filterIndex.isPaymentAccountBanned(newAliPayAccountPayload("abc")));
+        assertFalse(filterIndex.isPaymentAccountBanned(newAliPayAccountPayload("123")));
+        // Filter entries of other payment methods do not apply
+        assertFalse(filterIndex.isPaymentAccountBanned(newAliPayAccountPayload("456")));
+
+        assertTrue(filterIndex.isDelayedPayoutPaymentAccount(newAliPayAccountPayload("789")));
+        assertFalse(filterIndex.isDelayedPayoutPaymentAccount(newAliPayAccountPayload("abc")));
+    }
+
+    private static AliPayAccountPayload newAliPayAccountPayload(String accountNr) {
+        AliPayAccountPayload payload = new AliPayAccountPayload(PaymentMethod.ALI_PAY_ID, "id");
+        payload.setAccountNr(accountNr);
+        return payload;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.filter.Filter;
+import bisq.core.filter.FilterManager;
+import bisq.core.payment.PaymentAccount;
+import bisq.core.user.Preferences;
+import bisq.core.user.User;
+
+import org.bitcoinj.core.Coin;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OfferFilterServiceTest {
+    private User user;
+    private AccountAgeWitnessService accountAgeWitnessService;
+    private DaoStateService daoStateService;
+    private final ObjectProperty<Filter> filterProperty = new SimpleObjectProperty<>();
+    private final ObservableSet<PaymentAccount> paymentAccounts = FXCollections.observableSet();
+    private final IntegerProperty numPaymentAccountEdits = new SimpleIntegerProperty();
+    private OfferFilterService offerFilterService;
+    private Offer offer;
+
+    @BeforeEach
+    public void setUp() {
+        user = mock(User.class);
+        when(user.getPaymentAccountsAsObservable()).thenReturn(paymentAccounts);
+        when(user.numPaymentAccountEditsProperty()).thenReturn(numPaymentAccountEdits);
+        FilterManager filterManager = mock(FilterManager.class);
+        when(filterManager.filterProperty()).thenReturn(filterProperty);
+        accountAgeWitnessService = mock(AccountAgeWitnessService.class);
+        daoStateService = mock(DaoStateService.class);
+        when(daoStateService.getChainHeight()).thenReturn(100);
+        offerFilterService = new OfferFilterService(user,
+                mock(Preferences.class),
+                filterManager,
+                accountAgeWitnessService,
+                daoStateService);
+
+        offer = mock(Offer.class);
+        when(offer.getId()).thenReturn("offerId");
+        when(offer.isFiatOffer()).thenReturn(true);
+        when(offer.getAmount()).thenReturn(Coin.COIN);
+        when(accountAgeWitnessService.verifyPeersTradeAmount(eq(offer), any(), any())).thenReturn(false);
+    }
+
+    @Test
+    public void testCounterpartyTradeLimitIsRecomputedOnlyIfInputChanged() {
+        assertTrue(offerFilterService.isInsufficientCounterpartyTradeLimit(offer));
+        assertTrue(offerFilterService.isInsufficientCounterpartyTradeLimit(offer));
+        verifyPeersTradeAmountCalled(1);
+
+        // Payment accounts are not an input of the counterparty trade limit
+        paymentAccounts.add(mock(PaymentAccount.class));
+        offerFilterService.isInsufficientCounterpartyTradeLimit(offer);
+        verifyPeersTradeAmountCalled(1);
+
+        // New witness data
+        when(accountAgeWitnessService.getWitnessDataVersion()).thenReturn(1);
+        offerFilterService.isInsufficientCounterpartyTradeLimit(offer);
+        verifyPeersTradeAmountCalled(2);
+
+        // New block
+        when(daoStateService.getChainHeight()).thenReturn(101);
+        when(accountAgeWitnessService.verifyPeersTradeAmount(eq(offer), any(), any())).thenReturn(true);
+        assertFalse(offerFilterService.isInsufficientCounterpartyTradeLimit(offer));
+        verifyPeersTradeAmountCalled(3);
+
+        // New filter
+        filterProperty.set(mock(Filter.class));
+        offerFilterService.isInsufficientCounterpartyTradeLimit(offer);
+        offerFilterService.isInsufficientCounterpartyTradeLimit(offer);
+        verifyPeersTradeAmountCalled(4);
+
+        OfferFilterService.CacheStats cacheStats = offerFilterService.getCacheStats();
+        assertEquals(1, cacheStats.getSize());
+        assertEquals(3, cacheStats.getHits());
+        assertEquals(4, cacheStats.getMisses());
+    }
+
+    @Test
+    public void testPaymentAccountCheckIsRecomputedAtAccountChange() {
+        assertFalse(offerFilterService.isAnyPaymentAccountValidForOffer(offer));
+        assertFalse(offerFilterService.isAnyPaymentAccountValidForOffer(offer));
+        verify(user, times(1)).getPaymentAccounts();
+
+        // Other inputs do not affect the payment account check
+        when(daoStateService.getChainHeight()).thenReturn(101);
+        offerFilterService.isAnyPaymentAccountValidForOffer(offer);
+        verify(user, times(1)).getPaymentAccounts();
+
+        paymentAccounts.add(mock(PaymentAccount.class));
+        offerFilterService.isAnyPaymentAccountValidForOffer(offer);
+        verify(user, times(2)).getPaymentAccounts();
+
+        // An account got edited in place
+        numPaymentAccountEdits.set(1);
+        offerFilterService.isAnyPaymentAccountValidForOffer(offer);
+        verify(user, times(3)).getPaymentAccounts();
+
+        offerFilterService.resetTradeLimitCache();
+        offerFilterService.isAnyPaymentAccountValidForOffer(offer);
+        verify(user, times(4)).getPaymentAccounts();
+    }
+
+    @Test
+    public void testEditedOfferIsRecomputed() {
+        when(offer.getOfferPayloadBase()).thenReturn(mock(OfferPayloadBase.class));
+        offerFilterService.isInsufficientCounterpartyTradeLimit(offer);
+        offerFilterService.isInsufficientCounterpartyTradeLimit(offer);
+        verifyPeersTradeAmountCalled(1);
+
+        // The edited offer has the same ID but a new payload
+        when(offer.getOfferPayloadBase()).thenReturn(mock(OfferPayloadBase.class));
+        offerFilterService.isInsufficientCounterpartyTradeLimit(offer);
+        verifyPeersTradeAmountCalled(2);
+        assertEquals(1, offerFilterService.getCacheStats().getSize());
+    }
+
+    private void verifyPeersTradeAmountCalled(int numTimes) {
+        verify(accountAgeWitnessService, times(numTimes)).verifyPeersTradeAmount(eq(offer), any(), any());
+    }
+}
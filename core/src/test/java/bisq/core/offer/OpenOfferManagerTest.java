@@ -14,6 +14,9 @@ import bisq.common.persistence.PersistenceManager;
 
 import java.nio.file.Files;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.AfterEach;
@@ -22,6 +25,8 @@ import org.junit.jupiter.api.Test;
 
 import static bisq.core.offer.OfferMaker.btcUsdOffer;
 import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -178,4 +183,38 @@ public class OpenOfferManagerTest {
         assertTrue(startEditOfferSuccessful.get());
     }
 
+    @Test
+    public void testPublishRunIsProcessedInBatches() {
+        List<OpenOffer> openOffers = new ArrayList<>();
+        for (int i = 0; i < 45; i++) {
+            openOffers.add(mockOpenOffer("offer" + i));
+        }
+        OpenOfferManager.PublishRun run = new OpenOfferManager.PublishRun(openOffers);
+
+        assertEquals(openOffers.subList(0, 20), run.nextBatch());
+        assertEquals(25, run.getNumPending());
+        assertEquals(openOffers.subList(20, 40), run.nextBatch());
+        assertTrue(run.hasNext());
+        assertEquals(openOffers.subList(40, 45), run.nextBatch());
+        assertEquals(0, run.getNumPending());
+        assertFalse(run.hasNext());
+    }
+
+    @Test
+    public void testOffersClosestToTtlExpiryArePublishedFirst() {
+        OpenOffer recentlyPublished = mockOpenOffer("recentlyPublished");
+        OpenOffer neverPublished = mockOpenOffer("neverPublished");
+        OpenOffer publishedLongAgo = mockOpenOffer("publishedLongAgo");
+        Map<String, Long> lastPublishTimeByOfferId = Map.of("recentlyPublished", 300L, "publishedLongAgo", 100L);
+
+        assertEquals(List.of(neverPublished, publishedLongAgo, recentlyPublished),
+                OpenOfferManager.sortByPublishPriority(List.of(recentlyPublished, neverPublished, publishedLongAgo),
+                        lastPublishTimeByOfferId));
+    }
+
+    private static OpenOffer mockOpenOffer(String id) {
+        OpenOffer openOffer = mock(OpenOffer.class);
+        when(openOffer.getId()).thenReturn(id);
+        return openOffer;
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import bisq.core.proto.CoreProtoResolver;
+import bisq.core.support.SupportType;
+import bisq.core.support.dispute.messages.PeerOpenedDisputeMessage;
+import bisq.core.support.messages.ChatMessage;
+import bisq.core.trade.model.bisq_v1.Contract;
+
+import bisq.network.p2p.NodeAddress;
+
+import bisq.common.crypto.Encryption;
+import bisq.common.crypto.PubKeyRing;
+import bisq.common.crypto.Sig;
+
+import com.google.protobuf.ByteString;
+
+import javafx.collections.FXCollections;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.MockedStatic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+public class DisputeAttachmentStoreTest {
+    private static final byte[] CONTENT = "log file content".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+    private DisputeAttachmentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = new DisputeAttachmentStore(tempDir.toFile());
+    }
+
+    @Test
+    public void testPutIsContentAddressed() throws Exception {
+        String contentHash = store.put(CONTENT);
+        assertEquals(contentHash, store.put(CONTENT.clone()));
+        assertArrayEquals(CONTENT, store.get(contentHash));
+
+        File[] blobs = tempDir.resolve("dispute_attachments").toFile().listFiles();
+        assertEquals(1, blobs.length);
+        assertEquals(contentHash, blobs[0].getName());
+    }
+
+    @Test
+    public void testCorruptedBlobIsNotReturned() throws Exception {
+        String contentHash = store.put(CONTENT);
+        Files.write(tempDir.resolve("dispute_attachments").resolve(contentHash), new byte[]{1, 2, 3});
+        assertNull(new DisputeAttachmentStore(tempDir.toFile()).get(contentHash));
+    }
+
+    @Test
+    public void testOffloadAndBindRoundTrip() throws Exception {
+        ArrayList<Attachment> attachments = new ArrayList<>(List.of(new Attachment("log.txt", CONTENT)));
+        ChatMessage chatMessage = mock(ChatMessage.class);
+        when(chatMessage.getAttachments()).thenReturn(attachments);
+
+        CountDownLatch offloaded = new CountDownLatch(1);
+        store.offloadAttachments(chatMessage, offloaded::countDown);
+        assertTrue(offloaded.await(10, TimeUnit.SECONDS));
+
+        // The in-memory attachment got replaced by a reference to the blob
+        Attachment attachment = attachments.get(0);
+        assertTrue(attachment.isOffloaded());
+        assertArrayEquals(CONTENT, attachment.getBytes());
+        protobuf.Attachment persistedAttachment = attachment.toPersistableProtoMessage();
+        assertTrue(persistedAttachment.getBytes().isEmpty());
+        assertFalse(persistedAttachment.getContentHash().isEmpty());
+
+        // Over the network the bytes are sent inline
+        protobuf.Attachment sentAttachment = attachment.toProtoMessage();
+        assertArrayEquals(CONTENT, sentAttachment.getBytes().toByteArray());
+        assertTrue(sentAttachment.getContentHash().isEmpty());
+
+        // Offloaded attachments are not written again
+        int[] numResults = new int[1];
+        store.offloadAttachments(chatMessage, () -> numResults[0]++);
+        assertEquals(0, numResults[0]);
+
+        // The persisted form stays a reference
+        Attachment persisted = Attachment.fromPersistedProto(persistedAttachment);
+        assertTrue(persisted.isOffloaded());
+        assertEquals(persistedAttachment, persisted.toPersistableProtoMessage());
+
+        attachments.set(0, persisted);
+        Dispute dispute = mock(Dispute.class);
+        when(dispute.getChatMessages()).thenReturn(FXCollections.observableArrayList(chatMessage));
+
+        store.bindAttachments(List.of(dispute));
+        assertEquals("log.txt", attachments.get(0).getFileName());
+        assertArrayEquals(CONTENT, attachments.get(0).getBytes());
+    }
+
+    @Test
+    public void testInlineAttachmentFromOldFile() {
+        Attachment attachment = Attachment.fromProto(protobuf.Attachment.newBuilder()
+                .setFileName("log.txt")
+                .setBytes(ByteString.copyFrom(CONTENT))
+                .build());
+        assertFalse(attachment.isOffloaded());
+        assertArrayEquals(CONTENT, attachment.getBytes());
+    }
+
+    @Test
+    public void testContentHashFromNetworkIsIgnored() throws Exception {
+        String contentHash = store.put(CONTENT);
+        Attachment attachment = Attachment.fromProto(protobuf.Attachment.newBuilder()
+                .setFileName("log.txt")
+                .setContentHash(contentHash)
+                .build());
+        assertFalse(attachment.isOffloaded());
+        assertNull(attachment.getContentHash());
+        assertEquals(0, attachment.getBytes().length);
+    }
+
+    @Test
+    public void testPeerOpenedDisputeMessageCarriesOffloadedAttachment() throws Exception {
+        NodeAddress senderNodeAddress = new NodeAddress("trader:9999");
+        ChatMessage chatMessage = new ChatMessage(SupportType.MEDIATION,
+                "trade1",
+                0,
+                true,
+                "message",
+                senderNodeAddress,
+                new ArrayList<>(List.of(new Attachment("log.txt", CONTENT))));
+        CountDownLatch offloaded = new CountDownLatch(1);
+        store.offloadAttachments(chatMessage, offloaded::countDown);
+        assertTrue(offloaded.await(10, TimeUnit.SECONDS));
+        assertTrue(chatMessage.getAttachments().get(0).isOffloaded());
+
+        Contract contract = mock(Contract.class);
+        when(contract.toProtoMessage()).thenReturn(protobuf.Contract.getDefaultInstance());
+        PubKeyRing pubKeyRing = new PubKeyRing(Sig.generateKeyPair().getPublic(),
+                Encryption.generateKeyPair().getPublic());
+        Dispute dispute = new Dispute(System.currentTimeMillis(),
+                "trade1",
+                0,
+                true,
+                true,
+                pubKeyRing,
+                0,
+                0,
+                contract,
+                null,
+                null,
+                null,
+                null,
+                null,
+                "contractAsJson",
+                null,
+                null,
+                pubKeyRing,
+                false,
+                SupportType.MEDIATION);
+        dispute.addAndPersistChatMessage(chatMessage);
+
+        // The dispute list only persists the reference
+        protobuf.Attachment persistedAttachment = dispute.toPersistableProtoMessage()
+                .getChatMessage(0).getAttachments(0);
+        assertTrue(persistedAttachment.getBytes().isEmpty());
+        assertFalse(persistedAttachment.getContentHash().isEmpty());
+
+        PeerOpenedDisputeMessage message = new PeerOpenedDisputeMessage(dispute,
+                senderNodeAddress,
+                "uid",
+                SupportType.MEDIATION);
+        protobuf.NetworkEnvelope envelope = protobuf.NetworkEnvelope.parseFrom(
+                message.toProtoNetworkEnvelope().toByteArray());
+
+        PeerOpenedDisputeMessage received;
+        try (MockedStatic<Contract> mocked = mockStatic(Contract.class)) {
+            mocked.when(() -> Contract.fromProto(any(), any())).thenReturn(contract);
+            received = PeerOpenedDisputeMessage.fromProto(envelope.getPeerOpenedDisputeMessage(),
+                    mock(CoreProtoResolver.class),
+                    envelope.getMessageVersion());
+        }
+
+        Attachment receivedAttachment = received.getDispute().getChatMessages().get(0).getAttachments().get(0);
+        assertFalse(receivedAttachment.isOffloaded());
+        assertEquals("log.txt", receivedAttachment.getFileName());
+        assertArrayEquals(CONTENT, receivedAttachment.getBytes());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import bisq.core.support.SupportType;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DisputeIndexTest {
+    @Test
+    public void testLookups() {
+        DisputeIndex index = new DisputeIndex();
+        Dispute buyerDispute = mockDispute("uid1", "trade1", 1, "depositTx1");
+        Dispute sellerDispute = mockDispute("uid2", "trade1", 2, "depositTx1");
+        index.add(buyerDispute);
+        index.add(sellerDispute);
+
+        assertEquals(List.of(buyerDispute, sellerDispute), index.getDisputes("trade1"));
+        assertSame(buyerDispute, index.findDispute("trade1").orElseThrow());
+        assertSame(sellerDispute, index.findDispute("trade1", 2).orElseThrow());
+        assertTrue(index.findDispute("trade2").isEmpty());
+
+        index.remove(buyerDispute);
+        assertSame(sellerDispute, index.findDispute("trade1").orElseThrow());
+        index.remove(sellerDispute);
+        assertTrue(index.getDisputes("trade1").isEmpty());
+        assertFalse(index.hasDepositTxIds());
+    }
+
+    @Test
+    public void testContainsMatchesListContains() {
+        DisputeIndex index = new DisputeIndex();
+        Dispute dispute = mockDispute("uid1", "trade1", 1, "depositTx1");
+        Dispute otherWithSameUid = mockDispute("uid1", "trade1", 1, "depositTx1");
+        Dispute otherWithOtherUid = mockDispute("uid2", "trade1", 2, "depositTx1");
+        index.add(dispute);
+        List<Dispute> disputes = List.of(dispute);
+
+        for (Dispute candidate : List.of(dispute, otherWithSameUid, otherWithOtherUid)) {
+            assertEquals(disputes.contains(candidate), index.contains(candidate));
+        }
+
+        index.remove(dispute);
+        assertFalse(index.contains(dispute));
+    }
+
+    @Test
+    public void testReplayCheckMatchesListBasedCheck() {
+        DisputeIndex index = new DisputeIndex();
+        Dispute dispute1 = mockDispute("uid1", "trade1", 1, "depositTx1");
+        Dispute dispute2 = mockDispute("uid2", "trade1", 2, "depositTx1");
+        List.of(dispute1, dispute2).forEach(index::add);
+
+        assertDoesNotThrow(() -> DisputeValidation.testIfDisputeTriesReplay(dispute2, index));
+        assertDoesNotThrow(() -> DisputeValidation.testIfDisputeTriesReplay(dispute2, List.of(dispute1, dispute2)));
+
+        // A third dispute reusing the deposit tx of another trade is a replay
+        Dispute replayed = mockDispute("uid3", "trade2", 1, "depositTx1");
+        index.add(replayed);
+        assertThrows(DisputeValidation.DisputeReplayException.class,
+                () -> DisputeValidation.testIfDisputeTriesReplay(replayed, index));
+        assertThrows(DisputeValidation.DisputeReplayException.class,
+                () -> DisputeValidation.testIfDisputeTriesReplay(replayed, List.of(dispute1, dispute2, replayed)));
+    }
+
+    private static Dispute mockDispute(String uid, String tradeId, int traderId, String depositTxId) {
+        Dispute dispute = mock(Dispute.class);
+        when(dispute.getUid()).thenReturn(uid);
+        when(dispute.getTradeId()).thenReturn(tradeId);
+        when(dispute.getTraderId()).thenReturn(traderId);
+        when(dispute.getDepositTxId()).thenReturn(depositTxId);
+        when(dispute.getSupportType()).thenReturn(SupportType.MEDIATION);
+        return dispute;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade;
+
+import bisq.core.offer.OpenOffer;
+import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.ClosedTradableArchiveIndex.TradableSummary;
+import bisq.core.trade.model.Tradable;
+import bisq.core.trade.model.TradableList;
+import bisq.core.trade.model.bisq_v1.Trade;
+
+import bisq.network.p2p.NodeAddress;
+
+import bisq.common.persistence.PersistenceManager;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClosedTradableArchiveTest {
+    private final Map<String, TradableList<Tradable>> segmentFiles = new HashMap<>();
+    private PersistenceManager<ClosedTradableArchiveIndex> indexPersistenceManager;
+    private PersistenceManager<TradableList<Tradable>> segmentPersistenceManager;
+    private ClosedTradableArchive archive;
+    private TradableList<Tradable> pendingSegment;
+    private String pendingFileName;
+    private boolean segmentWriteSucceeds;
+    private boolean indexWriteSucceeds;
+    private int numCompleted;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        segmentWriteSucceeds = true;
+        indexWriteSucceeds = true;
+        numCompleted = 0;
+
+        indexPersistenceManager = mock(PersistenceManager.class);
+        doAnswer(invocation -> {
+            Consumer<Boolean> resultHandler = invocation.getArgument(0);
+            resultHandler.accept(indexWriteSucceeds);
+            return null;
+        }).when(indexPersistenceManager).persistNowWithResult(any());
+
+        segmentPersistenceManager = mock(PersistenceManager.class);
+        doAnswer(invocation -> {
+            pendingSegment = invocation.getArgument(0);
+            pendingFileName = invocation.getArgument(1);
+            return null;
+        }).when(segmentPersistenceManager).initialize(any(), anyString(), any());
+        doAnswer(invocation -> {
+            if (segmentWriteSucceeds) {
+                segmentFiles.put(pendingFileName, pendingSegment);
+            }
+            Consumer<Boolean> resultHandler = invocation.getArgument(0);
+            resultHandler.accept(segmentWriteSucceeds);
+            return null;
+        }).when(segmentPersistenceManager).persistNowWithResult(any());
+        when(segmentPersistenceManager.getPersisted(anyString()))
+                .thenAnswer(invocation -> segmentFiles.get(invocation.<String>getArgument(0)));
+
+        archive = new ClosedTradableArchive(mock(PriceFeedService.class),
+                indexPersistenceManager,
+                () -> segmentPersistenceManager);
+    }
+
+    @Test
+    public void testArchiveUpdatesAggregates() {
+        NodeAddress peer = new NodeAddress("peer.onion:9999");
+        Trade trade1 = mockTrade("trade1", peer, 1_000, 10);
+        Trade trade2 = mockTrade("trade2", peer, 3_000, 20);
+        OpenOffer canceledOffer = mockOpenOffer("offer1", 30);
+
+        archiveTradables(List.of(trade1, trade2, canceledOffer));
+
+        assertEquals(1, numCompleted);
+        assertEquals(3, archive.size());
+        assertTrue(archive.contains("trade1"));
+        assertTrue(archive.contains("offer1"));
+        assertEquals(2, archive.getNumTrades(peer));
+        assertEquals(0, archive.getNumTrades(new NodeAddress("other.onion:9999")));
+        assertEquals(3_000, archive.getMaxTradeAmount());
+        assertEquals(30, archive.getNewestDate());
+
+        ClosedTradableArchive.Totals totals = archive.getTotals();
+        assertEquals(4_000, totals.getAmount());
+        assertEquals(20, totals.getTxFee());
+        assertEquals(Map.of("EUR", 400L), totals.getVolumeByCurrency());
+        verify(segmentPersistenceManager).shutdown();
+    }
+
+    @Test
+    public void testFailedSegmentWriteKeepsTradables() {
+        segmentWriteSucceeds = false;
+        archiveTradables(List.of(mockTrade("trade1", null, 1_000, 10)));
+
+        assertEquals(0, numCompleted);
+        assertEquals(0, archive.size());
+        assertFalse(archive.contains("trade1"));
+        verify(indexPersistenceManager, times(0)).persistNowWithResult(any());
+
+        // The next attempt succeeds
+        segmentWriteSucceeds = true;
+        archiveTradables(List.of(mockTrade("trade1", null, 1_000, 10)));
+        assertEquals(1, numCompleted);
+        assertTrue(archive.contains("trade1"));
+    }
+
+    @Test
+    public void testFailedIndexWriteKeepsTradables() {
+        indexWriteSucceeds = false;
+        archiveTradables(List.of(mockTrade("trade1", new NodeAddress("peer.onion:9999"), 1_000, 10)));
+
+        assertEquals(0, numCompleted);
+        assertFalse(archive.contains("trade1"));
+        assertEquals(0, archive.getNumTrades(new NodeAddress("peer.onion:9999")));
+        assertEquals(0, archive.getTotals().getAmount());
+        assertTrue(archive.getSummaries().findAny().isEmpty());
+    }
+
+    @Test
+    public void testFindLoadsSegmentOnce() {
+        Trade trade1 = mockTrade("trade1", null, 1_000, 10);
+        Trade trade2 = mockTrade("trade2", null, 1_000, 20);
+        archiveTradables(List.of(trade1));
+        archiveTradables(List.of(trade2));
+
+        assertSame(trade2, archive.find("trade2").orElseThrow());
+        assertSame(trade2, archive.find("trade2").orElseThrow());
+        assertFalse(archive.find("unknown").isPresent());
+        verify(segmentPersistenceManager, times(1)).getPersisted(eq("ClosedTradesArchive_1"));
+        verify(segmentPersistenceManager, times(0)).getPersisted(eq("ClosedTradesArchive_0"));
+
+        assertEquals(2, archive.getTradables().size());
+    }
+
+    @Test
+    public void testRemoveOnlyUpdatesIndex() {
+        NodeAddress peer = new NodeAddress("peer.onion:9999");
+        Trade trade1 = mockTrade("trade1", peer, 1_000, 10);
+        Trade trade2 = mockTrade("trade2", peer, 2_000, 20);
+        archiveTradables(List.of(trade1, trade2));
+        assertEquals(2_000, archive.getMaxTradeAmount());
+
+        assertTrue(archive.remove(trade2));
+        assertFalse(archive.remove(trade2));
+        assertFalse(archive.contains("trade2"));
+        assertEquals(1, archive.getNumTrades(peer));
+        assertEquals(1_000, archive.getMaxTradeAmount());
+        assertEquals(1_000, archive.getTotals().getAmount());
+        assertEquals(List.of(trade1), archive.getTradables());
+        // The segment file still holds both tradables
+        assertEquals(2, segmentFiles.get("ClosedTradesArchive_0").size());
+    }
+
+    @Test
+    public void testSummaryKeepsXmrTxProofData() {
+        Trade trade = mockTrade("trade1", null, 1_000, 10);
+        when(trade.getCounterCurrencyTxId()).thenReturn("txHash");
+        when(trade.getCounterCurrencyExtraData()).thenReturn("txKey");
+        archiveTradables(List.of(trade));
+
+        TradableSummary summary = archive.getSummaries().findFirst().orElseThrow();
+        assertEquals("txHash", summary.getCounterCurrencyTxId());
+        assertEquals("txKey", summary.getCounterCurrencyExtraData());
+        assertNull(summary.getPeerAddress());
+    }
+
+    private void archiveTradables(List<Tradable> tradables) {
+        archive.archive(tradables, ClosedTradableArchiveTest::toSummary, () -> numCompleted++);
+    }
+
+    private static TradableSummary toSummary(Tradable tradable) {
+        boolean isTrade = tradable instanceof Trade;
+        Trade trade = isTrade ? (Trade) tradable : null;
+        NodeAddress peer = isTrade ? trade.getTradingPeerNodeAddress() : null;
+        return new TradableSummary(tradable.getId(),
+                tradable.getDate().getTime(),
+                isTrade,
+                peer != null ? peer.getFullAddress() : null,
+                isTrade ? trade.getAmountAsLong() : 0,
+                isTrade ? "EUR" : null,
+                isTrade ? trade.getAmountAsLong() / 10 : 0,
+                isTrade ? 10 : 0,
+                0,
+                0,
+                isTrade ? trade.getCounterCurrencyTxId() : null,
+                isTrade ? trade.getCounterCurrencyExtraData() : null);
+    }
+
+    private Trade mockTrade(String id, NodeAddress peer, long amount, long date) {
+        Trade trade = mock(Trade.class);
+        when(trade.getId()).thenReturn(id);
+        when(trade.getDate()).thenReturn(new Date(date));
+        when(trade.getTradingPeerNodeAddress()).thenReturn(peer);
+        when(trade.getAmountAsLong()).thenReturn(amount);
+        return trade;
+    }
+
+    private OpenOffer mockOpenOffer(String id, long date) {
+        OpenOffer openOffer = mock(OpenOffer.class);
+        when(openOffer.getId()).thenReturn(id);
+        when(openOffer.getDate()).thenReturn(new Date(date));
+        return openOffer;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade;
+
+import bisq.core.btc.wallet.BsqWalletService;
+import bisq.core.offer.OpenOffer;
+import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.bisq_v1.CleanupMailboxMessagesService;
+import bisq.core.trade.bisq_v1.DumpDelayedPayoutTx;
+import bisq.core.trade.bsq_swap.BsqSwapTradeManager;
+import bisq.core.trade.model.Tradable;
+import bisq.core.trade.model.TradableList;
+import bisq.core.trade.model.bisq_v1.Trade;
+import bisq.core.trade.statistics.TradeStatisticsManager;
+import bisq.core.user.Preferences;
+
+import bisq.common.crypto.KeyRing;
+import bisq.common.persistence.PersistenceManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClosedTradableManagerTest {
+    private static final int CLEAR_DATA_AFTER_DAYS = 20;
+
+    private PersistenceManager<TradableList<Tradable>> persistenceManager;
+    private ClosedTradableArchive archive;
+    private ClosedTradableManager closedTradableManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        persistenceManager = mock(PersistenceManager.class);
+        archive = mock(ClosedTradableArchive.class);
+        doAnswer(invocation -> {
+            Runnable completeHandler = invocation.getArgument(0);
+            completeHandler.run();
+            return null;
+        }).when(archive).readPersisted(any());
+
+        Preferences preferences = mock(Preferences.class);
+        when(preferences.getClearDataAfterDays()).thenReturn(CLEAR_DATA_AFTER_DAYS);
+        when(preferences.isUserHasRaisedTradeLimit()).thenReturn(true);
+
+        closedTradableManager = new ClosedTradableManager(mock(KeyRing.class),
+                mock(PriceFeedService.class),
+                mock(BsqSwapTradeManager.class),
+                mock(BsqWalletService.class),
+                preferences,
+                mock(TradeStatisticsManager.class),
+                persistenceManager,
+                mock(CleanupMailboxMessagesService.class),
+                mock(DumpDelayedPayoutTx.class),
+                archive);
+    }
+
+    @Test
+    public void testTradablesInBothTiersAreDedupedAtStartup() {
+        OpenOffer archived = mockOpenOffer("archived", 30);
+        OpenOffer notArchived = mockOpenOffer("notArchived", 30);
+        when(archive.contains(anyString())).thenAnswer(invocation -> "archived".equals(invocation.getArgument(0)));
+        readPersisted(List.of(archived, notArchived));
+
+        assertEquals(List.of(notArchived), closedTradableManager.getObservableList());
+        verify(persistenceManager).requestPersistence();
+    }
+
+    @Test
+    public void testNothingToDedupeAtStartup() {
+        readPersisted(List.of(mockOpenOffer("offer", 30)));
+
+        assertEquals(1, closedTradableManager.getObservableList().size());
+        verify(persistenceManager, never()).requestPersistence();
+    }
+
+    @Test
+    public void testMaybeArchiveMovesOldTradables() {
+        List<Tradable> tradables = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tradables.add(mockOpenOffer("old" + i, CLEAR_DATA_AFTER_DAYS + 1));
+        }
+        Trade lockedInTrade = mockTrade("lockedIn", CLEAR_DATA_AFTER_DAYS + 1, true);
+        Trade recentTrade = mockTrade("recent", 1, false);
+        tradables.add(lockedInTrade);
+        tradables.add(recentTrade);
+        readPersisted(tradables);
+
+        closedTradableManager.onAllServicesInitialized();
+
+        ArgumentCaptor<Collection<Tradable>> toArchive = archiveCaptor();
+        ArgumentCaptor<Runnable> completeHandler = ArgumentCaptor.forClass(Runnable.class);
+        verify(archive).archive(toArchive.capture(), any(), completeHandler.capture());
+        assertEquals(100, toArchive.getValue().size());
+        assertFalse(toArchive.getValue().contains(lockedInTrade));
+        assertFalse(toArchive.getValue().contains(recentTrade));
+
+        // The tradables stay in the in-memory tier until the archive got written
+        assertEquals(102, closedTradableManager.getObservableList().size());
+        completeHandler.getValue().run();
+        assertEquals(List.of(lockedInTrade, recentTrade), closedTradableManager.getObservableList());
+        assertTrue(closedTradableManager.getTradableById("recent").isPresent());
+    }
+
+    @Test
+    public void testMaybeArchiveWaitsForMinNumTradables() {
+        readPersisted(List.of(mockOpenOffer("old", CLEAR_DATA_AFTER_DAYS + 1)));
+
+        closedTradableManager.onAllServicesInitialized();
+
+        verify(archive, never()).archive(any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readPersisted(List<Tradable> tradables) {
+        TradableList<Tradable> persisted = new TradableList<>();
+        persisted.setAll(tradables);
+        doAnswer(invocation -> {
+            Consumer<TradableList<Tradable>> resultHandler = invocation.getArgument(0);
+            resultHandler.accept(persisted);
+            return null;
+        }).when(persistenceManager).readPersisted(any(Consumer.class), any(Runnable.class));
+        closedTradableManager.readPersisted(() -> {
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<Tradable>> archiveCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+
+    private static Date daysAgo(int days) {
+        return Date.from(Instant.now().minus(days, ChronoUnit.DAYS));
+    }
+
+    private static OpenOffer mockOpenOffer(String id, int ageInDays) {
+        OpenOffer openOffer = mock(OpenOffer.class);
+        when(openOffer.getId()).thenReturn(id);
+        when(openOffer.getDate()).thenReturn(daysAgo(ageInDays));
+        return openOffer;
+    }
+
+    private static Trade mockTrade(String id, int ageInDays, boolean fundsLockedIn) {
+        Trade trade = mock(Trade.class);
+        when(trade.getId()).thenReturn(id);
+        when(trade.getDate()).thenReturn(daysAgo(ageInDays));
+        when(trade.isFundsLockedIn()).thenReturn(fundsLockedIn);
+        return trade;
+    }
+}
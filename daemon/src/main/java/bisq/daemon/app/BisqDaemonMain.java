@@ -20,6 +20,7 @@ package bisq.daemon.app;
 import bisq.core.app.BisqHeadlessAppMain;
 import bisq.core.app.BisqSetup;
 import bisq.core.app.CoreModule;
+import bisq.core.app.MetricsService;
 
 import bisq.common.UserThread;
 import bisq.common.app.AppModule;
@@ -49,7 +50,7 @@ public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.Bis
 
     @Override
     protected void configUserThread() {
-        ExecutorService executorService = SingleThreadExecutorUtils.getSingleThreadExecutor(this.getClass());
+        ExecutorService executorService = SingleThreadExecutorUtils.getSingleThreadPoolExecutor(this.getClass());
         UserThread.setExecutor(executorService);
     }
 
@@ -94,6 +95,8 @@ public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.Bis
 
         grpcServer = injector.getInstance(GrpcServer.class);
         grpcServer.start();
+
+        injector.getInstance(MetricsService.class).start();
     }
 
     @Override
@@ -101,5 +104,6 @@ public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.Bis
         super.gracefulShutDown(resultHandler);
 
         grpcServer.shutdown();
+        injector.getInstance(MetricsService.class).shutDown();
     }
 }
@@ -37,6 +37,7 @@ import static io.grpc.ServerInterceptors.interceptForward;
 
 
 
+import bisq.daemon.grpc.interceptor.CallLatencyInterceptor;
 import bisq.daemon.grpc.interceptor.PasswordAuthInterceptor;
 
 @Singleton
@@ -70,6 +71,7 @@ public class GrpcServer {
                 .addService(interceptForward(versionService, versionService.interceptors()))
                 .addService(interceptForward(walletsService, walletsService.interceptors()))
                 .intercept(passwordAuthInterceptor)
+                .intercept(new CallLatencyInterceptor())
                 .build();
         coreContext.setApiUser(true);
     }
@@ -22,6 +22,7 @@ import bisq.core.api.model.CanceledTradeInfo;
 import bisq.core.api.model.TradeInfo;
 import bisq.core.offer.Offer;
 import bisq.core.offer.OpenOffer;
+import bisq.core.trade.model.Tradable;
 import bisq.core.trade.model.TradeModel;
 import bisq.core.trade.model.bisq_v1.Trade;
 import bisq.core.trade.model.bsq_swap.BsqSwapTrade;
@@ -51,7 +52,6 @@ import io.grpc.stub.StreamObserver;
 
 import javax.inject.Inject;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
@@ -158,10 +158,15 @@ class GrpcTradesService extends TradesImplBase {
                           StreamObserver<GetTradesReply> responseObserver) {
         try {
             var category = req.getCategory();
-            var trades = category.equals(OPEN)
-                    ? coreApi.getOpenTrades()
-                    : coreApi.getTradeHistory(category);
-            var reply = buildGetTradesReply(trades, category);
+            GetTradesReply reply;
+            if (category.equals(CLOSED)) {
+                reply = buildGetClosedTradesReply(coreApi.getClosedTradables(req.getOffset(), req.getLimit()));
+            } else {
+                var trades = category.equals(OPEN)
+                        ? coreApi.getOpenTrades()
+                        : coreApi.getTradeHistory(category);
+                reply = buildGetTradesReply(trades, category);
+            }
             responseObserver.onNext(reply);
             responseObserver.onCompleted();
         } catch (IllegalArgumentException cause) {
@@ -330,38 +335,40 @@ class GrpcTradesService extends TradesImplBase {
 
 
     private GetTradesReply buildGetTradesReply(List<TradeModel> trades, GetTradesRequest.Category category) {
-        // Build an unsorted List<TradeInfo>, starting with
-        // all pending, or all completed BsqSwap and v1 trades.
+        // Build an unsorted List<TradeInfo> of all pending, or all failed trades.
         List<TradeInfo> unsortedTrades = trades.stream()
                 .map(tradeModel -> {
-                    var role = coreApi.getTradeRole(tradeModel);
-                    var isMyOffer = coreApi.isMyOffer(tradeModel.getOffer());
-                    var isBsqSwapTrade = tradeModel instanceof BsqSwapTrade;
-                    var numConfirmations = isBsqSwapTrade
-                            ? coreApi.getTransactionConfirmations(((BsqSwapTrade) tradeModel).getTxId())
-                            : 0;
                     var closingStatus = category.equals(OPEN)
                             ? "Pending"
                             : coreApi.getClosedTradeStateAsString(tradeModel);
-                    return isBsqSwapTrade
-                            ? toTradeInfo((BsqSwapTrade) tradeModel, role, isMyOffer, numConfirmations, closingStatus)
-                            : toTradeInfo(tradeModel, role, isMyOffer, closingStatus);
+                    return toTradeInfoWithRole(tradeModel, closingStatus);
                 })
                 .collect(Collectors.toList());
+        return toGetTradesReply(unsortedTrades);
+    }
 
-        // If closed trades were requested, add any canceled
-        // OpenOffers (canceled trades) to the unsorted List<TradeInfo>.
-        Optional<List<OpenOffer>> canceledOpenOffers = category.equals(CLOSED)
-                ? Optional.of(coreApi.getCanceledOpenOffers())
-                : Optional.empty();
-        List<TradeInfo> canceledTrades = new ArrayList<>();
-        canceledOpenOffers.ifPresent(openOffers -> canceledTrades.addAll(
-                openOffers.stream()
-                        .map(CanceledTradeInfo::toCanceledTradeInfo)
-                        .collect(Collectors.toList())
-        ));
-        unsortedTrades.addAll(canceledTrades);
+    private GetTradesReply buildGetClosedTradesReply(List<Tradable> tradables) {
+        // The page of completed BsqSwap and v1 trades, and canceled OpenOffers (canceled trades).
+        List<TradeInfo> unsortedTrades = tradables.stream()
+                .map(tradable -> tradable instanceof OpenOffer
+                        ? CanceledTradeInfo.toCanceledTradeInfo((OpenOffer) tradable)
+                        : toTradeInfoWithRole((TradeModel) tradable, coreApi.getClosedTradeStateAsString(tradable)))
+                .collect(Collectors.toList());
+        return toGetTradesReply(unsortedTrades);
+    }
+
+    private TradeInfo toTradeInfoWithRole(TradeModel tradeModel, String closingStatus) {
+        var role = coreApi.getTradeRole(tradeModel);
+        var isMyOffer = coreApi.isMyOffer(tradeModel.getOffer());
+        if (tradeModel instanceof BsqSwapTrade) {
+            var numConfirmations = coreApi.getTransactionConfirmations(((BsqSwapTrade) tradeModel).getTxId());
+            return toTradeInfo((BsqSwapTrade) tradeModel, role, isMyOffer, numConfirmations, closingStatus);
+        } else {
+            return toTradeInfo(tradeModel, role, isMyOffer, closingStatus);
+        }
+    }
 
+    private GetTradesReply toGetTradesReply(List<TradeInfo> unsortedTrades) {
         // Sort the cumulative List<TradeInfo> by date before sending it to the client.
         List<TradeInfo> sortedTrades = unsortedTrades.stream()
                 .sorted(comparing(TradeInfo::getDate))
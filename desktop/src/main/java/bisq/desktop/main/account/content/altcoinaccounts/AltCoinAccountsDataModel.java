@@ -106,7 +106,7 @@ class AltCoinAccountsDataModel extends ActivatableDataModel {
 
     public void onUpdateAccount(PaymentAccount paymentAccount) {
         paymentAccount.onPersistChanges();
-        user.requestPersistence();
+        user.onPaymentAccountEdited(paymentAccount);
     }
 
     public boolean onDeleteAccount(PaymentAccount paymentAccount) {
@@ -127,7 +127,7 @@ class FiatAccountsDataModel extends ActivatableDataModel {
 
     public void onUpdateAccount(PaymentAccount paymentAccount) {
         paymentAccount.onPersistChanges();
-        user.requestPersistence();
+        user.onPaymentAccountEdited(paymentAccount);
     }
 
     public boolean onDeleteAccount(PaymentAccount paymentAccount) {
@@ -352,9 +352,7 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
         observableList.forEach(BsqTxListItem::cleanup);
 
         List<Transaction> walletTransactions = bsqWalletService.getClonedWalletTransactions();
-        Map<String, BsqSwapTrade> swapTradeByTxIdMap = tradableRepository.getAll().stream()
-                .filter(tradable -> tradable instanceof BsqSwapTrade)
-                .map(t -> (BsqSwapTrade) t)
+        Map<String, BsqSwapTrade> swapTradeByTxIdMap = tradableRepository.getBsqSwapTrades().stream()
                 .collect(Collectors.toMap(BsqSwapTrade::getTxId, t -> t));
 
         List<BsqTxListItem> items = walletTransactions.stream()
@@ -23,6 +23,7 @@ import bisq.core.trade.TradeManager;
 import bisq.core.trade.bisq_v1.FailedTradesManager;
 import bisq.core.trade.bsq_swap.BsqSwapTradeManager;
 import bisq.core.trade.model.Tradable;
+import bisq.core.trade.model.bsq_swap.BsqSwapTrade;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -57,8 +58,14 @@ public class TradableRepository {
                 .addAll(openOfferManager.getObservableList())
                 .addAll(tradeManager.getObservableList())
                 .addAll(closedTradableManager.getObservableList())
+                .addAll(closedTradableManager.getArchivedTradables())
                 .addAll(failedTradesManager.getObservableList())
                 .addAll(bsqSwapTradeManager.getObservableList())
                 .build();
     }
+
+    // BsqSwap trades are never archived, so we do not need to load the archived closed tradables
+    public Set<BsqSwapTrade> getBsqSwapTrades() {
+        return ImmutableSet.copyOf(bsqSwapTradeManager.getBsqSwapTrades());
+    }
 }
@@ -285,6 +285,8 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
             scene.removeEventHandler(KeyEvent.KEY_RELEASED, keyEventEventHandler);
 
         exportButton.setOnAction(null);
+        // The list items reference the archived closed tradables which we do not keep in memory while not shown
+        observableList.clear();
     }
 
     private void updateList() {
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.offer.offerbook;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Tracks the item with the highest key of a changing collection of OfferBookListItems. Add and remove are
+ * O(log n), so the maximum does not need to be recalculated over all items at each change of the list.
+ * <p>
+ * The key of an item is evaluated when it gets added. If the key of an item can change over time (e.g. price of
+ * offers with market based price) the caller needs to call update once it changed. Items with a null key are not
+ * tracked.
+ */
+class IncrementalMaxTracker<K extends Comparable<K>> {
+    private final Function<OfferBookListItem, K> keyFunction;
+    private final Map<OfferBookListItem, K> keyByItem = new HashMap<>();
+    private final TreeMap<K, Set<OfferBookListItem>> itemsByKey = new TreeMap<>();
+
+    IncrementalMaxTracker(Function<OfferBookListItem, K> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    void add(OfferBookListItem item) {
+        if (keyByItem.containsKey(item)) {
+            return;
+        }
+        K key = keyFunction.apply(item);
+        if (key == null) {
+            return;
+        }
+        keyByItem.put(item, key);
+        itemsByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(item);
+    }
+
+    void remove(OfferBookListItem item) {
+        K key = keyByItem.remove(item);
+        if (key == null) {
+            return;
+        }
+        Set<OfferBookListItem> items = itemsByKey.get(key);
+        items.remove(item);
+        if (items.isEmpty()) {
+            itemsByKey.remove(key);
+        }
+    }
+
+    // Evaluates the key of the item again. An item which had a null key before gets tracked if its key is set now.
+    void update(OfferBookListItem item) {
+        remove(item);
+        add(item);
+    }
+
+    void clear() {
+        keyByItem.clear();
+        itemsByKey.clear();
+    }
+
+    int size() {
+        return keyByItem.size();
+    }
+
+    Optional<OfferBookListItem> getMax() {
+        Map.Entry<K, Set<OfferBookListItem>> lastEntry = itemsByKey.lastEntry();
+        return lastEntry == null ? Optional.empty() : Optional.of(lastEntry.getValue().iterator().next());
+    }
+}
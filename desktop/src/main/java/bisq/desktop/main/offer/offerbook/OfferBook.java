@@ -25,6 +25,8 @@ import bisq.core.offer.OfferRestrictions;
 import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.utils.Utils;
 
+import bisq.common.UserThread;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -32,9 +34,10 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -47,12 +50,21 @@ import static bisq.core.offer.OfferDirection.BUY;
  * As it is used only by the Buy and Sell UIs we treat it as local UI model.
  * It also use OfferRepository.Listener as the lists items class and we don't want to get any dependency out of the
  * package for that.
+ * <p>
+ * The items are indexed by offer ID, so add and remove events from the P2P network are handled in constant time.
+ * The resulting changes of the observable list are applied in one batch at the next UserThread cycle, so a burst of
+ * P2P events (e.g. at startup) leads to a single list change instead of one per offer.
  */
 @Singleton
 @Slf4j
 public class OfferBook {
     private final OfferBookService offerBookService;
     private final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
+    // Items by offer ID. Contains the pending changes already, so it can be ahead of offerBookListItems.
+    private final Map<String, OfferBookListItem> itemByOfferId = new HashMap<>();
+    private final Set<OfferBookListItem> pendingAddedItems = new LinkedHashSet<>();
+    private final Set<OfferBookListItem> pendingRemovedItems = new LinkedHashSet<>();
+    private boolean applyPendingChangesScheduled;
     private final Map<String, Integer> buyOfferCountMap = new HashMap<>();
     private final Map<String, Integer> sellOfferCountMap = new HashMap<>();
     private final FilterManager filterManager;
@@ -94,11 +106,13 @@ public class OfferBook {
                 // Use offer.equals(offer) to see if the OfferBook list contains an exact
                 // match -- offer.equals(offer) includes comparisons of payload, state
                 // and errorMessage.
-                boolean hasSameOffer = offerBookListItems.stream().anyMatch(item -> item.getOffer().equals(offer));
+                // We keep only one item per offerId, so we only need to compare with the item of the same offerId.
+                OfferBookListItem existingItem = itemByOfferId.get(offer.getId());
+                boolean hasSameOffer = existingItem != null && existingItem.getOffer().equals(offer);
                 if (!hasSameOffer) {
                     OfferBookListItem newOfferBookListItem = new OfferBookListItem(offer);
                     removeDuplicateItem(newOfferBookListItem);
-                    offerBookListItems.add(newOfferBookListItem);  // Add replacement.
+                    addItem(newOfferBookListItem);  // Add replacement.
                     if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
                         log.debug("onAdded: Added new offer {}\n"
                                         + "\twith newItem.payloadHash: {}",
@@ -127,22 +141,20 @@ public class OfferBook {
     }
 
     private void onProofOfWorkDifficultyChanged() {
-        List<OfferBookListItem> toRemove = offerBookListItems.stream()
+        List<OfferBookListItem> toRemove = itemByOfferId.values().stream()
                 .filter(item -> item.getOffer().isBsqSwapOffer())
                 .filter(item -> !filterManager.isProofOfWorkValid(item.getOffer()))
                 .collect(Collectors.toList());
-        toRemove.forEach(offerBookListItems::remove);
+        toRemove.forEach(this::removeItem);
     }
 
     private void removeDuplicateItem(OfferBookListItem newOfferBookListItem) {
         String offerId = newOfferBookListItem.getOffer().getId();
         // We need to remove any view items with a matching offerId before
         // a newOfferBookListItem is added to the view.
-        List<OfferBookListItem> duplicateItems = offerBookListItems.stream()
-                .filter(item -> item.getOffer().getId().equals(offerId))
-                .collect(Collectors.toList());
-        duplicateItems.forEach(oldOfferItem -> {
-            offerBookListItems.remove(oldOfferItem);
+        OfferBookListItem oldOfferItem = itemByOfferId.get(offerId);
+        if (oldOfferItem != null) {
+            removeItem(oldOfferItem);
             if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
                 log.debug("onAdded: Removed old offer {}\n"
                                 + "\twith payload hash {} from list.\n"
@@ -151,7 +163,7 @@ public class OfferBook {
                         oldOfferItem.getHashOfPayload().getHex(),
                         oldOfferItem.getOffer().getId());
             }
-        });
+        }
     }
 
     public void removeOffer(Offer offer) {
@@ -169,12 +181,8 @@ public class OfferBook {
         }
 
         // Find the removal candidate in the OfferBook list with matching offerId and payload-hash.
-        Optional<OfferBookListItem> candidateWithMatchingPayloadHash = offerBookListItems.stream()
-                .filter(item -> item.getOffer().getId().equals(offer.getId())
-                        && item.hashOfPayload.equals(hashOfPayload))
-                .findAny();
-
-        if (!candidateWithMatchingPayloadHash.isPresent()) {
+        OfferBookListItem candidate = itemByOfferId.get(offer.getId());
+        if (candidate == null || !candidate.hashOfPayload.equals(hashOfPayload)) {
             if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
                 log.debug("UI view list does not contain offer with id {} and payload-hash {}",
                         offer.getId(),
@@ -183,14 +191,13 @@ public class OfferBook {
             return;
         }
 
-        OfferBookListItem candidate = candidateWithMatchingPayloadHash.get();
         // Remove the candidate only if the candidate's offer payload the hash matches the
         // onRemoved hashOfPayload parameter.  We may receive add/remove messages out of
         // order from the API's 'editoffer' method, and use the offer payload hash to
         // ensure we do not remove an edited offer immediately after it was added.
         if (candidate.getHashOfPayload().equals(hashOfPayload)) {
             // The payload-hash test passed, remove the candidate and print reason.
-            offerBookListItems.remove(candidate);
+            removeItem(candidate);
 
             if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
                 log.debug("Candidate.payload-hash: {} == onRemoved.payload-hash: {} ?"
@@ -218,12 +225,17 @@ public class OfferBook {
         try {
             // setAll causes sometimes an UnsupportedOperationException
             // Investigate why....
-            offerBookListItems.clear();
-            offerBookListItems.addAll(offerBookService.getOffers().stream()
+            itemByOfferId.clear();
+            pendingAddedItems.clear();
+            pendingRemovedItems.clear();
+            offerBookService.getOffers().stream()
                     .filter(this::isOfferAllowed)
                     .filter(offer -> !offer.isBsqSwapOffer() || filterManager.isProofOfWorkValid(offer))
                     .map(OfferBookListItem::new)
-                    .collect(Collectors.toList()));
+                    // In case we get multiple offers with the same offerId we keep the last one like at onAdded.
+                    .forEach(item -> itemByOfferId.put(item.getOffer().getId(), item));
+            offerBookListItems.clear();
+            offerBookListItems.addAll(itemByOfferId.values());
 
             log.debug("offerBookListItems.size {}", offerBookListItems.size());
             fillOfferCountMaps();
@@ -254,6 +266,41 @@ public class OfferBook {
         return sellOfferCountMap;
     }
 
+    private void addItem(OfferBookListItem item) {
+        itemByOfferId.put(item.getOffer().getId(), item);
+        pendingAddedItems.add(item);
+        scheduleApplyPendingChanges();
+    }
+
+    private void removeItem(OfferBookListItem item) {
+        itemByOfferId.remove(item.getOffer().getId(), item);
+        // If the item was added in the same cycle it is not in offerBookListItems yet
+        if (!pendingAddedItems.remove(item)) {
+            pendingRemovedItems.add(item);
+        }
+        scheduleApplyPendingChanges();
+    }
+
+    private void scheduleApplyPendingChanges() {
+        if (!applyPendingChangesScheduled) {
+            applyPendingChangesScheduled = true;
+            UserThread.execute(this::applyPendingChanges);
+        }
+    }
+
+    private void applyPendingChanges() {
+        applyPendingChangesScheduled = false;
+        if (!pendingRemovedItems.isEmpty()) {
+            // removeAll with a set is linear in the size of the list
+            offerBookListItems.removeAll(pendingRemovedItems);
+            pendingRemovedItems.clear();
+        }
+        if (!pendingAddedItems.isEmpty()) {
+            offerBookListItems.addAll(pendingAddedItems);
+            pendingAddedItems.clear();
+        }
+    }
+
     private boolean isOfferAllowed(Offer offer) {
         boolean isBanned = filterManager.isOfferIdBanned(offer.getId())
                 || filterManager.isNodeAddressBanned(offer.getMakerNodeAddress());
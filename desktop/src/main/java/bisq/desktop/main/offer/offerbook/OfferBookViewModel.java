@@ -49,7 +49,6 @@ import bisq.core.payment.payload.PaymentMethod;
 import bisq.core.provider.price.PriceFeedService;
 import bisq.core.trade.ClosedTradableManager;
 import bisq.core.trade.bsq_swap.BsqSwapTradeManager;
-import bisq.core.trade.model.bisq_v1.Trade;
 import bisq.core.trade.model.bsq_swap.BsqSwapTrade;
 import bisq.core.user.Preferences;
 import bisq.core.user.User;
@@ -76,6 +75,8 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+import javafx.beans.value.ChangeListener;
+
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -85,13 +86,13 @@ import javafx.collections.transformation.SortedList;
 import java.text.DecimalFormat;
 
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -120,6 +121,18 @@ abstract class OfferBookViewModel extends ActivatableViewModel {
     private final SortedList<OfferBookListItem> sortedItems;
     private final ListChangeListener<TradeCurrency> tradeCurrencyListChangeListener;
     private final ListChangeListener<OfferBookListItem> filterItemsListener;
+    // Maintained incrementally from the changes of the filteredItems for the column widths
+    private final IncrementalMaxTracker<Long> highestAmountTracker =
+            new IncrementalMaxTracker<>(o -> o.getOffer().getAmount().getValue());
+    private final IncrementalMaxTracker<Long> highestPriceTracker =
+            new IncrementalMaxTracker<>(o -> o.getOffer().getPrice() != null ? o.getOffer().getPrice().getValue() : null);
+    private final IncrementalMaxTracker<Integer> highestMarketPriceMarginTracker =
+            new IncrementalMaxTracker<>(o -> o.getOffer().isUseMarketBasedPrice() ?
+                    new DecimalFormat("#0.00").format(o.getOffer().getMarketPriceMargin() * 100).length() : null);
+    private final Set<OfferBookListItem> rangeAmountItems = new HashSet<>();
+    // The price of those items changes with the market price, so their key in highestPriceTracker needs to be updated
+    private final Set<OfferBookListItem> marketBasedPriceItems = new HashSet<>();
+    private final ChangeListener<Number> priceFeedUpdateCounterListener;
     private TradeCurrency selectedTradeCurrency;
     @Getter
     private final ObservableList<TradeCurrency> tradeCurrencies = FXCollections.observableArrayList();
@@ -194,42 +207,33 @@ abstract class OfferBookViewModel extends ActivatableViewModel {
         tradeCurrencyListChangeListener = c -> fillCurrencies();
 
         filterItemsListener = c -> {
-            final Optional<OfferBookListItem> highestAmountOffer = filteredItems.stream()
-                    .max(Comparator.comparingLong(o -> o.getOffer().getAmount().getValue()));
-
-            final boolean containsRangeAmount = filteredItems.stream().anyMatch(o -> o.getOffer().isRange());
-
-            if (highestAmountOffer.isPresent()) {
-                final OfferBookListItem item = highestAmountOffer.get();
-                if (!item.getOffer().isRange() && containsRangeAmount) {
-                    maxPlacesForAmount.set(formatAmount(item.getOffer(), false)
-                            .length() * 2 + FormattingUtils.RANGE_SEPARATOR.length());
-                    maxPlacesForVolume.set(formatVolume(item.getOffer(), false)
-                            .length() * 2 + FormattingUtils.RANGE_SEPARATOR.length());
-                } else {
-                    maxPlacesForAmount.set(formatAmount(item.getOffer(), false).length());
-                    maxPlacesForVolume.set(formatVolume(item.getOffer(), false).length());
+            while (c.next()) {
+                if (c.wasPermutated() || c.wasUpdated()) {
+                    continue;
                 }
-
+                c.getRemoved().forEach(this::removeFromMaxTrackers);
+                c.getAddedSubList().forEach(this::addToMaxTrackers);
             }
-
-            final Optional<OfferBookListItem> highestPriceOffer = filteredItems.stream()
-                    .filter(o -> o.getOffer().getPrice() != null)
-                    .max(Comparator.comparingLong(o -> o.getOffer().getPrice() != null ? o.getOffer().getPrice().getValue() : 0));
-
-            highestPriceOffer.ifPresent(offerBookListItem -> maxPlacesForPrice.set(formatPrice(offerBookListItem.getOffer(), false).length()));
-
-            final Optional<OfferBookListItem> highestMarketPriceMarginOffer = filteredItems.stream()
-                    .filter(o -> o.getOffer().isUseMarketBasedPrice())
-                    .max(Comparator.comparing(o -> new DecimalFormat("#0.00").format(o.getOffer().getMarketPriceMargin() * 100).length()));
-
-            highestMarketPriceMarginOffer.ifPresent(offerBookListItem -> maxPlacesForMarketPriceMargin.set(formatMarketPriceMargin(offerBookListItem.getOffer()).length()));
+            updateMaxPlaces();
         };
+
+        priceFeedUpdateCounterListener = (observable, oldValue, newValue) -> onMarketPriceChanged();
     }
 
     @Override
     protected void activate() {
+        // We did not get the changes while we have been deactivated
+        highestAmountTracker.clear();
+        highestPriceTracker.clear();
+        highestMarketPriceMarginTracker.clear();
+        rangeAmountItems.clear();
+        marketBasedPriceItems.clear();
+        filteredItems.forEach(this::addToMaxTrackers);
+        updateMaxPlaces();
         filteredItems.addListener(filterItemsListener);
+        if (priceFeedService != null) {
+            priceFeedService.updateCounterProperty().addListener(priceFeedUpdateCounterListener);
+        }
 
         updateMatchingAccountToggleState();
 
@@ -246,6 +250,9 @@ abstract class OfferBookViewModel extends ActivatableViewModel {
     @Override
     protected void deactivate() {
         filteredItems.removeListener(filterItemsListener);
+        if (priceFeedService != null) {
+            priceFeedService.updateCounterProperty().removeListener(priceFeedUpdateCounterListener);
+        }
         preferences.getTradeCurrenciesAsObservable().removeListener(tradeCurrencyListChangeListener);
     }
 
@@ -559,6 +566,58 @@ abstract class OfferBookViewModel extends ActivatableViewModel {
         fillCurrencies(tradeCurrencies, allCurrencies);
     }
 
+    private void addToMaxTrackers(OfferBookListItem item) {
+        highestAmountTracker.add(item);
+        highestPriceTracker.add(item);
+        highestMarketPriceMarginTracker.add(item);
+        if (item.getOffer().isRange()) {
+            rangeAmountItems.add(item);
+        }
+        if (item.getOffer().isUseMarketBasedPrice()) {
+            marketBasedPriceItems.add(item);
+        }
+    }
+
+    private void removeFromMaxTrackers(OfferBookListItem item) {
+        highestAmountTracker.remove(item);
+        highestPriceTracker.remove(item);
+        highestMarketPriceMarginTracker.remove(item);
+        rangeAmountItems.remove(item);
+        marketBasedPriceItems.remove(item);
+    }
+
+    private void onMarketPriceChanged() {
+        if (marketBasedPriceItems.isEmpty()) {
+            return;
+        }
+        marketBasedPriceItems.forEach(highestPriceTracker::update);
+        updateMaxPlaces();
+    }
+
+    private void updateMaxPlaces() {
+        final Optional<OfferBookListItem> highestAmountOffer = highestAmountTracker.getMax();
+        final boolean containsRangeAmount = !rangeAmountItems.isEmpty();
+
+        if (highestAmountOffer.isPresent()) {
+            final OfferBookListItem item = highestAmountOffer.get();
+            if (!item.getOffer().isRange() && containsRangeAmount) {
+                maxPlacesForAmount.set(formatAmount(item.getOffer(), false)
+                        .length() * 2 + FormattingUtils.RANGE_SEPARATOR.length());
+                maxPlacesForVolume.set(formatVolume(item.getOffer(), false)
+                        .length() * 2 + FormattingUtils.RANGE_SEPARATOR.length());
+            } else {
+                maxPlacesForAmount.set(formatAmount(item.getOffer(), false).length());
+                maxPlacesForVolume.set(formatVolume(item.getOffer(), false).length());
+            }
+        }
+
+        highestPriceTracker.getMax().ifPresent(offerBookListItem ->
+                maxPlacesForPrice.set(formatPrice(offerBookListItem.getOffer(), false).length()));
+
+        highestMarketPriceMarginTracker.getMax().ifPresent(offerBookListItem ->
+                maxPlacesForMarketPriceMargin.set(formatMarketPriceMargin(offerBookListItem.getOffer()).length()));
+    }
+
     private void updateMatchingAccountToggleState() {
         if (user != null) {
             disableMatchToggle.set(user.getPaymentAccounts() == null || user.getPaymentAccounts().isEmpty());
@@ -622,15 +681,16 @@ abstract class OfferBookViewModel extends ActivatableViewModel {
     }
 
     public int getNumTrades(Offer offer) {
-        return Stream.concat(closedTradableManager.getTradableList().stream(), bsqSwapTradeManager.getTradableList().stream())
-                .filter(e -> e instanceof Trade || e instanceof BsqSwapTrade)    // weed out canceled offers
+        int numBsqSwapTrades = (int) bsqSwapTradeManager.getTradableList().stream()
+                .filter(e -> e instanceof BsqSwapTrade)
                 .filter(e -> {
                     final Optional<NodeAddress> tradingPeerNodeAddress = e.getOptionalTradingPeerNodeAddress();
                     return tradingPeerNodeAddress.isPresent() &&
                             tradingPeerNodeAddress.get().getFullAddress().equals(offer.getMakerNodeAddress().getFullAddress());
                 })
-                .collect(Collectors.toSet())
-                .size();
+                .distinct()
+                .count();
+        return closedTradableManager.getNumClosedTrades(offer.getMakerNodeAddress()) + numBsqSwapTrades;
     }
 
     public boolean hasSelectionAccountSigning() {
@@ -911,7 +911,7 @@ public class DisputeSummaryWindow extends Overlay<DisputeSummaryWindow> {
         final CompletableFuture<Boolean> asyncStatus = new CompletableFuture<>();
         var disputeManager = checkNotNull(getDisputeManager(dispute));
         try {
-            DisputeValidation.testIfDisputeTriesReplay(dispute, disputeManager.getDisputesAsObservableList());
+            disputeManager.testIfDisputeTriesReplay(dispute);
             if (dispute.isUsingLegacyBurningMan()) {
                 DisputeValidation.validateDonationAddressMatchesAnyPastParamValues(dispute, dispute.getDonationAddressOfDelayedPayoutTx(), daoFacade);
             }
@@ -118,7 +118,7 @@ public class UpdateAmazonGiftCardAccountWindow extends Overlay<UpdateAmazonGiftC
             Country chosenCountryCode = countryCombo.getValue();
             if (chosenCountryCode != null && chosenCountryCode.code != null && !chosenCountryCode.code.isEmpty()) {
                 amazonGiftCardAccount.setCountry(chosenCountryCode);
-                user.requestPersistence();
+                user.onPaymentAccountEdited(amazonGiftCardAccount);
                 closeHandlerOptional.ifPresent(Runnable::run);
                 hide();
             }
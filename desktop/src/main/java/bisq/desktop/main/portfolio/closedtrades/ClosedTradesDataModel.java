@@ -26,6 +26,7 @@ import bisq.core.monetary.Price;
 import bisq.core.monetary.Volume;
 import bisq.core.provider.price.MarketPrice;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.ClosedTradableArchive;
 import bisq.core.trade.ClosedTradableFormatter;
 import bisq.core.trade.ClosedTradableManager;
 import bisq.core.trade.ClosedTradableUtil;
@@ -43,6 +44,7 @@ import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -94,6 +96,8 @@ class ClosedTradesDataModel extends ActivatableDataModel {
         closedTradableManager.getObservableList().removeListener(tradesListChangeListener);
         bsqSwapTradeManager.getObservableList().removeListener(tradesListChangeListener);
         bsqWalletService.removeBsqBalanceListener(bsqBalanceListener);
+        // We do not keep the archived tradables in memory while the view is not shown
+        list.clear();
     }
 
     ObservableList<ClosedTradesListItem> getList() {
@@ -105,7 +109,15 @@ class ClosedTradesDataModel extends ActivatableDataModel {
     }
 
     Coin getTotalAmount() {
-        return ClosedTradableUtil.getTotalAmount(getListAsTradables());
+        return ClosedTradableUtil.getTotalAmount(getNonArchivedTradables())
+                .add(Coin.valueOf(closedTradableManager.getArchivedTotals().getAmount()));
+    }
+
+    Map<String, Long> getTotalVolumeByCurrency() {
+        Map<String, Long> totalVolumeByCurrency = ClosedTradableUtil.getTotalVolumeByCurrency(getNonArchivedTradables());
+        closedTradableManager.getArchivedTotals().getVolumeByCurrency()
+                .forEach((currencyCode, volume) -> totalVolumeByCurrency.merge(currencyCode, volume, Long::sum));
+        return totalVolumeByCurrency;
     }
 
     Optional<Volume> getVolumeInUserFiatCurrency(Coin amount) {
@@ -127,11 +139,21 @@ class ClosedTradesDataModel extends ActivatableDataModel {
     }
 
     Coin getTotalTxFee() {
-        return ClosedTradableUtil.getTotalTxFee(getListAsTradables());
+        return ClosedTradableUtil.getTotalTxFee(getNonArchivedTradables())
+                .add(Coin.valueOf(closedTradableManager.getArchivedTotals().getTxFee()));
     }
 
     Coin getTotalTradeFee(boolean expectBtcFee) {
-        return closedTradableManager.getTotalTradeFee(getListAsTradables(), expectBtcFee);
+        ClosedTradableArchive.Totals archivedTotals = closedTradableManager.getArchivedTotals();
+        return closedTradableManager.getTotalTradeFee(getNonArchivedTradables(), expectBtcFee)
+                .add(Coin.valueOf(expectBtcFee ? archivedTotals.getBtcTradeFee() : archivedTotals.getBsqTradeFee()));
+    }
+
+    // The archived tradables are covered by the totals which the archive keeps in its index
+    private List<Tradable> getNonArchivedTradables() {
+        return getListAsTradables().stream()
+                .filter(tradable -> !closedTradableManager.isArchived(tradable.getId()))
+                .collect(Collectors.toList());
     }
 
     boolean isCurrencyForTradeFeeBtc(Tradable item) {
@@ -150,6 +172,11 @@ class ClosedTradesDataModel extends ActivatableDataModel {
                         .map(tradable -> new ClosedTradesListItem(tradable, closedTradableFormatter, closedTradableManager))
                         .collect(Collectors.toList())
         );
+        list.addAll(
+                closedTradableManager.getArchivedTradables().stream()
+                        .map(tradable -> new ClosedTradesListItem(tradable, closedTradableFormatter, closedTradableManager))
+                        .collect(Collectors.toList())
+        );
         // We sort by date, the earliest first
         list.sort((o1, o2) -> o2.getTradable().getDate().compareTo(o1.getTradable().getDate()));
     }
@@ -68,7 +68,6 @@ import java.time.Instant;
 
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 import lombok.Getter;
 
@@ -388,19 +387,7 @@ public class PendingTradesViewModel extends ActivatableWithDataModel<PendingTrad
     }
 
     public int getNumPastTrades(Trade trade) {
-        return closedTradableManager.getObservableList().stream()
-                .filter(e -> {
-                    if (e instanceof Trade) {
-                        Trade t = (Trade) e;
-                        return t.getTradingPeerNodeAddress() != null &&
-                                trade.getTradingPeerNodeAddress() != null &&
-                                t.getTradingPeerNodeAddress().getFullAddress().equals(trade.getTradingPeerNodeAddress().getFullAddress());
-                    } else
-                        return false;
-
-                })
-                .collect(Collectors.toSet())
-                .size();
+        return closedTradableManager.getNumClosedTrades(trade.getTradingPeerNodeAddress());
     }
 
     @Nullable
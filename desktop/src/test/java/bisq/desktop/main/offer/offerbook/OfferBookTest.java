@@ -0,0 +1,147 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.offer.offerbook;
+
+import bisq.core.filter.Filter;
+import bisq.core.filter.FilterManager;
+import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
+
+import bisq.network.p2p.NodeAddress;
+
+import bisq.common.UserThread;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import javafx.beans.property.SimpleObjectProperty;
+
+import javafx.collections.ListChangeListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.ArgumentCaptor;
+
+import static bisq.desktop.maker.OfferMaker.btcUsdOffer;
+import static bisq.desktop.maker.OfferMaker.id;
+import static bisq.desktop.maker.OfferMaker.nodeAddress;
+import static bisq.desktop.maker.OfferMaker.price;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OfferBookTest {
+    private static final NodeAddress V3_NODE_ADDRESS = new NodeAddress("a".repeat(56) + ".onion", 9999);
+
+    private final List<Runnable> userThreadTasks = new ArrayList<>();
+    private OfferBook offerBook;
+    private OfferBookService.OfferBookChangedListener offerBookChangedListener;
+
+    @BeforeEach
+    public void setUp() {
+        // We run the UserThread tasks manually to see the coalesced list changes
+        UserThread.setExecutor(userThreadTasks::add);
+
+        OfferBookService offerBookService = mock(OfferBookService.class);
+        FilterManager filterManager = mock(FilterManager.class);
+        when(filterManager.filterProperty()).thenReturn(new SimpleObjectProperty<Filter>());
+        offerBook = new OfferBook(offerBookService, filterManager);
+
+        ArgumentCaptor<OfferBookService.OfferBookChangedListener> captor =
+                ArgumentCaptor.forClass(OfferBookService.OfferBookChangedListener.class);
+        verify(offerBookService).addOfferBookChangedListener(captor.capture());
+        offerBookChangedListener = captor.getValue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        UserThread.setExecutor(MoreExecutors.directExecutor());
+    }
+
+    @Test
+    public void testBurstOfAddedOffersResultsInOneListChange() {
+        AtomicInteger numListChanges = new AtomicInteger();
+        offerBook.getOfferBookListItems().addListener((ListChangeListener<OfferBookListItem>) c ->
+                numListChanges.incrementAndGet());
+
+        for (int i = 0; i < 100; i++) {
+            offerBookChangedListener.onAdded(newOffer("offer" + i, 100000L));
+        }
+        // Added and removed in the same cycle
+        Offer removedOffer = newOffer("removed", 100000L);
+        offerBookChangedListener.onAdded(removedOffer);
+        offerBookChangedListener.onRemoved(removedOffer);
+        assertTrue(offerBook.getOfferBookListItems().isEmpty());
+
+        runUserThreadTasks();
+        assertEquals(100, offerBook.getOfferBookListItems().size());
+        assertEquals(1, numListChanges.get());
+    }
+
+    @Test
+    public void testEditedOfferReplacesItem() {
+        Offer offer = newOffer("offer", 100000L);
+        offerBookChangedListener.onAdded(offer);
+        runUserThreadTasks();
+        OfferBookListItem item = offerBook.getOfferBookListItems().get(0);
+
+        // Same offer again is ignored
+        offerBookChangedListener.onAdded(offer);
+        runUserThreadTasks();
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+        assertSame(item, offerBook.getOfferBookListItems().get(0));
+
+        // Edited offer with same ID replaces the old item
+        Offer editedOffer = newOffer("offer", 200000L);
+        offerBookChangedListener.onAdded(editedOffer);
+        runUserThreadTasks();
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+        assertSame(editedOffer, offerBook.getOfferBookListItems().get(0).getOffer());
+
+        // Late remove of the old offer must not remove the edited offer as the payload hash does not match
+        offerBookChangedListener.onRemoved(offer);
+        runUserThreadTasks();
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+
+        offerBookChangedListener.onRemoved(editedOffer);
+        runUserThreadTasks();
+        assertTrue(offerBook.getOfferBookListItems().isEmpty());
+    }
+
+    private void runUserThreadTasks() {
+        List<Runnable> tasks = new ArrayList<>(userThreadTasks);
+        userThreadTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static Offer newOffer(String offerId, long offerPrice) {
+        return make(btcUsdOffer.but(with(id, offerId),
+                with(price, offerPrice),
+                with(nodeAddress, V3_NODE_ADDRESS)));
+    }
+}
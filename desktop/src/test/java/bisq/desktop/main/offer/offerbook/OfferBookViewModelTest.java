@@ -420,6 +420,37 @@ public class OfferBookViewModelTest {
         assertEquals(10, model.maxPlacesForMarketPriceMargin.intValue()); //" (-10.00%)"
     }
 
+    @Test
+    public void testMaxCharactersForPriceUpdatedWithMarketPrice() {
+        OfferBook offerBook = mock(OfferBook.class);
+        OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        SimpleIntegerProperty updateCounter = new SimpleIntegerProperty();
+
+        final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
+        when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 12684.0450, Instant.now().getEpochSecond(), true));
+        when(priceFeedService.updateCounterProperty()).thenReturn(updateCounter);
+
+        final OfferBookListItem item = make(btcBuyItem.but(
+                with(useMarketBasedPrice, true),
+                with(marketPriceMargin, 0.01)));
+        item.getOffer().setPriceFeedService(priceFeedService);
+        offerBookListItems.addAll(item, make(btcBuyItem));
+
+        final OfferBookViewModel model = new BtcOfferBookViewModel(user, openOfferManager, offerBook, empty, null, null, priceFeedService,
+                null, null, null, null, getPriceUtil(), null, coinFormatter, new BsqFormatter(), null, null);
+        model.activate();
+
+        assertEquals(10, model.maxPlacesForPrice.intValue()); //12557.2046
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 126840.450, Instant.now().getEpochSecond(), true));
+        updateCounter.set(updateCounter.get() + 1);
+        assertEquals(11, model.maxPlacesForPrice.intValue()); //125572.0455
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 1268.4045, Instant.now().getEpochSecond(), true));
+        updateCounter.set(updateCounter.get() + 1);
+        assertEquals(9, model.maxPlacesForPrice.intValue()); //1255.7205
+    }
+
     @Test
     public void testGetPrice() {
         OfferBook offerBook = mock(OfferBook.class);
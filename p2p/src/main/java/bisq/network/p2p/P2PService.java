@@ -26,6 +26,7 @@ import bisq.network.p2p.network.ConnectionListener;
 import bisq.network.p2p.network.MessageListener;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.network.SetupListener;
+import bisq.network.p2p.network.Statistic;
 import bisq.network.p2p.peers.Broadcaster;
 import bisq.network.p2p.peers.PeerManager;
 import bisq.network.p2p.peers.getdata.RequestDataManager;
@@ -169,6 +170,7 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
         if (listener != null)
             addP2PServiceListener(listener);
 
+        Statistic.start();
         networkNode.start(this);
     }
 
@@ -224,6 +226,8 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
             networkReadySubscription.unsubscribe();
         }
 
+        Statistic.stop();
+
         if (networkNode != null) {
             networkNode.shutDown(() -> shutDownResultHandlers.forEach(Runnable::run));
         } else {
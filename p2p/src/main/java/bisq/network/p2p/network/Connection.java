@@ -34,6 +34,7 @@ import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 import bisq.common.Proto;
 import bisq.common.UserThread;
 import bisq.common.app.Capabilities;
+import bisq.common.app.Capability;
 import bisq.common.app.HasCapabilities;
 import bisq.common.app.Version;
 import bisq.common.config.Config;
@@ -249,7 +250,11 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             log.debug("Capability for networkEnvelope is required but not supported");
             return;
         }
-        int networkEnvelopeSize = networkEnvelope.toProtoNetworkEnvelope().getSerializedSize();
+        // We encode only once for getting the size and for writing. BroadcastMessages are encoded only once for all
+        // connections. Large envelopes get compressed if our peer supports it.
+        EncodedNetworkEnvelope encodedEnvelope = EncodedNetworkEnvelope.encode(networkEnvelope,
+                capabilities.contains(Capability.COMPRESSED_ENVELOPE));
+        int networkEnvelopeSize = encodedEnvelope.getSerializedSize();
         try {
             // Throttle outbound network_messages
             long now = System.currentTimeMillis();
@@ -266,9 +271,9 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             lastSendTimeStamp = now;
 
             if (!stopped) {
-                protoOutputStream.writeEnvelope(networkEnvelope);
+                protoOutputStream.writeEnvelope(networkEnvelope, encodedEnvelope);
                 UserThread.execute(() -> messageListeners.forEach(e -> e.onMessageSent(networkEnvelope, this)));
-                UserThread.execute(() -> connectionStatistics.addSendMsgMetrics(System.currentTimeMillis() - ts, networkEnvelopeSize));
+                connectionStatistics.addSendMsgMetrics(System.currentTimeMillis() - ts, networkEnvelopeSize);
             }
         } catch (Throwable t) {
             handleException(t);
@@ -303,7 +308,10 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         List<NetworkEnvelope> toRemove = bundleOfEnvelopes.getEnvelopes().stream()
                 .filter(networkEnvelope -> !testCapability(networkEnvelope))
                 .collect(Collectors.toList());
-        bundleOfEnvelopes.getEnvelopes().removeAll(toRemove);
+        if (!toRemove.isEmpty()) {
+            bundleOfEnvelopes.getEnvelopes().removeAll(toRemove);
+            EncodedNetworkEnvelope.invalidate(bundleOfEnvelopes);
+        }
     }
 
     private Optional<CapabilityRequiringPayload> extractCapabilityRequiringPayload(Proto proto) {
@@ -531,6 +539,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             e.printStackTrace();
         } finally {
             capabilitiesListeners.clear();
+            statistic.shutDown();
 
             try {
                 protoInputStream.close();
@@ -768,16 +777,23 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         Thread.sleep(20);
                     }
 
+                    // We track the bytes we received over the wire, the size checks are applied to the uncompressed
+                    // envelope.
+                    int wireSize = proto.getSerializedSize();
+                    if (proto.hasCompressedEnvelope()) {
+                        // Throws an InvalidProtocolBufferException if the data is invalid or would exceed the
+                        // permitted size of the declared type, which gets reported as INVALID_DATA_TYPE.
+                        proto = EnvelopeCompression.decompress(proto.getCompressedEnvelope(), MAX_PERMITTED_MESSAGE_SIZE);
+                    }
+
                     NetworkEnvelope networkEnvelope = networkProtoResolver.fromProto(proto);
                     lastReadTimeStamp = now;
                     log.debug("<< Received networkEnvelope of type: {}", networkEnvelope.getClass().getSimpleName());
                     int size = proto.getSerializedSize();
 
-                    // We want to track the size of each object even if it is invalid data
-                    statistic.addReceivedBytes(size);
-
+                    // We want to track the size of each object even if it is invalid data.
                     // We want to track the network_messages also before the checks, so do it early...
-                    statistic.addReceivedMessage(networkEnvelope);
+                    statistic.addReceivedMessage(networkEnvelope, wireSize);
 
                     // First we check the size
                     boolean exceeds;
@@ -851,7 +867,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         }
 
                         onMessage(networkEnvelope, this);
-                        UserThread.execute(() -> connectionStatistics.addReceivedMsgMetrics(System.currentTimeMillis() - ts, size));
+                        connectionStatistics.addReceivedMsgMetrics(System.currentTimeMillis() - ts, size);
                     }
                 } catch (InvalidClassException e) {
                     log.error(e.getMessage());
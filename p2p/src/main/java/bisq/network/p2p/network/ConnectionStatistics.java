@@ -27,6 +27,7 @@ import bisq.common.util.Utilities;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import lombok.Getter;
@@ -43,14 +44,11 @@ public class ConnectionStatistics implements MessageListener {
     private final long connectionCreationTimeStamp;
     @Getter
     private long lastMessageTimestamp;
-    @Getter
-    private long timeOnSendMsg = 0;
-    @Getter
-    private long timeOnReceivedMsg = 0;
-    @Getter
-    private int sentBytes = 0;
-    @Getter
-    private int receivedBytes = 0;
+    // Updated from the connection threads, so we use LongAdder instead of posting to the UserThread
+    private final LongAdder timeOnSendMsg = new LongAdder();
+    private final LongAdder timeOnReceivedMsg = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder receivedBytes = new LongAdder();
 
     public ConnectionStatistics(Connection connection, ConnectionState connectionState) {
         this.connection = connection;
@@ -115,10 +113,10 @@ public class ConnectionStatistics implements MessageListener {
                 connection.getUid(),
                 lastMsg,
                 rrt,
-                Utilities.readableFileSize(sentBytes), sentDataMap.toString(),
-                Utilities.readableFileSize(receivedBytes), receivedDataMap.toString(),
-                Utilities.formatDurationAsWords(timeOnSendMsg),
-                Utilities.formatDurationAsWords(timeOnReceivedMsg));
+                Utilities.readableFileSize(getSentBytes()), sentDataMap.toString(),
+                Utilities.readableFileSize(getReceivedBytes()), receivedDataMap.toString(),
+                Utilities.formatDurationAsWords(getTimeOnSendMsg()),
+                Utilities.formatDurationAsWords(getTimeOnReceivedMsg()));
     }
 
     @Override
@@ -162,12 +160,28 @@ public class ConnectionStatistics implements MessageListener {
     }
 
     public void addSendMsgMetrics(long timeSpent, int bytes) {
-        this.timeOnSendMsg += timeSpent;
-        this.sentBytes += bytes;
+        timeOnSendMsg.add(timeSpent);
+        sentBytes.add(bytes);
     }
 
     public void addReceivedMsgMetrics(long timeSpent, int bytes) {
-        this.timeOnReceivedMsg += timeSpent;
-        this.receivedBytes += bytes;
+        timeOnReceivedMsg.add(timeSpent);
+        receivedBytes.add(bytes);
+    }
+
+    public long getTimeOnSendMsg() {
+        return timeOnSendMsg.sum();
+    }
+
+    public long getTimeOnReceivedMsg() {
+        return timeOnReceivedMsg.sum();
+    }
+
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.network.p2p.storage.messages.BroadcastMessage;
+
+import bisq.common.proto.network.NetworkEnvelope;
+
+import com.google.protobuf.CodedOutputStream;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+
+/**
+ * The protobuf encoding of a NetworkEnvelope together with its serialized size, so we encode the envelope only
+ * once per send.
+ * <p>
+ * BroadcastMessages (incl. BundleOfEnvelopes) are sent with the same content to many peers. For those we keep the
+ * length delimited frame as an immutable byte array in a cache keyed by the envelope instance, so all connections
+ * sending the same envelope write the same bytes to their socket. The cache uses weak keys (identity based), thus
+ * entries get dropped once the envelope is not referenced anymore by the broadcast.
+ * <p>
+ * Other messages are sent to one peer only. We keep the protobuf message and stream it to the socket to avoid
+ * allocating a byte array with the size of the message (e.g. for large GetDataResponses).
+ * <p>
+ * If the peer supports compression, envelopes above EnvelopeCompression.COMPRESSION_THRESHOLD are wrapped into a
+ * CompressedEnvelope. Compressed broadcast frames are kept in a separate cache as peers without the capability
+ * need the uncompressed frame.
+ */
+class EncodedNetworkEnvelope {
+    private static final Cache<NetworkEnvelope, EncodedNetworkEnvelope> FRAME_CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(1000)
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build();
+    private static final Cache<NetworkEnvelope, EncodedNetworkEnvelope> COMPRESSED_FRAME_CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(100)
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build();
+
+    static EncodedNetworkEnvelope encode(NetworkEnvelope networkEnvelope) {
+        return encode(networkEnvelope, false);
+    }
+
+    static EncodedNetworkEnvelope encode(NetworkEnvelope networkEnvelope, boolean compressionSupported) {
+        if (!(networkEnvelope instanceof BroadcastMessage)) {
+            protobuf.NetworkEnvelope proto = maybeCompress(networkEnvelope.toProtoNetworkEnvelope(), compressionSupported);
+            return new EncodedNetworkEnvelope(proto, null, proto.getSerializedSize());
+        }
+
+        Cache<NetworkEnvelope, EncodedNetworkEnvelope> cache = compressionSupported ? COMPRESSED_FRAME_CACHE : FRAME_CACHE;
+        EncodedNetworkEnvelope encoded = cache.getIfPresent(networkEnvelope);
+        if (encoded == null) {
+            // In case of concurrent calls we might encode twice, but both results are equal.
+            protobuf.NetworkEnvelope proto = maybeCompress(networkEnvelope.toProtoNetworkEnvelope(), compressionSupported);
+            encoded = new EncodedNetworkEnvelope(null, toFrame(proto), proto.getSerializedSize());
+            cache.put(networkEnvelope, encoded);
+        }
+        return encoded;
+    }
+
+    // Needs to be called if the envelope got changed after it was encoded (e.g. a filtered BundleOfEnvelopes).
+    static void invalidate(NetworkEnvelope networkEnvelope) {
+        FRAME_CACHE.invalidate(networkEnvelope);
+        COMPRESSED_FRAME_CACHE.invalidate(networkEnvelope);
+    }
+
+    private static protobuf.NetworkEnvelope maybeCompress(protobuf.NetworkEnvelope proto, boolean compressionSupported) {
+        if (!compressionSupported) {
+            return proto;
+        }
+        protobuf.NetworkEnvelope compressed = EnvelopeCompression.maybeCompress(proto);
+        return compressed != null ? compressed : proto;
+    }
+
+    @Nullable
+    private final protobuf.NetworkEnvelope proto;
+    @Nullable
+    private final byte[] frame;
+    @Getter
+    private final int serializedSize;
+
+    private EncodedNetworkEnvelope(@Nullable protobuf.NetworkEnvelope proto,
+                                   @Nullable byte[] frame,
+                                   int serializedSize) {
+        this.proto = proto;
+        this.frame = frame;
+        this.serializedSize = serializedSize;
+    }
+
+    void writeDelimitedTo(OutputStream outputStream) throws IOException {
+        if (frame != null) {
+            outputStream.write(frame);
+        } else if (proto != null) {
+            proto.writeDelimitedTo(outputStream);
+        }
+    }
+
+    private static byte[] toFrame(protobuf.NetworkEnvelope proto) {
+        int size = proto.getSerializedSize();
+        byte[] frame = new byte[CodedOutputStream.computeUInt32SizeNoTag(size) + size];
+        CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(frame);
+        try {
+            codedOutputStream.writeUInt32NoTag(size);
+            proto.writeTo(codedOutputStream);
+            codedOutputStream.checkNoSpaceLeft();
+        } catch (IOException e) {
+            // Cannot happen when writing to a byte array of the exact size
+            throw new IllegalStateException("Failed to encode " + proto.getMessageCase(), e);
+        }
+        return frame;
+    }
+}
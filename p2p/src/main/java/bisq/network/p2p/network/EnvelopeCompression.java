@@ -0,0 +1,219 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.common.util.Utilities;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.ByteArrayOutputStream;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compresses large NetworkEnvelopes into a CompressedEnvelope if the peer supports the COMPRESSED_ENVELOPE
+ * capability. We use deflate with a preset dictionary of byte sequences which are repeated in most Bisq payloads
+ * (the DSA-1024 domain parameters of the X.509 encoded signature pub keys, payment method ids, currency codes,...).
+ * The dictionary is part of the wire protocol, so it must never be changed without adding a new capability.
+ * <p>
+ * Small messages are not compressed as the gain would not justify the CPU cost and the latency.
+ * <p>
+ * The CompressedEnvelope declares the message case of the compressed envelope. The receiver applies the permitted
+ * size of that type to the uncompressed size before inflating, and rejects the envelope if the inflated message is
+ * of another type.
+ */
+@Slf4j
+class EnvelopeCompression {
+    // Messages with a smaller serialized size are sent uncompressed
+    static final int COMPRESSION_THRESHOLD = 10 * 1024;
+
+    // Deflate gives the highest weight to the dictionary content at the end, so the most frequent sequence is
+    // added last.
+    private static final byte[] DICTIONARY = createDictionary();
+
+    // Message cases of the NetworkEnvelopes implementing ExtendedDataSizePermission. The types are not known at
+    // that level, so a new ExtendedDataSizePermission type needs to be added here. Otherwise, it is sent
+    // uncompressed if it exceeds the PERMITTED_MESSAGE_SIZE.
+    private static final Set<protobuf.NetworkEnvelope.MessageCase> EXTENDED_DATA_SIZE_MESSAGE_CASES = EnumSet.of(
+            protobuf.NetworkEnvelope.MessageCase.PRELIMINARY_GET_DATA_REQUEST,
+            protobuf.NetworkEnvelope.MessageCase.GET_UPDATED_DATA_REQUEST,
+            protobuf.NetworkEnvelope.MessageCase.GET_DATA_RESPONSE,
+            protobuf.NetworkEnvelope.MessageCase.GET_BLOCKS_RESPONSE,
+            protobuf.NetworkEnvelope.MessageCase.GET_DAO_STATE_HASHES_RESPONSE,
+            protobuf.NetworkEnvelope.MessageCase.GET_PROPOSAL_STATE_HASHES_RESPONSE,
+            protobuf.NetworkEnvelope.MessageCase.GET_BLIND_VOTE_STATE_HASHES_RESPONSE,
+            protobuf.NetworkEnvelope.MessageCase.BUNDLE_OF_ENVELOPES,
+            protobuf.NetworkEnvelope.MessageCase.FILE_TRANSFER_PART,
+            protobuf.NetworkEnvelope.MessageCase.GET_ACCOUNTING_BLOCKS_RESPONSE);
+
+    @Nullable
+    static protobuf.NetworkEnvelope maybeCompress(protobuf.NetworkEnvelope proto) {
+        int uncompressedSize = proto.getSerializedSize();
+        if (uncompressedSize < COMPRESSION_THRESHOLD) {
+            return null;
+        }
+        if (uncompressedSize > getPermittedSize(proto.getMessageCase())) {
+            // The receiver would reject it before inflating. We send it uncompressed, so that the receiver applies
+            // the size check of the type (in case the type is missing at EXTENDED_DATA_SIZE_MESSAGE_CASES).
+            log.warn("Size of {} exceeds the permitted size of its message case. We do not compress it. size={}",
+                    proto.getMessageCase(), uncompressedSize);
+            return null;
+        }
+
+        byte[] compressed = deflate(proto.toByteArray());
+        if (compressed.length >= uncompressedSize) {
+            return null;
+        }
+
+        return protobuf.NetworkEnvelope.newBuilder()
+                .setMessageVersion(proto.getMessageVersion())
+                .setCompressedEnvelope(protobuf.CompressedEnvelope.newBuilder()
+                        .setData(ByteString.copyFrom(compressed))
+                        .setUncompressedSize(uncompressedSize)
+                        .setMessageCase(proto.getMessageCase().getNumber()))
+                .build();
+    }
+
+    /**
+     * @param maxSize   Max. permitted size of any uncompressed envelope. The permitted size of the declared message
+     *                  case is applied as well. We never inflate more data than that to protect us from
+     *                  compression bombs.
+     */
+    static protobuf.NetworkEnvelope decompress(protobuf.CompressedEnvelope compressedEnvelope, int maxSize)
+            throws InvalidProtocolBufferException {
+        protobuf.NetworkEnvelope.MessageCase messageCase =
+                protobuf.NetworkEnvelope.MessageCase.forNumber(compressedEnvelope.getMessageCase());
+        if (messageCase == null ||
+                messageCase == protobuf.NetworkEnvelope.MessageCase.MESSAGE_NOT_SET ||
+                messageCase == protobuf.NetworkEnvelope.MessageCase.COMPRESSED_ENVELOPE) {
+            throw new InvalidProtocolBufferException("Invalid message case of CompressedEnvelope. " +
+                    "messageCase=" + compressedEnvelope.getMessageCase());
+        }
+
+        int permittedSize = Math.min(maxSize, getPermittedSize(messageCase));
+        int uncompressedSize = compressedEnvelope.getUncompressedSize();
+        if (uncompressedSize <= 0 || uncompressedSize > permittedSize) {
+            throw new InvalidProtocolBufferException("Invalid uncompressed size of CompressedEnvelope. " +
+                    "uncompressedSize=" + uncompressedSize + "; permittedSize=" + permittedSize +
+                    "; messageCase=" + messageCase);
+        }
+
+        byte[] uncompressed = inflate(compressedEnvelope.getData().toByteArray(), uncompressedSize);
+        protobuf.NetworkEnvelope proto = protobuf.NetworkEnvelope.parseFrom(uncompressed);
+        if (proto.getMessageCase() != messageCase) {
+            throw new InvalidProtocolBufferException("Message case of compressed envelope does not match the " +
+                    "declared message case. messageCase=" + proto.getMessageCase() + "; declared=" + messageCase);
+        }
+        return proto;
+    }
+
+    static int getPermittedSize(protobuf.NetworkEnvelope.MessageCase messageCase) {
+        return EXTENDED_DATA_SIZE_MESSAGE_CASES.contains(messageCase) ?
+                Connection.getMaxPermittedMessageSize() :
+                Connection.getPermittedMessageSize();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                outputStream.write(buffer, 0, count);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int uncompressedSize) throws InvalidProtocolBufferException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] result = new byte[uncompressedSize];
+            int offset = 0;
+            while (offset < uncompressedSize && !inflater.finished()) {
+                int count = inflater.inflate(result, offset, uncompressedSize - offset);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        break;
+                    }
+                }
+                offset += count;
+            }
+            if (offset != uncompressedSize || !inflater.finished()) {
+                throw new InvalidProtocolBufferException("Uncompressed data does not match uncompressedSize. " +
+                        "uncompressedSize=" + uncompressedSize + "; inflated=" + offset +
+                        "; finished=" + inflater.finished());
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new InvalidProtocolBufferException("Invalid compressed data: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] createDictionary() {
+        String tokens = "ADVANCED_CASH AMAZON_GIFT_CARD CASH_APP CASH_BY_MAIL CASH_DEPOSIT CHASE_QUICK_PAY " +
+                "CLEAR_X_CHANGE F2F FASTER_PAYMENTS HAL_CASH INTERAC_E_TRANSFER JAPAN_BANK MONEY_BEAM " +
+                "MONEY_GRAM NATIONAL_BANK PERFECT_MONEY POPMONEY PROMPT_PAY REVOLUT SAME_BANK SPECIFIC_BANKS " +
+                "SWIFT TRANSFERWISE UPHOLD US_POSTAL_MONEY_ORDER WESTERN_UNION ZELLE SEPA_INSTANT SEPA " +
+                "BLOCK_CHAINS_INSTANT BLOCK_CHAINS " +
+                "AUD BRL CAD CHF CNY CZK GBP INR JPY MXN NOK NZD PLN RUB SEK SGD ZAR XMR BSQ USD EUR BTC " +
+                ".onion:9999";
+        byte[] tokenBytes = tokens.getBytes(StandardCharsets.US_ASCII);
+        // Prefix of the X.509 encoding of a DSA-1024 public key up to the public value (the default domain
+        // parameters p, q, g used by all Bisq nodes for the signature key).
+        byte[] dsaPubKeyPrefix = Utilities.decodeFromHex(
+                "3082012c06072a8648ce3804013082011f02818100fd7f53811d75122952df4a9c2eece4e7f611b7523cef4400c31e3f" +
+                        "80b6512669455d402251fb593d8d58fabfc5f5ba30f6cb9b556cd7813b801d346ff26660b76b9950a5a49f9fe8047b10" +
+                        "22c24fbba9d7feb7c61bf83b57e7c6a8a6150f04fb83f6d3c51ec3023554135a169132f675f3ae2b61d72aeff2220319" +
+                        "9dd14801c70215009760508f15230bccb292b982a2eb840bf0581cf502818100f7e1a085d69b3ddecbbcab5c36b857b9" +
+                        "7994afbbfa3aea82f9574c0b3d0782675159578ebad4594fe67107108180b449167123e84c281613b7cf09328cc8a6e1" +
+                        "3c167a8b547c8d28e0a3ae1e2bb3a675916ea37f0bfa213562f1fb627a01243bcca4f1bea8519089a883dfe15ae59f06" +
+                        "928b665e807b552564014c3bfecf492a0381850002818100");
+        byte[] dictionary = new byte[tokenBytes.length + dsaPubKeyPrefix.length];
+        System.arraycopy(tokenBytes, 0, dictionary, 0, tokenBytes.length);
+        System.arraycopy(dsaPubKeyPrefix, 0, dictionary, tokenBytes.length, dsaPubKeyPrefix.length);
+        return dictionary;
+    }
+}
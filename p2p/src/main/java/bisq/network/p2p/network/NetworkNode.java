@@ -54,6 +54,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -525,9 +526,9 @@ public abstract class NetworkNode implements MessageListener {
     }
 
     public Optional<Capabilities> findPeersCapabilities(NodeAddress nodeAddress) {
-        return getConfirmedConnections().stream()
-                .filter(c -> c.getPeersNodeAddressProperty().get() != null)
-                .filter(c -> c.getPeersNodeAddressProperty().get().equals(nodeAddress))
+        // We iterate the connection sets directly to avoid copying them at each lookup
+        return Stream.concat(inBoundConnections.stream(), outBoundConnections.stream())
+                .filter(c -> nodeAddress.equals(c.getPeersNodeAddressProperty().get()))
                 .map(Connection::getCapabilities)
                 .findAny();
     }
@@ -49,11 +49,11 @@ class ProtoOutputStream {
         this.statistic = statistic;
     }
 
-    void writeEnvelope(NetworkEnvelope envelope) {
+    void writeEnvelope(NetworkEnvelope envelope, EncodedNetworkEnvelope encodedEnvelope) {
         lock.lock();
 
         try {
-            writeEnvelopeOrThrow(envelope);
+            writeEnvelopeOrThrow(envelope, encodedEnvelope);
         } catch (IOException e) {
             if (!isConnectionActive.get()) {
                 // Connection was closed by us.
@@ -86,17 +86,16 @@ class ProtoOutputStream {
         }
     }
 
-    private void writeEnvelopeOrThrow(NetworkEnvelope envelope) throws IOException {
+    private void writeEnvelopeOrThrow(NetworkEnvelope envelope,
+                                      EncodedNetworkEnvelope encodedEnvelope) throws IOException {
         long ts = System.currentTimeMillis();
-        protobuf.NetworkEnvelope proto = envelope.toProtoNetworkEnvelope();
-        proto.writeDelimitedTo(outputStream);
+        encodedEnvelope.writeDelimitedTo(outputStream);
         outputStream.flush();
         long duration = System.currentTimeMillis() - ts;
         if (duration > 10000) {
             log.info("Sending {} to peer took {} sec.", envelope.getClass().getSimpleName(), duration / 1000d);
         }
-        statistic.addSentBytes(proto.getSerializedSize());
-        statistic.addSentMessage(envelope);
+        statistic.addSentMessage(envelope, encodedEnvelope.getSerializedSize());
 
         if (!(envelope instanceof KeepAliveMessage)) {
             statistic.updateLastActivityTimestamp();
@@ -17,9 +17,13 @@
 
 package bisq.network.p2p.network;
 
+import bisq.network.p2p.network.statistics.ConnectionStatistics;
+import bisq.network.p2p.network.statistics.ConnectionStatsAccumulator;
+import bisq.network.p2p.network.statistics.NetworkStatisticsService;
+
+import bisq.common.Timer;
 import bisq.common.UserThread;
 import bisq.common.proto.network.NetworkEnvelope;
-import bisq.common.util.Utilities;
 
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
@@ -28,16 +32,24 @@ import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleLongProperty;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 /**
  * Network statistics per connection. As we are also interested in total network statistics
  * we use static properties to get traffic of all connections combined.
+ * <p>
+ * The counters are kept in lock free ConnectionStatistics which get updated directly from the connection threads.
+ * The JavaFX properties are sampled from those once per second on the UserThread, so we do not post a task to the
+ * UserThread for each sent or received message.
  */
 @Slf4j
 public class Statistic {
@@ -46,49 +58,59 @@ public class Statistic {
     // Static
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private final static NetworkStatisticsService networkStatisticsService = new NetworkStatisticsService();
+    // Weak keys as a Statistic might not get shut down if the connection creation failed
+    private final static Set<Statistic> allStatistics = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
 
-    private final static long startTime = System.currentTimeMillis();
     private final static LongProperty totalSentBytes = new SimpleLongProperty(0);
     private final static DoubleProperty totalSentBytesPerSec = new SimpleDoubleProperty(0);
     private final static LongProperty totalReceivedBytes = new SimpleLongProperty(0);
     private final static DoubleProperty totalReceivedBytesPerSec = new SimpleDoubleProperty(0);
-    private final static Map<String, Integer> totalReceivedMessages = new ConcurrentHashMap<>();
-    private final static Map<String, Integer> totalSentMessages = new ConcurrentHashMap<>();
     private final static LongProperty numTotalSentMessages = new SimpleLongProperty(0);
     private final static DoubleProperty numTotalSentMessagesPerSec = new SimpleDoubleProperty(0);
     private final static LongProperty numTotalReceivedMessages = new SimpleLongProperty(0);
     private final static DoubleProperty numTotalReceivedMessagesPerSec = new SimpleDoubleProperty(0);
 
-    static {
-        UserThread.runPeriodically(() -> {
-            numTotalSentMessages.set(totalSentMessages.values().stream().mapToInt(Integer::intValue).sum());
-            numTotalReceivedMessages.set(totalReceivedMessages.values().stream().mapToInt(Integer::intValue).sum());
+    @Nullable
+    private static Timer samplePropertiesTimer;
+
+    // Called from the P2PService lifecycle, so just loading the class does not start any threads or timers
+    public static synchronized void start() {
+        if (samplePropertiesTimer != null) {
+            return;
+        }
+
+        // Accumulates the totals every second and logs statistics every 60 minutes on its own thread
+        networkStatisticsService.start();
+
+        samplePropertiesTimer = UserThread.runPeriodically(() -> {
+            ConnectionStatsAccumulator accumulator = networkStatisticsService.getConnectionStatsAccumulator();
+            totalSentBytes.set(accumulator.getTotalSentBytes());
+            totalReceivedBytes.set(accumulator.getTotalReceivedBytes());
+            numTotalSentMessages.set(accumulator.getTotalSentMessages());
+            numTotalReceivedMessages.set(accumulator.getTotalReceivedMessages());
+
+            numTotalSentMessagesPerSec.set(accumulator.getTotalSentMessagesPerSec());
+            numTotalReceivedMessagesPerSec.set(accumulator.getTotalReceivedMessagesPerSec());
 
-            long passed = (System.currentTimeMillis() - startTime) / 1000;
-            numTotalSentMessagesPerSec.set(((double) numTotalSentMessages.get()) / passed);
-            numTotalReceivedMessagesPerSec.set(((double) numTotalReceivedMessages.get()) / passed);
+            totalSentBytesPerSec.set(accumulator.getTotalSentBytesPerSec());
+            totalReceivedBytesPerSec.set(accumulator.getTotalReceivedBytesPerSec());
 
-            totalSentBytesPerSec.set(((double) totalSentBytes.get()) / passed);
-            totalReceivedBytesPerSec.set(((double) totalReceivedBytes.get()) / passed);
+            List<Statistic> statistics;
+            synchronized (allStatistics) {
+                statistics = new ArrayList<>(allStatistics);
+            }
+            statistics.forEach(Statistic::sampleProperties);
         }, 1);
+    }
 
-        // We log statistics every 60 minutes
-        UserThread.runPeriodically(() -> {
-            String ls = System.lineSeparator();
-            log.info("Accumulated network statistics:" + ls +
-                            "Bytes sent: {};" + ls +
-                            "Number of sent messages/Sent messages: {} / {};" + ls +
-                            "Number of sent messages per sec: {};" + ls +
-                            "Bytes received: {}" + ls +
-                            "Number of received messages/Received messages: {} / {};" + ls +
-                            "Number of received messages per sec: {}" + ls,
-                    Utilities.readableFileSize(totalSentBytes.get()),
-                    numTotalSentMessages.get(), totalSentMessages,
-                    numTotalSentMessagesPerSec.get(),
-                    Utilities.readableFileSize(totalReceivedBytes.get()),
-                    numTotalReceivedMessages.get(), totalReceivedMessages,
-                    numTotalReceivedMessagesPerSec.get());
-        }, TimeUnit.MINUTES.toSeconds(60));
+    public static synchronized void stop() {
+        if (samplePropertiesTimer != null) {
+            samplePropertiesTimer.stop();
+            samplePropertiesTimer = null;
+        }
+        networkStatisticsService.shutdown();
     }
 
     public static LongProperty totalSentBytesProperty() {
@@ -123,17 +145,18 @@ public class Statistic {
         return numTotalReceivedMessagesPerSec;
     }
 
+    public static NetworkStatisticsService getNetworkStatisticsService() {
+        return networkStatisticsService;
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Instance fields
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private final Date creationDate;
-    private long lastActivityTimestamp = System.currentTimeMillis();
+    private final ConnectionStatistics connectionStatistics;
     private final LongProperty sentBytes = new SimpleLongProperty(0);
     private final LongProperty receivedBytes = new SimpleLongProperty(0);
-    private final Map<String, Integer> receivedMessages = new ConcurrentHashMap<>();
-    private final Map<String, Integer> sentMessages = new ConcurrentHashMap<>();
     private final IntegerProperty roundTripTime = new SimpleIntegerProperty(0);
 
 
@@ -142,7 +165,14 @@ public class Statistic {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     Statistic() {
-        creationDate = new Date();
+        connectionStatistics = networkStatisticsService.newConnectionStatistics();
+        allStatistics.add(this);
+    }
+
+    // Called at connection shutdown. The counters of that connection stay in the totals.
+    void shutDown() {
+        allStatistics.remove(this);
+        networkStatisticsService.removeConnectionStatistics(connectionStatistics);
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -150,72 +180,41 @@ public class Statistic {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     void updateLastActivityTimestamp() {
-        UserThread.execute(() -> lastActivityTimestamp = System.currentTimeMillis());
+        connectionStatistics.updateLastActivityTimestamp();
     }
 
-    void addSentBytes(int value) {
-        UserThread.execute(() -> {
-            sentBytes.set(sentBytes.get() + value);
-            totalSentBytes.set(totalSentBytes.get() + value);
-        });
+    void addSentMessage(NetworkEnvelope networkEnvelope, int serializedSize) {
+        connectionStatistics.addSentMessage(networkEnvelope, serializedSize);
     }
 
-    void addReceivedBytes(int value) {
-        UserThread.execute(() -> {
-            receivedBytes.set(receivedBytes.get() + value);
-            totalReceivedBytes.set(totalReceivedBytes.get() + value);
-        });
-    }
-
-    // TODO would need msg inspection to get useful information...
-    void addReceivedMessage(NetworkEnvelope networkEnvelope) {
-        String messageClassName = networkEnvelope.getClass().getSimpleName();
-        int counter = 1;
-        if (receivedMessages.containsKey(messageClassName)) {
-            counter = receivedMessages.get(messageClassName) + 1;
-        }
-        receivedMessages.put(messageClassName, counter);
-
-        counter = 1;
-        if (totalReceivedMessages.containsKey(messageClassName)) {
-            counter = totalReceivedMessages.get(messageClassName) + 1;
-        }
-        totalReceivedMessages.put(messageClassName, counter);
-    }
-
-    void addSentMessage(NetworkEnvelope networkEnvelope) {
-        String messageClassName = networkEnvelope.getClass().getSimpleName();
-        int counter = 1;
-        if (sentMessages.containsKey(messageClassName)) {
-            counter = sentMessages.get(messageClassName) + 1;
-        }
-        sentMessages.put(messageClassName, counter);
-
-        counter = 1;
-        if (totalSentMessages.containsKey(messageClassName)) {
-            counter = totalSentMessages.get(messageClassName) + 1;
-        }
-        totalSentMessages.put(messageClassName, counter);
+    void addReceivedMessage(NetworkEnvelope networkEnvelope, int serializedSize) {
+        connectionStatistics.addReceivedMessage(networkEnvelope, serializedSize);
     }
 
     public void setRoundTripTime(int roundTripTime) {
+        connectionStatistics.setRoundTripTime(roundTripTime);
         this.roundTripTime.set(roundTripTime);
     }
 
+    private void sampleProperties() {
+        sentBytes.set(connectionStatistics.getSentBytes());
+        receivedBytes.set(connectionStatistics.getReceivedBytes());
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Getters
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public long getLastActivityTimestamp() {
-        return lastActivityTimestamp;
+        return connectionStatistics.getLastActivityTimestamp();
     }
 
     public long getLastActivityAge() {
-        return System.currentTimeMillis() - lastActivityTimestamp;
+        return connectionStatistics.getLastActivityAge();
     }
 
     public long getSentBytes() {
-        return sentBytes.get();
+        return connectionStatistics.getSentBytes();
     }
 
     public LongProperty sentBytesProperty() {
@@ -223,7 +222,7 @@ public class Statistic {
     }
 
     public long getReceivedBytes() {
-        return receivedBytes.get();
+        return connectionStatistics.getReceivedBytes();
     }
 
     public LongProperty receivedBytesProperty() {
@@ -231,7 +230,7 @@ public class Statistic {
     }
 
     public Date getCreationDate() {
-        return creationDate;
+        return connectionStatistics.getCreationDate();
     }
 
     public IntegerProperty roundTripTimeProperty() {
@@ -239,39 +238,33 @@ public class Statistic {
     }
 
     public static long getTotalSentBytes() {
-        return totalSentBytes.get();
+        return networkStatisticsService.getConnectionStatsAccumulator().getTotalSentBytes();
     }
 
     public static double getTotalSentBytesPerSec() {
-        return totalSentBytesPerSec.get();
+        return networkStatisticsService.getConnectionStatsAccumulator().getTotalSentBytesPerSec();
     }
 
     public static long getTotalReceivedBytes() {
-        return totalReceivedBytes.get();
+        return networkStatisticsService.getConnectionStatsAccumulator().getTotalReceivedBytes();
     }
 
     public static double getTotalReceivedBytesPerSec() {
-        return totalReceivedBytesPerSec.get();
+        return networkStatisticsService.getConnectionStatsAccumulator().getTotalReceivedBytesPerSec();
     }
 
     public static double numTotalReceivedMessagesPerSec() {
-        return numTotalReceivedMessagesPerSec.get();
+        return networkStatisticsService.getConnectionStatsAccumulator().getTotalReceivedMessagesPerSec();
     }
 
     public static double getNumTotalSentMessagesPerSec() {
-        return numTotalSentMessagesPerSec.get();
+        return networkStatisticsService.getConnectionStatsAccumulator().getTotalSentMessagesPerSec();
     }
 
     @Override
     public String toString() {
         return "Statistic{" +
-                "\n     creationDate=" + creationDate +
-                ",\n     lastActivityTimestamp=" + lastActivityTimestamp +
-                ",\n     sentBytes=" + sentBytes +
-                ",\n     receivedBytes=" + receivedBytes +
-                ",\n     receivedMessages=" + receivedMessages +
-                ",\n     sentMessages=" + sentMessages +
-                ",\n     roundTripTime=" + roundTripTime +
+                "\n     connectionStatistics=" + connectionStatistics +
                 "\n}";
     }
 }
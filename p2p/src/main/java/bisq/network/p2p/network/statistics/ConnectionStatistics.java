@@ -19,16 +19,23 @@ package bisq.network.p2p.network.statistics;
 
 import bisq.common.proto.network.NetworkEnvelope;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 import lombok.Getter;
 import lombok.Setter;
 
-@Getter
+/**
+ * Statistics of a single connection. All counters are lock free, so they can be updated directly from the
+ * connection's reader and writer threads. Consumers which need JavaFX properties sample the values periodically
+ * (see Statistic).
+ */
 public class ConnectionStatistics {
 
     public interface Listener {
@@ -41,18 +48,21 @@ public class ConnectionStatistics {
         void onAddReceivedMessage(NetworkEnvelope networkEnvelope);
     }
 
+    @Getter
     private final Date creationDate = new Date();
-    private final List<Listener> allListeners = new ArrayList<>();
-    private final Map<String, Integer> receivedMessages = new HashMap<>();
-    private final Map<String, Integer> sentMessages = new HashMap<>();
-
-    private long lastActivityTimestamp = System.currentTimeMillis();
-    private long sentBytes;
-    private long receivedBytes;
-    private int totalSentMessages;
-    private int totalReceivedMessages;
+    private final List<Listener> allListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, MessageTypeStatistics> receivedMessageStatisticsByType = new ConcurrentHashMap<>();
+    private final Map<String, MessageTypeStatistics> sentMessageStatisticsByType = new ConcurrentHashMap<>();
+
+    @Getter
+    private volatile long lastActivityTimestamp = System.currentTimeMillis();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder receivedBytes = new LongAdder();
+    private final LongAdder totalSentMessages = new LongAdder();
+    private final LongAdder totalReceivedMessages = new LongAdder();
+    @Getter
     @Setter
-    private int roundTripTime;
+    private volatile int roundTripTime;
 
     public void addListener(Listener listener) {
         allListeners.add(listener);
@@ -62,40 +72,116 @@ public class ConnectionStatistics {
         allListeners.remove(listener);
     }
 
-    void updateLastActivityTimestamp() {
+    public void updateLastActivityTimestamp() {
         lastActivityTimestamp = System.currentTimeMillis();
     }
 
-    void addSentBytes(int value) {
-        sentBytes += value;
+    public void addSentBytes(int value) {
+        sentBytes.add(value);
         allListeners.forEach(listener -> listener.onNewSentBytes(value));
     }
 
-    void addReceivedBytes(int value) {
-        receivedBytes += value;
+    public void addReceivedBytes(int value) {
+        receivedBytes.add(value);
         allListeners.forEach(listener -> listener.onNewReceivedBytes(value));
     }
 
-    void addSentMessage(NetworkEnvelope networkEnvelope) {
-        String messageClassName = networkEnvelope.getClass().getSimpleName();
-        sentMessages.merge(messageClassName, 1, Integer::sum);
-
-        totalSentMessages++;
+    public void addSentMessage(NetworkEnvelope networkEnvelope) {
+        getMessageTypeStatistics(sentMessageStatisticsByType, networkEnvelope).increment();
+        totalSentMessages.increment();
         allListeners.forEach(listener -> listener.onAddSentMessage(networkEnvelope));
     }
 
-    void addReceivedMessage(NetworkEnvelope networkEnvelope) {
-        String messageClassName = networkEnvelope.getClass().getSimpleName();
-        receivedMessages.merge(messageClassName, 1, Integer::sum);
-
-        totalReceivedMessages++;
+    public void addReceivedMessage(NetworkEnvelope networkEnvelope) {
+        getMessageTypeStatistics(receivedMessageStatisticsByType, networkEnvelope).increment();
+        totalReceivedMessages.increment();
         allListeners.forEach(listener -> listener.onAddReceivedMessage(networkEnvelope));
     }
 
+    // Records the bytes and the message together so we get the size histogram per message type
+    public void addSentMessage(NetworkEnvelope networkEnvelope, int serializedSize) {
+        sentBytes.add(serializedSize);
+        getMessageTypeStatistics(sentMessageStatisticsByType, networkEnvelope).add(serializedSize);
+        totalSentMessages.increment();
+        allListeners.forEach(listener -> {
+            listener.onNewSentBytes(serializedSize);
+            listener.onAddSentMessage(networkEnvelope);
+        });
+    }
+
+    public void addReceivedMessage(NetworkEnvelope networkEnvelope, int serializedSize) {
+        receivedBytes.add(serializedSize);
+        getMessageTypeStatistics(receivedMessageStatisticsByType, networkEnvelope).add(serializedSize);
+        totalReceivedMessages.increment();
+        allListeners.forEach(listener -> {
+            listener.onNewReceivedBytes(serializedSize);
+            listener.onAddReceivedMessage(networkEnvelope);
+        });
+    }
+
+    // Used for keeping the statistics of closed connections in the totals
+    void addAll(ConnectionStatistics other) {
+        sentBytes.add(other.getSentBytes());
+        receivedBytes.add(other.getReceivedBytes());
+        totalSentMessages.add(other.getTotalSentMessages());
+        totalReceivedMessages.add(other.getTotalReceivedMessages());
+        mergeInto(sentMessageStatisticsByType, other.sentMessageStatisticsByType);
+        mergeInto(receivedMessageStatisticsByType, other.receivedMessageStatisticsByType);
+    }
+
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    public int getTotalSentMessages() {
+        return totalSentMessages.intValue();
+    }
+
+    public int getTotalReceivedMessages() {
+        return totalReceivedMessages.intValue();
+    }
+
+    // Snapshot of the number of sent messages by message class name
+    public Map<String, Integer> getSentMessages() {
+        return toCountByType(sentMessageStatisticsByType);
+    }
+
+    // Snapshot of the number of received messages by message class name
+    public Map<String, Integer> getReceivedMessages() {
+        return toCountByType(receivedMessageStatisticsByType);
+    }
+
+    public Map<String, MessageTypeStatistics> getSentMessageStatisticsByType() {
+        return Collections.unmodifiableMap(sentMessageStatisticsByType);
+    }
+
+    public Map<String, MessageTypeStatistics> getReceivedMessageStatisticsByType() {
+        return Collections.unmodifiableMap(receivedMessageStatisticsByType);
+    }
+
     public long getLastActivityAge() {
         return System.currentTimeMillis() - lastActivityTimestamp;
     }
 
+    private static MessageTypeStatistics getMessageTypeStatistics(Map<String, MessageTypeStatistics> map,
+                                                                  NetworkEnvelope networkEnvelope) {
+        return map.computeIfAbsent(networkEnvelope.getClass().getSimpleName(), key -> new MessageTypeStatistics());
+    }
+
+    static void mergeInto(Map<String, MessageTypeStatistics> target, Map<String, MessageTypeStatistics> source) {
+        source.forEach((type, messageTypeStatistics) ->
+                target.computeIfAbsent(type, key -> new MessageTypeStatistics()).addAll(messageTypeStatistics));
+    }
+
+    private static Map<String, Integer> toCountByType(Map<String, MessageTypeStatistics> map) {
+        return map.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> (int) e.getValue().getCount()));
+    }
+
     @Override
     public String toString() {
         return "ConnectionStatistics{" +
@@ -103,8 +189,8 @@ public class ConnectionStatistics {
                 ",\n     lastActivityTimestamp=" + lastActivityTimestamp +
                 ",\n     sentBytes=" + sentBytes +
                 ",\n     receivedBytes=" + receivedBytes +
-                ",\n     receivedMessages=" + receivedMessages +
-                ",\n     sentMessages=" + sentMessages +
+                ",\n     receivedMessages=" + getReceivedMessages() +
+                ",\n     sentMessages=" + getSentMessages() +
                 ",\n     roundTripTime=" + roundTripTime +
                 "\n}";
     }
@@ -17,43 +17,53 @@
 
 package bisq.network.p2p.network.statistics;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import lombok.Getter;
 
+/**
+ * Sums up the lock free counters of all connections. It is run periodically, so the per-message updates at the
+ * connections do not need to touch any shared state.
+ */
 @Getter
 public class ConnectionStatsAccumulator implements Runnable {
     private final long startTime = System.currentTimeMillis();
 
-    private final List<ConnectionStatistics> allConnectionStatistics;
+    private final Collection<ConnectionStatistics> allConnectionStatistics;
     private final List<NetworkStatisticsService.Listener> allListeners = new CopyOnWriteArrayList<>();
+    // We add the statistics of closed connections so that our totals do not decrease if a connection gets closed
+    private final ConnectionStatistics closedConnectionStatistics = new ConnectionStatistics();
 
-    private long totalSentBytes;
-    private long totalReceivedBytes;
+    private volatile long totalSentBytes;
+    private volatile long totalReceivedBytes;
 
-    private int totalSentMessages;
-    private int totalReceivedMessages;
+    private volatile int totalSentMessages;
+    private volatile int totalReceivedMessages;
 
-    private double totalSentMessagesPerSec;
-    private double totalReceivedMessagesPerSec;
+    private volatile double totalSentMessagesPerSec;
+    private volatile double totalReceivedMessagesPerSec;
 
-    private double totalSentBytesPerSec;
-    private double totalReceivedBytesPerSec;
+    private volatile double totalSentBytesPerSec;
+    private volatile double totalReceivedBytesPerSec;
 
-    public ConnectionStatsAccumulator(List<ConnectionStatistics> allConnectionStatistics) {
+    public ConnectionStatsAccumulator(Collection<ConnectionStatistics> allConnectionStatistics) {
         this.allConnectionStatistics = allConnectionStatistics;
     }
 
     @Override
     public void run() {
-        long totalSentBytes = 0;
-        long totalReceivedBytes = 0;
+        long totalSentBytes = closedConnectionStatistics.getSentBytes();
+        long totalReceivedBytes = closedConnectionStatistics.getReceivedBytes();
 
-        int totalSentMessages = 0;
-        int totalReceivedMessages = 0;
+        int totalSentMessages = closedConnectionStatistics.getTotalSentMessages();
+        int totalReceivedMessages = closedConnectionStatistics.getTotalReceivedMessages();
 
-        for (ConnectionStatistics statistic : allConnectionStatistics) {
+        for (ConnectionStatistics statistic : getConnectionStatistics()) {
             totalSentBytes += statistic.getSentBytes();
             totalReceivedBytes += statistic.getReceivedBytes();
 
@@ -67,7 +77,7 @@ public class ConnectionStatsAccumulator implements Runnable {
         this.totalSentMessages = totalSentMessages;
         this.totalReceivedMessages = totalReceivedMessages;
 
-        long passed = (System.currentTimeMillis() - startTime) / 1000;
+        long passed = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
         totalSentMessagesPerSec = ((double) totalSentMessages / passed);
         totalReceivedMessagesPerSec = ((double) totalReceivedMessages) / passed;
 
@@ -77,6 +87,33 @@ public class ConnectionStatsAccumulator implements Runnable {
         callListeners();
     }
 
+    void onConnectionClosed(ConnectionStatistics connectionStatistics) {
+        closedConnectionStatistics.addAll(connectionStatistics);
+    }
+
+    public Map<String, MessageTypeStatistics> getTotalSentMessageStatisticsByType() {
+        Map<String, MessageTypeStatistics> result = new HashMap<>();
+        ConnectionStatistics.mergeInto(result, closedConnectionStatistics.getSentMessageStatisticsByType());
+        getConnectionStatistics().forEach(statistic ->
+                ConnectionStatistics.mergeInto(result, statistic.getSentMessageStatisticsByType()));
+        return result;
+    }
+
+    public Map<String, MessageTypeStatistics> getTotalReceivedMessageStatisticsByType() {
+        Map<String, MessageTypeStatistics> result = new HashMap<>();
+        ConnectionStatistics.mergeInto(result, closedConnectionStatistics.getReceivedMessageStatisticsByType());
+        getConnectionStatistics().forEach(statistic ->
+                ConnectionStatistics.mergeInto(result, statistic.getReceivedMessageStatisticsByType()));
+        return result;
+    }
+
+    // The collection might be a synchronized set of the NetworkStatisticsService, so we iterate over a copy
+    private List<ConnectionStatistics> getConnectionStatistics() {
+        synchronized (allConnectionStatistics) {
+            return new ArrayList<>(allConnectionStatistics);
+        }
+    }
+
     private void callListeners() {
         allListeners.forEach(listener -> listener.onTotalSentStatsChanged(totalSentBytes, totalSentMessages, totalSentMessagesPerSec));
     }
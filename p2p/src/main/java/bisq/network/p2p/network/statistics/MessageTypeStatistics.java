@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network.statistics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free counters for one message type: number of messages, number of bytes and a histogram of the message
+ * sizes. Bucket i counts the messages with a size smaller than 2^(i + 6) bytes (64 bytes for the first bucket),
+ * the last bucket counts all larger messages.
+ */
+public class MessageTypeStatistics {
+    public static final int NUM_BUCKETS = 20;
+    private static final int FIRST_BUCKET_BITS = 6;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final AtomicLongArray sizeHistogram = new AtomicLongArray(NUM_BUCKETS);
+
+    void add(int serializedSize) {
+        count.increment();
+        if (serializedSize >= 0) {
+            bytes.add(serializedSize);
+            sizeHistogram.incrementAndGet(getBucket(serializedSize));
+        }
+    }
+
+    // Used if the size is not known
+    void increment() {
+        count.increment();
+    }
+
+    void addAll(MessageTypeStatistics other) {
+        count.add(other.getCount());
+        bytes.add(other.getBytes());
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            sizeHistogram.addAndGet(i, other.sizeHistogram.get(i));
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public long[] getSizeHistogram() {
+        long[] result = new long[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            result[i] = sizeHistogram.get(i);
+        }
+        return result;
+    }
+
+    static int getBucket(int serializedSize) {
+        int bits = 32 - Integer.numberOfLeadingZeros(serializedSize);
+        return Math.min(NUM_BUCKETS - 1, Math.max(0, bits - FIRST_BUCKET_BITS));
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", bytes=" + getBytes();
+    }
+}
@@ -19,17 +19,22 @@ package bisq.network.p2p.network.statistics;
 
 import bisq.common.util.Utilities;
 
-import java.util.HashMap;
-import java.util.List;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 @Getter
 public class NetworkStatisticsService {
@@ -40,21 +45,36 @@ public class NetworkStatisticsService {
 
     private final long startTime = System.currentTimeMillis();
 
-    private final ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1);
-    private final List<ConnectionStatistics> allConnectionStatistics = new CopyOnWriteArrayList<>();
+    @Nullable
+    private ScheduledExecutorService scheduledExecutorService;
+    // Weak keys, as the statistics of a connection which failed before it got shut down would never get removed
+    private final Set<ConnectionStatistics> allConnectionStatistics = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
     private final ConnectionStatsAccumulator connectionStatsAccumulator =
             new ConnectionStatsAccumulator(allConnectionStatistics);
 
-    private final Map<String, Integer> totalSentMessages = new HashMap<>();
-    private final Map<String, Integer> totalReceivedMessages = new HashMap<>();
-
     public ConnectionStatistics newConnectionStatistics() {
         var connectionStatistics = new ConnectionStatistics();
         allConnectionStatistics.add(connectionStatistics);
         return connectionStatistics;
     }
 
-    public void start() {
+    public void removeConnectionStatistics(ConnectionStatistics connectionStatistics) {
+        if (allConnectionStatistics.remove(connectionStatistics)) {
+            connectionStatsAccumulator.onConnectionClosed(connectionStatistics);
+        }
+    }
+
+    public synchronized void start() {
+        if (scheduledExecutorService != null) {
+            return;
+        }
+
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                        .setNameFormat("NetworkStatisticsService")
+                        .setDaemon(true)
+                        .build());
         scheduledExecutorService.scheduleAtFixedRate(
                 connectionStatsAccumulator, 1, 1, TimeUnit.SECONDS
         );
@@ -63,8 +83,11 @@ public class NetworkStatisticsService {
         );
     }
 
-    public void shutdown() {
-        scheduledExecutorService.shutdownNow();
+    public synchronized void shutdown() {
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdownNow();
+            scheduledExecutorService = null;
+        }
     }
 
     public void addListener(Listener listener) {
@@ -88,11 +111,16 @@ public class NetworkStatisticsService {
                             "Number of received messages/Received messages: {} / {};" + ls +
                             "Number of received messages per sec: {}" + ls,
                     Utilities.readableFileSize(allStats.getTotalSentBytes()),
-                    allStats.getTotalSentMessages(), totalSentMessages,
+                    allStats.getTotalSentMessages(), toCountByType(allStats.getTotalSentMessageStatisticsByType()),
                     allStats.getTotalSentMessagesPerSec(),
                     Utilities.readableFileSize(allStats.getTotalReceivedBytes()),
-                    allStats.getTotalReceivedMessages(), totalReceivedMessages,
+                    allStats.getTotalReceivedMessages(), toCountByType(allStats.getTotalReceivedMessageStatisticsByType()),
                     allStats.getTotalReceivedMessagesPerSec());
         };
     }
+
+    private static Map<String, Long> toCountByType(Map<String, MessageTypeStatistics> map) {
+        return map.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getCount()));
+    }
 }
@@ -87,6 +87,10 @@ public class BroadcastHandler implements PeerManager.Listener {
     @Nullable
     private Timer timeoutTimer;
     private final Set<SettableFuture<Connection>> sendMessageFutures = new CopyOnWriteArraySet<>();
+    // Message for connections which receive all broadcastRequests. We use the same instance for all of those
+    // connections so that it gets encoded only once (see EncodedNetworkEnvelope).
+    @Nullable
+    private BroadcastMessage messageForAllRequests;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -173,7 +177,10 @@ public class BroadcastHandler implements PeerManager.Listener {
                 }
 
                 try {
-                    sendToPeer(connection, broadcastRequestsForConnection, executor);
+                    BroadcastMessage broadcastMessage = broadcastRequestsForConnection.size() == broadcastRequests.size() ?
+                            getMessageForAllRequests(broadcastRequests) :
+                            getMessage(broadcastRequestsForConnection);
+                    sendToPeer(connection, broadcastMessage, broadcastRequestsForConnection, executor);
                 } catch (RejectedExecutionException e) {
                     log.error("RejectedExecutionException at broadcast ", e);
                     cleanup();
@@ -259,11 +266,11 @@ public class BroadcastHandler implements PeerManager.Listener {
                 .collect(Collectors.toList());
     }
 
+    // broadcastMessage can be BundleOfEnvelopes or a single BroadcastMessage
     private void sendToPeer(Connection connection,
+                            BroadcastMessage broadcastMessage,
                             List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection,
                             ListeningExecutorService executor) {
-        // Can be BundleOfEnvelopes or a single BroadcastMessage
-        BroadcastMessage broadcastMessage = getMessage(broadcastRequestsForConnection);
         SettableFuture<Connection> future = networkNode.sendMessage(connection, broadcastMessage, executor);
         sendMessageFutures.add(future);
         Futures.addCallback(future, new FutureCallback<>() {
@@ -294,6 +301,13 @@ public class BroadcastHandler implements PeerManager.Listener {
         }, MoreExecutors.directExecutor());
     }
 
+    private BroadcastMessage getMessageForAllRequests(List<Broadcaster.BroadcastRequest> broadcastRequests) {
+        if (messageForAllRequests == null) {
+            messageForAllRequests = getMessage(broadcastRequests);
+        }
+        return messageForAllRequests;
+    }
+
     private BroadcastMessage getMessage(List<Broadcaster.BroadcastRequest> broadcastRequests) {
         if (broadcastRequests.size() == 1) {
             // If we only have 1 message we avoid the overhead of the BundleOfEnvelopes and send the message directly
@@ -343,6 +357,7 @@ public class BroadcastHandler implements PeerManager.Listener {
         }
 
         stopped.set(true);
+        messageForAllRequests = null;
 
         if (timeoutTimer != null) {
             timeoutTimer.stop();
@@ -27,6 +27,7 @@ import bisq.network.p2p.network.PeerType;
 import bisq.network.p2p.network.RuleViolation;
 import bisq.network.p2p.peers.peerexchange.Peer;
 import bisq.network.p2p.peers.peerexchange.PeerList;
+import bisq.network.p2p.peers.peerexchange.PeerTable;
 import bisq.network.p2p.seed.SeedNodeRepository;
 
 import bisq.common.ClockWatcher;
@@ -56,6 +57,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -115,9 +117,10 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     private final PeerList peerList = new PeerList();
     // Peers we got reported from other peers
     @Getter
-    private final Set<Peer> reportedPeers = new HashSet<>();
+    private final PeerTable reportedPeers = new PeerTable();
     // Most recent peers with activity date of last 30 min.
-    private final Set<Peer> latestLivePeers = new HashSet<>();
+    private final PeerTable latestLivePeers = new PeerTable();
+    private final Random random = new Random();
 
     private Timer checkMaxConnectionsTimer;
     private boolean stopped;
@@ -310,10 +313,6 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         return nodeAddress.equals(networkNode.getNodeAddress());
     }
 
-    private boolean isSeedNode(Peer peer) {
-        return seedNodeAddresses.contains(peer.getNodeAddress());
-    }
-
     public boolean isSeedNode(NodeAddress nodeAddress) {
         return seedNodeAddresses.contains(nodeAddress);
     }
@@ -343,11 +342,11 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     // Peer
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    @SuppressWarnings("unused")
+    // Live peers are looked up first, then persisted and reported peers
     public Optional<Peer> findPeer(NodeAddress peersNodeAddress) {
-        return getAllPeers().stream()
-                .filter(peer -> peer.getNodeAddress().equals(peersNodeAddress))
-                .findAny();
+        return latestLivePeers.find(peersNodeAddress)
+                .or(() -> peerList.getSet().find(peersNodeAddress))
+                .or(() -> reportedPeers.find(peersNodeAddress));
     }
 
     public Set<Peer> getAllPeers() {
@@ -366,9 +365,9 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
                                    Capabilities capabilities) {
         applyCapabilities(connection, capabilities);
 
-        Set<Peer> peers = reportedPeersToAdd.stream()
+        List<Peer> peers = reportedPeersToAdd.stream()
                 .filter(peer -> !isSelf(peer.getNodeAddress()))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toList());
 
         printNewReportedPeers(peers);
 
@@ -399,19 +398,21 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     public Set<Peer> getLivePeers(@Nullable NodeAddress excludedNodeAddress) {
         int oldNumLatestLivePeers = latestLivePeers.size();
 
-        Set<Peer> peers = new HashSet<>(latestLivePeers);
-        Set<Peer> currentLivePeers = getConnectedReportedPeers().stream()
-                .filter(e -> !isSeedNode(e))
-                .filter(e -> !e.getNodeAddress().equals(excludedNodeAddress))
-                .collect(Collectors.toSet());
-        peers.addAll(currentLivePeers);
-
+        // We remove the outdated peers first, so currently connected peers get re-added with a fresh date
         long maxAge = new Date().getTime() - MAX_AGE_LIVE_PEERS;
-        latestLivePeers.clear();
-        Set<Peer> recentPeers = peers.stream()
-                .filter(peer -> peer.getDateAsLong() > maxAge)
-                .collect(Collectors.toSet());
-        latestLivePeers.addAll(recentPeers);
+        latestLivePeers.removeOlderThan(maxAge + 1);
+
+        // We only create peers for connections we do not have already in latestLivePeers
+        networkNode.getConfirmedConnections().forEach(connection -> {
+            Optional<NodeAddress> peersNodeAddressOptional = connection.getPeersNodeAddressOptional();
+            checkArgument(peersNodeAddressOptional.isPresent()); // getConfirmedConnections delivers only connections where we know the address
+            NodeAddress peersNodeAddress = peersNodeAddressOptional.get();
+            if (!isSeedNode(peersNodeAddress) &&
+                    !peersNodeAddress.equals(excludedNodeAddress) &&
+                    latestLivePeers.find(peersNodeAddress).isEmpty()) {
+                latestLivePeers.add(toConnectedPeer(connection, peersNodeAddress));
+            }
+        });
 
         if (oldNumLatestLivePeers != latestLivePeers.size())
             log.info("Num of latestLivePeers={}", latestLivePeers.size());
@@ -445,10 +446,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         // inefficient.
         // Also this risk is only for not updated peers, so in case that would be abused for an
         // attack all users have a strong incentive to update ;-).
-        return getAllPeers().stream()
-                .filter(peer -> peer.getNodeAddress().equals(nodeAddress))
-                .findAny()
-                .map(Peer::getCapabilities);
+        return findPeer(nodeAddress).map(Peer::getCapabilities);
     }
 
     private void applyCapabilities(Connection connection, Capabilities newCapabilities) {
@@ -456,12 +454,13 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
             return;
         }
 
-        connection.getPeersNodeAddressOptional().ifPresent(nodeAddress -> {
-            getAllPeers().stream()
-                    .filter(peer -> peer.getNodeAddress().equals(nodeAddress))
-                    .filter(peer -> peer.getCapabilities().hasLess(newCapabilities))
-                    .forEach(peer -> peer.setCapabilities(newCapabilities));
-        });
+        connection.getPeersNodeAddressOptional().ifPresent(nodeAddress ->
+                Stream.of(latestLivePeers.find(nodeAddress),
+                                peerList.getSet().find(nodeAddress),
+                                reportedPeers.find(nodeAddress))
+                        .flatMap(Optional::stream)
+                        .filter(peer -> peer.getCapabilities().hasLess(newCapabilities))
+                        .forEach(peer -> peer.setCapabilities(newCapabilities)));
         requestPersistence();
     }
 
@@ -476,9 +475,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
             checkMaxConnectionsTimer = UserThread.runAfter(() -> {
                 stopCheckMaxConnectionsTimer();
                 if (!stopped) {
-                    Set<Connection> allConnections = new HashSet<>(networkNode.getAllConnections());
-                    int size = allConnections.size();
-                    peakNumConnections = Math.max(peakNumConnections, size);
+                    peakNumConnections = Math.max(peakNumConnections, networkNode.getAllConnections().size());
 
                     removeAnonymousPeers();
                     removeTooOldReportedPeers();
@@ -493,7 +490,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
     @VisibleForTesting
     boolean checkMaxConnections() {
-        Set<Connection> allConnections = new HashSet<>(networkNode.getAllConnections());
+        Set<Connection> allConnections = networkNode.getAllConnections();
         int size = allConnections.size();
         log.info("We have {} connections open. Our limit is {}", size, maxConnections);
 
@@ -597,25 +594,14 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     // Reported peers
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private void removeReportedPeer(Peer reportedPeer) {
-        reportedPeers.remove(reportedPeer);
-        printReportedPeers();
-    }
-
     private void removeReportedPeer(NodeAddress nodeAddress) {
-        List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
-        reportedPeersClone.stream()
-                .filter(e -> e.getNodeAddress().equals(nodeAddress))
-                .findAny()
-                .ifPresent(this::removeReportedPeer);
+        reportedPeers.remove(nodeAddress).ifPresent(peer -> printReportedPeers());
     }
 
     private void removeTooOldReportedPeers() {
-        List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
-        Set<Peer> reportedPeersToRemove = reportedPeersClone.stream()
-                .filter(reportedPeer -> new Date().getTime() - reportedPeer.getDate().getTime() > MAX_AGE)
-                .collect(Collectors.toSet());
-        reportedPeersToRemove.forEach(this::removeReportedPeer);
+        if (!reportedPeers.removeOlderThan(new Date().getTime() - MAX_AGE).isEmpty()) {
+            printReportedPeers();
+        }
     }
 
 
@@ -624,15 +610,9 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         if (size > MAX_REPORTED_PEERS) {
             log.info("We have already {} reported peers which exceeds our limit of {}." +
                     "We remove random peers from the reported peers list.", size, MAX_REPORTED_PEERS);
-            int diff = size - MAX_REPORTED_PEERS;
-            List<Peer> list = new ArrayList<>(reportedPeers);
             // we don't use sorting by lastActivityDate to keep it more random
-            for (int i = 0; i < diff; i++) {
-                if (!list.isEmpty()) {
-                    Peer toRemove = list.remove(new Random().nextInt(list.size()));
-                    removeReportedPeer(toRemove);
-                }
-            }
+            reportedPeers.removeRandomUntilSize(MAX_REPORTED_PEERS, random);
+            printReportedPeers();
         } else {
             log.trace("No need to purge reported peers.\n\tWe don't have more then {} reported peers yet.", MAX_REPORTED_PEERS);
         }
@@ -652,7 +632,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         }
     }
 
-    private void printNewReportedPeers(Set<Peer> reportedPeers) {
+    private void printNewReportedPeers(Collection<Peer> reportedPeers) {
         if (PRINT_REPORTED_PEERS_DETAILS) {
             StringBuilder result = new StringBuilder("We received new reportedPeers:");
             List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
@@ -667,37 +647,28 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     //  Persisted peers
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private boolean removePersistedPeer(Peer persistedPeer) {
-        if (getPersistedPeers().contains(persistedPeer)) {
-            getPersistedPeers().remove(persistedPeer);
-            requestPersistence();
-            return true;
-        } else {
-            return false;
-        }
-    }
-
     private void requestPersistence() {
         persistenceManager.requestPersistence();
     }
 
     @SuppressWarnings("UnusedReturnValue")
     private boolean removePersistedPeer(NodeAddress nodeAddress) {
-        Optional<Peer> optionalPersistedPeer = findPersistedPeer(nodeAddress);
-        return optionalPersistedPeer.isPresent() && removePersistedPeer(optionalPersistedPeer.get());
+        if (peerList.getSet().remove(nodeAddress).isPresent()) {
+            requestPersistence();
+            return true;
+        } else {
+            return false;
+        }
     }
 
     private Optional<Peer> findPersistedPeer(NodeAddress nodeAddress) {
-        return getPersistedPeers().stream()
-                .filter(e -> e.getNodeAddress().equals(nodeAddress))
-                .findAny();
+        return peerList.getSet().find(nodeAddress);
     }
 
     private void removeTooOldPersistedPeers() {
-        Set<Peer> persistedPeersToRemove = getPersistedPeers().stream()
-                .filter(reportedPeer -> new Date().getTime() - reportedPeer.getDate().getTime() > MAX_AGE)
-                .collect(Collectors.toSet());
-        persistedPeersToRemove.forEach(this::removePersistedPeer);
+        if (!peerList.getSet().removeOlderThan(new Date().getTime() - MAX_AGE).isEmpty()) {
+            requestPersistence();
+        }
     }
 
     private void purgePersistedPeersIfExceeds() {
@@ -706,15 +677,9 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         if (size > limit) {
             log.trace("We have already {} persisted peers which exceeds our limit of {}." +
                     "We remove random peers from the persisted peers list.", size, limit);
-            int diff = size - limit;
-            List<Peer> list = new ArrayList<>(getPersistedPeers());
             // we don't use sorting by lastActivityDate to avoid attack vectors and keep it more random
-            for (int i = 0; i < diff; i++) {
-                if (!list.isEmpty()) {
-                    Peer toRemove = list.remove(new Random().nextInt(list.size()));
-                    removePersistedPeer(toRemove);
-                }
-            }
+            peerList.getSet().removeRandomUntilSize(limit, random);
+            requestPersistence();
         } else {
             log.trace("No need to purge persisted peers.\n\tWe don't have more then {} persisted peers yet.", MAX_PERSISTED_PEERS);
         }
@@ -757,43 +722,33 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         maxConnectionsAbsolute = Math.max(12, (int) Math.round(maxConnections * 2.5));            // app node 30; seedNode 50
     }
 
-    private Set<Peer> getConnectedReportedPeers() {
-        // networkNode.getConfirmedConnections includes:
-        // filter(connection -> connection.getPeersNodeAddressOptional().isPresent())
-        return networkNode.getConfirmedConnections().stream()
-                .map((Connection connection) -> {
-                    Capabilities supportedCapabilities = new Capabilities(connection.getCapabilities());
-                    // If we have a new connection the supportedCapabilities is empty.
-                    // We lookup if we have already stored the supportedCapabilities at the persisted or reported peers
-                    // and if so we use that.
-                    Optional<NodeAddress> peersNodeAddressOptional = connection.getPeersNodeAddressOptional();
-                    checkArgument(peersNodeAddressOptional.isPresent()); // getConfirmedConnections delivers only connections where we know the address
-                    NodeAddress peersNodeAddress = peersNodeAddressOptional.get();
-                    boolean capabilitiesNotFoundInConnection = supportedCapabilities.isEmpty();
-                    if (capabilitiesNotFoundInConnection) {
-                        // If not found in connection we look up if we got the Capabilities set from any of the
-                        // reported or persisted peers
-                        Set<Peer> persistedAndReported = new HashSet<>(getPersistedPeers());
-                        persistedAndReported.addAll(getReportedPeers());
-                        Optional<Peer> candidate = persistedAndReported.stream()
-                                .filter(peer -> peer.getNodeAddress().equals(peersNodeAddress))
-                                .filter(peer -> !peer.getCapabilities().isEmpty())
-                                .findAny();
-                        if (candidate.isPresent()) {
-                            supportedCapabilities = new Capabilities(candidate.get().getCapabilities());
-                        }
-                    }
-                    Peer peer = new Peer(peersNodeAddress, supportedCapabilities);
+    private Peer toConnectedPeer(Connection connection, NodeAddress peersNodeAddress) {
+        Capabilities supportedCapabilities = new Capabilities(connection.getCapabilities());
+        // If we have a new connection the supportedCapabilities is empty.
+        // We lookup if we have already stored the supportedCapabilities at the persisted or reported peers
+        // and if so we use that.
+        boolean capabilitiesNotFoundInConnection = supportedCapabilities.isEmpty();
+        if (capabilitiesNotFoundInConnection) {
+            // If not found in connection we look up if we got the Capabilities set from any of the
+            // reported or persisted peers
+            Optional<Peer> candidate = Stream.of(peerList.getSet().find(peersNodeAddress),
+                            reportedPeers.find(peersNodeAddress))
+                    .flatMap(Optional::stream)
+                    .filter(peer -> !peer.getCapabilities().isEmpty())
+                    .findAny();
+            if (candidate.isPresent()) {
+                supportedCapabilities = new Capabilities(candidate.get().getCapabilities());
+            }
+        }
+        Peer peer = new Peer(peersNodeAddress, supportedCapabilities);
 
-                    // If we did not found the capability from our own connection we add a listener,
-                    // so once we get a connection with that peer and exchange a message containing the capabilities
-                    // we get set the capabilities.
-                    if (capabilitiesNotFoundInConnection) {
-                        connection.addWeakCapabilitiesListener(peer);
-                    }
-                    return peer;
-                })
-                .collect(Collectors.toSet());
+        // If we did not found the capability from our own connection we add a listener,
+        // so once we get a connection with that peer and exchange a message containing the capabilities
+        // we get set the capabilities.
+        if (capabilitiesNotFoundInConnection) {
+            connection.addWeakCapabilitiesListener(peer);
+        }
+        return peer;
     }
 
     private void stopCheckMaxConnectionsTimer() {
@@ -26,12 +26,14 @@ import bisq.network.p2p.storage.P2PDataStorage;
 
 import bisq.common.Timer;
 import bisq.common.UserThread;
+import bisq.common.util.SingleThreadExecutorUtils;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -45,6 +47,10 @@ public class GetDataRequestHandler {
 
     private static final int MAX_ENTRIES = 5000;
 
+    // Shared by all handlers. A single thread limits the CPU load at seed nodes if many requests arrive at once.
+    private static final ExecutorService RESPONSE_BUILDER_EXECUTOR =
+            SingleThreadExecutorUtils.getSingleThreadExecutor("GetDataResponseBuilder");
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Listener
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -88,28 +94,6 @@ public class GetDataRequestHandler {
                 .map(e -> "node address " + e.getFullAddress())
                 .orElseGet(() -> "connection UID " + connection.getUid());
 
-        AtomicBoolean wasPersistableNetworkPayloadsTruncated = new AtomicBoolean(false);
-        AtomicBoolean wasProtectedStorageEntriesTruncated = new AtomicBoolean(false);
-        GetDataResponse getDataResponse = dataStorage.buildGetDataResponse(
-                getDataRequest,
-                MAX_ENTRIES,
-                wasPersistableNetworkPayloadsTruncated,
-                wasProtectedStorageEntriesTruncated,
-                connection.getCapabilities());
-
-        if (wasPersistableNetworkPayloadsTruncated.get()) {
-            log.info("The getDataResponse for peer {} got truncated.", connectionInfo);
-        }
-
-        if (wasProtectedStorageEntriesTruncated.get()) {
-            log.info("The getDataResponse for peer {} got truncated.", connectionInfo);
-        }
-
-        log.info("The getDataResponse to peer with {} contains {} ProtectedStorageEntries and {} PersistableNetworkPayloads",
-                connectionInfo,
-                getDataResponse.getDataSet().size(),
-                getDataResponse.getPersistableNetworkPayloadSet().size());
-
         if (timeoutTimer == null) {
             timeoutTimer = UserThread.runAfter(() -> {  // setup before sending to avoid race conditions
                         String errorMessage = "A timeout occurred for getDataResponse " +
@@ -119,6 +103,59 @@ public class GetDataRequestHandler {
                     TIMEOUT, TimeUnit.SECONDS);
         }
 
+        // Building the response requires to iterate all our data and can take a while at seed nodes, so we do it
+        // outside the UserThread. The data maps are ConcurrentHashMaps, so iterating them concurrently is safe.
+        // Items added or removed while we build the response might or might not be included.
+        RESPONSE_BUILDER_EXECUTOR.execute(() -> {
+            try {
+                AtomicBoolean wasPersistableNetworkPayloadsTruncated = new AtomicBoolean(false);
+                AtomicBoolean wasProtectedStorageEntriesTruncated = new AtomicBoolean(false);
+                GetDataResponse getDataResponse = dataStorage.buildGetDataResponse(
+                        getDataRequest,
+                        MAX_ENTRIES,
+                        wasPersistableNetworkPayloadsTruncated,
+                        wasProtectedStorageEntriesTruncated,
+                        connection.getCapabilities());
+                long buildDuration = System.currentTimeMillis() - ts;
+                UserThread.execute(() -> {
+                    if (wasPersistableNetworkPayloadsTruncated.get()) {
+                        log.info("The getDataResponse for peer {} got truncated.", connectionInfo);
+                    }
+
+                    if (wasProtectedStorageEntriesTruncated.get()) {
+                        log.info("The getDataResponse for peer {} got truncated.", connectionInfo);
+                    }
+
+                    log.info("The getDataResponse to peer with {} contains {} ProtectedStorageEntries and {} PersistableNetworkPayloads. Building the response took {} ms.",
+                            connectionInfo,
+                            getDataResponse.getDataSet().size(),
+                            getDataResponse.getPersistableNetworkPayloadSet().size(),
+                            buildDuration);
+                    sendResponse(getDataResponse, connection);
+                });
+            } catch (Throwable t) {
+                log.error("Building the getDataResponse failed", t);
+                UserThread.execute(() -> handleFault("Building the getDataResponse failed. Exception: " + t.getMessage(),
+                        CloseConnectionReason.UNKNOWN_EXCEPTION, connection));
+            }
+        });
+    }
+
+    public void stop() {
+        cleanup();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void sendResponse(GetDataResponse getDataResponse, Connection connection) {
+        if (stopped) {
+            log.trace("We have stopped already. We do not send the getDataResponse.");
+            return;
+        }
+
         SettableFuture<Connection> future = networkNode.sendMessage(connection, getDataResponse);
         Futures.addCallback(future, new FutureCallback<>() {
             @Override
@@ -145,18 +182,8 @@ public class GetDataRequestHandler {
                 }
             }
         }, MoreExecutors.directExecutor());
-        log.info("handle GetDataRequest took {} ms", System.currentTimeMillis() - ts);
-    }
-
-    public void stop() {
-        cleanup();
     }
 
-
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Private
-    ///////////////////////////////////////////////////////////////////////////////////////////
-
     private void handleFault(String errorMessage, CloseConnectionReason closeConnectionReason, Connection connection) {
         if (!stopped) {
             log.info(errorMessage + "\n\tcloseConnectionReason=" + closeConnectionReason);
@@ -22,7 +22,6 @@ import bisq.common.proto.persistable.PersistableEnvelope;
 import com.google.protobuf.Message;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -34,7 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 @EqualsAndHashCode
 public class PeerList implements PersistableEnvelope {
     @Getter
-    private final Set<Peer> set = new HashSet<>();
+    private final PeerTable set = new PeerTable();
 
     public PeerList() {
     }
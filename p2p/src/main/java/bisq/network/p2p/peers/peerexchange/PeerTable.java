@@ -0,0 +1,203 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.peerexchange;
+
+import bisq.network.p2p.NodeAddress;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeSet;
+
+import javax.annotation.Nullable;
+
+/**
+ * Set of peers indexed by the peer's address. Besides the lookup by address it supports removal of all peers older
+ * than a given date and removal of random peers in O(number of removed peers) instead of iterating or copying the
+ * whole set.
+ * <p>
+ * As in {@link Peer#equals(Object)} a peer is identified by its address. Adding a peer with an address already
+ * contained does not replace the existing peer, like with a HashSet.
+ * <p>
+ * Not thread safe. Must be used from the UserThread only.
+ */
+public class PeerTable extends AbstractSet<Peer> {
+    private static final Comparator<Peer> DATE_COMPARATOR = Comparator.comparingLong(Peer::getDateAsLong)
+            .thenComparing(peer -> peer.getNodeAddress().getFullAddress());
+
+    // Array list for random access at random eviction. Removal swaps the last element into the removed slot.
+    private final List<Peer> peers = new ArrayList<>();
+    // Index into peers by full address
+    private final Map<String, Integer> indexByAddress = new HashMap<>();
+    // Peer date is immutable, so we can use it as sort key
+    private final NavigableSet<Peer> peersByDate = new TreeSet<>(DATE_COMPARATOR);
+
+    public PeerTable() {
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Set
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public boolean add(Peer peer) {
+        String address = peer.getNodeAddress().getFullAddress();
+        if (indexByAddress.containsKey(address)) {
+            return false;
+        }
+
+        indexByAddress.put(address, peers.size());
+        peers.add(peer);
+        peersByDate.add(peer);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof Peer)) {
+            return false;
+        }
+        return remove(((Peer) object).getNodeAddress()).isPresent();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return object instanceof Peer && indexByAddress.containsKey(((Peer) object).getNodeAddress().getFullAddress());
+    }
+
+    @Override
+    public int size() {
+        return peers.size();
+    }
+
+    @Override
+    public void clear() {
+        peers.clear();
+        indexByAddress.clear();
+        peersByDate.clear();
+    }
+
+    @Override
+    public Iterator<Peer> iterator() {
+        return new Iterator<>() {
+            private int cursor;
+            private boolean canRemove;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < peers.size();
+            }
+
+            @Override
+            public Peer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                canRemove = true;
+                return peers.get(cursor++);
+            }
+
+            @Override
+            public void remove() {
+                if (!canRemove) {
+                    throw new IllegalStateException();
+                }
+                canRemove = false;
+                // The last element gets moved into the removed slot, so we need to visit that slot again
+                cursor--;
+                removeAt(cursor);
+            }
+        };
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Indexed access
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public Optional<Peer> find(@Nullable NodeAddress nodeAddress) {
+        if (nodeAddress == null) {
+            return Optional.empty();
+        }
+        Integer index = indexByAddress.get(nodeAddress.getFullAddress());
+        return index != null ? Optional.of(peers.get(index)) : Optional.empty();
+    }
+
+    public Optional<Peer> remove(@Nullable NodeAddress nodeAddress) {
+        if (nodeAddress == null) {
+            return Optional.empty();
+        }
+        Integer index = indexByAddress.get(nodeAddress.getFullAddress());
+        return index != null ? Optional.of(removeAt(index)) : Optional.empty();
+    }
+
+    /**
+     * Removes all peers with a date before the given date.
+     *
+     * @return The removed peers
+     */
+    public List<Peer> removeOlderThan(long date) {
+        List<Peer> removed = new ArrayList<>();
+        while (!peersByDate.isEmpty() && peersByDate.first().getDateAsLong() < date) {
+            Peer peer = peersByDate.first();
+            remove(peer.getNodeAddress());
+            removed.add(peer);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes random peers until the size does not exceed maxSize.
+     *
+     * @return The removed peers
+     */
+    public List<Peer> removeRandomUntilSize(int maxSize, Random random) {
+        List<Peer> removed = new ArrayList<>();
+        while (peers.size() > maxSize) {
+            removed.add(removeAt(random.nextInt(peers.size())));
+        }
+        return removed;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private Peer removeAt(int index) {
+        Peer peer = peers.get(index);
+        int lastIndex = peers.size() - 1;
+        Peer last = peers.remove(lastIndex);
+        if (index != lastIndex) {
+            peers.set(index, last);
+            indexByAddress.put(last.getNodeAddress().getFullAddress(), index);
+        }
+        indexByAddress.remove(peer.getNodeAddress().getFullAddress());
+        peersByDate.remove(peer);
+        return peer;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.storage.payload.ExpirablePayload;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+
+import java.time.Clock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Priority queue of the ProtectedStorageEntries with an ExpirablePayload ordered by their expiry time.
+ * Used for removing expired entries without iterating the whole map.
+ * <p>
+ * We use lazy deletion: Removed or replaced entries (e.g. by a refresh) stay in the queue until their expiry time
+ * and get dropped if the map does not contain the same entry instance anymore. To keep the queue from growing with
+ * stale items at frequent refreshes we rebuild it from the map if it gets too large.
+ * <p>
+ * Not thread safe. Must be used from the UserThread only.
+ */
+@Slf4j
+class ExpiryIndex {
+    private static final int MIN_SIZE_FOR_COMPACTION = 1000;
+
+    private static class Item {
+        private final long expiryTime;
+        private final P2PDataStorage.ByteArray hash;
+        private final ProtectedStorageEntry protectedStorageEntry;
+
+        private Item(long expiryTime, P2PDataStorage.ByteArray hash, ProtectedStorageEntry protectedStorageEntry) {
+            this.expiryTime = expiryTime;
+            this.hash = hash;
+            this.protectedStorageEntry = protectedStorageEntry;
+        }
+    }
+
+    private final PriorityQueue<Item> queue = new PriorityQueue<>(Comparator.comparingLong(item -> item.expiryTime));
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds the entry to the index. Needs to be called again if the creation time of the entry got changed
+     * (e.g. by ProtectedStorageEntry.backDate).
+     */
+    void add(P2PDataStorage.ByteArray hash, ProtectedStorageEntry protectedStorageEntry) {
+        if (protectedStorageEntry.getProtectedStoragePayload() instanceof ExpirablePayload) {
+            queue.add(new Item(getExpiryTime(protectedStorageEntry), hash, protectedStorageEntry));
+        }
+    }
+
+    void addAll(Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> map) {
+        map.forEach(this::add);
+    }
+
+    /**
+     * Removes the expired items from the index and returns the map entries which are expired. The cost is
+     * proportional to the number of items with an expiry time in the past.
+     */
+    List<Map.Entry<P2PDataStorage.ByteArray, ProtectedStorageEntry>> pollExpired(
+            Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> map,
+            Clock clock) {
+        long now = clock.millis();
+        Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> expired = new LinkedHashMap<>();
+        List<Item> notExpired = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().expiryTime < now) {
+            Item item = queue.poll();
+            if (map.get(item.hash) != item.protectedStorageEntry) {
+                // Entry got removed or replaced
+                continue;
+            }
+
+            if (item.protectedStorageEntry.isExpired(clock)) {
+                expired.put(item.hash, item.protectedStorageEntry);
+            } else {
+                // Should not happen as the creation time can only decrease, but we do not want to lose the entry
+                notExpired.add(item);
+            }
+        }
+        notExpired.forEach(item -> add(item.hash, item.protectedStorageEntry));
+
+        if (queue.size() > MIN_SIZE_FOR_COMPACTION && queue.size() > 2 * map.size()) {
+            int previousSize = queue.size();
+            queue.clear();
+            map.forEach((hash, protectedStorageEntry) -> {
+                if (!expired.containsKey(hash)) {
+                    add(hash, protectedStorageEntry);
+                }
+            });
+            log.info("We rebuilt the expiry index. Size before: {}, size after: {}", previousSize, queue.size());
+        }
+        return new ArrayList<>(expired.entrySet());
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static long getExpiryTime(ProtectedStorageEntry protectedStorageEntry) {
+        long ttl = ((ExpirablePayload) protectedStorageEntry.getProtectedStoragePayload()).getTTL();
+        return protectedStorageEntry.getCreationTimeStamp() + ttl;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.storage.payload.DateSortedTruncatablePayload;
+
+import bisq.common.proto.network.GetDataResponsePriority;
+import bisq.common.proto.network.NetworkPayload;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches the data needed for building a GetDataResponse per payload hash: the priority class, the date for
+ * DateSortedTruncatablePayloads and the serialized size. The serialized size is expensive to get as it requires
+ * the creation of the protobuf message. It is computed lazily at the first response which needs it.
+ * <p>
+ * An entry is only valid for the exact item instance it was created for. If the item stored under a hash got
+ * replaced (e.g. a refreshed ProtectedStorageEntry) the entry gets recreated at the next lookup.
+ * <p>
+ * Thread safe, so it can be used for building responses outside the UserThread.
+ */
+class GetDataResponseIndex {
+    static class Entry {
+        private final NetworkPayload item;
+        @Getter
+        @Nullable
+        private final GetDataResponsePriority priority;
+        @Getter
+        private final boolean dateSorted;
+        @Getter
+        private final long date;
+        @Getter
+        private final int maxItems;
+        // Benign race: concurrent callers compute the same value
+        private volatile int serializedSize = -1;
+
+        private Entry(NetworkPayload item, NetworkPayload payload) {
+            this.item = item;
+            priority = item.getGetDataResponsePriority();
+            dateSorted = payload instanceof DateSortedTruncatablePayload;
+            if (dateSorted) {
+                DateSortedTruncatablePayload dateSortedPayload = (DateSortedTruncatablePayload) payload;
+                date = dateSortedPayload.getDate().getTime();
+                maxItems = dateSortedPayload.maxItems();
+            } else {
+                date = 0;
+                maxItems = 0;
+            }
+        }
+
+        int getSerializedSize() {
+            int size = serializedSize;
+            if (size < 0) {
+                size = item.toProtoMessage().getSerializedSize();
+                serializedSize = size;
+            }
+            return size;
+        }
+    }
+
+    private final Map<P2PDataStorage.ByteArray, Entry> entryByHash = new ConcurrentHashMap<>();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    <T extends NetworkPayload> Entry getEntry(P2PDataStorage.ByteArray hash,
+                                              T item,
+                                              Function<T, ? extends NetworkPayload> asPayload) {
+        Entry entry = entryByHash.get(hash);
+        if (entry == null || entry.item != item) {
+            entry = new Entry(item, asPayload.apply(item));
+            entryByHash.put(hash, entry);
+        }
+        return entry;
+    }
+
+    void remove(P2PDataStorage.ByteArray hash) {
+        entryByHash.remove(hash);
+    }
+
+    int size() {
+        return entryByHash.size();
+    }
+}
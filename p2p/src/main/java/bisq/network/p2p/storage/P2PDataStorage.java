@@ -37,7 +37,6 @@ import bisq.network.p2p.storage.messages.RefreshOfferMessage;
 import bisq.network.p2p.storage.messages.RemoveDataMessage;
 import bisq.network.p2p.storage.messages.RemoveMailboxDataMessage;
 import bisq.network.p2p.storage.payload.CapabilityRequiringPayload;
-import bisq.network.p2p.storage.payload.DateSortedTruncatablePayload;
 import bisq.network.p2p.storage.payload.DateTolerantPayload;
 import bisq.network.p2p.storage.payload.MailboxStoragePayload;
 import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
@@ -107,7 +106,6 @@ import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -143,6 +141,11 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     private final Map<ByteArray, ProtectedStorageEntry> map = new ConcurrentHashMap<>();
     private final Set<HashMapChangedListener> hashMapChangedListeners = new CopyOnWriteArraySet<>();
     private Timer removeExpiredEntriesTimer;
+    private final ExpiryIndex expiryIndex = new ExpiryIndex();
+
+    // Cached serialized size, priority and date of the items we deliver at GetDataResponses
+    private final GetDataResponseIndex persistableNetworkPayloadResponseIndex = new GetDataResponseIndex();
+    private final GetDataResponseIndex protectedStorageEntryResponseIndex = new GetDataResponseIndex();
 
     private final PersistenceManager<SequenceNumberMap> persistenceManager;
 
@@ -235,6 +238,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         appendOnlyDataStoreService.readFromResources(postFix, () -> appendOnlyDataStoreServiceReady.set(true));
         protectedDataStoreService.readFromResources(postFix, () -> {
             map.putAll(protectedDataStoreService.getMap());
+            expiryIndex.addAll(protectedDataStoreService.getMap());
             protectedDataStoreServiceReady.set(true);
         });
         resourceDataStoreService.readFromResources(postFix, () -> resourceDataStoreServiceReady.set(true));
@@ -248,6 +252,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         resourceDataStoreService.readFromResourcesSync(postFix);
 
         map.putAll(protectedDataStoreService.getMap());
+        expiryIndex.addAll(protectedDataStoreService.getMap());
     }
 
     // We get added mailbox message data from MailboxMessageService. We want to add those early so we can get it added
@@ -256,6 +261,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
         ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
         map.put(hashOfPayload, protectedStorageEntry);
+        expiryIndex.add(hashOfPayload, protectedStorageEntry);
         //log.trace("## addProtectedMailboxStorageEntryToMap hashOfPayload={}, map={}", hashOfPayload, printMap());
     }
 
@@ -308,9 +314,11 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         // Pre v 1.4.0 requests do not have set the requesters version field so it is null.
         // The methods in HistoricalDataStoreService will return all historical data in that case.
-        // mapForDataResponse contains the filtered by version data from HistoricalDataStoreService as well as all other
-        // maps of the remaining appendOnlyDataStoreServices.
-        Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = getMapForDataResponse(getDataRequest.getVersion());
+        // mapsForDataResponse contains the filtered by version data from HistoricalDataStoreService as well as all other
+        // maps of the remaining appendOnlyDataStoreServices. We do not copy the maps but iterate over them directly.
+        // As all store maps are ConcurrentHashMaps that is safe to do outside the UserThread.
+        List<Map<ByteArray, PersistableNetworkPayload>> mapsForDataResponse = getMapsForDataResponse(getDataRequest.getVersion());
+        int numPersistableNetworkPayloads = mapsForDataResponse.stream().mapToInt(Map::size).sum();
 
         // Give a bit of tolerance for message overhead
         double maxSize = Connection.getMaxPermittedMessageSize() * 0.6;
@@ -319,8 +327,9 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         long limit = Math.round(maxSize * 0.25);
         Set<PersistableNetworkPayload> filteredPersistableNetworkPayloads =
                 filterKnownHashes(
-                        mapForDataResponse,
+                        mapsForDataResponse,
                         Function.identity(),
+                        persistableNetworkPayloadResponseIndex,
                         excludedKeysAsByteArray,
                         peerCapabilities,
                         maxEntriesPerType,
@@ -329,7 +338,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                         true);
         log.info("{} PersistableNetworkPayload entries remained after filtered by excluded keys. " +
                         "Original map had {} entries.",
-                filteredPersistableNetworkPayloads.size(), mapForDataResponse.size());
+                filteredPersistableNetworkPayloads.size(), numPersistableNetworkPayloads);
         log.trace("## buildGetDataResponse filteredPersistableNetworkPayloadHashes={}",
                 filteredPersistableNetworkPayloads.stream()
                         .map(e -> Utilities.encodeToHex(e.getHash()))
@@ -339,8 +348,9 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         limit = Math.round(maxSize * 0.75);
         Set<ProtectedStorageEntry> filteredProtectedStorageEntries =
                 filterKnownHashes(
-                        map,
+                        List.of(map),
                         ProtectedStorageEntry::getProtectedStoragePayload,
+                        protectedStorageEntryResponseIndex,
                         excludedKeysAsByteArray,
                         peerCapabilities,
                         maxEntriesPerType,
@@ -391,29 +401,42 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
     public Map<ByteArray, PersistableNetworkPayload> getMapForDataResponse(String requestersVersion) {
         Map<ByteArray, PersistableNetworkPayload> map = new HashMap<>();
+        getMapsForDataResponse(requestersVersion).forEach(map::putAll);
+        return map;
+    }
+
+    private List<Map<ByteArray, PersistableNetworkPayload>> getMapsForDataResponse(String requestersVersion) {
+        List<Map<ByteArray, PersistableNetworkPayload>> maps = new ArrayList<>();
         appendOnlyDataStoreService.getServices()
                 .forEach(service -> {
-                    Map<ByteArray, PersistableNetworkPayload> serviceMap;
                     if (service instanceof HistoricalDataStoreService) {
                         var historicalDataStoreService = (HistoricalDataStoreService<? extends PersistableNetworkPayloadStore>) service;
-                        serviceMap = historicalDataStoreService.getMapSinceVersion(requestersVersion);
+                        List<Map<ByteArray, PersistableNetworkPayload>> serviceMaps =
+                                historicalDataStoreService.getMapsSinceVersion(requestersVersion);
+                        maps.addAll(serviceMaps);
+                        log.info("We added {} entries from {} to be filtered by excluded keys",
+                                serviceMaps.stream().mapToInt(Map::size).sum(), service.getClass().getSimpleName());
                     } else {
-                        serviceMap = service.getMap();
+                        Map<ByteArray, PersistableNetworkPayload> serviceMap = service.getMap();
+                        maps.add(Collections.unmodifiableMap(serviceMap));
+                        log.info("We added {} entries from {} to be filtered by excluded keys",
+                                serviceMap.size(), service.getClass().getSimpleName());
                     }
-                    map.putAll(serviceMap);
-                    log.info("We added {} entries from {} to be filtered by excluded keys",
-                            serviceMap.size(), service.getClass().getSimpleName());
                 });
-        return map;
+        return maps;
     }
 
     /**
      * Generic function that can be used to filter a Map<ByteArray, ProtectedStorageEntry || PersistableNetworkPayload>
      * by a given set of keys and peer capabilities.
+     * <p>
+     * We iterate the maps only once and sort the items into the priority classes. The serialized size and the date
+     * used for truncation are taken from the responseIndex, so they get only calculated once per item.
      */
     static private <T extends NetworkPayload> Set<T> filterKnownHashes(
-            Map<ByteArray, T> toFilter,
+            Collection<Map<ByteArray, T>> toFilter,
             Function<T, ? extends NetworkPayload> asPayload,
+            GetDataResponseIndex responseIndex,
             Set<ByteArray> knownHashes,
             Capabilities peerCapabilities,
             int maxEntries,
@@ -424,25 +447,54 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                 isPersistableNetworkPayload ? "PersistableNetworkPayload" : "ProtectedStorageEntry",
                 knownHashes.size());
 
-        AtomicLong totalSize = new AtomicLong();
-        AtomicBoolean exceededSizeLimit = new AtomicBoolean();
-
-        Set<Map.Entry<ByteArray, T>> entries = toFilter.entrySet();
         Map<String, AtomicInteger> numItemsByClassName = new HashMap<>();
-        entries.forEach(entry -> {
-            String name = asPayload.apply(entry.getValue()).getClass().getSimpleName();
-            numItemsByClassName.putIfAbsent(name, new AtomicInteger());
-            numItemsByClassName.get(name).incrementAndGet();
-        });
+        List<T> midPrioItems = new ArrayList<>();
+        List<T> highPrioItems = new ArrayList<>();
+        List<GetDataResponseIndex.Entry> lowPrioEntries = new ArrayList<>();
+        List<T> lowPrioItems = new ArrayList<>();
+        List<GetDataResponseIndex.Entry> dateSortedEntries = new ArrayList<>();
+        List<T> dateSortedItems = new ArrayList<>();
+        // The maps of different stores have disjoint keys, but in case of a programming error we do not want to
+        // deliver an item twice.
+        Set<ByteArray> processedKeys = toFilter.size() > 1 ? new HashSet<>() : null;
+
+        // Map.Entry.value can be ProtectedStorageEntry or PersistableNetworkPayload. We call it item in the iterations.
+        for (Map<ByteArray, T> map : toFilter) {
+            for (Map.Entry<ByteArray, T> mapEntry : map.entrySet()) {
+                ByteArray hash = mapEntry.getKey();
+                T item = mapEntry.getValue();
+                NetworkPayload payload = asPayload.apply(item);
+                numItemsByClassName.computeIfAbsent(payload.getClass().getSimpleName(), k -> new AtomicInteger())
+                        .incrementAndGet();
+
+                if (knownHashes.contains(hash) ||
+                        (processedKeys != null && !processedKeys.add(hash)) ||
+                        !shouldTransmitPayloadToPeer(peerCapabilities, payload)) {
+                    continue;
+                }
+
+                GetDataResponseIndex.Entry indexEntry = responseIndex.getEntry(hash, item, asPayload);
+                GetDataResponsePriority priority = indexEntry.getPriority();
+                if (priority == GetDataResponsePriority.MID) {
+                    midPrioItems.add(item);
+                } else if (priority == GetDataResponsePriority.HIGH) {
+                    highPrioItems.add(item);
+                } else if (priority == GetDataResponsePriority.LOW) {
+                    if (indexEntry.isDateSorted()) {
+                        dateSortedEntries.add(indexEntry);
+                        dateSortedItems.add(item);
+                    } else {
+                        lowPrioEntries.add(indexEntry);
+                        lowPrioItems.add(item);
+                    }
+                }
+            }
+        }
         log.info("numItemsByClassName: {}", numItemsByClassName);
 
-        // Map.Entry.value can be ProtectedStorageEntry or PersistableNetworkPayload. We call it item in the steam iterations.
-        List<T> filteredItems = entries.stream()
-                .filter(entry -> !knownHashes.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .filter(item -> shouldTransmitPayloadToPeer(peerCapabilities, asPayload.apply(item)))
-                .collect(Collectors.toList());
         List<T> resultItems = new ArrayList<>();
+        long totalSize = 0;
+        boolean exceededSizeLimit = false;
 
         // Truncation follows this rules
         // 1. Add all payloads with GetDataResponsePriority.MID
@@ -455,88 +507,70 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
 
         // 1. Add all payloads with GetDataResponsePriority.MID
-        List<T> midPrioItems = filteredItems.stream()
-                .filter(item -> item.getGetDataResponsePriority() == GetDataResponsePriority.MID)
-                .collect(Collectors.toList());
         resultItems.addAll(midPrioItems);
         log.info("Number of items with GetDataResponsePriority.MID: {}", midPrioItems.size());
 
         // 2. Add all payloads with GetDataResponsePriority.LOW && !DateSortedTruncatablePayload until exceededSizeLimit is reached
-        List<T> lowPrioItems = filteredItems.stream()
-                .filter(item -> item.getGetDataResponsePriority() == GetDataResponsePriority.LOW)
-                .filter(item -> !(asPayload.apply(item) instanceof DateSortedTruncatablePayload))
-                .filter(item -> {
-                    if (exceededSizeLimit.get()) {
-                        return false;
-                    }
-                    if (totalSize.addAndGet(item.toProtoMessage().getSerializedSize()) > limit) {
-                        exceededSizeLimit.set(true);
-                        return false;
-                    }
-                    return true;
-                })
-                .collect(Collectors.toList());
-        resultItems.addAll(lowPrioItems);
-        log.info("Number of items with GetDataResponsePriority.LOW and !DateSortedTruncatablePayload: {}. Exceeded size limit: {}", lowPrioItems.size(), exceededSizeLimit.get());
+        int numLowPrioItems = 0;
+        for (int i = 0; i < lowPrioItems.size(); i++) {
+            totalSize += lowPrioEntries.get(i).getSerializedSize();
+            if (totalSize > limit) {
+                exceededSizeLimit = true;
+                break;
+            }
+            resultItems.add(lowPrioItems.get(i));
+            numLowPrioItems++;
+        }
+        log.info("Number of items with GetDataResponsePriority.LOW and !DateSortedTruncatablePayload: {}. Exceeded size limit: {}", numLowPrioItems, exceededSizeLimit);
 
         // 3. if(!exceededSizeLimit) Add all payloads with GetDataResponsePriority.LOW && DateSortedTruncatablePayload until
         //    exceededSizeLimit is reached and truncate by maxItems (sorted by date). We add the sublist to our resultItems in
         //    reverse order so in case we cut off at next step we cut off oldest items.
-        if (!exceededSizeLimit.get()) {
-            List<T> dateSortedItems = filteredItems.stream()
-                    .filter(item -> item.getGetDataResponsePriority() == GetDataResponsePriority.LOW)
-                    .filter(item -> asPayload.apply(item) instanceof DateSortedTruncatablePayload)
-                    .filter(item -> {
-                        if (exceededSizeLimit.get()) {
-                            return false;
-                        }
-                        if (totalSize.addAndGet(item.toProtoMessage().getSerializedSize()) > limit) {
-                            exceededSizeLimit.set(true);
-                            return false;
-                        }
-                        return true;
-                    })
-                    .sorted(Comparator.comparing(item -> ((DateSortedTruncatablePayload) asPayload.apply(item)).getDate()))
-                    .collect(Collectors.toList());
-            if (!dateSortedItems.isEmpty()) {
-                int maxItems = ((DateSortedTruncatablePayload) asPayload.apply(dateSortedItems.get(0))).maxItems();
-                int size = dateSortedItems.size();
+        if (!exceededSizeLimit) {
+            List<Integer> dateSortedIndices = new ArrayList<>();
+            for (int i = 0; i < dateSortedItems.size(); i++) {
+                totalSize += dateSortedEntries.get(i).getSerializedSize();
+                if (totalSize > limit) {
+                    exceededSizeLimit = true;
+                    break;
+                }
+                dateSortedIndices.add(i);
+            }
+            // We sort by the cached date, newest first. So in case we get truncated we cut off the older items.
+            dateSortedIndices.sort(Comparator.comparingLong((Integer i) -> dateSortedEntries.get(i).getDate()).reversed());
+            if (!dateSortedIndices.isEmpty()) {
+                int maxItems = dateSortedEntries.get(dateSortedIndices.get(0)).getMaxItems();
+                int size = dateSortedIndices.size();
                 if (size > maxItems) {
-                    int fromIndex = size - maxItems;
-                    dateSortedItems = dateSortedItems.subList(fromIndex, size);
+                    dateSortedIndices = dateSortedIndices.subList(0, maxItems);
                     outTruncated.set(true);
                     log.info("Num truncated dateSortedItems {}", size);
-                    log.info("Removed oldest {} dateSortedItems as we exceeded {}", fromIndex, maxItems);
+                    log.info("Removed oldest {} dateSortedItems as we exceeded {}", size - maxItems, maxItems);
                 }
             }
-            log.info("Number of items with GetDataResponsePriority.LOW and DateSortedTruncatablePayload: {}. Was truncated: {}", dateSortedItems.size(), outTruncated.get());
-
-            // We reverse sorting so in case we get truncated we cut off the older items
-            Comparator<T> comparator = Comparator.comparing(item -> ((DateSortedTruncatablePayload) asPayload.apply(item)).getDate());
-            dateSortedItems.sort(comparator.reversed());
-            resultItems.addAll(dateSortedItems);
+            log.info("Number of items with GetDataResponsePriority.LOW and DateSortedTruncatablePayload: {}. Was truncated: {}", dateSortedIndices.size(), outTruncated.get());
+            dateSortedIndices.forEach(i -> resultItems.add(dateSortedItems.get(i)));
         } else {
             log.info("No dateSortedItems added as we exceeded already the exceededSizeLimit of {}", limit);
         }
 
         // 4. We truncate list if resultList size > maxEntries
         int size = resultItems.size();
+        List<T> truncatedResultItems = resultItems;
         if (size > maxEntries) {
-            resultItems = resultItems.subList(0, maxEntries);
+            truncatedResultItems = resultItems.subList(0, maxEntries);
             outTruncated.set(true);
             log.info("Removed last {} items as we exceeded {}", size - maxEntries, maxEntries);
         }
 
-        outTruncated.set(outTruncated.get() || exceededSizeLimit.get());
+        outTruncated.set(outTruncated.get() || exceededSizeLimit);
 
         // 5. Add all payloads with GetDataResponsePriority.HIGH
-        List<T> highPrioItems = filteredItems.stream()
-                .filter(item -> item.getGetDataResponsePriority() == GetDataResponsePriority.HIGH)
-                .collect(Collectors.toList());
-        resultItems.addAll(highPrioItems);
+        Set<T> result = new HashSet<>(truncatedResultItems);
+        result.addAll(highPrioItems);
         log.info("Number of items with GetDataResponsePriority.HIGH: {}", highPrioItems.size());
-        log.info("Number of result items we send to requester: {}", resultItems.size());
-        return new HashSet<>(resultItems);
+        log.info("Number of result items we send to requester: {}", truncatedResultItems.size() + highPrioItems.size());
+        return result;
     }
 
     public Collection<PersistableNetworkPayload> getPersistableNetworkPayloadCollection() {
@@ -639,10 +673,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         // object when we get it sent from new peers, we don’t remove the sequence number from the map.
         // That way an ADD message for an already expired data will fail because the sequence number
         // is equal and not larger as expected.
-        ArrayList<Map.Entry<ByteArray, ProtectedStorageEntry>> toRemoveList =
-                map.entrySet().stream()
-                        .filter(entry -> entry.getValue().isExpired(this.clock))
-                        .collect(Collectors.toCollection(ArrayList::new));
+        // We only look at the entries with an expiry time in the past instead of iterating the whole map.
+        List<Map.Entry<ByteArray, ProtectedStorageEntry>> toRemoveList = expiryIndex.pollExpired(map, clock);
 
         // Batch processing can cause performance issues, so do all of the removes first, then update the listeners
         // to let them know about the removes.
@@ -724,6 +756,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                     // Usually the are: SOCKET_TIMEOUT ,TERMINATED (EOFException)
                     log.debug("Backdating {} due to closeConnectionReason={}", protectedStorageEntry, closeConnectionReason);
                     protectedStorageEntry.backDate();
+                    expiryIndex.add(get32ByteHashAsByteArray(protectedStorageEntry.getProtectedStoragePayload()),
+                            protectedStorageEntry);
                 });
     }
 
@@ -886,6 +920,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         // This is an updated entry. Record it and signal listeners.
         map.put(hashOfPayload, protectedStorageEntry);
+        expiryIndex.add(hashOfPayload, protectedStorageEntry);
         hashMapChangedListeners.forEach(e -> e.onAdded(Collections.singletonList(protectedStorageEntry)));
 
         // Record the updated sequence number and persist it. Higher delay so we can batch more items.
@@ -976,6 +1011,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
             // Update the hash map with the updated entry
             map.put(hashOfPayload, updatedEntry);
+            expiryIndex.add(hashOfPayload, updatedEntry);
 
             // Record the latest sequence number and persist it
             sequenceNumberMap.put(hashOfPayload, new MapValue(updatedEntry.getSequenceNumber(), this.clock.millis()));
@@ -1128,6 +1164,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
             //log.trace("## removeFromMapAndDataStore: hashOfPayload={}, map before remove={}", hashOfPayload, printMap());
             map.remove(hashOfPayload);
+            protectedStorageEntryResponseIndex.remove(hashOfPayload);
             //log.trace("## removeFromMapAndDataStore: map after remove={}", printMap());
 
             // We inform listeners even the entry was not found in our map
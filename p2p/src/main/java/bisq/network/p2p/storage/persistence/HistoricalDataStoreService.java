@@ -28,7 +28,10 @@ import com.google.common.collect.ImmutableMap;
 
 import java.io.File;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -63,8 +66,20 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
     // We give back a map of our live map and all historical maps newer than the requested version.
     // If requestersVersion is null we return all historical data.
     public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapSinceVersion(String requestersVersion) {
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> result = new HashMap<>();
+        getMapsSinceVersion(requestersVersion).forEach(result::putAll);
+        log.info("We found {} entries since requesters version {}",
+                result.size(), requestersVersion);
+        return result;
+    }
+
+    // Same as getMapSinceVersion but without copying the maps. We give back our live map and all historical maps
+    // newer than the requested version. The keys of the maps are disjoint as we prune the live data at startup and
+    // do not add data to the live map which is contained in any historical map.
+    public List<Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> getMapsSinceVersion(String requestersVersion) {
+        List<Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> result = new ArrayList<>();
         // We add all our live data
-        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> result = new HashMap<>(store.getMap());
+        result.add(Collections.unmodifiableMap(store.getMap()));
 
         // If we have a store with a newer version than the requesters version we will add those as well.
         storesByVersion.entrySet().stream()
@@ -87,11 +102,8 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
                             requestersVersion, storeVersion, details);
                     return newVersion;
                 })
-                .map(e -> e.getValue().getMap())
-                .forEach(result::putAll);
-
-        log.info("We found {} entries since requesters version {}",
-                result.size(), requestersVersion);
+                .map(e -> Collections.unmodifiableMap(e.getValue().getMap()))
+                .forEach(result::add);
         return result;
     }
 
@@ -110,6 +122,13 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
     // MapStoreService
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // Does not need to build the combined map like getMapOfAllData. Live and historical data do not overlap as we
+    // check all maps before adding a payload.
+    @Override
+    public int getNumItems() {
+        return store.getMap().size() + allHistoricalPayloads.size();
+    }
+
     @Override
     public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMap() {
         DevEnv.logErrorAndThrowIfDevMode("HistoricalDataStoreService.getMap should not be used by domain " +
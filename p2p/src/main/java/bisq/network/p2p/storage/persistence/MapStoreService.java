@@ -56,6 +56,10 @@ public abstract class MapStoreService<T extends PersistableEnvelope, R extends P
 
     public abstract boolean canHandle(R payload);
 
+    public int getNumItems() {
+        return getMap().size();
+    }
+
     void put(P2PDataStorage.ByteArray hash, R payload) {
         getMap().put(hash, payload);
         requestPersistence();
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.network.p2p.peers.keepalive.messages.Ping;
+import bisq.network.p2p.storage.messages.RefreshOfferMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class EncodedNetworkEnvelopeTest {
+    @Test
+    public void testBroadcastMessageIsEncodedOnce() throws IOException {
+        RefreshOfferMessage message = new RefreshOfferMessage(new byte[]{1, 2}, new byte[]{3}, new byte[]{4, 5, 6}, 7);
+        EncodedNetworkEnvelope encoded = EncodedNetworkEnvelope.encode(message);
+        assertSame(encoded, EncodedNetworkEnvelope.encode(message));
+        assertEquals(message.toProtoNetworkEnvelope().getSerializedSize(), encoded.getSerializedSize());
+        assertArrayEquals(toDelimitedBytes(message.toProtoNetworkEnvelope()), toBytes(encoded));
+
+        EncodedNetworkEnvelope.invalidate(message);
+        assertNotSame(encoded, EncodedNetworkEnvelope.encode(message));
+    }
+
+    @Test
+    public void testDirectMessageIsNotCached() throws IOException {
+        Ping ping = new Ping(1, 2);
+        EncodedNetworkEnvelope encoded = EncodedNetworkEnvelope.encode(ping);
+        assertNotSame(encoded, EncodedNetworkEnvelope.encode(ping));
+        assertArrayEquals(toDelimitedBytes(ping.toProtoNetworkEnvelope()), toBytes(encoded));
+    }
+
+    private static byte[] toBytes(EncodedNetworkEnvelope encoded) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        encoded.writeDelimitedTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] toDelimitedBytes(protobuf.NetworkEnvelope proto) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        proto.writeDelimitedTo(outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.network.p2p.BundleOfEnvelopes;
+import bisq.network.p2p.peers.keepalive.messages.Ping;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EnvelopeCompressionTest {
+    @Test
+    public void testSmallEnvelopeIsNotCompressed() {
+        assertNull(EnvelopeCompression.maybeCompress(createBundleOfPings(10)));
+    }
+
+    @Test
+    public void testCompressAndDecompress() throws InvalidProtocolBufferException {
+        protobuf.NetworkEnvelope proto = createBundleOfPings(2000);
+        assertTrue(proto.getSerializedSize() > EnvelopeCompression.COMPRESSION_THRESHOLD);
+
+        protobuf.NetworkEnvelope compressed = EnvelopeCompression.maybeCompress(proto);
+        assertNotNull(compressed);
+        assertTrue(compressed.hasCompressedEnvelope());
+        assertEquals(proto.getMessageVersion(), compressed.getMessageVersion());
+        assertTrue(compressed.getSerializedSize() < proto.getSerializedSize());
+
+        assertEquals(proto, EnvelopeCompression.decompress(compressed.getCompressedEnvelope(), 10 * 1024 * 1024));
+    }
+
+    @Test
+    public void testDecompressRejectsSizeAboveMax() {
+        protobuf.NetworkEnvelope proto = createBundleOfPings(2000);
+        protobuf.NetworkEnvelope compressed = EnvelopeCompression.maybeCompress(proto);
+        assertNotNull(compressed);
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> EnvelopeCompression.decompress(compressed.getCompressedEnvelope(), proto.getSerializedSize() - 1));
+    }
+
+    @Test
+    public void testDecompressRejectsWrongUncompressedSize() {
+        protobuf.NetworkEnvelope proto = createBundleOfPings(2000);
+        protobuf.CompressedEnvelope compressedEnvelope = EnvelopeCompression.maybeCompress(proto).getCompressedEnvelope();
+        protobuf.CompressedEnvelope manipulated = compressedEnvelope.toBuilder()
+                .setUncompressedSize(compressedEnvelope.getUncompressedSize() - 10)
+                .build();
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> EnvelopeCompression.decompress(manipulated, 10 * 1024 * 1024));
+
+        protobuf.CompressedEnvelope invalidData = compressedEnvelope.toBuilder()
+                .setData(ByteString.copyFrom(new byte[]{1, 2, 3}))
+                .build();
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> EnvelopeCompression.decompress(invalidData, 10 * 1024 * 1024));
+    }
+
+    @Test
+    public void testDecompressAppliesPermittedSizeOfDeclaredType() throws InvalidProtocolBufferException {
+        // BundleOfEnvelopes has the extended permitted size
+        protobuf.NetworkEnvelope proto = createBundleOfPings(30000);
+        assertTrue(proto.getSerializedSize() > Connection.getPermittedMessageSize());
+        protobuf.CompressedEnvelope compressedEnvelope = EnvelopeCompression.maybeCompress(proto).getCompressedEnvelope();
+        assertEquals(proto, EnvelopeCompression.decompress(compressedEnvelope, 10 * 1024 * 1024));
+
+        // A Ping above the permitted size is rejected before inflating
+        protobuf.CompressedEnvelope declaredAsPing = compressedEnvelope.toBuilder()
+                .setMessageCase(protobuf.NetworkEnvelope.MessageCase.PING.getNumber())
+                .build();
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> EnvelopeCompression.decompress(declaredAsPing, 10 * 1024 * 1024));
+
+        // The inflated envelope must be of the declared type
+        protobuf.CompressedEnvelope smallBundleDeclaredAsPing = EnvelopeCompression.maybeCompress(createBundleOfPings(2000))
+                .getCompressedEnvelope().toBuilder()
+                .setMessageCase(protobuf.NetworkEnvelope.MessageCase.PING.getNumber())
+                .build();
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> EnvelopeCompression.decompress(smallBundleDeclaredAsPing, 10 * 1024 * 1024));
+
+        protobuf.CompressedEnvelope withoutMessageCase = compressedEnvelope.toBuilder()
+                .clearMessageCase()
+                .build();
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> EnvelopeCompression.decompress(withoutMessageCase, 10 * 1024 * 1024));
+    }
+
+    @Test
+    public void testEnvelopeAbovePermittedSizeOfItsTypeIsNotCompressed() {
+        protobuf.NetworkEnvelope proto = protobuf.NetworkEnvelope.newBuilder()
+                .setMessageVersion(1)
+                .setPrefixedSealedAndSignedMessage(protobuf.PrefixedSealedAndSignedMessage.newBuilder()
+                        .setAddressPrefixHash(ByteString.copyFrom(new byte[Connection.getPermittedMessageSize()])))
+                .build();
+        assertNull(EnvelopeCompression.maybeCompress(proto));
+    }
+
+    @Test
+    public void testEncodedEnvelopeIsCompressedOnlyIfSupported() {
+        BundleOfEnvelopes bundle = new BundleOfEnvelopes();
+        for (int i = 0; i < 2000; i++) {
+            bundle.add(new Ping(i, i));
+        }
+        int uncompressedSize = bundle.toProtoNetworkEnvelope().getSerializedSize();
+        assertEquals(uncompressedSize, EncodedNetworkEnvelope.encode(bundle, false).getSerializedSize());
+        assertTrue(EncodedNetworkEnvelope.encode(bundle, true).getSerializedSize() < uncompressedSize);
+    }
+
+    private static protobuf.NetworkEnvelope createBundleOfPings(int numPings) {
+        protobuf.BundleOfEnvelopes.Builder bundle = protobuf.BundleOfEnvelopes.newBuilder();
+        for (int i = 0; i < numPings; i++) {
+            bundle.addEnvelopes(protobuf.NetworkEnvelope.newBuilder()
+                    .setMessageVersion(1)
+                    .setPing(protobuf.Ping.newBuilder().setNonce(i).setLastRoundTripTime(i)));
+        }
+        return protobuf.NetworkEnvelope.newBuilder()
+                .setMessageVersion(1)
+                .setBundleOfEnvelopes(bundle)
+                .build();
+    }
+}
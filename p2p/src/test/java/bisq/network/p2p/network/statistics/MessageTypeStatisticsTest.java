@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network.statistics;
+
+import bisq.network.p2p.AckMessage;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class MessageTypeStatisticsTest {
+    @Test
+    public void getBucketTest() {
+        assertEquals(0, MessageTypeStatistics.getBucket(0));
+        assertEquals(0, MessageTypeStatistics.getBucket(63));
+        assertEquals(1, MessageTypeStatistics.getBucket(64));
+        assertEquals(1, MessageTypeStatistics.getBucket(127));
+        assertEquals(2, MessageTypeStatistics.getBucket(128));
+        assertEquals(MessageTypeStatistics.NUM_BUCKETS - 1, MessageTypeStatistics.getBucket(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void addTest() {
+        var statistics = new MessageTypeStatistics();
+        statistics.add(10);
+        statistics.add(100);
+        statistics.add(100);
+        statistics.increment();
+
+        assertEquals(4, statistics.getCount());
+        assertEquals(210, statistics.getBytes());
+
+        long[] expected = new long[MessageTypeStatistics.NUM_BUCKETS];
+        expected[0] = 1;
+        expected[1] = 2;
+        assertArrayEquals(expected, statistics.getSizeHistogram());
+    }
+
+    @Test
+    public void perTypeStatisticsFromConnectionStatisticsTest() {
+        var connectionStatistics = new ConnectionStatistics();
+        AckMessage ackMessage = mock(AckMessage.class);
+        connectionStatistics.addSentMessage(ackMessage, 50);
+        connectionStatistics.addSentMessage(ackMessage, 70);
+
+        Map<String, MessageTypeStatistics> statisticsByType = connectionStatistics.getSentMessageStatisticsByType();
+        assertEquals(1, statisticsByType.size());
+        MessageTypeStatistics statistics = statisticsByType.values().iterator().next();
+        assertEquals(2, statistics.getCount());
+        assertEquals(120, statistics.getBytes());
+        assertEquals(120, connectionStatistics.getSentBytes());
+        assertEquals(2, connectionStatistics.getTotalSentMessages());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.peerexchange;
+
+import bisq.network.p2p.NodeAddress;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PeerTableTest {
+    @Test
+    public void addKeepsExistingPeer() {
+        PeerTable peerTable = new PeerTable();
+        Peer peer = newPeer("a", 1000);
+        assertTrue(peerTable.add(peer));
+        assertFalse(peerTable.add(newPeer("a", 2000)));
+
+        assertEquals(1, peerTable.size());
+        assertSame(peer, peerTable.find(new NodeAddress("a.onion", 9999)).orElseThrow());
+        assertTrue(peerTable.contains(newPeer("a", 3000)));
+    }
+
+    @Test
+    public void removeOlderThan() {
+        PeerTable peerTable = new PeerTable();
+        peerTable.add(newPeer("a", 3000));
+        peerTable.add(newPeer("b", 1000));
+        peerTable.add(newPeer("c", 2000));
+        peerTable.add(newPeer("d", 1000));
+
+        List<Peer> removed = peerTable.removeOlderThan(2000);
+
+        assertEquals(2, removed.size());
+        assertEquals(2, peerTable.size());
+        assertTrue(peerTable.find(new NodeAddress("a.onion", 9999)).isPresent());
+        assertTrue(peerTable.find(new NodeAddress("c.onion", 9999)).isPresent());
+        assertFalse(peerTable.find(new NodeAddress("b.onion", 9999)).isPresent());
+    }
+
+    @Test
+    public void removeRandomUntilSizeKeepsIndexConsistent() {
+        PeerTable peerTable = new PeerTable();
+        for (int i = 0; i < 100; i++) {
+            peerTable.add(newPeer("peer" + i, i));
+        }
+
+        List<Peer> removed = peerTable.removeRandomUntilSize(30, new Random(1));
+
+        assertEquals(70, removed.size());
+        assertEquals(30, peerTable.size());
+        Set<Peer> remaining = new HashSet<>(peerTable);
+        assertEquals(30, remaining.size());
+        remaining.forEach(peer -> assertSame(peer, peerTable.find(peer.getNodeAddress()).orElseThrow()));
+        removed.forEach(peer -> assertFalse(peerTable.contains(peer)));
+        assertEquals(30, peerTable.removeOlderThan(Long.MAX_VALUE).size());
+    }
+
+    @Test
+    public void iteratorRemove() {
+        PeerTable peerTable = new PeerTable();
+        for (int i = 0; i < 10; i++) {
+            peerTable.add(newPeer("peer" + i, i));
+        }
+
+        Iterator<Peer> iterator = peerTable.iterator();
+        int visited = 0;
+        while (iterator.hasNext()) {
+            Peer peer = iterator.next();
+            visited++;
+            if (peer.getDateAsLong() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(10, visited);
+        assertEquals(5, peerTable.size());
+        peerTable.forEach(peer -> assertEquals(1, peer.getDateAsLong() % 2));
+        assertEquals(5, peerTable.removeOlderThan(Long.MAX_VALUE).size());
+    }
+
+    private static Peer newPeer(String hostName, long date) {
+        return Peer.fromProto(protobuf.Peer.newBuilder()
+                .setNodeAddress(new NodeAddress(hostName + ".onion", 9999).toProtoMessage())
+                .setDate(date)
+                .build());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.TestUtils;
+import bisq.network.p2p.storage.mocks.ClockFake;
+import bisq.network.p2p.storage.mocks.ExpirableProtectedStoragePayloadStub;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExpiryIndexTest {
+    private static final long TTL = 1000;
+
+    private ClockFake clock;
+    private ExpiryIndex expiryIndex;
+    private Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> map;
+    private PublicKey ownerPubKey;
+
+    @BeforeEach
+    public void setUp() throws NoSuchAlgorithmException {
+        ownerPubKey = TestUtils.generateKeyPair().getPublic();
+        clock = new ClockFake();
+        expiryIndex = new ExpiryIndex();
+        map = new HashMap<>();
+    }
+
+    @Test
+    public void testOnlyExpiredEntriesArePolled() {
+        ProtectedStorageEntry oldEntry = addEntry(new byte[]{1});
+        clock.increment(TTL / 2);
+        ProtectedStorageEntry newEntry = addEntry(new byte[]{2});
+
+        clock.increment(TTL / 2 + 1);
+        List<Map.Entry<P2PDataStorage.ByteArray, ProtectedStorageEntry>> expired = expiryIndex.pollExpired(map, clock);
+        assertEquals(1, expired.size());
+        assertSame(oldEntry, expired.get(0).getValue());
+        assertEquals(1, expiryIndex.size());
+
+        clock.increment(TTL);
+        expired = expiryIndex.pollExpired(map, clock);
+        assertEquals(1, expired.size());
+        assertSame(newEntry, expired.get(0).getValue());
+        assertEquals(0, expiryIndex.size());
+    }
+
+    @Test
+    public void testRemovedAndReplacedEntriesAreIgnored() {
+        P2PDataStorage.ByteArray removedHash = new P2PDataStorage.ByteArray(new byte[]{1});
+        addEntry(removedHash.bytes);
+        map.remove(removedHash);
+
+        // Replaced by a refreshed entry created later
+        P2PDataStorage.ByteArray refreshedHash = new P2PDataStorage.ByteArray(new byte[]{2});
+        addEntry(refreshedHash.bytes);
+        clock.increment(TTL / 2);
+        ProtectedStorageEntry refreshedEntry = addEntry(refreshedHash.bytes);
+
+        clock.increment(TTL / 2 + 1);
+        assertTrue(expiryIndex.pollExpired(map, clock).isEmpty());
+
+        clock.increment(TTL / 2);
+        List<Map.Entry<P2PDataStorage.ByteArray, ProtectedStorageEntry>> expired = expiryIndex.pollExpired(map, clock);
+        assertEquals(1, expired.size());
+        assertSame(refreshedEntry, expired.get(0).getValue());
+    }
+
+    private ProtectedStorageEntry addEntry(byte[] hash) {
+        long creationTimeStamp = clock.millis();
+        ProtectedStorageEntry protectedStorageEntry = mock(ProtectedStorageEntry.class);
+        when(protectedStorageEntry.getProtectedStoragePayload())
+                .thenReturn(new ExpirableProtectedStoragePayloadStub(ownerPubKey, TTL));
+        when(protectedStorageEntry.getCreationTimeStamp()).thenReturn(creationTimeStamp);
+        when(protectedStorageEntry.isExpired(clock)).thenAnswer(invocation -> clock.millis() - creationTimeStamp > TTL);
+
+        P2PDataStorage.ByteArray byteArray = new P2PDataStorage.ByteArray(hash);
+        map.put(byteArray, protectedStorageEntry);
+        expiryIndex.add(byteArray, protectedStorageEntry);
+        return protectedStorageEntry;
+    }
+}
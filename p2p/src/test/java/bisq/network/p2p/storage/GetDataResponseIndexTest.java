@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GetDataResponseIndexTest {
+    private final GetDataResponseIndex index = new GetDataResponseIndex();
+    private final P2PDataStorage.ByteArray hash = new P2PDataStorage.ByteArray(new byte[]{1});
+
+    @Test
+    public void testSerializedSizeIsCalculatedOnce() {
+        PersistableNetworkPayload payload = mockPayload(100);
+
+        GetDataResponseIndex.Entry entry = index.getEntry(hash, payload, Function.identity());
+        assertEquals(100, entry.getSerializedSize());
+        assertSame(entry, index.getEntry(hash, payload, Function.identity()));
+        assertEquals(100, index.getEntry(hash, payload, Function.identity()).getSerializedSize());
+
+        verify(payload, times(1)).toProtoMessage();
+    }
+
+    @Test
+    public void testReplacedItemCreatesNewEntry() {
+        PersistableNetworkPayload payload = mockPayload(100);
+        GetDataResponseIndex.Entry entry = index.getEntry(hash, payload, Function.identity());
+        assertEquals(100, entry.getSerializedSize());
+
+        PersistableNetworkPayload replacement = mockPayload(200);
+        GetDataResponseIndex.Entry newEntry = index.getEntry(hash, replacement, Function.identity());
+        assertNotSame(entry, newEntry);
+        assertEquals(200, newEntry.getSerializedSize());
+        assertEquals(1, index.size());
+
+        index.remove(hash);
+        assertEquals(0, index.size());
+    }
+
+    private PersistableNetworkPayload mockPayload(int serializedSize) {
+        protobuf.PersistableNetworkPayload proto = mock(protobuf.PersistableNetworkPayload.class);
+        when(proto.getSerializedSize()).thenReturn(serializedSize);
+        PersistableNetworkPayload payload = mock(PersistableNetworkPayload.class);
+        when(payload.toProtoMessage()).thenReturn(proto);
+        return payload;
+    }
+}